@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.flow;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import com.arcticicestudio.icecore.hashids.HashidsFeature;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} that encodes or decodes the items of a reactive stream with backpressure.
+ *
+ * <p>Received items are buffered and processed in micro-batches of up to {@link Builder#batchSize(int) batch size} items, each as a single task of the
+ * {@link Builder#executor(Executor) executor}, so that the cost of scheduling is amortized over all items of a batch. A new batch is dispatched as soon
+ * as one of the {@link Builder#parallelism(int) parallel} batch slots is free, which lets the batches grow with the load while a single item is never
+ * delayed by waiting for further items. Batches that are processed concurrently are emitted in the order of their items.
+ *
+ * <p>The amount of items that are requested from the upstream but not yet emitted to the downstream subscriber is bounded by the batch size multiplied
+ * by the parallelism plus one, so that a slow subscriber throttles the upstream. Only a single subscriber is supported.
+ *
+ * <p>Errors of the upstream and exceptions thrown while encoding or decoding, which is only the case when {@link HashidsFeature#EXCEPTION_HANDLING}
+ * is enabled, are signaled to the subscriber immediately and discard all buffered items.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @param <T> the type of the received items
+ * @param <R> the type of the emitted items
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsProcessor<T, R> implements Flow.Processor<T, R> {
+
+  private final Function<? super T, ? extends R> codec;
+  private final int batchSize;
+  private final int parallelism;
+  private final int capacity;
+  private final Executor executor;
+
+  private final Object lock = new Object();
+  private final ArrayDeque<T> pending = new ArrayDeque<>();
+  private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+  private Flow.Subscription upstream;
+  private Flow.Subscriber<? super R> downstream;
+  private boolean subscribed;
+  private long demand;
+  private long outstanding;
+  private int buffered;
+  private int inFlight;
+  private boolean upstreamDone;
+  private Throwable error;
+  private boolean terminated;
+  private boolean emitting;
+  private boolean missed;
+
+  private HashidsProcessor(final Builder<T, R> builder) {
+    this.codec = builder.codec;
+    this.batchSize = builder.batchSize;
+    this.parallelism = builder.parallelism;
+    this.capacity = builder.batchSize * (builder.parallelism + 1);
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Returns a builder for a processor that encodes arrays of numbers.
+   *
+   * @param hashids the instance used to encode the numbers
+   * @return a new builder instance
+   * @see Hashids#encode(long...)
+   */
+  public static Builder<long[], String> encoder(final Hashids hashids) {
+    Objects.requireNonNull(hashids, "hashids must not be null!");
+    return new Builder<>(hashids::encode);
+  }
+
+  /**
+   * Returns a builder for a processor that decodes hashes.
+   *
+   * @param hashids the instance used to decode the hashes
+   * @return a new builder instance
+   * @see Hashids#decode(String)
+   */
+  public static Builder<String, long[]> decoder(final Hashids hashids) {
+    Objects.requireNonNull(hashids, "hashids must not be null!");
+    return new Builder<>(hashids::decode);
+  }
+
+  /**
+   * An immutable {@link HashidsProcessor} instance builder.
+   *
+   * @param <T> the type of the received items
+   * @param <R> the type of the emitted items
+   */
+  public static final class Builder<T, R> {
+
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Function<? super T, ? extends R> codec;
+    private int batchSize;
+    private int parallelism;
+    private Executor executor;
+
+    private Builder(final Function<? super T, ? extends R> codec) {
+      this.codec = codec;
+      this.batchSize = DEFAULT_BATCH_SIZE;
+      this.parallelism = 1;
+      this.executor = Runnable::run;
+    }
+
+    /**
+     * Sets the maximum amount of items that are processed in a single batch.
+     *
+     * <p>The default value is 256.
+     *
+     * @param batchSize the maximum amount of items per batch
+     * @return a new builder instance with the given batch size
+     */
+    public Builder<T, R> batchSize(final int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum amount of batches that are processed concurrently.
+     *
+     * <p>The default value is 1.
+     *
+     * @param parallelism the maximum amount of concurrently processed batches
+     * @return a new builder instance with the given parallelism
+     */
+    public Builder<T, R> parallelism(final int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the executor that processes the batches.
+     *
+     * <p>By default batches are processed by the thread that signals the processor.
+     *
+     * @param executor the executor that processes the batches
+     * @return a new builder instance with the given executor
+     */
+    public Builder<T, R> executor(final Executor executor) {
+      this.executor = Objects.requireNonNull(executor, "executor must not be null!");
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link HashidsProcessor} instance.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the batch size or parallelism is less than one or their resultant capacity overflows
+     */
+    public HashidsProcessor<T, R> build() {
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("batch size must be greater than or equal to one: " + batchSize);
+      }
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("parallelism must be greater than or equal to one: " + parallelism);
+      }
+      if ((long) batchSize * (parallelism + 1L) > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("batch size and parallelism exceed the maximum capacity: " + batchSize + " * " + parallelism);
+      }
+      return new HashidsProcessor<>(this);
+    }
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super R> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber must not be null!");
+    final boolean rejected;
+    synchronized (lock) {
+      rejected = downstream != null;
+      if (!rejected) {
+        downstream = subscriber;
+      }
+    }
+    if (rejected) {
+      subscriber.onSubscribe(new RejectedSubscription());
+      subscriber.onError(new IllegalStateException("processor supports only a single subscriber!"));
+      return;
+    }
+    subscriber.onSubscribe(new DownstreamSubscription());
+    synchronized (lock) {
+      subscribed = true;
+    }
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    Objects.requireNonNull(subscription, "subscription must not be null!");
+    synchronized (lock) {
+      if (upstream != null || terminated) {
+        subscription.cancel();
+        return;
+      }
+      upstream = subscription;
+    }
+    drain();
+  }
+
+  @Override
+  public void onNext(final T item) {
+    Objects.requireNonNull(item, "item must not be null!");
+    synchronized (lock) {
+      if (terminated) {
+        return;
+      }
+      pending.add(item);
+      outstanding--;
+      buffered++;
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    Objects.requireNonNull(throwable, "throwable must not be null!");
+    synchronized (lock) {
+      if (error == null) {
+        error = throwable;
+      }
+      upstreamDone = true;
+    }
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    synchronized (lock) {
+      upstreamDone = true;
+    }
+    drain();
+  }
+
+  /**
+   * Dispatches batches, emits processed items and requests further items as far as the current state allows.
+   *
+   * <p>Only a single thread drains at a time so that the subscriber is signaled serially while all signals are sent without holding the lock. A thread
+   * that finds the drain in progress only marks it as missed so that the draining thread repeats it.
+   */
+  @SuppressWarnings("unchecked")
+  private void drain() {
+    synchronized (lock) {
+      if (emitting) {
+        missed = true;
+        return;
+      }
+      emitting = true;
+    }
+
+    final List<Batch> dispatched = new ArrayList<>();
+    final List<R> emitted = new ArrayList<>();
+    while (true) {
+      Flow.Subscriber<? super R> subscriber;
+      Flow.Subscription subscription;
+      Throwable failure = null;
+      boolean complete = false;
+      long request = 0;
+      synchronized (lock) {
+        missed = false;
+        if (terminated) {
+          emitting = false;
+          return;
+        }
+        subscriber = downstream;
+        subscription = upstream;
+
+        if (subscribed) {
+          if (error != null) {
+            failure = error;
+            terminate();
+          } else {
+            while (inFlight < parallelism && !pending.isEmpty()) {
+              final Batch batch = new Batch(Math.min(batchSize, pending.size()));
+              for (int idx = 0; idx < batch.items.length; idx++) {
+                batch.items[idx] = pending.poll();
+              }
+              batches.add(batch);
+              inFlight++;
+              dispatched.add(batch);
+            }
+            while (demand > 0 && !batches.isEmpty() && batches.peek().done) {
+              final Batch batch = batches.peek();
+              emitted.add((R) batch.results[batch.emitted]);
+              batch.results[batch.emitted++] = null;
+              demand--;
+              buffered--;
+              if (batch.emitted == batch.results.length) {
+                batches.poll();
+              }
+            }
+            if (upstreamDone && buffered == 0) {
+              complete = true;
+              terminate();
+            } else if (subscription != null && !upstreamDone && capacity - buffered - outstanding >= batchSize) {
+              // Request in units of at least a batch to avoid a request for each single emitted item
+              request = capacity - buffered - outstanding;
+              outstanding += request;
+            }
+          }
+        }
+
+        if (dispatched.isEmpty() && emitted.isEmpty() && failure == null && !complete && request == 0) {
+          emitting = false;
+          return;
+        }
+      }
+
+      if (failure != null) {
+        if (subscription != null && !upstreamDone) {
+          subscription.cancel();
+        }
+        subscriber.onError(failure);
+        continue;
+      }
+      for (R item : emitted) {
+        subscriber.onNext(item);
+      }
+      emitted.clear();
+      if (complete) {
+        subscriber.onComplete();
+        continue;
+      }
+      for (Batch batch : dispatched) {
+        try {
+          executor.execute(batch);
+        } catch (RuntimeException e) {
+          fail(e);
+        }
+      }
+      dispatched.clear();
+      if (request > 0) {
+        subscription.request(request);
+      }
+    }
+  }
+
+  /**
+   * Marks the processor as terminated and discards all buffered items.
+   *
+   * <p>Must be called while holding the lock.
+   */
+  private void terminate() {
+    terminated = true;
+    pending.clear();
+    batches.clear();
+    buffered = 0;
+  }
+
+  private void fail(final Throwable throwable) {
+    synchronized (lock) {
+      if (error == null) {
+        error = throwable;
+      }
+    }
+    drain();
+  }
+
+  /**
+   * A batch of items that is processed as a single task.
+   */
+  private final class Batch implements Runnable {
+
+    private final Object[] items;
+    private final Object[] results;
+    private int emitted;
+    private boolean done;
+
+    private Batch(final int size) {
+      this.items = new Object[size];
+      this.results = new Object[size];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void run() {
+      try {
+        for (int idx = 0; idx < items.length; idx++) {
+          results[idx] = codec.apply((T) items[idx]);
+          items[idx] = null;
+        }
+      } catch (RuntimeException e) {
+        synchronized (lock) {
+          inFlight--;
+        }
+        fail(e);
+        return;
+      }
+      synchronized (lock) {
+        inFlight--;
+        done = true;
+      }
+      drain();
+    }
+  }
+
+  /**
+   * The subscription of the single subscriber.
+   */
+  private final class DownstreamSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(final long n) {
+      if (n <= 0) {
+        fail(new IllegalArgumentException("amount of requested items must be positive: " + n));
+        return;
+      }
+      synchronized (lock) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      final Flow.Subscription subscription;
+      synchronized (lock) {
+        if (terminated) {
+          return;
+        }
+        terminate();
+        subscription = upstreamDone ? null : upstream;
+      }
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+  }
+
+  /**
+   * The subscription of rejected subscribers that ignores all signals.
+   */
+  private static final class RejectedSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(final long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+/**
+ * Provides {@link java.util.concurrent.Flow reactive stream} processors for the {@link com.arcticicestudio.icecore.hashids.Hashids IceCore Hashids}
+ * public API.
+ *
+ * <p>The package requires Java 9 or later and is shipped as separate artifact with the {@code flow} classifier.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+package com.arcticicestudio.icecore.hashids.flow;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The arbitrary-precision implementation of the Hashids algorithm for numbers that don't fit into a long.
+ *
+ * <p>The hashes are identical to the ones of the {@link HashidsEngine engines} for all numbers that fit into a long, but the {@link Hashids} public API
+ * only uses this codec when any number does not fit since the primitive transformation is considerably faster.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class BigIntegerCodec {
+
+  private final HashidsEngine.Configuration configuration;
+  private final char[] alphabet;
+  private final char[] separators;
+  private final char[] salt;
+  private final int minLength;
+  private final Padding padding;
+
+  /**
+   * The amount of digits that are transformed at once in a long so that the amount of arbitrary-precision operations is reduced by this factor.
+   */
+  private final int chunkDigits;
+  private final BigInteger chunkBase;
+
+  /**
+   * Constructs a new codec for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   */
+  BigIntegerCodec(final HashidsEngine.Configuration configuration) {
+    this.configuration = configuration;
+    this.alphabet = configuration.getAlphabet();
+    this.separators = configuration.getSeparators();
+    this.salt = configuration.getSalt();
+    this.minLength = configuration.getMinLength();
+    this.padding = new Padding(configuration);
+    long chunkBase = alphabet.length;
+    int chunkDigits = 1;
+    while (chunkBase <= Long.MAX_VALUE / alphabet.length) {
+      chunkBase *= alphabet.length;
+      chunkDigits++;
+    }
+    this.chunkDigits = chunkDigits;
+    this.chunkBase = BigInteger.valueOf(chunkBase);
+  }
+
+  /**
+   * Encodes the given non-negative numbers.
+   *
+   * @param numbers the non-negative numbers to be encoded
+   * @return the resultant hash
+   */
+  String encode(final BigInteger[] numbers) {
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+    // Determine the lottery number
+    long lotteryId = 0;
+    for (int idx = 0; idx < numbers.length; idx++) {
+      lotteryId += numbers[idx].mod(BigInteger.valueOf(idx + Hashids.LOTTERY_MOD)).longValue();
+    }
+    final char lottery = currentAlphabet[(int) (lotteryId % currentAlphabet.length)];
+
+    // Encode each number
+    final StringBuilder global = new StringBuilder(numbers.length * 24 + minLength);
+    global.append(lottery);
+    for (int idx = 0; idx < numbers.length; idx++) {
+      Hashids.deriveNewAlphabet(currentAlphabet, salt, lottery);
+      final int start = global.length();
+      // Append the digits in reverse order with all digits of each chunk except the most significant one
+      BigInteger input = numbers[idx];
+      while (input.compareTo(chunkBase) >= 0) {
+        final BigInteger[] quotientAndRemainder = input.divideAndRemainder(chunkBase);
+        long chunk = quotientAndRemainder[1].longValue();
+        for (int digit = 0; digit < chunkDigits; digit++) {
+          global.append(currentAlphabet[(int) (chunk % alphabet.length)]);
+          chunk /= alphabet.length;
+        }
+        input = quotientAndRemainder[0];
+      }
+      long chunk = input.longValue();
+      do {
+        global.append(currentAlphabet[(int) (chunk % alphabet.length)]);
+        chunk /= alphabet.length;
+      } while (chunk > 0);
+      reverse(global, start, global.length() - 1);
+      // Append the separator
+      if (idx + 1 < numbers.length) {
+        final int n = numbers[idx].mod(BigInteger.valueOf(global.charAt(start) + idx)).intValue();
+        global.append(separators[n % separators.length]);
+      }
+    }
+
+    return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, currentAlphabet) : global.toString();
+  }
+
+  /**
+   * Decodes the given hash without verifying it.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash contains invalid characters
+   */
+  BigInteger[] decode(final String hash) {
+    // Validate the characters and find the guards
+    int firstGuardIdx = -1;
+    int secondGuardIdx = -1;
+    for (int idx = 0; idx < hash.length(); idx++) {
+      final byte charClass = configuration.classOf(hash.charAt(idx));
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        return null;
+      }
+      if (charClass == HashidsEngine.Configuration.CLASS_GUARD) {
+        if (firstGuardIdx < 0) {
+          firstGuardIdx = idx;
+        } else if (secondGuardIdx < 0) {
+          secondGuardIdx = idx;
+        }
+      }
+    }
+
+    // Calculate the start- and end index based on the guards
+    final int startIdx = firstGuardIdx >= 0 ? firstGuardIdx + 1 : 0;
+    final int endIdx = secondGuardIdx >= 0 ? secondGuardIdx : hash.length();
+    if (startIdx >= endIdx) {
+      return new BigInteger[0];
+    }
+
+    final char lottery = hash.charAt(startIdx);
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+    final int[] positions = new int[configuration.getMaxChar() + 1];
+    final BigInteger[] decoded = new BigInteger[(endIdx - startIdx) / 2 + 1];
+    int count = 0;
+    int blockStart = startIdx + 1;
+    for (int idx = startIdx + 1; idx <= endIdx; idx++) {
+      if (idx < endIdx && configuration.classOf(hash.charAt(idx)) != HashidsEngine.Configuration.CLASS_SEPARATOR) {
+        continue;
+      }
+
+      if (idx > blockStart) {
+        Hashids.deriveNewAlphabet(currentAlphabet, salt, lottery);
+        for (int pos = 0; pos < currentAlphabet.length; pos++) {
+          positions[currentAlphabet[pos]] = pos;
+        }
+        // Accumulate the leading digits up to a full chunk and all following digits in chunks
+        BigInteger number = BigInteger.ZERO;
+        int pos = blockStart;
+        int chunkEnd = blockStart + ((idx - blockStart - 1) % chunkDigits) + 1;
+        while (pos < idx) {
+          long chunk = 0;
+          for (; pos < chunkEnd; pos++) {
+            chunk = chunk * alphabet.length + positions[hash.charAt(pos)];
+          }
+          number = number.multiply(chunkBase).add(BigInteger.valueOf(chunk));
+          chunkEnd += chunkDigits;
+        }
+        decoded[count++] = number;
+      }
+      blockStart = idx + 1;
+    }
+
+    return count == decoded.length ? decoded : Arrays.copyOf(decoded, count);
+  }
+
+  private static void reverse(final StringBuilder sb, final int from, final int to) {
+    for (int left = from, right = to; left < right; left++, right--) {
+      final char c = sb.charAt(left);
+      sb.setCharAt(left, sb.charAt(right));
+      sb.setCharAt(right, c);
+    }
+  }
+}
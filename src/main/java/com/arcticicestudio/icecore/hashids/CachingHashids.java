@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A decorator that caches the results of a {@link Hashids} instance for frequently used numbers and hashes.
+ *
+ * <p>Hashes of single numbers and the numbers of decoded hashes are cached in two separate bounded caches. Each cache is split into independently locked
+ * segments to reduce the contention between concurrent callers. Every segment evicts its least recently used entry, but only admits a new entry if it has
+ * been requested more frequently than the entry it would evict. The frequencies are estimated through a count-min sketch whose counters are halved
+ * periodically so that one-time scans over many cold numbers can not flush the hot entries. Entries can optionally expire after a fixed duration since
+ * they have been cached.
+ *
+ * <p>Invalid numbers and hashes are never cached. Decoded numbers are cached as private copies and every call returns a new copy so that callers can not
+ * modify cached results.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class CachingHashids {
+
+  private final Hashids hashids;
+  private final Cache<Long, String> encodeCache;
+  private final Cache<String, long[]> decodeCache;
+
+  private CachingHashids(final Hashids hashids, final int maximumSize, final long expireAfterWriteNanos, final LongSupplier ticker) {
+    this.hashids = hashids;
+    this.encodeCache = new Cache<>(maximumSize, expireAfterWriteNanos, ticker);
+    this.decodeCache = new Cache<>(maximumSize, expireAfterWriteNanos, ticker);
+  }
+
+  /**
+   * An immutable {@link CachingHashids} instance builder.
+   */
+  public static final class Builder {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Hashids hashids;
+    private int maximumSize;
+    private Duration expireAfterWrite;
+    private LongSupplier ticker;
+
+    /**
+     * Constructs a new instance with a maximum size of 10000 entries per cache and without expiry.
+     *
+     * @param hashids the instance whose results are cached
+     */
+    public Builder(final Hashids hashids) {
+      this.hashids = Objects.requireNonNull(hashids, "hashids must not be null!");
+      this.maximumSize = DEFAULT_MAXIMUM_SIZE;
+      this.ticker = System::nanoTime;
+    }
+
+    /**
+     * Sets the maximum amount of entries of both the encoding and the decoding cache.
+     *
+     * <p>The default value is 10000.
+     *
+     * @param maximumSize the maximum amount of entries of each cache
+     * @return a new builder instance with the given maximum size
+     */
+    public Builder maximumSize(final int maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the duration after which cached entries expire.
+     *
+     * <p>By default entries never expire.
+     *
+     * @param expireAfterWrite the duration since the caching after which an entry expires
+     * @return a new builder instance with the given expiry
+     */
+    public Builder expireAfterWrite(final Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+      return this;
+    }
+
+    /**
+     * Sets the source of the current time in nanoseconds used for the expiry.
+     *
+     * @param ticker the source of the current time in nanoseconds
+     * @return a new builder instance with the given ticker
+     */
+    Builder ticker(final LongSupplier ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link CachingHashids} instance.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the maximum size is less than one or the expiry is not positive
+     */
+    public CachingHashids build() {
+      if (maximumSize < 1) {
+        throw new IllegalArgumentException("maximum size must be greater than or equal to one: " + maximumSize);
+      }
+      if (expireAfterWrite != null && (expireAfterWrite.isNegative() || expireAfterWrite.isZero())) {
+        throw new IllegalArgumentException("expiry must be positive: " + expireAfterWrite);
+      }
+      return new CachingHashids(hashids, maximumSize, expireAfterWrite != null ? expireAfterWrite.toNanos() : 0, ticker);
+    }
+  }
+
+  /**
+   * Encodes the given numbers while hashes of single numbers are cached.
+   *
+   * @param numbers the positive numbers to be encoded
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @see Hashids#encode(long...)
+   */
+  public String encode(final long... numbers) {
+    if (numbers == null || numbers.length != 1) {
+      return hashids.encode(numbers);
+    }
+
+    final Long key = numbers[0];
+    final String cached = encodeCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final String hash = hashids.encode(numbers);
+    if (!hash.isEmpty()) {
+      encodeCache.put(key, hash);
+    }
+    return hash;
+  }
+
+  /**
+   * Decodes the given hash while the numbers of valid hashes are cached.
+   *
+   * @param hash the hash to be decoded
+   * @return a new array of long values with each numeric number present in the hash, empty otherwise
+   * @see Hashids#decode(String)
+   */
+  public long[] decode(final String hash) {
+    if (hash == null) {
+      return hashids.decode(null);
+    }
+
+    final long[] cached = decodeCache.get(hash);
+    if (cached != null) {
+      return Arrays.copyOf(cached, cached.length);
+    }
+    final long[] numbers = hashids.decode(hash);
+    if (numbers.length > 0) {
+      decodeCache.put(hash, Arrays.copyOf(numbers, numbers.length));
+    }
+    return numbers;
+  }
+
+  /**
+   * Decodes the given valid hash into its single numeric representation while the numbers of valid hashes are cached.
+   *
+   * @param hash the valid hash to be decoded
+   * @return the decoded number if the given hash is valid, empty otherwise
+   * @see Hashids#decodeOne(String)
+   */
+  public Optional<Long> decodeOne(final String hash) {
+    if (hash == null) {
+      return hashids.decodeOne(null);
+    }
+    final long[] decoded = decode(hash);
+    return decoded.length == 1 ? Optional.of(decoded[0]) : Optional.empty();
+  }
+
+  /**
+   * Returns the decorated instance.
+   *
+   * @return the decorated instance
+   */
+  public Hashids getHashids() {
+    return hashids;
+  }
+
+  /**
+   * Returns the statistics of the encoding cache.
+   *
+   * @return a snapshot of the statistics of the encoding cache
+   */
+  public Statistics getEncodeStatistics() {
+    return encodeCache.statistics();
+  }
+
+  /**
+   * Returns the statistics of the decoding cache.
+   *
+   * @return a snapshot of the statistics of the decoding cache
+   */
+  public Statistics getDecodeStatistics() {
+    return decodeCache.statistics();
+  }
+
+  /**
+   * Removes all cached entries while the statistics are retained.
+   */
+  public void invalidateAll() {
+    encodeCache.clear();
+    decodeCache.clear();
+  }
+
+  /**
+   * An immutable snapshot of the statistics of a cache.
+   */
+  public static final class Statistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    private Statistics(final long hitCount, final long missCount, final long evictionCount) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the amount of requests that returned a cached result.
+     *
+     * @return the amount of cache hits
+     */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /**
+     * Returns the amount of requests that did not return a cached result.
+     *
+     * @return the amount of cache misses
+     */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /**
+     * Returns the amount of entries that have been evicted or have expired.
+     *
+     * @return the amount of evicted entries
+     */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of requests that returned a cached result.
+     *
+     * @return the ratio of cache hits, {@code 1.0} if there were no requests
+     */
+    public double getHitRate() {
+      final long requestCount = hitCount + missCount;
+      return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+      return "Statistics{"
+        + "hitCount=" + hitCount
+        + ", missCount=" + missCount
+        + ", evictionCount=" + evictionCount
+        + '}';
+    }
+  }
+
+  /**
+   * A bounded cache split into independently locked segments with frequency-aware admission.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   */
+  private static final class Cache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    private Cache(final int maximumSize, final long expireAfterWriteNanos, final LongSupplier ticker) {
+      final int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize));
+      this.segments = new Segment[segmentCount];
+      for (int idx = 0; idx < segmentCount; idx++) {
+        final int capacity = maximumSize / segmentCount + (idx < maximumSize % segmentCount ? 1 : 0);
+        segments[idx] = new Segment<>(capacity, expireAfterWriteNanos, ticker, evictionCount);
+      }
+    }
+
+    private V get(final K key) {
+      final int hash = spread(key.hashCode());
+      final V value = segments[hash & (segments.length - 1)].get(key, hash);
+      if (value != null) {
+        hitCount.increment();
+      } else {
+        missCount.increment();
+      }
+      return value;
+    }
+
+    private void put(final K key, final V value) {
+      final int hash = spread(key.hashCode());
+      segments[hash & (segments.length - 1)].put(key, hash, value);
+    }
+
+    private void clear() {
+      for (Segment<K, V> segment : segments) {
+        segment.clear();
+      }
+    }
+
+    private Statistics statistics() {
+      return new Statistics(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private static int spread(final int hash) {
+      final int mixed = hash * 0x9E3779B9;
+      return mixed ^ (mixed >>> 16);
+    }
+  }
+
+  /**
+   * A single least recently used segment of a cache guarded by its own lock.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   */
+  private static final class Segment<K, V> {
+
+    private final int capacity;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final LongAdder evictionCount;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final FrequencySketch sketch;
+
+    private Segment(final int capacity, final long expireAfterWriteNanos, final LongSupplier ticker, final LongAdder evictionCount) {
+      this.capacity = capacity;
+      this.expireAfterWriteNanos = expireAfterWriteNanos;
+      this.ticker = ticker;
+      this.evictionCount = evictionCount;
+      this.entries = new LinkedHashMap<>(16, 0.75f, true);
+      this.sketch = new FrequencySketch(capacity);
+    }
+
+    private synchronized V get(final K key, final int hash) {
+      sketch.increment(hash);
+      final Entry<V> entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (isExpired(entry)) {
+        entries.remove(key);
+        evictionCount.increment();
+        return null;
+      }
+      return entry.value;
+    }
+
+    private synchronized void put(final K key, final int hash, final V value) {
+      if (entries.containsKey(key) || entries.size() < capacity) {
+        entries.put(key, new Entry<>(value, ticker.getAsLong()));
+        return;
+      }
+
+      // Only admit the candidate if it is requested more frequently than the least recently used victim
+      final Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+      final Map.Entry<K, Entry<V>> victim = eldest.next();
+      if (!isExpired(victim.getValue()) && sketch.frequency(hash) <= sketch.frequency(Cache.spread(victim.getKey().hashCode()))) {
+        return;
+      }
+      eldest.remove();
+      evictionCount.increment();
+      entries.put(key, new Entry<>(value, ticker.getAsLong()));
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+    }
+
+    private boolean isExpired(final Entry<V> entry) {
+      return expireAfterWriteNanos > 0 && ticker.getAsLong() - entry.writeNanos >= expireAfterWriteNanos;
+    }
+  }
+
+  /**
+   * A cached value with the time it has been cached.
+   *
+   * @param <V> the type of the value
+   */
+  private static final class Entry<V> {
+
+    private final V value;
+    private final long writeNanos;
+
+    private Entry(final V value, final long writeNanos) {
+      this.value = value;
+      this.writeNanos = writeNanos;
+    }
+  }
+
+  /**
+   * A count-min sketch with four counters per key, each stored in a single byte and saturated at {@value #MAX_COUNT}, that estimates the recent request
+   * frequency of keys.
+   *
+   * <p>All counters are halved once the amount of recorded requests reaches ten times the capacity so that the frequencies of keys that are no longer
+   * requested decay over time.
+   */
+  private static final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97CB3127, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    private FrequencySketch(final int capacity) {
+      final int width = Integer.highestOneBit(Math.max(16, capacity * 4 - 1)) << 1;
+      this.counters = new byte[width];
+      this.mask = width - 1;
+      this.sampleSize = capacity * 10;
+    }
+
+    private int frequency(final int hash) {
+      int frequency = MAX_COUNT;
+      for (int row = 0; row < DEPTH; row++) {
+        frequency = Math.min(frequency, counters[index(hash, row)]);
+      }
+      return frequency;
+    }
+
+    private void increment(final int hash) {
+      boolean incremented = false;
+      for (int row = 0; row < DEPTH; row++) {
+        final int idx = index(hash, row);
+        if (counters[idx] < MAX_COUNT) {
+          counters[idx]++;
+          incremented = true;
+        }
+      }
+      if (incremented && ++additions >= sampleSize) {
+        for (int idx = 0; idx < counters.length; idx++) {
+          counters[idx] >>>= 1;
+        }
+        additions /= 2;
+      }
+    }
+
+    private int index(final int hash, final int row) {
+      final int mixed = (hash + row) * SEEDS[row];
+      return (mixed ^ (mixed >>> 15)) & mask;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * A kernel that validates the ASCII characters of hashes and maps them to their codes in bulk.
+ *
+ * <p>The code of each character is looked up in a table of all {@link #TABLE_SIZE ASCII} characters which contains the position of the character within
+ * the alphabet, {@link #GUARD} for guards and {@link #INVALID} for all other characters. Bytes that are not ASCII are always invalid.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+interface CharCodeKernel {
+
+  /**
+   * The size of the code table which covers all ASCII characters.
+   */
+  int TABLE_SIZE = 128;
+
+  /**
+   * The code of guards.
+   */
+  byte GUARD = -1;
+
+  /**
+   * The code of invalid characters.
+   */
+  byte INVALID = -2;
+
+  /**
+   * Maps the given range of characters to their codes.
+   *
+   * @param hashes the characters of the hashes
+   * @param offset the index of the first character
+   * @param size the amount of characters
+   * @param codes the array the codes are written to starting at index zero
+   */
+  void map(byte[] hashes, int offset, int size, byte[] codes);
+
+  /**
+   * Indicates whether this kernel maps multiple characters at once through the Vector API.
+   *
+   * @return {@code true} if this kernel is vectorized, {@code false} otherwise
+   */
+  boolean isVectorized();
+}
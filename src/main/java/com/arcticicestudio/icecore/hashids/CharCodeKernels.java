@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * Creates the best available {@link CharCodeKernel} for the running Java version.
+ *
+ * <p>This is the implementation for Java 8 which only provides the {@link ScalarCharCodeKernel scalar kernel}. The multi-release layer for Java 17 and
+ * later replaces this class with an implementation that prefers a kernel based on the incubating Vector API.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CharCodeKernels {
+
+  private CharCodeKernels() {
+  }
+
+  /**
+   * Creates a new kernel for the given code table.
+   *
+   * @param table the code of each ASCII character
+   * @param vectorized indicates if a vectorized kernel should be preferred
+   * @return a new kernel
+   */
+  static CharCodeKernel create(final byte[] table, final boolean vectorized) {
+    return new ScalarCharCodeKernel(table);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+
+/**
+ * The salt-keyed check character of the {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature.
+ *
+ * <p>The check character is calculated with the <a href="https://en.wikipedia.org/wiki/Luhn_mod_N_algorithm">Luhn mod N algorithm</a> over all valid
+ * characters of a hash in a single pass. The code point of each character is its position within a permutation of all valid characters that is derived
+ * from the salt, so that hashes of different salts have different check characters. This detects all single character errors and most transpositions of
+ * adjacent characters without decoding the hash.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CheckCharacter {
+
+  /**
+   * The valid characters indexed by their code point.
+   */
+  private final char[] chars;
+
+  /**
+   * The code point of each valid character indexed by the character itself or {@code -1}.
+   */
+  private final int[] codePoints;
+
+  /**
+   * Constructs the check character for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   */
+  CheckCharacter(final HashidsEngine.Configuration configuration) {
+    final char[] alphabet = configuration.getAlphabet();
+    final char[] separators = configuration.getSeparators();
+    final char[] guards = configuration.getGuards();
+    this.chars = new char[alphabet.length + separators.length + guards.length];
+    System.arraycopy(alphabet, 0, chars, 0, alphabet.length);
+    System.arraycopy(separators, 0, chars, alphabet.length, separators.length);
+    System.arraycopy(guards, 0, chars, alphabet.length + separators.length, guards.length);
+    Hashids.deriveNewAlphabet(chars, configuration.getSalt(), separators[0]);
+
+    this.codePoints = new int[configuration.getMaxChar() + 1];
+    Arrays.fill(codePoints, -1);
+    for (int idx = 0; idx < chars.length; idx++) {
+      codePoints[chars[idx]] = idx;
+    }
+  }
+
+  /**
+   * Calculates the check character of the given hash which must only consist of valid characters.
+   *
+   * @param hash the hash without the check character
+   * @return the check character
+   */
+  char compute(final CharSequence hash) {
+    int factor = 2;
+    int sum = 0;
+    for (int idx = hash.length() - 1; idx >= 0; idx--) {
+      final int addend = factor * codePoints[hash.charAt(idx)];
+      factor = 3 - factor;
+      sum += addend / chars.length + addend % chars.length;
+    }
+    return chars[(chars.length - sum % chars.length) % chars.length];
+  }
+
+  /**
+   * Verifies the check character of the given range of a hash.
+   *
+   * @param hash the hash
+   * @param start the index of the first character of the range
+   * @param end the index after the check character at the end of the range
+   * @return {@code true} if the range consists of valid characters only and ends with a valid check character, {@code false} otherwise
+   */
+  boolean verify(final CharSequence hash, final int start, final int end) {
+    if (end - start < 2) {
+      return false;
+    }
+    int factor = 1;
+    int sum = 0;
+    for (int idx = end - 1; idx >= start; idx--) {
+      final char c = hash.charAt(idx);
+      if (c >= codePoints.length || codePoints[c] < 0) {
+        return false;
+      }
+      final int addend = factor * codePoints[c];
+      factor = 3 - factor;
+      sum += addend / chars.length + addend % chars.length;
+    }
+    return sum % chars.length == 0;
+  }
+}
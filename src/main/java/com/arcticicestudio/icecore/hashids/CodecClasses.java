@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.security.ProtectionDomain;
+
+/**
+ * Defines the codec classes generated by the {@link CodecCompiler} in the package of this library.
+ *
+ * <p>This is the implementation for Java 8 to 16 which defines a regular class via {@code MethodHandles.Lookup#defineClass(byte[])} if available and via
+ * the protected {@link ClassLoader} method on Java 8 otherwise. Regular classes are only unloaded along with the class loader of this library. The
+ * multi-release layer for Java 17 and later replaces this class with an implementation that defines hidden classes which are unloaded along with their
+ * codec.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CodecClasses {
+
+  private CodecClasses() {
+  }
+
+  /**
+   * Defines the given class in the package of this library.
+   *
+   * @param name the binary name of the class
+   * @param classFile the class file
+   * @return the defined class
+   * @throws ReflectiveOperationException if the class can not be defined
+   */
+  static Class<?> define(final String name, final byte[] classFile) throws ReflectiveOperationException {
+    Method defineClass;
+    try {
+      defineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+    } catch (NoSuchMethodException e) {
+      // Java 8 only provides the protected method of the class loader
+      defineClass = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+      defineClass.setAccessible(true);
+      return (Class<?>) defineClass.invoke(CodecClasses.class.getClassLoader(), name, classFile, 0, classFile.length,
+        CodecClasses.class.getProtectionDomain());
+    }
+    return (Class<?>) defineClass.invoke(MethodHandles.lookup(), (Object) classFile);
+  }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a codec class that is specialized for a single configuration at runtime.
+ *
+ * <p>The generated class binds the alphabet, separators, salt and the precomputed tables of the {@link DefaultHashidsEngine default engine} to static
+ * final fields and the minimum hash length to an integer constant, its methods only pass these constants to the sequential
+ * {@link DefaultHashidsEngine#encode(long[], int, int, char[], char[], char[], char[][], DigitPairTable, Padding, int) encoding} and
+ * {@link DefaultHashidsEngine#decode(String, HashidsEngine.Configuration, char[], char[], char[][], int[]) decoding} of the engine. Since the JIT treats
+ * static final fields as constants, the configuration is folded into the encoding and decoding when they are inlined into the generated methods so that
+ * loops over the alphabet can be unrolled and branches on the configuration eliminated.
+ *
+ * <p>The class file is written directly without any bytecode library. Its methods consist of a single basic block so that no stack map frames are
+ * required. The constants are handed over to the static initializer of the class via a thread local while the class is defined and initialized by
+ * {@link CodecClasses}. If the class can not be defined, e.g. because a security manager denies the access, the table driven codec of the engine is
+ * used instead.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CodecCompiler {
+
+  /**
+   * The binary name of the generated classes which is suffixed with a unique number for each class.
+   */
+  static final String CLASS_NAME = "com.arcticicestudio.icecore.hashids.CompiledCodec";
+
+  private static final String PACKAGE = "com/arcticicestudio/icecore/hashids/";
+  private static final String ENGINE = PACKAGE + "DefaultHashidsEngine";
+  private static final String COMPILER = PACKAGE + "CodecCompiler";
+  private static final String CODEC = PACKAGE + "HashidsEngine$Codec";
+  private static final String CONFIGURATION = "L" + PACKAGE + "HashidsEngine$Configuration;";
+  private static final String DIGIT_PAIR_TABLE = "L" + PACKAGE + "DigitPairTable;";
+  private static final String PADDING = "L" + PACKAGE + "Padding;";
+  private static final String STRING = "Ljava/lang/String;";
+  private static final String ENCODE = "([JII[C[C[C[[C" + DIGIT_PAIR_TABLE + PADDING + "I)" + STRING;
+  private static final String DECODE = "(" + STRING + CONFIGURATION + "[C[C[[C[I)[J";
+
+  /**
+   * The name and descriptor of each constant field in the order of the constants array.
+   */
+  private static final String[][] FIELDS = {
+    {"ALPHABET", "[C"},
+    {"SEPARATORS", "[C"},
+    {"SALT", "[C"},
+    {"LOTTERY_ALPHABETS", "[[C"},
+    {"DIGIT_PAIR_TABLE", DIGIT_PAIR_TABLE},
+    {"PADDING", PADDING},
+    {"CONFIGURATION", CONFIGURATION},
+    {"ALPHABET_INDEX", "[I"}
+  };
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_PRIVATE = 0x0002;
+  private static final int ACC_STATIC = 0x0008;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final int ALOAD_0 = 0x2A;
+  private static final int ALOAD_1 = 0x2B;
+  private static final int ASTORE_0 = 0x4B;
+  private static final int ILOAD_2 = 0x1C;
+  private static final int ILOAD_3 = 0x1D;
+  private static final int ICONST_0 = 0x03;
+  private static final int BIPUSH = 0x10;
+  private static final int LDC_W = 0x13;
+  private static final int AALOAD = 0x32;
+  private static final int ARRAYLENGTH = 0xBE;
+  private static final int CHECKCAST = 0xC0;
+  private static final int GETSTATIC = 0xB2;
+  private static final int PUTSTATIC = 0xB3;
+  private static final int INVOKESPECIAL = 0xB7;
+  private static final int INVOKESTATIC = 0xB8;
+  private static final int ARETURN = 0xB0;
+  private static final int RETURN = 0xB1;
+
+  private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+  private static final ThreadLocal<Object[]> CONSTANTS = new ThreadLocal<>();
+
+  private CodecCompiler() {
+  }
+
+  /**
+   * Creates a codec for the given configuration that is generated at runtime if supported by the engine.
+   *
+   * <p>Only the {@link DefaultHashidsEngine default engine} without the {@link Hashids.Builder#parallel(int, java.util.concurrent.ForkJoinPool) parallel
+   * mode} is generated, all other engines and the parallel mode as well as failures to define the class fall back to the codec created by the engine.
+   *
+   * @param engine the engine of the configuration
+   * @param configuration the configuration of the {@link Hashids} instance
+   * @return the generated codec or the codec created by the engine
+   */
+  static HashidsEngine.Codec compile(final HashidsEngine engine, final HashidsEngine.Configuration configuration) {
+    if (!(engine instanceof DefaultHashidsEngine) || configuration.getParallelPool() != null) {
+      return engine.create(configuration);
+    }
+
+    final char[] alphabet = configuration.getAlphabet();
+    final char[] salt = configuration.getSalt();
+    final int[] alphabetIndex = new int[configuration.getMaxChar() + 1];
+    Arrays.fill(alphabetIndex, -1);
+    for (int idx = 0; idx < alphabet.length; idx++) {
+      alphabetIndex[alphabet[idx]] = idx;
+    }
+    char[][] lotteryAlphabets = null;
+    if (alphabet.length <= DefaultHashidsEngine.MAX_PRECOMPUTED_ALPHABET_LENGTH) {
+      lotteryAlphabets = new char[alphabet.length][];
+      for (int idx = 0; idx < alphabet.length; idx++) {
+        lotteryAlphabets[idx] = Hashids.deriveNewAlphabet(Arrays.copyOf(alphabet, alphabet.length), salt, alphabet[idx]);
+      }
+    }
+    final Object[] constants = {
+      alphabet, configuration.getSeparators(), salt, lotteryAlphabets, new DigitPairTable(alphabet.length), new Padding(configuration), configuration,
+      alphabetIndex
+    };
+
+    final String name = CLASS_NAME + CLASS_COUNTER.incrementAndGet();
+    CONSTANTS.set(constants);
+    try {
+      return (HashidsEngine.Codec) CodecClasses.define(name, generate(name.replace('.', '/'), configuration.getMinLength()))
+        .getDeclaredConstructor()
+        .newInstance();
+    } catch (ReflectiveOperationException | SecurityException | LinkageError e) {
+      // Defining classes is not allowed in this environment
+      return engine.create(configuration);
+    } finally {
+      CONSTANTS.remove();
+    }
+  }
+
+  /**
+   * Returns the constants of the class that is currently initialized on this thread.
+   *
+   * <p>Called by the static initializer of the generated classes.
+   *
+   * @return the constants in the order of the fields
+   */
+  static Object[] constants() {
+    return CONSTANTS.get();
+  }
+
+  /**
+   * Generates the class file of a codec.
+   *
+   * @param internalName the internal name of the class
+   * @param minLength the minimum hash length
+   * @return the class file
+   */
+  static byte[] generate(final String internalName, final int minLength) {
+    final ClassFile classFile = new ClassFile();
+    final int thisClass = classFile.classInfo(internalName);
+    final int superClass = classFile.classInfo("java/lang/Object");
+    final int codecInterface = classFile.classInfo(CODEC);
+    final int code = classFile.utf8("Code");
+    final int[] fields = new int[FIELDS.length];
+    for (int idx = 0; idx < FIELDS.length; idx++) {
+      fields[idx] = classFile.memberRef(9, thisClass, FIELDS[idx][0], FIELDS[idx][1]);
+    }
+    final int minLengthConstant = classFile.integer(minLength);
+    final int encode = classFile.memberRef(10, classFile.classInfo(ENGINE), "encode", ENCODE);
+    final int decode = classFile.memberRef(10, classFile.classInfo(ENGINE), "decode", DECODE);
+
+    // Reads the constants into the static final fields
+    final Code clinit = new Code();
+    clinit.op(INVOKESTATIC).u2(classFile.memberRef(10, classFile.classInfo(COMPILER), "constants", "()[Ljava/lang/Object;"));
+    clinit.op(ASTORE_0);
+    for (int idx = 0; idx < FIELDS.length; idx++) {
+      clinit.op(ALOAD_0).op(BIPUSH).op(idx).op(AALOAD);
+      final String descriptor = FIELDS[idx][1];
+      clinit.op(CHECKCAST).u2(classFile.classInfo(descriptor.charAt(0) == 'L' ? descriptor.substring(1, descriptor.length() - 1) : descriptor));
+      clinit.op(PUTSTATIC).u2(fields[idx]);
+    }
+    clinit.op(RETURN);
+
+    final Code init = new Code();
+    init.op(ALOAD_0).op(INVOKESPECIAL).u2(classFile.memberRef(10, superClass, "<init>", "()V")).op(RETURN);
+
+    // encode(long[]) and encode(long[], int, int) pass the constants after the range
+    final Code encodeArray = new Code();
+    encodeArray.op(ALOAD_1).op(ICONST_0).op(ALOAD_1).op(ARRAYLENGTH);
+    final Code encodeRange = new Code();
+    encodeRange.op(ALOAD_1).op(ILOAD_2).op(ILOAD_3);
+    for (Code method : new Code[] {encodeArray, encodeRange}) {
+      for (int field : new int[] {fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]}) {
+        method.op(GETSTATIC).u2(field);
+      }
+      method.op(LDC_W).u2(minLengthConstant).op(INVOKESTATIC).u2(encode).op(ARETURN);
+    }
+
+    final Code decodeHash = new Code();
+    decodeHash.op(ALOAD_1);
+    for (int field : new int[] {fields[6], fields[0], fields[2], fields[3], fields[7]}) {
+      decodeHash.op(GETSTATIC).u2(field);
+    }
+    decodeHash.op(INVOKESTATIC).u2(decode).op(ARETURN);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(52);
+      final int[] method = {
+        classFile.utf8("<clinit>"), classFile.utf8("()V"),
+        classFile.utf8("<init>"), classFile.utf8("()V"),
+        classFile.utf8("encode"), classFile.utf8("([J)" + STRING),
+        classFile.utf8("encode"), classFile.utf8("([JII)" + STRING),
+        classFile.utf8("decode"), classFile.utf8("(" + STRING + ")[J")
+      };
+      final int[] fieldNames = new int[FIELDS.length * 2];
+      for (int idx = 0; idx < FIELDS.length; idx++) {
+        fieldNames[idx * 2] = classFile.utf8(FIELDS[idx][0]);
+        fieldNames[idx * 2 + 1] = classFile.utf8(FIELDS[idx][1]);
+      }
+      classFile.writeConstantPool(out);
+
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(1);
+      out.writeShort(codecInterface);
+
+      out.writeShort(FIELDS.length);
+      for (int idx = 0; idx < FIELDS.length; idx++) {
+        out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+        out.writeShort(fieldNames[idx * 2]);
+        out.writeShort(fieldNames[idx * 2 + 1]);
+        out.writeShort(0);
+      }
+
+      final Code[] codes = {clinit, init, encodeArray, encodeRange, decodeHash};
+      // The encoding pushes the range, six fields and the minimum hash length
+      final int[] maxStack = {2, 1, 10, 10, 6};
+      final int[] maxLocals = {1, 1, 2, 4, 2};
+      out.writeShort(codes.length);
+      for (int idx = 0; idx < codes.length; idx++) {
+        out.writeShort(idx == 0 ? ACC_STATIC : ACC_PUBLIC);
+        out.writeShort(method[idx * 2]);
+        out.writeShort(method[idx * 2 + 1]);
+        out.writeShort(1);
+        codes[idx].write(out, code, maxStack[idx], maxLocals[idx]);
+      }
+      out.writeShort(0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * The deduplicated constant pool of a class file.
+   */
+  private static final class ClassFile {
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream entries = new DataOutputStream(pool);
+    private final Map<String, Integer> indices = new HashMap<>();
+    private int count = 1;
+
+    private int utf8(final String value) {
+      return entry("1:" + value, out -> {
+        out.writeByte(1);
+        out.writeUTF(value);
+      });
+    }
+
+    private int integer(final int value) {
+      return entry("3:" + value, out -> {
+        out.writeByte(3);
+        out.writeInt(value);
+      });
+    }
+
+    private int classInfo(final String internalName) {
+      final int name = utf8(internalName);
+      return entry("7:" + internalName, out -> {
+        out.writeByte(7);
+        out.writeShort(name);
+      });
+    }
+
+    private int memberRef(final int tag, final int owner, final String name, final String descriptor) {
+      final int nameIdx = utf8(name);
+      final int descriptorIdx = utf8(descriptor);
+      final int nameAndType = entry("12:" + name + ":" + descriptor, out -> {
+        out.writeByte(12);
+        out.writeShort(nameIdx);
+        out.writeShort(descriptorIdx);
+      });
+      return entry(tag + ":" + owner + ":" + name + ":" + descriptor, out -> {
+        out.writeByte(tag);
+        out.writeShort(owner);
+        out.writeShort(nameAndType);
+      });
+    }
+
+    private int entry(final String key, final Entry entry) {
+      final Integer index = indices.get(key);
+      if (index != null) {
+        return index;
+      }
+      try {
+        entry.write(entries);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      indices.put(key, count);
+      return count++;
+    }
+
+    private void writeConstantPool(final DataOutputStream out) throws IOException {
+      out.writeShort(count);
+      entries.flush();
+      pool.writeTo(out);
+    }
+  }
+
+  /**
+   * Writes a single constant pool entry.
+   */
+  @FunctionalInterface
+  private interface Entry {
+
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  /**
+   * The bytecode of a method without branches.
+   */
+  private static final class Code {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private Code op(final int opcode) {
+      bytes.write(opcode);
+      return this;
+    }
+
+    private Code u2(final int value) {
+      bytes.write(value >>> 8);
+      bytes.write(value);
+      return this;
+    }
+
+    private void write(final DataOutputStream out, final int codeAttribute, final int maxStack, final int maxLocals) throws IOException {
+      out.writeShort(codeAttribute);
+      out.writeInt(12 + bytes.size());
+      out.writeShort(maxStack);
+      out.writeShort(maxLocals);
+      out.writeInt(bytes.size());
+      bytes.writeTo(out);
+      out.writeShort(0);
+      out.writeShort(0);
+    }
+  }
+}
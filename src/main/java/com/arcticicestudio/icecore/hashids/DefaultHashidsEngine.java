@@ -0,0 +1,616 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The table driven default implementation of the Hashids algorithm.
+ *
+ * <p>Characters are classified through lookup tables indexed by the character itself, numbers are transformed via {@link DigitPairTable digit pair
+ * tables} and the derived alphabets of each lottery character are precomputed for instances built via {@link Hashids.Builder#precompute()}. Large hashes are
+ * split into chunks that are transformed concurrently when the {@link Hashids.Builder#parallel(int, ForkJoinPool) parallel mode} is enabled. The sequential
+ * encoding and decoding are also the templates of the codec classes generated via {@link Hashids.Builder#compile()}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class DefaultHashidsEngine implements HashidsEngine {
+
+  /**
+   * The name of the default engine.
+   */
+  public static final String NAME = "default";
+
+  /**
+   * The maximum alphabet length for which the derived alphabets of instances built via {@link Hashids.Builder#precompute()} are precomputed.
+   */
+  static final int MAX_PRECOMPUTED_ALPHABET_LENGTH = 256;
+
+  /**
+   * The amount of numbers of a chunk in parallel mode which is also the distance between the cached alphabets of the derivation chain.
+   */
+  static final int CHUNK_SIZE = 1024;
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Codec create(final Configuration configuration) {
+    return new DefaultCodec(configuration);
+  }
+
+  private static final class DefaultCodec implements Codec {
+
+    private final char[] alphabet;
+    private final char[] separators;
+    private final char[] salt;
+    private final int minLength;
+    private final Padding padding;
+    private final DigitPairTable digitPairTable;
+    private final Configuration configuration;
+    private final int parallelThreshold;
+    private final ForkJoinPool parallelPool;
+
+    /**
+     * The amount of salt characters in the salt of each alphabet derivation.
+     */
+    private final int deriveSaltLength;
+
+    /**
+     * The first derived alphabet for each lottery character indexed by the position of the lottery within the alphabet.
+     *
+     * <p>Only precomputed for instances built via {@link Hashids.Builder#precompute()}, {@code null} otherwise.
+     */
+    private final char[][] lotteryAlphabets;
+
+    /**
+     * The position of each character within the alphabet indexed by the character itself or {@code -1} for characters that are not part of the alphabet.
+     */
+    private final int[] alphabetIndex;
+
+    /**
+     * The derived alphabet of every {@link #CHUNK_SIZE chunk size}th number indexed by the position of the lottery within the alphabet.
+     *
+     * <p>Only used in parallel mode, {@code null} otherwise. The chain of each lottery character is extended while holding its lock and replaced
+     * afterwards so that readers never see a partially extended chain.
+     */
+    private final AtomicReferenceArray<char[][]> chains;
+    private final Object[] chainLocks;
+
+    private DefaultCodec(final Configuration configuration) {
+      this.alphabet = configuration.getAlphabet();
+      this.separators = configuration.getSeparators();
+      this.salt = configuration.getSalt();
+      this.minLength = configuration.getMinLength();
+      this.padding = new Padding(configuration);
+      this.digitPairTable = new DigitPairTable(alphabet.length);
+      this.configuration = configuration;
+      this.parallelThreshold = configuration.getParallelThreshold();
+      this.parallelPool = configuration.getParallelPool();
+      this.deriveSaltLength = Math.min(salt.length, alphabet.length - 1);
+      this.alphabetIndex = new int[configuration.getMaxChar() + 1];
+      Arrays.fill(alphabetIndex, -1);
+      for (int idx = 0; idx < alphabet.length; idx++) {
+        alphabetIndex[alphabet[idx]] = idx;
+      }
+
+      // Precompute the derived alphabets of each lottery character
+      if (configuration.isPrecomputed() && alphabet.length <= MAX_PRECOMPUTED_ALPHABET_LENGTH) {
+        this.lotteryAlphabets = new char[alphabet.length][];
+        for (int idx = 0; idx < alphabet.length; idx++) {
+          lotteryAlphabets[idx] = Hashids.deriveNewAlphabet(Arrays.copyOf(alphabet, alphabet.length), salt, alphabet[idx]);
+        }
+      } else {
+        this.lotteryAlphabets = null;
+      }
+
+      if (parallelPool != null) {
+        this.chains = new AtomicReferenceArray<>(alphabet.length);
+        this.chainLocks = new Object[alphabet.length];
+        for (int idx = 0; idx < chainLocks.length; idx++) {
+          chainLocks[idx] = new Object();
+        }
+      } else {
+        this.chains = null;
+        this.chainLocks = null;
+      }
+    }
+
+    @Override
+    public String encode(final long[] numbers) {
+      return encode(numbers, 0, numbers.length);
+    }
+
+    @Override
+    public String encode(final long[] numbers, final int offset, final int length) {
+      if (parallelPool != null && length >= parallelThreshold) {
+        return encodeParallel(idx -> numbers[offset + idx], length);
+      }
+      return DefaultHashidsEngine.encode(numbers, offset, length, alphabet, separators, salt, lotteryAlphabets, digitPairTable, padding, minLength);
+    }
+
+    @Override
+    public String encode(final LongBuffer numbers, final int index, final int length) {
+      if (parallelPool != null && length >= parallelThreshold) {
+        return encodeParallel(idx -> numbers.get(index + idx), length);
+      }
+      final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+      // Determine the lottery number
+      long lotteryId = 0;
+      for (int idx = 0; idx < length; idx++) {
+        lotteryId += Hashids.remainder(numbers.get(index + idx), idx + Hashids.LOTTERY_MOD);
+      }
+      final int lotteryIdx = (int) (lotteryId % currentAlphabet.length);
+
+      // Encode each number
+      final StringBuilder global = new StringBuilder(length * 12 + minLength);
+      global.append(currentAlphabet[lotteryIdx]);
+      final char[] digits = new char[DigitPairTable.MAX_DIGITS];
+      for (int idx = 0; idx < length; idx++) {
+        appendNumber(global, numbers.get(index + idx), idx, length, lotteryIdx, currentAlphabet, digits, alphabet, separators, salt, lotteryAlphabets,
+          digitPairTable);
+      }
+
+      return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, currentAlphabet) : global.toString();
+    }
+
+    @Override
+    public long[] decode(final String hash) {
+      final long range = guardedRange(hash, configuration);
+      if (range < 0) {
+        return null;
+      }
+      final int startIdx = (int) (range >>> 32);
+      final int endIdx = (int) range;
+      if (startIdx >= endIdx) {
+        return new long[0];
+      }
+
+      final char lottery = hash.charAt(startIdx);
+      if (parallelPool != null && (endIdx - startIdx) / 2 >= parallelThreshold && lottery < alphabetIndex.length && alphabetIndex[lottery] >= 0) {
+        return decodeParallel(hash, startIdx, endIdx, alphabetIndex[lottery]);
+      }
+      return decodeSequential(hash, startIdx, endIdx, configuration, alphabet, salt, lotteryAlphabets, alphabetIndex);
+    }
+
+    /**
+     * Encodes the given range of numbers in chunks on the pool of the parallel mode.
+     *
+     * @param numbers the function which reads the number at an index of the range
+     * @param length the amount of numbers of the range
+     * @return the resultant hash of the encoding of the numbers
+     */
+    private String encodeParallel(final IntToLongFunction numbers, final int length) {
+      // Determine the lottery number
+      long lotteryId = 0;
+      for (int idx = 0; idx < length; idx++) {
+        lotteryId += Hashids.remainder(numbers.applyAsLong(idx), idx + Hashids.LOTTERY_MOD);
+      }
+      final int lotteryIdx = (int) (lotteryId % alphabet.length);
+      final char lottery = alphabet[lotteryIdx];
+      final char[] lastAlphabet = new char[alphabet.length];
+      final char[][] chain = chain(lotteryIdx, length);
+      final StringBuilder[] chunks = new StringBuilder[(length - 1) / CHUNK_SIZE + 1];
+      parallelPool.invoke(new ChunkAction(0, chunks.length, chunk -> {
+        final int from = chunk * CHUNK_SIZE;
+        final int to = Math.min(length, from + CHUNK_SIZE);
+        final char[] currentAlphabet = Arrays.copyOf(chain[chunk], alphabet.length);
+        final char[] deriveSalt = newDeriveSalt(lottery, alphabet, salt);
+        final char[] digits = new char[DigitPairTable.MAX_DIGITS];
+        final StringBuilder part = new StringBuilder((to - from) * 12);
+        for (int idx = from; idx < to; idx++) {
+          if (idx > from) {
+            derive(currentAlphabet, deriveSalt, deriveSaltLength);
+          }
+          final long number = numbers.applyAsLong(idx);
+          final int start = digitPairTable.write(number, currentAlphabet, digits);
+          part.append(digits, start, digits.length - start);
+          if (idx + 1 < length) {
+            long n = Hashids.remainder(number, digits[start] + idx);
+            part.append(separators[(int) (n % separators.length)]);
+          }
+        }
+        chunks[chunk] = part;
+        if (to == length) {
+          System.arraycopy(currentAlphabet, 0, lastAlphabet, 0, lastAlphabet.length);
+        }
+      }));
+
+      // Stitch the chunks together
+      int globalLength = 1;
+      for (StringBuilder part : chunks) {
+        globalLength += part.length();
+      }
+      final StringBuilder global = new StringBuilder(Math.max(globalLength, minLength));
+      global.append(lottery);
+      for (StringBuilder part : chunks) {
+        global.append(part);
+      }
+      return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, lastAlphabet) : global.toString();
+    }
+
+    /**
+     * Decodes the blocks between the given indices in chunks on the pool of the parallel mode.
+     *
+     * <p>Falls back to the sequential decoding if the hash contains less numbers than the threshold of the parallel mode.
+     *
+     * @param hash the hash to be decoded
+     * @param startIdx the index of the lottery character
+     * @param endIdx the exclusive end index of the last block
+     * @param lotteryIdx the position of the lottery within the alphabet
+     * @return the decoded numbers
+     */
+    private long[] decodeParallel(final String hash, final int startIdx, final int endIdx, final int lotteryIdx) {
+      // Find the first block of each chunk
+      int[] chunkStarts = new int[16];
+      int blocks = 0;
+      int blockStart = startIdx + 1;
+      for (int idx = startIdx + 1; idx <= endIdx; idx++) {
+        if (idx < endIdx && configuration.classOf(hash.charAt(idx)) != Configuration.CLASS_SEPARATOR) {
+          continue;
+        }
+        if (idx > blockStart) {
+          if (blocks % CHUNK_SIZE == 0) {
+            if (blocks / CHUNK_SIZE == chunkStarts.length) {
+              chunkStarts = Arrays.copyOf(chunkStarts, chunkStarts.length * 2);
+            }
+            chunkStarts[blocks / CHUNK_SIZE] = blockStart;
+          }
+          blocks++;
+        }
+        blockStart = idx + 1;
+      }
+      if (blocks < parallelThreshold) {
+        return decodeSequential(hash, startIdx, endIdx, configuration, alphabet, salt, lotteryAlphabets, alphabetIndex);
+      }
+
+      final char lottery = alphabet[lotteryIdx];
+      final char[][] chain = chain(lotteryIdx, blocks);
+      final long[] decoded = new long[blocks];
+      final int[] starts = chunkStarts;
+      parallelPool.invoke(new ChunkAction(0, (blocks - 1) / CHUNK_SIZE + 1, chunk -> {
+        final int first = chunk * CHUNK_SIZE;
+        final int last = Math.min(decoded.length, first + CHUNK_SIZE);
+        final char[] currentAlphabet = Arrays.copyOf(chain[chunk], alphabet.length);
+        final char[] deriveSalt = newDeriveSalt(lottery, alphabet, salt);
+        final int[] positions = new int[alphabetIndex.length];
+        int count = first;
+        int start = starts[chunk];
+        for (int idx = start; count < last; idx++) {
+          if (idx < endIdx && configuration.classOf(hash.charAt(idx)) != Configuration.CLASS_SEPARATOR) {
+            continue;
+          }
+          if (idx > start) {
+            if (count > first) {
+              derive(currentAlphabet, deriveSalt, deriveSaltLength);
+            }
+            decoded[count++] = decodeBlock(hash, start, idx, currentAlphabet, positions);
+          }
+          start = idx + 1;
+        }
+      }));
+      return decoded;
+    }
+
+    /**
+     * Returns the cached derivation chain of the given lottery that covers at least the given amount of numbers.
+     *
+     * <p>Missing alphabets are derived sequentially from the last cached alphabet.
+     *
+     * @param lotteryIdx the position of the lottery within the alphabet
+     * @param count the amount of numbers
+     * @return the derived alphabet of every {@link #CHUNK_SIZE chunk size}th number
+     */
+    private char[][] chain(final int lotteryIdx, final int count) {
+      final int required = (count - 1) / CHUNK_SIZE + 1;
+      final char[][] cached = chains.get(lotteryIdx);
+      if (cached != null && cached.length >= required) {
+        return cached;
+      }
+
+      synchronized (chainLocks[lotteryIdx]) {
+        final char[][] current = chains.get(lotteryIdx);
+        final int available = current != null ? current.length : 0;
+        if (available >= required) {
+          return current;
+        }
+        final char[][] extended = new char[required][];
+        final char[] deriveSalt = newDeriveSalt(alphabet[lotteryIdx], alphabet, salt);
+        final char[] currentAlphabet;
+        if (available > 0) {
+          System.arraycopy(current, 0, extended, 0, available);
+          currentAlphabet = Arrays.copyOf(current[available - 1], alphabet.length);
+        } else {
+          currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+          derive(currentAlphabet, deriveSalt, deriveSaltLength);
+          extended[0] = Arrays.copyOf(currentAlphabet, alphabet.length);
+        }
+        for (int checkpoint = Math.max(1, available); checkpoint < required; checkpoint++) {
+          for (int step = 0; step < CHUNK_SIZE; step++) {
+            derive(currentAlphabet, deriveSalt, deriveSaltLength);
+          }
+          extended[checkpoint] = Arrays.copyOf(currentAlphabet, alphabet.length);
+        }
+        chains.set(lotteryIdx, extended);
+        return extended;
+      }
+    }
+  }
+
+  /**
+   * Encodes the given range of numbers sequentially.
+   *
+   * <p>This is the encoding of the table driven codec and the template of the codecs generated via {@link Hashids.Builder#compile()} which pass
+   * their configuration as constants.
+   *
+   * @param numbers the array with the numbers to be encoded
+   * @param offset the index of the first number of the range
+   * @param length the amount of numbers of the range
+   * @param alphabet the alphabet
+   * @param separators the separators
+   * @param salt the salt
+   * @param lotteryAlphabets the precomputed derived alphabet of each lottery character or {@code null} if not precomputed
+   * @param digitPairTable the digit pair table of the alphabet
+   * @param padding the padding to the minimum hash length
+   * @param minLength the minimum hash length
+   * @return the resultant hash of the encoding of the numbers
+   */
+  static String encode(final long[] numbers, final int offset, final int length, final char[] alphabet, final char[] separators, final char[] salt,
+    final char[][] lotteryAlphabets, final DigitPairTable digitPairTable, final Padding padding, final int minLength) {
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+    // Determine the lottery number
+    long lotteryId = 0;
+    for (int idx = 0; idx < length; idx++) {
+      lotteryId += Hashids.remainder(numbers[offset + idx], idx + Hashids.LOTTERY_MOD);
+    }
+    final int lotteryIdx = (int) (lotteryId % currentAlphabet.length);
+
+    // Encode each number
+    final StringBuilder global = new StringBuilder(length * 12 + minLength);
+    global.append(currentAlphabet[lotteryIdx]);
+    final char[] digits = new char[DigitPairTable.MAX_DIGITS];
+    for (int idx = 0; idx < length; idx++) {
+      appendNumber(global, numbers[offset + idx], idx, length, lotteryIdx, currentAlphabet, digits, alphabet, separators, salt, lotteryAlphabets,
+        digitPairTable);
+    }
+
+    return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, currentAlphabet) : global.toString();
+  }
+
+  /**
+   * Appends the block of the number at the given index of the hash followed by its separator if it is not the last number.
+   *
+   * @param global the hash to which the block is appended
+   * @param number the number to be encoded
+   * @param idx the index of the number within the hash
+   * @param length the amount of numbers of the hash
+   * @param lotteryIdx the position of the lottery within the alphabet
+   * @param currentAlphabet the alphabet of the previous number which is derived for this number in place
+   * @param digits a buffer for the digits of the number
+   * @param alphabet the alphabet
+   * @param separators the separators
+   * @param salt the salt
+   * @param lotteryAlphabets the precomputed derived alphabet of each lottery character or {@code null} if not precomputed
+   * @param digitPairTable the digit pair table of the alphabet
+   */
+  private static void appendNumber(final StringBuilder global, final long number, final int idx, final int length, final int lotteryIdx,
+    final char[] currentAlphabet, final char[] digits, final char[] alphabet, final char[] separators, final char[] salt, final char[][] lotteryAlphabets,
+    final DigitPairTable digitPairTable) {
+    if (idx == 0 && lotteryAlphabets != null) {
+      System.arraycopy(lotteryAlphabets[lotteryIdx], 0, currentAlphabet, 0, currentAlphabet.length);
+    } else {
+      Hashids.deriveNewAlphabet(currentAlphabet, salt, alphabet[lotteryIdx]);
+    }
+    final int start = digitPairTable.write(number, currentAlphabet, digits);
+    global.append(digits, start, digits.length - start);
+    // Append the separator
+    if (idx + 1 < length) {
+      long n = Hashids.remainder(number, digits[start] + idx);
+      global.append(separators[(int) (n % separators.length)]);
+    }
+  }
+
+  /**
+   * Decodes the given hash sequentially.
+   *
+   * <p>This is the template of the codecs generated via {@link Hashids.Builder#compile()} which pass their configuration as constants.
+   *
+   * @param hash the hash to be decoded
+   * @param configuration the configuration which classifies the characters
+   * @param alphabet the alphabet
+   * @param salt the salt
+   * @param lotteryAlphabets the precomputed derived alphabet of each lottery character or {@code null} if not precomputed
+   * @param alphabetIndex the position of each character within the alphabet
+   * @return the decoded numbers, an empty array if the hash contains no numbers or {@code null} if the hash contains invalid characters
+   */
+  static long[] decode(final String hash, final Configuration configuration, final char[] alphabet, final char[] salt, final char[][] lotteryAlphabets,
+    final int[] alphabetIndex) {
+    final long range = guardedRange(hash, configuration);
+    if (range < 0) {
+      return null;
+    }
+    final int startIdx = (int) (range >>> 32);
+    final int endIdx = (int) range;
+    if (startIdx >= endIdx) {
+      return new long[0];
+    }
+    return decodeSequential(hash, startIdx, endIdx, configuration, alphabet, salt, lotteryAlphabets, alphabetIndex);
+  }
+
+  /**
+   * Validates the characters of the given hash and determines the range between its guards.
+   *
+   * @param hash the hash to be validated
+   * @param configuration the configuration which classifies the characters
+   * @return the index of the lottery character in the upper and the exclusive end index of the last block in the lower half or {@code -1} if the hash
+   * contains invalid characters
+   */
+  private static long guardedRange(final String hash, final Configuration configuration) {
+    final int length = hash.length();
+
+    // Validate the characters and find the guards
+    int firstGuardIdx = -1;
+    int secondGuardIdx = -1;
+    for (int idx = 0; idx < length; idx++) {
+      final byte charClass = configuration.classOf(hash.charAt(idx));
+      if (charClass == Configuration.CLASS_INVALID) {
+        return -1;
+      }
+      if (charClass == Configuration.CLASS_GUARD) {
+        if (firstGuardIdx < 0) {
+          firstGuardIdx = idx;
+        } else if (secondGuardIdx < 0) {
+          secondGuardIdx = idx;
+        }
+      }
+    }
+
+    // Calculate the start- and end index based on the guards
+    final int startIdx = firstGuardIdx >= 0 ? firstGuardIdx + 1 : 0;
+    final int endIdx = secondGuardIdx >= 0 ? secondGuardIdx : length;
+    return (long) startIdx << 32 | endIdx;
+  }
+
+  /**
+   * Decodes the blocks between the given indices one after another.
+   *
+   * @param hash the hash to be decoded
+   * @param startIdx the index of the lottery character
+   * @param endIdx the exclusive end index of the last block
+   * @param configuration the configuration which classifies the characters
+   * @param alphabet the alphabet
+   * @param salt the salt
+   * @param lotteryAlphabets the precomputed derived alphabet of each lottery character or {@code null} if not precomputed
+   * @param alphabetIndex the position of each character within the alphabet
+   * @return the decoded numbers
+   */
+  private static long[] decodeSequential(final String hash, final int startIdx, final int endIdx, final Configuration configuration,
+    final char[] alphabet, final char[] salt, final char[][] lotteryAlphabets, final int[] alphabetIndex) {
+    final char lottery = hash.charAt(startIdx);
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+    final int[] positions = new int[alphabetIndex.length];
+    final char[] lotteryAlphabet = lotteryAlphabets != null && lottery < alphabetIndex.length && alphabetIndex[lottery] >= 0
+      ? lotteryAlphabets[alphabetIndex[lottery]]
+      : null;
+    final char[] deriveSalt = newDeriveSalt(lottery, alphabet, salt);
+    final int deriveSaltLength = Math.min(salt.length, alphabet.length - 1);
+
+    long[] decoded = new long[(endIdx - startIdx) / 2 + 1];
+    int count = 0;
+    int blockStart = startIdx + 1;
+    for (int idx = startIdx + 1; idx <= endIdx; idx++) {
+      if (idx < endIdx && configuration.classOf(hash.charAt(idx)) != Configuration.CLASS_SEPARATOR) {
+        continue;
+      }
+
+      if (idx > blockStart) {
+        if (count == 0 && lotteryAlphabet != null) {
+          System.arraycopy(lotteryAlphabet, 0, currentAlphabet, 0, currentAlphabet.length);
+        } else {
+          derive(currentAlphabet, deriveSalt, deriveSaltLength);
+        }
+        decoded[count++] = decodeBlock(hash, blockStart, idx, currentAlphabet, positions);
+      }
+      blockStart = idx + 1;
+    }
+
+    return count == decoded.length ? decoded : Arrays.copyOf(decoded, count);
+  }
+
+  /**
+   * Decodes a single block.
+   *
+   * @param hash the hash to be decoded
+   * @param from the start index of the block
+   * @param to the exclusive end index of the block
+   * @param currentAlphabet the derived alphabet of the block
+   * @param positions the reusable array for the position of each character within the derived alphabet
+   * @return the decoded number
+   */
+  private static long decodeBlock(final String hash, final int from, final int to, final char[] currentAlphabet, final int[] positions) {
+    for (int pos = 0; pos < currentAlphabet.length; pos++) {
+      positions[currentAlphabet[pos]] = pos;
+    }
+    long number = 0;
+    for (int pos = from; pos < to; pos++) {
+      number = number * currentAlphabet.length + positions[hash.charAt(pos)];
+    }
+    return number;
+  }
+
+  /**
+   * Creates the reusable salt for the derivation of the alphabets of the given lottery.
+   *
+   * @param lottery the lottery character
+   * @param alphabet the alphabet
+   * @param salt the salt
+   * @return the salt with the lottery and the salt characters at its start
+   */
+  private static char[] newDeriveSalt(final char lottery, final char[] alphabet, final char[] salt) {
+    final char[] deriveSalt = new char[alphabet.length];
+    deriveSalt[0] = lottery;
+    System.arraycopy(salt, 0, deriveSalt, 1, Math.min(salt.length, alphabet.length - 1));
+    return deriveSalt;
+  }
+
+  /**
+   * Derives the alphabet of the next number in place like {@link Hashids#deriveNewAlphabet(char[], char[], char)} without allocating a new salt.
+   *
+   * @param currentAlphabet the alphabet of the previous number
+   * @param deriveSalt the reusable salt of the lottery
+   * @param deriveSaltLength the amount of salt characters in the salt
+   */
+  private static void derive(final char[] currentAlphabet, final char[] deriveSalt, final int deriveSaltLength) {
+    final int saltLeft = currentAlphabet.length - deriveSaltLength - 1;
+    if (saltLeft > 0) {
+      System.arraycopy(currentAlphabet, 0, deriveSalt, currentAlphabet.length - saltLeft, saltLeft);
+    }
+    Hashids.shuffle(currentAlphabet, deriveSalt);
+  }
+
+  /**
+   * Transforms a range of chunks by recursively splitting it in halves.
+   */
+  private static final class ChunkAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final transient IntConsumer chunk;
+
+    private ChunkAction(final int from, final int to, final IntConsumer chunk) {
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        chunk.accept(from);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new ChunkAction(from, middle, chunk), new ChunkAction(middle, to, chunk));
+    }
+  }
+}
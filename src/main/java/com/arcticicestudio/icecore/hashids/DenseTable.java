@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * Precomputed hashes of all single numbers of a dense range starting at zero.
+ *
+ * <p>All hashes are stored consecutively in a single shared character arena where the hash of the number {@code n} spans from {@code offsets[n]} to
+ * {@code offsets[n + 1]}. Hashes are decoded through an open addressing index over the arena that is keyed by the {@link String#hashCode() string hash}
+ * of the hash, which is cached by the string itself, so that both directions only require a constant amount of array reads.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class DenseTable {
+
+  /**
+   * The maximum amount of precomputed numbers.
+   */
+  static final int MAX_SIZE = 1 << 24;
+
+  private final char[] arena;
+  private final int[] offsets;
+
+  /**
+   * The number of each hash incremented by one at the position derived from the string hash or {@code 0} for free slots.
+   */
+  private final int[] index;
+  private final int mask;
+
+  /**
+   * Precomputes the hashes of all numbers from zero to the given size exclusive.
+   *
+   * @param codec the codec to encode the numbers with
+   * @param size the amount of numbers
+   */
+  DenseTable(final HashidsEngine.Codec codec, final int size) {
+    final String[] hashes = new String[size];
+    long length = 0;
+    for (int number = 0; number < size; number++) {
+      hashes[number] = codec.encode(new long[] {number});
+      length += hashes[number].length();
+    }
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("dense hashes exceed the maximum arena size: " + length);
+    }
+
+    this.arena = new char[(int) length];
+    this.offsets = new int[size + 1];
+    this.index = new int[Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1];
+    this.mask = index.length - 1;
+    for (int number = 0; number < size; number++) {
+      final String hash = hashes[number];
+      hash.getChars(0, hash.length(), arena, offsets[number]);
+      offsets[number + 1] = offsets[number] + hash.length();
+
+      int slot = spread(hash.hashCode()) & mask;
+      while (index[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      index[slot] = number + 1;
+    }
+  }
+
+  /**
+   * Returns the amount of precomputed numbers.
+   *
+   * @return the amount of precomputed numbers
+   */
+  int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Returns the precomputed hash of the given number.
+   *
+   * @param number the number
+   * @return the hash of the number or {@code null} if the number is out of range
+   */
+  String encode(final long number) {
+    if (number < 0 || number >= size()) {
+      return null;
+    }
+    final int start = offsets[(int) number];
+    return new String(arena, start, offsets[(int) number + 1] - start);
+  }
+
+  /**
+   * Returns the number of the given precomputed hash.
+   *
+   * @param hash the hash
+   * @return the number of the hash or {@code -1} if the hash has not been precomputed
+   */
+  long decode(final String hash) {
+    int slot = spread(hash.hashCode()) & mask;
+    for (int number = index[slot]; number != 0; number = index[slot]) {
+      if (matches(hash, number - 1)) {
+        return number - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private boolean matches(final String hash, final int number) {
+    final int start = offsets[number];
+    if (offsets[number + 1] - start != hash.length()) {
+      return false;
+    }
+    for (int idx = 0; idx < hash.length(); idx++) {
+      if (arena[start + idx] != hash.charAt(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int spread(final int hash) {
+    final int mixed = hash * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * Precomputed digit pair tables to transform numbers into their positional representation of a fixed base.
+ *
+ * <p>Instead of one division and one modulo operation per digit, the number is divided by the squared base and two digits are emitted per step by
+ * looking up the remainder in the digit pair tables, comparable to the digit tables used by {@link Long#toString(long)}. As soon as the remaining value
+ * fits into 31 bits the division is replaced by a multiplication with a precomputed reciprocal followed by a shift.
+ *
+ * <p>Tables are only precomputed for bases up to {@link #MAX_BASE}, larger bases fall back to the plain division per digit.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class DigitPairTable {
+
+  /**
+   * The maximum base for which the digit pair tables are precomputed.
+   */
+  static final int MAX_BASE = 256;
+
+  /**
+   * The maximum amount of digits of an unsigned long number in the smallest possible base {@code 2}.
+   */
+  static final int MAX_DIGITS = 64;
+
+  /**
+   * The maximum amount of digits of a non-negative int number in the smallest possible base {@code 2}.
+   */
+  static final int MAX_INT_DIGITS = 31;
+
+  /**
+   * The bit width of values that are divided through the reciprocal multiplication.
+   */
+  private static final int RECIPROCAL_BITS = 31;
+
+  private final int base;
+  private final int basePair;
+  private final byte[] high;
+  private final byte[] low;
+  private final long pairReciprocal;
+  private final int pairShift;
+
+  /**
+   * Constructs new digit pair tables for the given base.
+   *
+   * @param base the base of the positional representation
+   */
+  DigitPairTable(final int base) {
+    this.base = base;
+    if (base < 2 || base > MAX_BASE) {
+      this.basePair = 0;
+      this.high = null;
+      this.low = null;
+      this.pairReciprocal = 0;
+      this.pairShift = 0;
+      return;
+    }
+
+    this.basePair = base * base;
+    this.high = new byte[basePair];
+    this.low = new byte[basePair];
+    for (int idx = 0; idx < basePair; idx++) {
+      high[idx] = (byte) (idx / base);
+      low[idx] = (byte) (idx % base);
+    }
+
+    // Granlund-Montgomery: q = (n * ceil(2^(N + l) / d)) >>> (N + l) for all n < 2^N with 2^(l - 1) < d <= 2^l
+    final int log = 32 - Integer.numberOfLeadingZeros(basePair - 1);
+    this.pairShift = RECIPROCAL_BITS + log;
+    this.pairReciprocal = ((1L << pairShift) + basePair - 1) / basePair;
+  }
+
+  /**
+   * Returns the base of this digit pair tables.
+   *
+   * @return the base of this digit pair tables
+   */
+  int getBase() {
+    return base;
+  }
+
+  /**
+   * Writes the digits of the given number right-aligned into the given buffer using the given alphabet.
+   *
+   * <p>Negative numbers are interpreted as unsigned numbers of the {@link HashidsFeature#UNSIGNED UNSIGNED} feature.
+   *
+   * @param number the number to be transformed
+   * @param alphabet the alphabet whose length must match the base of this tables
+   * @param buffer the buffer with a minimum length of {@link #MAX_DIGITS}
+   * @return the index of the first written digit in the buffer
+   */
+  int write(final long number, final char[] alphabet, final char[] buffer) {
+    int pos = buffer.length;
+    long input = number;
+    if (input < 0) {
+      // Divide the unsigned number once so that the remaining quotient is non-negative
+      buffer[--pos] = alphabet[(int) Long.remainderUnsigned(input, base)];
+      input = Long.divideUnsigned(input, base);
+    }
+    if (high == null) {
+      do {
+        buffer[--pos] = alphabet[(int) (input % base)];
+        input /= base;
+      } while (input > 0);
+      return pos;
+    }
+
+    while (input > Integer.MAX_VALUE) {
+      final long quotient = input / basePair;
+      final int remainder = (int) (input - quotient * basePair);
+      buffer[--pos] = alphabet[low[remainder] & 0xFF];
+      buffer[--pos] = alphabet[high[remainder] & 0xFF];
+      input = quotient;
+    }
+
+    return writeInt((int) input, alphabet, buffer, pos);
+  }
+
+  /**
+   * Writes the digits of the given non-negative int number right-aligned into the given buffer using the given alphabet.
+   *
+   * <p>The number is transformed in 32-bit arithmetic only without any 64-bit division.
+   *
+   * @param number the non-negative number to be transformed
+   * @param alphabet the alphabet whose length must match the base of this tables
+   * @param buffer the buffer with a minimum length of {@link #MAX_INT_DIGITS}
+   * @return the index of the first written digit in the buffer
+   */
+  int write(final int number, final char[] alphabet, final char[] buffer) {
+    if (high == null) {
+      int pos = buffer.length;
+      int value = number;
+      do {
+        buffer[--pos] = alphabet[value % base];
+        value /= base;
+      } while (value > 0);
+      return pos;
+    }
+    return writeInt(number, alphabet, buffer, buffer.length);
+  }
+
+  /**
+   * Writes the digits of the given non-negative int number through the digit pair tables in front of the given position.
+   */
+  private int writeInt(final int number, final char[] alphabet, final char[] buffer, final int end) {
+    int pos = end;
+    int value = number;
+    while (value >= basePair) {
+      final int quotient = (int) ((value * pairReciprocal) >>> pairShift);
+      final int remainder = value - quotient * basePair;
+      buffer[--pos] = alphabet[low[remainder] & 0xFF];
+      buffer[--pos] = alphabet[high[remainder] & 0xFF];
+      value = quotient;
+    }
+
+    buffer[--pos] = alphabet[low[value] & 0xFF];
+    if (value >= base) {
+      buffer[--pos] = alphabet[high[value] & 0xFF];
+    }
+    return pos;
+  }
+}
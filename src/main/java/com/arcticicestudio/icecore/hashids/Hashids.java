@@ -9,26 +9,28 @@
 
 package com.arcticicestudio.icecore.hashids;
 
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.reducing;
 import static java.util.stream.Collectors.toSet;
 
 import java.math.BigInteger;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
-import java.util.stream.Stream;
 
 /**
  * A lightweight generator for short, unique, case-sensitive and non-sequential decodable hashes from positive unsigned (long) integer numbers.
@@ -49,6 +51,9 @@ import java.util.stream.Stream;
  * can be enabled via the {@link Hashids.Builder#features features(HashidsFeature)} method. <strong>Please note that most features will break the
  * interoperability with the origin algorithm implementation!</strong>
  *
+ * <p>The algorithm itself is implemented by a {@link HashidsEngine engine} which can be selected via the {@link Hashids.Builder#engine engine} builder
+ * method. All engines produce identical hashes.
+ *
  * <p><strong>Instances of this class are thread-safe.</strong>
  *
  * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
@@ -60,7 +65,7 @@ public final class Hashids {
   private static final String VERSION = "0.4.0";
   private static final String VERSION_INTEROP = "1.0.0";
 
-  private static final int LOTTERY_MOD = 100;
+  static final int LOTTERY_MOD = 100;
   private static final double GUARD_THRESHOLD = 12;
   private static final double SEPARATOR_THRESHOLD = 3.5;
   private static final Pattern HEX_VALUES_PATTERN = Pattern.compile("[\\w\\W]{1,12}");
@@ -109,7 +114,20 @@ public final class Hashids {
   private final char[] salt;
   private final char[] guards;
   private final int minLength;
-  private final Set<Character> separatorsSet;
+
+  /**
+   * The maximum amount of numbers of a hash in {@link Builder#fixedWidth(int, long) fixed-width} mode, {@code 0} otherwise.
+   *
+   * @since 0.5.0
+   */
+  private final int fixedWidthArity;
+
+  /**
+   * The maximum number of a hash in {@link Builder#fixedWidth(int, long) fixed-width} mode.
+   *
+   * @since 0.5.0
+   */
+  private final long fixedWidthMaxValue;
 
   /**
    * A set of all enabled {@link HashidsFeature features}.
@@ -117,27 +135,126 @@ public final class Hashids {
    * @since 0.4.0
    */
   private final EnumSet<HashidsFeature> features;
+  private final boolean allowHexadecimalNumberPrefix;
+  private final boolean exceptionHandling;
+  private final boolean noMaxInteropNumberSize;
+  private final boolean sortable;
+  private final boolean unsigned;
+
+  /**
+   * The derived configuration that is passed to the {@link HashidsEngine engine}.
+   *
+   * @since 0.5.0
+   */
+  private final HashidsEngine.Configuration configuration;
+
+  /**
+   * The codec of the {@link HashidsEngine engine} that implements the algorithm for this instance configuration.
+   *
+   * @since 0.5.0
+   */
+  private final HashidsEngine.Codec codec;
+
+  /**
+   * The precomputed hashes of the {@link Builder#dense(int) dense} range, {@code null} otherwise.
+   *
+   * @since 0.5.0
+   */
+  private final DenseTable denseTable;
+
+  /**
+   * The amount of {@link Builder#routing(int) routing} keys, {@code 0} otherwise.
+   *
+   * @since 0.5.0
+   */
+  private final int routingKeys;
+
+  /**
+   * The salt-derived routing characters indexed by the routing key shifted by the offset of the last character.
+   *
+   * @since 0.5.0
+   */
+  private final char[] routingChars;
+
+  /**
+   * The position of each routing character within the {@link #routingChars routing characters} indexed by the character itself or {@code -1}.
+   *
+   * @since 0.5.0
+   */
+  private final int[] routingIndex;
+
+  /**
+   * The salt-derived offset of the routing key for each valid last character of a hash indexed by the character itself or {@code -1}.
+   *
+   * @since 0.5.0
+   */
+  private final int[] routingOffsets;
+
+  /**
+   * The check character of the {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature, {@code null} otherwise.
+   *
+   * @since 0.5.0
+   */
+  private final CheckCharacter checkCharacter;
+
+  /**
+   * The codec for numbers that don't fit into a long.
+   *
+   * @since 0.5.0
+   */
+  private final BigIntegerCodec bigIntegerCodec;
+
+  /**
+   * The 32-bit codec for int numbers, {@code null} for the {@link HashidsFeature#SORTABLE SORTABLE} feature whose int numbers are widened.
+   *
+   * @since 0.5.0
+   */
+  private final IntCodec intCodec;
+
+  /**
+   * The {@link Builder#maxHashLength(int) maximum length} of hashes.
+   *
+   * @since 0.5.0
+   */
+  private final int maxHashLength;
+
+  /**
+   * The {@link Builder#maxArity(int) maximum amount} of numbers of a hash.
+   *
+   * @since 0.5.0
+   */
+  private final int maxArity;
 
   /**
    * Constructs a new instance without a salt, no minimum hash length, the {@link #DEFAULT_ALPHABET default alphabet} and no enabled
    * {@link HashidsFeature features}.
    */
   public Hashids() {
-    this(new char[0], 0, DEFAULT_ALPHABET, EnumSet.noneOf(HashidsFeature.class));
+    this(new Builder(), false, false);
   }
 
   /**
-   * Constructs a new instance with the given configuration and enabled {@link HashidsFeature features}.
+   * Constructs a new instance with the configuration and enabled {@link HashidsFeature features} of the given builder.
    *
-   * @param salt the salt to be used as entropy
-   * @param minLength the minimum hash length
-   * @param alphabet the alphabet to be used for the hash generation
-   * @param features the set of enabled Hashids features
+   * @param builder the builder with the configuration
+   * @param precompute indicates if the engine should precompute tables for the configuration
+   * @param compile indicates if a codec class specialized for the configuration should be generated
+   * @throws IllegalArgumentException if no engine with the configured name is available or the fixed width is invalid
    */
-  private Hashids(final char[] salt, final int minLength, final char[] alphabet, final EnumSet<HashidsFeature> features) {
-    this.minLength = minLength;
-    this.salt = Arrays.copyOf(salt, salt.length);
-    this.features = features;
+  private Hashids(final Builder builder, final boolean precompute, final boolean compile) {
+    final char[] alphabet = builder.alphabet;
+    final EnumSet<HashidsFeature> features = builder.features;
+    this.salt = Arrays.copyOf(builder.salt, builder.salt.length);
+    this.features = EnumSet.copyOf(features);
+    // Unsigned numbers exceed the maximum interoperability number size by definition
+    if (features.contains(HashidsFeature.UNSIGNED)) {
+      this.features.add(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE);
+    }
+    this.allowHexadecimalNumberPrefix = features.contains(HashidsFeature.ALLOW_HEXADECIMAL_NUMBER_PREFIX);
+    this.exceptionHandling = features.contains(HashidsFeature.EXCEPTION_HANDLING);
+    this.noMaxInteropNumberSize = this.features.contains(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE);
+    this.sortable = features.contains(HashidsFeature.SORTABLE);
+    this.unsigned = features.contains(HashidsFeature.UNSIGNED);
     char[] tmpSeparators = shuffle(filterSeparators(DEFAULT_SEPARATORS, alphabet), this.salt);
     char[] tmpAlphabet = validateAndFilterAlphabet(alphabet, tmpSeparators);
 
@@ -169,10 +286,129 @@ public final class Hashids {
       this.alphabet = Arrays.copyOfRange(tmpAlphabet, guards.length, tmpAlphabet.length);
     }
 
-    // Populate the separators set
-    this.separatorsSet = IntStream.range(0, separators.length)
-      .mapToObj(idx -> separators[idx])
-      .collect(toSet());
+    // Extend the minimum hash length to the length of the largest hash in fixed-width mode
+    this.fixedWidthArity = builder.fixedWidthArity;
+    this.fixedWidthMaxValue = builder.fixedWidthMaxValue;
+    if (sortable) {
+      if (fixedWidthArity == 0) {
+        throw new IllegalArgumentException("sortable feature requires a fixed width!");
+      }
+      if (builder.minLength > 0) {
+        throw new IllegalArgumentException("sortable feature does not support a minimum hash length: " + builder.minLength);
+      }
+      if (features.contains(HashidsFeature.CHECK_CHARACTER)) {
+        throw new IllegalArgumentException("sortable feature does not support the check character feature!");
+      }
+    }
+    // The routing key of the routing mode is encoded as additional leading number
+    final int fixedWidthLength = fixedWidthArity > 0
+      ? maxEncodedLength(fixedWidthArity + (builder.routingKeys > 0 ? 1 : 0), fixedWidthMaxValue, builder.minLength)
+      : builder.minLength;
+    // Hashes of the sortable feature are never padded so that hashes of less numbers are prefixes in the lexicographic order
+    this.minLength = sortable ? 0 : fixedWidthLength;
+
+    final HashidsEngine hashidsEngine = Engines.ENGINES.get(builder.engine);
+    if (hashidsEngine == null) {
+      throw new IllegalArgumentException("unknown engine: " + builder.engine);
+    }
+    this.configuration = new HashidsEngine.Configuration(this.salt, this.alphabet, this.separators, this.guards, minLength, this.features, precompute,
+      builder.parallelThreshold, builder.parallelPool);
+    if (sortable) {
+      this.codec = new SortableCodec(configuration, fixedWidthArity, fixedWidthMaxValue);
+    } else {
+      this.codec = compile ? CodecCompiler.compile(hashidsEngine, configuration) : hashidsEngine.create(configuration);
+    }
+
+    // Precompute the hashes of the dense range within the bounds of the fixed width
+    if (builder.denseSize < 0 || builder.denseSize > DenseTable.MAX_SIZE) {
+      throw new IllegalArgumentException("dense size must be between 0 and " + DenseTable.MAX_SIZE + ": " + builder.denseSize);
+    }
+    final int denseSize = fixedWidthArity > 0 && fixedWidthMaxValue < builder.denseSize ? (int) fixedWidthMaxValue + 1 : builder.denseSize;
+    this.denseTable = denseSize > 0 ? new DenseTable(codec, denseSize) : null;
+    this.checkCharacter = features.contains(HashidsFeature.CHECK_CHARACTER) ? new CheckCharacter(configuration) : null;
+    this.bigIntegerCodec = new BigIntegerCodec(configuration);
+    this.intCodec = sortable ? null : new IntCodec(configuration);
+
+    // Hashes are never shorter than the minimum hash length with the routing and the check character
+    this.maxHashLength = builder.maxHashLength;
+    this.maxArity = builder.maxArity;
+    final int minHashLength = minLength + (builder.routingKeys > 0 ? 1 : 0) + (checkCharacter != null ? 1 : 0);
+    if (maxHashLength < minHashLength) {
+      throw new IllegalArgumentException("maximum hash length must not be less than the minimum hash length: " + maxHashLength + " < " + minHashLength);
+    }
+
+    // Derive the routing characters and offsets with a guard as lottery which never occurs as lottery of a hash
+    this.routingKeys = builder.routingKeys;
+    if (routingKeys < 0 || routingKeys > this.alphabet.length) {
+      throw new IllegalArgumentException("amount of routing keys must be between 0 and " + this.alphabet.length + ": " + routingKeys);
+    }
+    if (routingKeys > 0 && sortable) {
+      throw new IllegalArgumentException("sortable feature does not support routing keys!");
+    }
+    if (routingKeys > 0) {
+      this.routingChars = deriveNewAlphabet(Arrays.copyOf(this.alphabet, this.alphabet.length), this.salt, guards[0]);
+      this.routingIndex = new int[configuration.getMaxChar() + 1];
+      this.routingOffsets = new int[configuration.getMaxChar() + 1];
+      Arrays.fill(routingIndex, -1);
+      Arrays.fill(routingOffsets, -1);
+      for (int idx = 0; idx < routingChars.length; idx++) {
+        routingIndex[routingChars[idx]] = idx;
+      }
+      final char[] lastChars = new char[this.alphabet.length + this.separators.length + guards.length];
+      System.arraycopy(this.alphabet, 0, lastChars, 0, this.alphabet.length);
+      System.arraycopy(this.separators, 0, lastChars, this.alphabet.length, this.separators.length);
+      System.arraycopy(guards, 0, lastChars, this.alphabet.length + this.separators.length, guards.length);
+      deriveNewAlphabet(lastChars, this.salt, guards[0]);
+      for (int idx = 0; idx < lastChars.length; idx++) {
+        routingOffsets[lastChars[idx]] = idx % routingChars.length;
+      }
+    } else {
+      this.routingChars = null;
+      this.routingIndex = null;
+      this.routingOffsets = null;
+    }
+  }
+
+  /**
+   * The modes of the verification of lazily {@link Hashids#decodeIterator(CharSequence, Verification) decoded} numbers.
+   *
+   * @since 0.5.0
+   */
+  public enum Verification {
+    /**
+     * Verifies each block before its number is returned and the whole hash once all numbers have been returned.
+     *
+     * <p>The lottery, guards and padding depend on all numbers of the hash and can therefore only be verified when the iterator is exhausted.
+     */
+    INCREMENTAL,
+
+    /**
+     * Verifies the whole hash once all numbers have been returned.
+     *
+     * <p><strong>Numbers that are returned before the iterator is exhausted are not verified at all!</strong>
+     */
+    EXHAUSTION
+  }
+
+  /**
+   * Lazily discovers all available {@link HashidsEngine engines} via the {@link ServiceLoader}.
+   *
+   * @since 0.5.0
+   */
+  private static final class Engines {
+
+    private static final Map<String, HashidsEngine> ENGINES;
+
+    static {
+      final Map<String, HashidsEngine> engines = new LinkedHashMap<>();
+      for (HashidsEngine engine : ServiceLoader.load(HashidsEngine.class, Hashids.class.getClassLoader())) {
+        engines.putIfAbsent(engine.getName(), engine);
+      }
+      // Ensure the availability of the built-in engines when the provider configuration files have been stripped
+      engines.putIfAbsent(DefaultHashidsEngine.NAME, new DefaultHashidsEngine());
+      engines.putIfAbsent(ReferenceHashidsEngine.NAME, new ReferenceHashidsEngine());
+      ENGINES = Collections.unmodifiableMap(engines);
+    }
   }
 
   /**
@@ -185,6 +421,15 @@ public final class Hashids {
     private char[] alphabet;
 
     private EnumSet<HashidsFeature> features;
+    private String engine;
+    private int fixedWidthArity;
+    private long fixedWidthMaxValue;
+    private int denseSize;
+    private int parallelThreshold;
+    private ForkJoinPool parallelPool;
+    private int routingKeys;
+    private int maxHashLength;
+    private int maxArity;
 
     /**
      * Constructs a new instance without a salt, no minimum hash length, the {@link #DEFAULT_ALPHABET default alphabet} and no enabled
@@ -195,6 +440,9 @@ public final class Hashids {
       this.alphabet = DEFAULT_ALPHABET;
       this.minLength = 0;
       this.features = EnumSet.noneOf(HashidsFeature.class);
+      this.engine = DefaultHashidsEngine.NAME;
+      this.maxHashLength = Integer.MAX_VALUE;
+      this.maxArity = Integer.MAX_VALUE;
     }
 
     /**
@@ -250,13 +498,218 @@ public final class Hashids {
       return this;
     }
 
+    /**
+     * Sets the name of the {@link HashidsEngine engine} that implements the algorithm.
+     *
+     * <p>The default value is the {@link DefaultHashidsEngine#NAME default engine}. All available engine names are provided by the
+     * {@link Hashids#getEngineNames()} method.
+     *
+     * @param engine the name of the engine
+     * @return a new builder instance with the given engine
+     * @since 0.5.0
+     */
+    public Builder engine(final String engine) {
+      this.engine = engine;
+      return this;
+    }
+
+    /**
+     * Enables the fixed-width mode where all hashes have exactly the same length.
+     *
+     * <p>The minimum hash length is extended to the {@link Hashids#maxEncodedLength(int, long) maximum encoded length} of the given arity and maximum
+     * value so that the padding brings every hash to exactly that length. Encoding more numbers than the given arity or numbers larger than the given
+     * maximum value is rejected like any other invalid number and hashes of such numbers are rejected when decoding.
+     *
+     * <p>By default the fixed-width mode is disabled.
+     *
+     * @param arity the maximum amount of numbers of a hash
+     * @param maxValue the maximum number of a hash
+     * @return a new builder instance with the fixed-width mode enabled
+     * @since 0.5.0
+     */
+    public Builder fixedWidth(final int arity, final long maxValue) {
+      if (arity < 1) {
+        throw new IllegalArgumentException("arity must be greater than or equal to one: " + arity);
+      }
+      this.fixedWidthArity = arity;
+      this.fixedWidthMaxValue = maxValue;
+      return this;
+    }
+
+    /**
+     * Enables the dense mode where the hashes of all single numbers from zero to the given size exclusive are precomputed.
+     *
+     * <p>The hashes are stored in a single shared character arena with an index for the decoding so that encoding a single number within the range and
+     * decoding its hash only require a constant amount of array reads. All other numbers and hashes fall back to the algorithm. The memory footprint
+     * is about twice the length of the hashes plus three integers per number, e.g. roughly 27 MiB for {@code 2^20} numbers with the default alphabet.
+     *
+     * <p>By default the dense mode is disabled.
+     *
+     * @param size the amount of precomputed numbers
+     * @return a new builder instance with the dense mode enabled
+     * @since 0.5.0
+     */
+    public Builder dense(final int size) {
+      this.denseSize = size;
+      return this;
+    }
+
+    /**
+     * Enables the routing mode where each hash starts with a character from which a small routing key, e.g. the shard or tenant of an entity, can be
+     * extracted in constant time via {@link Hashids#routingKey(CharSequence)} without decoding the rest of the hash.
+     *
+     * <p>Hashes must be encoded via {@link Hashids#encodeRouted(int, long...)} with the routing key. The routing character is a salt-derived
+     * representation of the routing key that is shifted by a salt-derived offset of the last character of the hash so that hashes of the same routing
+     * key don't share the same first character. The routing key is additionally encoded as leading number of the rest of the hash, so that hashes whose
+     * routing character does not match the encoded routing key are rejected when they are {@link Hashids#decodeRouted(String) decoded}.
+     *
+     * <p>By default the routing mode is disabled.
+     *
+     * @param keys the amount of routing keys which must not exceed the length of the alphabet without the separators and guards
+     * @return a new builder instance with the routing mode enabled
+     * @since 0.5.0
+     */
+    public Builder routing(final int keys) {
+      this.routingKeys = keys;
+      return this;
+    }
+
+    /**
+     * Sets the maximum length of hashes.
+     *
+     * <p>Longer hashes are rejected by all decode methods before any character is read so that the cost of decoding untrusted input is bounded, and
+     * encodings that would result in longer hashes are rejected like invalid numbers. The decoding cost is linear in the length of a hash. The maximum
+     * length must not be less than the minimum hash length including the routing and the check character.
+     *
+     * <p>By default the length of hashes is not limited.
+     *
+     * @param maxHashLength the maximum length of hashes
+     * @return a new builder instance with the given maximum hash length
+     * @throws IllegalArgumentException if the maximum hash length is less than one
+     * @since 0.5.0
+     */
+    public Builder maxHashLength(final int maxHashLength) {
+      if (maxHashLength < 1) {
+        throw new IllegalArgumentException("maximum hash length must be greater than or equal to one: " + maxHashLength);
+      }
+      this.maxHashLength = maxHashLength;
+      return this;
+    }
+
+    /**
+     * Sets the maximum amount of numbers of a hash.
+     *
+     * <p>Hashes with more numbers are rejected by all decode methods while the separators are counted before any number is decoded and encodings of more
+     * numbers are rejected like invalid numbers. The amount of numbers of hashes of the {@link HashidsFeature#SORTABLE SORTABLE} feature is already
+     * limited by the {@link #fixedWidth(int, long) fixed width}.
+     *
+     * <p>By default the amount of numbers is not limited.
+     *
+     * @param maxArity the maximum amount of numbers of a hash
+     * @return a new builder instance with the given maximum arity
+     * @throws IllegalArgumentException if the maximum arity is less than one
+     * @since 0.5.0
+     */
+    public Builder maxArity(final int maxArity) {
+      if (maxArity < 1) {
+        throw new IllegalArgumentException("maximum arity must be greater than or equal to one: " + maxArity);
+      }
+      this.maxArity = maxArity;
+      return this;
+    }
+
+    /**
+     * Enables the parallel mode for hashes with at least the given amount of numbers on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param threshold the minimum amount of numbers from which on a hash is encoded and decoded in parallel
+     * @return a new builder instance with the parallel mode enabled
+     * @throws IllegalArgumentException if the threshold is less than one
+     * @see #parallel(int, ForkJoinPool)
+     * @since 0.5.0
+     */
+    public Builder parallel(final int threshold) {
+      return parallel(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables the parallel mode for hashes with at least the given amount of numbers on the given pool.
+     *
+     * <p>The alphabet of each number only depends on the lottery character and the position of the number, but is derived from the alphabet of the
+     * previous number. The {@link DefaultHashidsEngine default engine} therefore caches the alphabet of every 1024th position for each lottery character
+     * once it has been derived so that large hashes are split into chunks of 1024 numbers which are encoded and decoded independently on the pool and
+     * then stitched together. The first hash of each lottery character that exceeds the cached positions derives the missing alphabets sequentially. The
+     * cache takes the length of the alphabet in characters for each 1024 numbers of the largest hash per lottery character, e.g. roughly 4.5 MiB for
+     * hashes of one million numbers with the default alphabet. Hashes with less numbers than the threshold are always transformed sequentially.
+     *
+     * <p>The resultant hashes are identical to the ones of an instance without the parallel mode. By default the parallel mode is disabled.
+     *
+     * @param threshold the minimum amount of numbers from which on a hash is encoded and decoded in parallel
+     * @param pool the pool on which the chunks are transformed
+     * @return a new builder instance with the parallel mode enabled
+     * @throws IllegalArgumentException if the threshold is less than one
+     * @since 0.5.0
+     */
+    public Builder parallel(final int threshold, final ForkJoinPool pool) {
+      if (threshold < 1) {
+        throw new IllegalArgumentException("parallel threshold must be greater than or equal to one: " + threshold);
+      }
+      this.parallelThreshold = threshold;
+      this.parallelPool = Objects.requireNonNull(pool, "pool must not be null!");
+      return this;
+    }
+
     /**
      * Builds a new configured {@link Hashids} instance.
      *
      * @return a new configured instance
+     * @throws IllegalArgumentException if the alphabet is invalid, no engine with the configured name is available, the fixed width or the dense size is
+     * invalid
      */
     public Hashids build() {
-      return new Hashids(salt, minLength, alphabet, features);
+      return new Hashids(this, false, false);
+    }
+
+    /**
+     * Builds a new configured {@link Hashids} instance whose engine precomputes lookup tables for its configuration.
+     *
+     * <p>The {@link DefaultHashidsEngine default engine} precomputes the alphabet derived from each possible lottery character once so that the encoding of
+     * the first number and the decoding of the first block only copy a table instead of shuffling the alphabet. This trades a memory footprint of the
+     * squared alphabet length for a faster transformation of hashes with a low amount of numbers. Alphabets larger than 256 characters are not precomputed.
+     * No code is generated at runtime, use {@link #compile()} to additionally generate a class specialized for the configuration.
+     *
+     * <p>The resultant hashes are identical to the ones of an instance created via {@link #build()}.
+     *
+     * @return a new configured instance with precomputed tables
+     * @throws IllegalArgumentException if the alphabet is invalid, no engine with the configured name is available, the fixed width or the dense size is
+     * invalid
+     * @since 0.5.0
+     */
+    public Hashids precompute() {
+      return new Hashids(this, true, false);
+    }
+
+    /**
+     * Builds a new configured {@link Hashids} instance with a codec class that is generated at runtime and specialized for its configuration.
+     *
+     * <p>The tables of the {@link #precompute() precomputed} instance are bound to the static final fields of a class that is generated for the
+     * {@link DefaultHashidsEngine default engine} along with the alphabet, separators, salt and the minimum hash length. Since the JIT treats these fields
+     * as constants, it can unroll the loops over the alphabet and eliminate the branches on the configuration. On Java 17 and later the codec is defined
+     * as hidden class that is unloaded along with the instance, on earlier versions the class is only unloaded along with the class loader of this library
+     * so that instances should be compiled once and reused. Configurations that are fixed at build time can be generated into a specialized class via
+     * {@link HashidsCodec} instead.
+     *
+     * <p>Other engines, the {@link #parallel(int, ForkJoinPool) parallel mode} and the {@link HashidsFeature#SORTABLE sortable feature} are not compiled
+     * and fall back to the precomputed tables, as well as environments in which defining classes is not allowed, e.g. by a security manager.
+     *
+     * <p>The resultant hashes are identical to the ones of an instance created via {@link #build()}.
+     *
+     * @return a new configured instance with a specialized codec class if supported, with precomputed tables otherwise
+     * @throws IllegalArgumentException if the alphabet is invalid, no engine with the configured name is available, the fixed width or the dense size is
+     * invalid
+     * @since 0.5.0
+     */
+    public Hashids compile() {
+      return new Hashids(this, true, true);
     }
   }
 
@@ -272,101 +725,675 @@ public final class Hashids {
    * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the total length of
    * numbers is zero, any numbers size is invalid or larger than the {@link #MAX_INTEROP_NUMBER_SIZE maximum interoperability size}
    * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
    */
   public String encode(final long... numbers) {
+    return encode(numbers, 0, numbers != null ? numbers.length : 0);
+  }
+
+  /**
+   * Encodes the given range of positive numbers based on this instance configuration.
+   *
+   * <p>The numbers are read from the given array in place by both the calculation of the lottery and the transformation itself, the resultant hash is
+   * identical to the one of {@link #encode(long...)} for a copy of the range.
+   *
+   * @param numbers the array with the positive numbers to be encoded
+   * @param offset the index of the first number of the range
+   * @param length the amount of numbers of the range
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws IndexOutOfBoundsException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the range is out of the
+   * bounds of the array
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encode(final long[] numbers, final int offset, final int length) {
+    if (routingKeys > 0) {
+      if (exceptionHandling) {
+        throw new IllegalStateException("hashes of the routing mode must be encoded with a routing key!");
+      }
+      return "";
+    }
+
     if (numbers == null) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new NullPointerException("numbers must not be null!");
       }
       return "";
     }
 
-    if (numbers.length == 0) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
-        throw new IllegalArgumentException("length of numbers must be greater than or equal to one!");
+    if (!isInBounds(numbers.length, offset, length)) {
+      return "";
+    }
+
+    return limitLength(encodeNumbers(numbers, offset, length));
+  }
+
+  /**
+   * Encodes the remaining positive numbers of the given buffer based on this instance configuration.
+   *
+   * <p>The numbers of buffers that are backed by an accessible array are read in place like for {@link #encode(long[], int, int)}, the numbers of direct
+   * and read-only buffers are read in place via the absolute {@link LongBuffer#get(int)} method. The position of the buffer is not changed.
+   *
+   * @param numbers the buffer with the positive numbers to be encoded between its position and its limit
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given buffer is {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encode(final LongBuffer numbers) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
       }
       return "";
     }
 
-    for (long number : numbers) {
-      if (number < 0) {
-        if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
-          throw new IllegalArgumentException("number must not be less than zero: " + number);
-        }
+    if (numbers.hasArray()) {
+      return encode(numbers.array(), numbers.arrayOffset() + numbers.position(), numbers.remaining());
+    }
+
+    if (routingKeys > 0) {
+      if (exceptionHandling) {
+        throw new IllegalStateException("hashes of the routing mode must be encoded with a routing key!");
+      }
+      return "";
+    }
+
+    final int index = numbers.position();
+    final int length = numbers.remaining();
+    if (!isEncodable(numbers, index, length)) {
+      return "";
+    }
+
+    if (denseTable != null && length == 1) {
+      final String hash = denseTable.encode(numbers.get(index));
+      if (hash != null) {
+        return limitLength(appendCheck(hash));
+      }
+    }
+
+    return limitLength(appendCheck(codec.encode(numbers, index, length)));
+  }
+
+  /**
+   * Encodes the remaining positive int numbers of the given buffer based on this instance configuration.
+   *
+   * <p>The numbers of buffers that are backed by an accessible array are read in place like for {@link #encodeInts(int[], int, int)}, the numbers of
+   * direct and read-only buffers are read in place via the absolute {@link IntBuffer#get(int)} method. The position of the buffer is not changed.
+   *
+   * @param numbers the buffer with the positive numbers to be encoded between its position and its limit
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given buffer is {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encode(final IntBuffer numbers) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+
+    if (numbers.hasArray()) {
+      return encodeInts(numbers.array(), numbers.arrayOffset() + numbers.position(), numbers.remaining());
+    }
+
+    final int index = numbers.position();
+    final int length = numbers.remaining();
+
+    // Numbers that must be widened are transformed like the ones of arrays
+    boolean widen = intCodec == null;
+    for (int idx = index; idx < index + length && !widen; idx++) {
+      widen = numbers.get(idx) < 0;
+    }
+    if (widen || length == 0 || routingKeys > 0) {
+      final long[] values = new long[length];
+      for (int idx = 0; idx < length; idx++) {
+        values[idx] = numbers.get(index + idx);
+      }
+      return encode(values);
+    }
+
+    if (!isEncodableLength(length)) {
+      return "";
+    }
+    for (int idx = index; idx < index + length; idx++) {
+      if (!isWithinFixedWidth(numbers.get(idx))) {
         return "";
       }
+    }
+
+    if (denseTable != null && length == 1) {
+      final String hash = denseTable.encode(numbers.get(index));
+      if (hash != null) {
+        return limitLength(appendCheck(hash));
+      }
+    }
 
-      if (number > MAX_INTEROP_NUMBER_SIZE && !features.contains(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE)) {
-        if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
-          throw new IllegalArgumentException("number must not exceed the maximum number size: " + number + " > " + MAX_INTEROP_NUMBER_SIZE);
+    return limitLength(appendCheck(intCodec.encode(numbers, index, length)));
+  }
+
+  /**
+   * Encodes the next {@code count} positive numbers of the given iterator based on this instance configuration.
+   *
+   * <p>The lottery depends on all numbers before the first number can be transformed, so the numbers of the single-pass iterator are collected once
+   * into a buffer that grows with the read numbers. The count is validated against the {@link Builder#maxArity(int) maximum arity} before any number is
+   * consumed.
+   *
+   * @param numbers the iterator over the positive numbers to be encoded
+   * @param count the amount of numbers to be consumed from the iterator
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the count is negative, the
+   * iterator has less numbers than the count or the numbers are invalid like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given iterator is
+   * {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encode(final PrimitiveIterator.OfLong numbers, final int count) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+
+    if (count < 0) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("count must not be less than zero: " + count);
+      }
+      return "";
+    }
+
+    if (count > maxArity) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of numbers must not exceed the maximum arity: " + count + " > " + maxArity);
+      }
+      return "";
+    }
+
+    // The buffer grows with the read numbers since the count may exceed the numbers of the iterator by far
+    long[] values = new long[Math.min(count, 16)];
+    for (int idx = 0; idx < count; idx++) {
+      if (!numbers.hasNext()) {
+        if (exceptionHandling) {
+          throw new IllegalArgumentException("iterator must provide the amount of numbers: " + idx + " < " + count);
         }
         return "";
       }
+      if (idx == values.length) {
+        values = Arrays.copyOf(values, (int) Math.min(count, values.length * 2L));
+      }
+      values[idx] = numbers.nextLong();
     }
+    return encode(values);
+  }
 
-    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+  /**
+   * Encodes the given positive int numbers based on this instance configuration.
+   *
+   * <p>The resultant hash is identical to the one of {@link #encode(long...)} for the widened numbers, but the numbers are transformed in 32-bit
+   * arithmetic only.
+   *
+   * @param numbers the positive numbers to be encoded
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @see #encodeInts(int[], int, int)
+   * @since 0.5.0
+   */
+  public String encode(final int... numbers) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+    return encodeInts(numbers, 0, numbers.length);
+  }
 
-    // Determine the lottery number
-    final long lotteryId = LongStream.range(0, numbers.length)
-      .reduce(0, (state, idx) -> state + numbers[(int) idx] % (idx + LOTTERY_MOD));
-    final char lottery = currentAlphabet[(int) (lotteryId % currentAlphabet.length)];
+  /**
+   * Indicates whether the given range is within the bounds of an array of the given size.
+   *
+   * @param size the size of the array
+   * @param offset the index of the first element of the range
+   * @param length the amount of elements of the range
+   * @return {@code true} if the range is within the bounds, {@code false} otherwise
+   * @throws IndexOutOfBoundsException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the range is out of the
+   * bounds
+   * @since 0.5.0
+   */
+  private boolean isInBounds(final int size, final int offset, final int length) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      if (exceptionHandling) {
+        throw new IndexOutOfBoundsException("range must be within the bounds of numbers: offset " + offset + ", length " + length + ", size " + size);
+      }
+      return false;
+    }
+    return true;
+  }
 
-    // Encode each number
-    final StringBuilder global = new StringBuilder();
-    IntStream.range(0, numbers.length)
-      .forEach(idx -> {
-        deriveNewAlphabet(currentAlphabet, salt, lottery);
-        final int initialLength = global.length();
-        transform(numbers[idx], currentAlphabet, global, initialLength);
-        // Append the separator
-        if (idx + 1 < numbers.length) {
-          long n = numbers[idx] % (global.charAt(initialLength) + idx);
-          global.append(separators[(int) (n % separators.length)]);
-        }
-      });
+  /**
+   * Encodes the given range of positive int numbers based on this instance configuration.
+   *
+   * <p>The numbers are read from the given array in place and transformed in 32-bit arithmetic only, the resultant hash is identical to the one of
+   * {@link #encode(long...)} for the widened numbers of the range.
+   *
+   * @param numbers the array with the positive numbers to be encoded
+   * @param offset the index of the first number of the range
+   * @param length the amount of numbers of the range
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws IndexOutOfBoundsException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the range is out of the
+   * bounds of the array
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encodeInts(final int[] numbers, final int offset, final int length) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+
+    if (!isInBounds(numbers.length, offset, length)) {
+      return "";
+    }
+
+    // Negative numbers are either invalid or unsigned long numbers and the order-preserving transformation is only implemented for long numbers
+    boolean widen = intCodec == null;
+    for (int idx = offset; idx < offset + length && !widen; idx++) {
+      widen = numbers[idx] < 0;
+    }
+    if (widen || length == 0 || routingKeys > 0) {
+      final long[] values = new long[length];
+      for (int idx = 0; idx < length; idx++) {
+        values[idx] = numbers[offset + idx];
+      }
+      return encode(values);
+    }
+
+    if (!isEncodableLength(length)) {
+      return "";
+    }
+    for (int idx = offset; idx < offset + length; idx++) {
+      if (!isWithinFixedWidth(numbers[idx])) {
+        return "";
+      }
+    }
+
+    if (denseTable != null && length == 1) {
+      final String hash = denseTable.encode(numbers[offset]);
+      if (hash != null) {
+        return limitLength(appendCheck(hash));
+      }
+    }
+
+    return limitLength(appendCheck(intCodec.encode(numbers, offset, length)));
+  }
+
+  /**
+   * Encodes the given positive numbers with the given routing key based on this instance configuration in {@link Builder#routing(int) routing} mode.
+   *
+   * @param routingKey the routing key which can be extracted from the hash via {@link #routingKey(CharSequence)}
+   * @param numbers the positive numbers to be encoded
+   * @return the resultant hash of the encoding of the routing key and the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the routing key is
+   * invalid or the numbers are invalid like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the routing mode is disabled
+   * @since 0.5.0
+   */
+  public String encodeRouted(final int routingKey, final long... numbers) {
+    if (routingKeys == 0) {
+      if (exceptionHandling) {
+        throw new IllegalStateException("routing mode must be enabled to encode a routing key!");
+      }
+      return "";
+    }
+    if (routingKey < 0 || routingKey >= routingKeys) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("routing key must be between 0 and " + (routingKeys - 1) + ": " + routingKey);
+      }
+      return "";
+    }
+
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+    if (!isEncodable(numbers, 0, numbers.length)) {
+      return "";
+    }
+
+    // The routing key is encoded as leading number which changes the lottery so that it is verified along with the numbers
+    final long[] routed = new long[numbers.length + 1];
+    routed[0] = routingKey;
+    System.arraycopy(numbers, 0, routed, 1, numbers.length);
+    final String hash = appendCheck(codec.encode(routed));
+    final int offset = routingOffsets[hash.charAt(hash.length() - 1)];
+    return limitLength(routingChars[(routingKey + offset) % routingChars.length] + hash);
+  }
+
+  /**
+   * Extracts the routing key of the given hash of the {@link Builder#routing(int) routing} mode.
+   *
+   * <p>Only the first and the last character are read so that the routing key is extracted in constant time. The rest of the hash is not verified, so
+   * the routing key can be changed by clients and must not be used for authorization. The verified routing key is only returned when the hash is
+   * {@link #decodeRouted(String) decoded}.
+   *
+   * @param hash the hash whose routing key is extracted
+   * @return the routing key or {@code -1} if the hash can not contain a valid routing key or the routing mode is disabled
+   * @since 0.5.0
+   */
+  public int routingKey(final CharSequence hash) {
+    if (routingKeys == 0 || hash == null || hash.length() < 2) {
+      return -1;
+    }
+    final char first = hash.charAt(0);
+    final char last = hash.charAt(hash.length() - 1);
+    if (first >= routingIndex.length || last >= routingOffsets.length || routingIndex[first] < 0 || routingOffsets[last] < 0) {
+      return -1;
+    }
+    final int routingKey = Math.floorMod(routingIndex[first] - routingOffsets[last], routingChars.length);
+    return routingKey < routingKeys ? routingKey : -1;
+  }
 
-    // Prepend the lottery
-    global.insert(0, lottery);
+  /**
+   * Decodes the given hash of the {@link Builder#routing(int) routing} mode into its verified routing key followed by its numbers.
+   *
+   * <p>The routing key is encoded as leading number of the hash and must match the routing character, so that unlike the routing key extracted via
+   * {@link #routingKey(CharSequence)} it can not be changed without invalidating the hash.
+   *
+   * @param hash the hash to be decoded
+   * @return an array of long values with the routing key followed by each numeric number present in the hash, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash is invalid
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given hash is {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the routing mode is disabled
+   * @since 0.5.0
+   */
+  public long[] decodeRouted(final String hash) {
+    if (routingKeys == 0) {
+      if (exceptionHandling) {
+        throw new IllegalStateException("routing mode must be enabled to decode a routing key!");
+      }
+      return new long[0];
+    }
 
-    // Add the guards if there is any space left
-    if (minLength > global.length()) {
-      int guardIdx = (int) ((lotteryId + lottery) % guards.length);
-      global.insert(0, guards[guardIdx]);
-      if (minLength > global.length()) {
-        guardIdx = (int) ((lotteryId + global.charAt(2)) % guards.length);
-        global.append(guards[guardIdx]);
+    if (hash == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("hash must not be null!");
+      }
+      return new long[0];
+    }
+
+    if (hash.length() > maxHashLength) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of hash must not exceed the maximum hash length: " + hash.length() + " > " + maxHashLength);
+      }
+      return new long[0];
+    }
+
+    final long[] decoded = tryDecodeRouted(hash);
+    if (decoded == null) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("invalid hash: " + hash);
+      }
+      return new long[0];
+    }
+
+    return decoded;
+  }
+
+  /**
+   * Verifies the check character of the given hash of the {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature.
+   *
+   * <p>The check character is verified in a single pass over the characters of the hash without decoding it so that most mistyped or corrupted hashes
+   * can be rejected before the more expensive {@link #decode(String) decoding}, which always verifies the check character first. A valid check character
+   * does not imply that the hash is valid.
+   *
+   * @param hash the hash whose check character is verified
+   * @return {@code true} if the hash only contains valid characters and ends with a valid check character, {@code false} otherwise or if the feature is
+   * disabled
+   * @since 0.5.0
+   */
+  public boolean verifyCheck(final CharSequence hash) {
+    if (checkCharacter == null || hash == null) {
+      return false;
+    }
+    // The routing character precedes the hash with the check character
+    return checkCharacter.verify(hash, routingKeys > 0 ? 1 : 0, hash.length());
+  }
+
+  /**
+   * Encodes the given range of numbers without the routing character.
+   *
+   * @param numbers the array with the positive numbers to be encoded
+   * @param offset the index of the first number of the range within the bounds of the array
+   * @param length the amount of numbers of the range
+   * @return the resultant hash of the encoding of the numbers with the check character if enabled, empty otherwise
+   * @since 0.5.0
+   */
+  private String encodeNumbers(final long[] numbers, final int offset, final int length) {
+    if (!isEncodable(numbers, offset, length)) {
+      return "";
+    }
+
+    if (denseTable != null && length == 1) {
+      final String hash = denseTable.encode(numbers[offset]);
+      if (hash != null) {
+        return appendCheck(hash);
+      }
+    }
+
+    return appendCheck(codec.encode(numbers, offset, length));
+  }
+
+  /**
+   * Validates the given range of numbers.
+   *
+   * @param numbers the array with the numbers to be validated
+   * @param offset the index of the first number of the range within the bounds of the array
+   * @param length the amount of numbers of the range
+   * @return {@code true} if the numbers can be encoded, {@code false} otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * @since 0.5.0
+   */
+  private boolean isEncodable(final long[] numbers, final int offset, final int length) {
+    if (!isEncodableLength(length)) {
+      return false;
+    }
+    for (int idx = offset; idx < offset + length; idx++) {
+      if (!isEncodable(numbers[idx])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Validates the given range of numbers of a buffer.
+   *
+   * @param numbers the buffer with the numbers to be validated
+   * @param index the index of the first number of the range within the limit of the buffer
+   * @param length the amount of numbers of the range
+   * @return {@code true} if the numbers can be encoded, {@code false} otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * @since 0.5.0
+   */
+  private boolean isEncodable(final LongBuffer numbers, final int index, final int length) {
+    if (!isEncodableLength(length)) {
+      return false;
+    }
+    for (int idx = index; idx < index + length; idx++) {
+      if (!isEncodable(numbers.get(idx))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Validates the given number.
+   *
+   * @param number the number to be validated
+   * @return {@code true} if the number can be encoded, {@code false} otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the number is invalid
+   * @since 0.5.0
+   */
+  private boolean isEncodable(final long number) {
+    if (number < 0 && !unsigned) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("number must not be less than zero: " + number);
+      }
+      return false;
+    }
+
+    if (number > MAX_INTEROP_NUMBER_SIZE && !noMaxInteropNumberSize) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("number must not exceed the maximum number size: " + number + " > " + MAX_INTEROP_NUMBER_SIZE);
+      }
+      return false;
+    }
+
+    return isWithinFixedWidth(number);
+  }
+
+  /**
+   * Validates the given amount of numbers.
+   *
+   * @param length the amount of numbers to be validated
+   * @return {@code true} if the amount of numbers can be encoded, {@code false} otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the amount is zero or
+   * exceeds the maximum arity or the arity of the fixed width
+   * @since 0.5.0
+   */
+  private boolean isEncodableLength(final int length) {
+    if (length == 0) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of numbers must be greater than or equal to one!");
       }
+      return false;
     }
 
-    // Add the necessary padding
-    int paddingLeft = minLength - global.length();
-    while (paddingLeft > 0) {
-      shuffle(currentAlphabet, Arrays.copyOf(currentAlphabet, currentAlphabet.length));
+    if (length > maxArity) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of numbers must not exceed the maximum arity: " + length + " > " + maxArity);
+      }
+      return false;
+    }
 
-      final int alphabetHalfSize = currentAlphabet.length / 2;
-      final int initialSize = global.length();
-      if (paddingLeft > currentAlphabet.length) {
-        int offset = alphabetHalfSize + (currentAlphabet.length % 2 == 0 ? 0 : 1);
+    if (fixedWidthArity > 0 && length > fixedWidthArity) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of numbers must not exceed the arity of the fixed width: " + length + " > " + fixedWidthArity);
+      }
+      return false;
+    }
 
-        global.insert(0, currentAlphabet, alphabetHalfSize, offset);
-        global.insert(offset + initialSize, currentAlphabet, 0, alphabetHalfSize);
+    return true;
+  }
 
-        paddingLeft -= currentAlphabet.length;
-      } else {
-        // Calculate the excess
-        final int excess = currentAlphabet.length + global.length() - minLength;
-        final int secondHalfStartOffset = alphabetHalfSize + Math.floorDiv(excess, 2);
-        final int secondHalfLength = currentAlphabet.length - secondHalfStartOffset;
-        final int firstHalfLength = paddingLeft - secondHalfLength;
+  /**
+   * Validates the given number against the maximum value of the {@link Builder#fixedWidth(int, long) fixed width} if enabled.
+   *
+   * @param number the number to be validated
+   * @return {@code true} if the fixed width is disabled or the number does not exceed its maximum value, {@code false} otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the number exceeds
+   * the maximum value of the fixed width
+   * @since 0.5.0
+   */
+  private boolean isWithinFixedWidth(final long number) {
+    if (fixedWidthArity > 0 && Long.compareUnsigned(number, fixedWidthMaxValue) > 0) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("number must not exceed the maximum value of the fixed width: " + format(number) + " > "
+          + format(fixedWidthMaxValue));
+      }
+      return false;
+    }
+    return true;
+  }
 
-        global.insert(0, currentAlphabet, secondHalfStartOffset, secondHalfLength);
-        global.insert(secondHalfLength + initialSize, currentAlphabet, 0, firstHalfLength);
+  /**
+   * Appends the check character to the given hash if the {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature is enabled.
+   *
+   * @param hash the hash
+   * @return the hash with the check character if enabled, the given hash otherwise
+   * @since 0.5.0
+   */
+  private String appendCheck(final String hash) {
+    return checkCharacter != null ? hash + checkCharacter.compute(hash) : hash;
+  }
 
-        paddingLeft = 0;
+  /**
+   * Rejects the given hash if it exceeds the {@link Builder#maxHashLength(int) maximum hash length}.
+   *
+   * @param hash the hash
+   * @return the given hash if it does not exceed the maximum hash length, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash exceeds the
+   * maximum hash length
+   * @since 0.5.0
+   */
+  private String limitLength(final String hash) {
+    if (hash.length() > maxHashLength) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of hash must not exceed the maximum hash length: " + hash.length() + " > " + maxHashLength);
       }
+      return "";
     }
+    return hash;
+  }
 
-    return global.toString();
+  /**
+   * Indicates whether the given hash exceeds the {@link Builder#maxHashLength(int) maximum hash length} or the {@link Builder#maxArity(int) maximum
+   * arity}.
+   *
+   * <p>Only the separators are counted to determine the amount of numbers so that hashes which exceed the limits are rejected before any number is
+   * decoded.
+   *
+   * @param hash the hash
+   * @return {@code true} if the hash exceeds any limit, {@code false} otherwise
+   * @since 0.5.0
+   */
+  private boolean exceedsLimits(final CharSequence hash) {
+    if (hash.length() > maxHashLength) {
+      return true;
+    }
+    if (maxArity == Integer.MAX_VALUE || sortable) {
+      return false;
+    }
+    // The routing character is never a separator while the check character can be any valid character
+    final int end = hash.length() - (checkCharacter != null ? 1 : 0);
+    // The leading routing key of the routing mode is separated like any other number but does not count towards the arity
+    final int maxSeparators = routingKeys > 0 ? maxArity : maxArity - 1;
+    int separators = 0;
+    for (int idx = routingKeys > 0 ? 1 : 0; idx < end; idx++) {
+      if (configuration.classOf(hash.charAt(idx)) == HashidsEngine.Configuration.CLASS_SEPARATOR && ++separators > maxSeparators) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -383,7 +1410,7 @@ public final class Hashids {
    */
   public String encodeHex(final String hexNumbers) {
     if (hexNumbers == null) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new NullPointerException("hexNumbers must not be null!");
       }
       return "";
@@ -391,10 +1418,10 @@ public final class Hashids {
 
     final String hex;
     if (hexNumbers.startsWith("0x") || hexNumbers.startsWith("0X")) {
-      if (features.contains(HashidsFeature.ALLOW_HEXADECIMAL_NUMBER_PREFIX)) {
+      if (allowHexadecimalNumberPrefix) {
         hex = hexNumbers.substring(2);
       } else {
-        if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+        if (exceptionHandling) {
           throw new IllegalArgumentException("numbers must not contain a hexadecimal prefix: " + hexNumbers.substring(0, 2));
         }
         return "";
@@ -404,21 +1431,103 @@ public final class Hashids {
     }
 
     if (!HEX_FORMAT_PATTERN.matcher(hex).matches()) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new IllegalArgumentException("hexNumbers must be a valid hexadecimal number!");
       }
       return "";
     }
 
     // Resolve the associated long value and encode it
-    LongStream values = LongStream.empty();
+    final LongStream.Builder values = LongStream.builder();
     final Matcher matcher = HEX_VALUES_PATTERN.matcher(hex);
     while (matcher.find()) {
-      final long value = new BigInteger("1" + matcher.group(), 16).longValue();
-      values = LongStream.concat(values, LongStream.of(value));
+      values.add(new BigInteger("1" + matcher.group(), 16).longValue());
+    }
+
+    return encode(values.build().toArray());
+  }
+
+  /**
+   * Encodes the given positive numbers of arbitrary precision based on this instance configuration.
+   *
+   * <p>The hashes are identical to the ones of {@link #encode(long...)} for all numbers that fit into a long, which are always encoded through the
+   * primitive transformation when all numbers fit into {@code 63} bits or {@code 64} bits with the {@link HashidsFeature#UNSIGNED UNSIGNED} feature.
+   * Larger numbers require the {@link HashidsFeature#NO_MAX_INTEROP_NUMBER_SIZE NO_MAX_INTEROP_NUMBER_SIZE} feature and are transformed in
+   * arbitrary-precision arithmetic whose cost grows quadratically with the amount of digits of a number, so the length of untrusted hashes should be
+   * {@link Builder#maxHashLength(int) limited}. <strong>Please note that this will break the interoperability with the origin algorithm
+   * implementation!</strong>
+   *
+   * @param numbers the positive numbers to be encoded
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the numbers are invalid
+   * like for {@link #encode(long...)}
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given numbers are or
+   * contain {@code null}
+   * @throws IllegalStateException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the {@link Builder#routing(int)
+   * routing} mode is enabled
+   * @since 0.5.0
+   */
+  public String encodeBigIntegers(final BigInteger... numbers) {
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("numbers must not be null!");
+      }
+      return "";
+    }
+
+    // Numbers that fit into a long take the primitive fast path
+    final int maxBits = unsigned ? Long.SIZE : Long.SIZE - 1;
+    boolean primitive = true;
+    for (BigInteger number : numbers) {
+      if (number == null) {
+        if (exceptionHandling) {
+          throw new NullPointerException("numbers must not contain null!");
+        }
+        return "";
+      }
+      if (number.signum() < 0) {
+        if (exceptionHandling) {
+          throw new IllegalArgumentException("number must not be less than zero: " + number);
+        }
+        return "";
+      }
+      primitive &= number.bitLength() <= maxBits;
+    }
+    if (primitive) {
+      final long[] values = new long[numbers.length];
+      for (int idx = 0; idx < numbers.length; idx++) {
+        values[idx] = numbers[idx].longValue();
+      }
+      return encode(values);
     }
 
-    return encode(values.toArray());
+    if (routingKeys > 0) {
+      if (exceptionHandling) {
+        throw new IllegalStateException("hashes of the routing mode must be encoded with a routing key!");
+      }
+      return "";
+    }
+    if (numbers.length > maxArity) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of numbers must not exceed the maximum arity: " + numbers.length + " > " + maxArity);
+      }
+      return "";
+    }
+    // Any number exceeds a long and therefore also the maximum interoperability number size and the fixed width
+    final BigInteger largest = Collections.max(Arrays.asList(numbers));
+    if (!noMaxInteropNumberSize) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("number must not exceed the maximum number size: " + largest + " > " + MAX_INTEROP_NUMBER_SIZE);
+      }
+      return "";
+    }
+    if (fixedWidthArity > 0) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("number must not exceed the maximum value of the fixed width: " + largest + " > " + format(fixedWidthMaxValue));
+      }
+      return "";
+    }
+    return limitLength(appendCheck(bigIntegerCodec.encode(numbers)));
   }
 
   /**
@@ -431,93 +1540,253 @@ public final class Hashids {
    */
   public long[] decode(final String hash) {
     if (hash == null) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new NullPointerException("hash must not be null!");
       }
       return new long[0];
     }
 
-    // Validate that the hash only consists of valid characters
-    final Set<Character> validInputChars = new HashSet<>(alphabet.length + guards.length + separators.length);
-    Stream.of(alphabet, guards, separators)
-      .forEach(chars -> IntStream.range(0, chars.length)
-        .mapToObj(idx -> chars[idx])
-        .forEach(validInputChars::add));
-    if (!IntStream.range(0, hash.length()).allMatch(idx -> validInputChars.contains(hash.charAt(idx)))) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
-        throw new IllegalArgumentException("invalid hash: " + hash);
+    if (hash.length() > maxHashLength) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of hash must not exceed the maximum hash length: " + hash.length() + " > " + maxHashLength);
       }
       return new long[0];
     }
 
-    // Create a set of the guards and count the total amount
-    final Set<Character> guardsSet = IntStream.range(0, guards.length)
-      .mapToObj(idx -> guards[idx])
-      .collect(toSet());
-    final int[] guardsIdx = IntStream.range(0, hash.length())
-      .filter(idx -> guardsSet.contains(hash.charAt(idx)))
-      .toArray();
-
-    // Calculate the start- and end index based on the guards count
-    final int startIdx;
-    final int endIdx;
-    if (guardsIdx.length > 0) {
-      startIdx = guardsIdx[0] + 1;
-      endIdx = guardsIdx.length > 1 ? guardsIdx[1] : hash.length();
-    } else {
-      startIdx = 0;
-      endIdx = hash.length();
+    final long[] decoded = tryDecode(hash);
+    if (decoded == null) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("invalid hash: " + hash);
+      }
+      return new long[0];
     }
 
-    LongStream decoded = LongStream.empty();
-    if (hash.length() > 0) {
-      final char lottery = hash.charAt(startIdx);
+    return decoded;
+  }
+
+  /**
+   * Decodes and verifies the given hash without handling errors.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash is invalid
+   * @since 0.5.0
+   */
+  long[] tryDecode(final String hash) {
+    final long[] decoded = tryDecodeRouted(hash);
+    return decoded != null && routingKeys > 0 ? Arrays.copyOfRange(decoded, 1, decoded.length) : decoded;
+  }
+
+  /**
+   * Decodes and verifies the given hash with the leading routing key of the {@link Builder#routing(int) routing} mode without handling errors.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded routing key followed by the numbers, only the numbers if the routing mode is disabled or {@code null} if the hash is invalid
+   * @since 0.5.0
+   */
+  private long[] tryDecodeRouted(final String hash) {
+    final String body = verifiedBody(hash);
+    return body != null ? tryDecodeNumbers(body, routingKeys > 0 ? routingKey(hash) : -1) : null;
+  }
 
-      // Create the initial accumulation string
-      final int length = hash.length() - guardsIdx.length - 1;
-      StringBuilder block = new StringBuilder(length);
+  /**
+   * Verifies the limits, the routing key and the check character of the given hash and strips the routing and the check character.
+   *
+   * @param hash the hash to be verified
+   * @return the hash without the routing and the check character or {@code null} if the hash is invalid
+   * @since 0.5.0
+   */
+  private String verifiedBody(final String hash) {
+    if (exceedsLimits(hash)) {
+      return null;
+    }
+    if (routingKeys > 0 && routingKey(hash) < 0) {
+      return null;
+    }
+    if (checkCharacter != null && !verifyCheck(hash)) {
+      return null;
+    }
+    return hash.substring(routingKeys > 0 ? 1 : 0, hash.length() - (checkCharacter != null ? 1 : 0));
+  }
 
-      // Create the base salt
-      final char[] decodeSalt = new char[alphabet.length];
-      decodeSalt[0] = lottery;
-      final int saltLength = salt.length >= alphabet.length ? alphabet.length - 1 : salt.length;
-      System.arraycopy(salt, 0, decodeSalt, 1, saltLength);
-      final int saltLeft = alphabet.length - saltLength - 1;
+  /**
+   * Decodes and verifies the given hash without the routing and the check character without handling errors.
+   *
+   * @param hash the hash to be decoded
+   * @param routingKey the routing key of the routing character which must match the leading number or {@code -1} if the routing mode is disabled
+   * @return the decoded numbers with the leading routing key or {@code null} if the hash is invalid
+   * @since 0.5.0
+   */
+  private long[] tryDecodeNumbers(final String hash, final int routingKey) {
+    if (denseTable != null && routingKey < 0) {
+      final long number = denseTable.decode(hash);
+      if (number >= 0) {
+        return new long[] {number};
+      }
+    }
+    final long[] decoded = codec.decode(hash);
+    final int offset = routingKey >= 0 ? 1 : 0;
+    if (decoded == null || offset > 0 && (decoded.length < 2 || decoded[0] != routingKey) || !isValid(decoded, offset)
+      || !Objects.equals(hash, decoded.length > 0 ? codec.encode(decoded) : "")) {
+      return null;
+    }
+    return decoded;
+  }
 
-      final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+  /**
+   * Verifies the given numbers decoded from the given hash by encoding them again without handling errors.
+   *
+   * <p>Unlike the public API numbers that are rejected by the configuration, e.g. more numbers than the {@link Builder#maxArity(int) maximum arity}, don't
+   * throw an exception but fail the verification.
+   *
+   * @param numbers the decoded numbers
+   * @param hash the hash without the routing and the check character
+   * @return {@code true} if the numbers are valid and their encoding is identical to the hash, {@code false} otherwise
+   * @since 0.5.0
+   */
+  boolean verify(final long[] numbers, final CharSequence hash) {
+    return numbers.length > 0 && numbers.length <= maxArity && isValid(numbers, 0) && codec.encode(numbers).contentEquals(hash);
+  }
 
-      for (int i = startIdx + 1; i < endIdx; i++) {
-        if (!separatorsSet.contains(hash.charAt(i))) {
-          block.append(hash.charAt(i));
-          if (i < endIdx - 1) {
-            continue;
-          }
-        }
+  /**
+   * Decodes the given hash into its int numeric representation based on this instance configuration.
+   *
+   * <p>The hash is decoded and verified in 32-bit arithmetic only, hashes of numbers that don't fit into an int are invalid.
+   *
+   * @param hash the hash to be decoded
+   * @return an array of int values with each numeric number present in the hash, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash is invalid
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given hash is {@code null}
+   * @since 0.5.0
+   */
+  public int[] decodeInts(final String hash) {
+    if (hash == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("hash must not be null!");
+      }
+      return new int[0];
+    }
 
-        if (block.length() > 0) {
-          // Create the salt
-          if (saltLeft > 0) {
-            System.arraycopy(currentAlphabet, 0, decodeSalt, alphabet.length - saltLeft, saltLeft);
-          }
-
-          // Prepend the decoded value and create a new block
-          shuffle(currentAlphabet, decodeSalt);
-          final long number = transform(block.toString().toCharArray(), currentAlphabet);
-          decoded = LongStream.concat(decoded, LongStream.of(number));
-          block = new StringBuilder(length);
-        }
+    if (hash.length() > maxHashLength) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("length of hash must not exceed the maximum hash length: " + hash.length() + " > " + maxHashLength);
       }
+      return new int[0];
     }
 
-    final long[] decodedValue = decoded.toArray();
-    if (!Objects.equals(hash, encode(decodedValue))) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+    final int[] decoded = tryDecodeInts(hash);
+    if (decoded == null) {
+      if (exceptionHandling) {
         throw new IllegalArgumentException("invalid hash: " + hash);
       }
-      return new long[0];
+      return new int[0];
+    }
+
+    return decoded;
+  }
+
+  /**
+   * Decodes and verifies the given hash in 32-bit arithmetic without handling errors.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash is invalid or any number does not fit into an int
+   * @since 0.5.0
+   */
+  private int[] tryDecodeInts(final String hash) {
+    // Hashes of the sortable feature are decoded as long numbers which are narrowed
+    if (intCodec == null) {
+      final long[] decoded = tryDecode(hash);
+      if (decoded == null || Arrays.stream(decoded).anyMatch(number -> number < 0 || number > Integer.MAX_VALUE)) {
+        return null;
+      }
+      return Arrays.stream(decoded).mapToInt(number -> (int) number).toArray();
+    }
+
+    final String body = verifiedBody(hash);
+    if (body == null) {
+      return null;
+    }
+    final int routingKey = routingKeys > 0 ? routingKey(hash) : -1;
+    if (denseTable != null && routingKey < 0) {
+      final long number = denseTable.decode(body);
+      if (number >= 0) {
+        return new int[] {(int) number};
+      }
+    }
+    final int[] decoded = intCodec.decode(body);
+    final int offset = routingKey >= 0 ? 1 : 0;
+    if (decoded == null || offset > 0 && (decoded.length < 2 || decoded[0] != routingKey)
+      || (fixedWidthArity > 0 && decoded.length - offset > fixedWidthArity)) {
+      return null;
+    }
+    if (fixedWidthArity > 0 && Arrays.stream(decoded, offset, decoded.length).anyMatch(number -> Long.compareUnsigned(number, fixedWidthMaxValue) > 0)) {
+      return null;
+    }
+    if (!body.equals(decoded.length > 0 ? intCodec.encode(decoded, 0, decoded.length) : "")) {
+      return null;
+    }
+    return offset > 0 ? Arrays.copyOfRange(decoded, 1, decoded.length) : decoded;
+  }
+
+  /**
+   * Decodes the given hash lazily into its numeric representation based on this instance configuration with
+   * {@link Verification#INCREMENTAL incremental} verification.
+   *
+   * @param hash the hash to be decoded
+   * @return an iterator over the numbers present in the hash, empty if the hash contains invalid characters
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash contains
+   * invalid characters
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given hash is {@code null}
+   * @see #decodeIterator(CharSequence, Verification)
+   * @since 0.5.0
+   */
+  public PrimitiveIterator.OfLong decodeIterator(final CharSequence hash) {
+    return decodeIterator(hash, Verification.INCREMENTAL);
+  }
+
+  /**
+   * Decodes the given hash lazily into its numeric representation based on this instance configuration.
+   *
+   * <p>Each block of the hash is only decoded when the next number is requested so that callers which are only interested in the leading numbers don't
+   * pay for the whole hash. The characters of the hash are validated when the iterator is created, the given {@link Verification verification} mode
+   * determines when the numbers are verified. Since already returned numbers can not be withdrawn, <strong>a failed verification always throws an
+   * {@link IllegalArgumentException} from the {@code hasNext} and {@code next} methods of the iterator</strong> regardless of the
+   * {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature.
+   *
+   * @param hash the hash to be decoded
+   * @param verification the mode of the verification of the decoded numbers
+   * @return an iterator over the numbers present in the hash, empty if the hash contains invalid characters
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash contains
+   * invalid characters
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given hash is {@code null}
+   * @since 0.5.0
+   */
+  public PrimitiveIterator.OfLong decodeIterator(final CharSequence hash, final Verification verification) {
+    if (hash == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("hash must not be null!");
+      }
+      return LongStream.empty().iterator();
+    }
+
+    if (exceedsLimits(hash)) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("hash must not exceed the maximum hash length or arity!");
+      }
+      return LongStream.empty().iterator();
     }
 
-    return decodedValue;
+    // Hashes of the sortable feature, the routing mode and with check characters are not only split into blocks and are therefore decoded and verified
+    // eagerly like unsigned numbers
+    final PrimitiveIterator.OfLong iterator = sortable || routingKeys > 0 || checkCharacter != null || unsigned
+      ? Optional.ofNullable(tryDecode(hash.toString())).map(numbers -> Arrays.stream(numbers).iterator()).orElse(null)
+      : HashidsDecodeIterator.of(this, hash, verification == Verification.INCREMENTAL);
+    if (iterator == null) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("invalid hash: " + hash);
+      }
+      return LongStream.empty().iterator();
+    }
+    return iterator;
   }
 
   /**
@@ -529,7 +1798,7 @@ public final class Hashids {
    */
   public String decodeHex(final String hash) {
     if (hash == null) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new NullPointerException("hash must not be null!");
       }
       return "";
@@ -542,6 +1811,65 @@ public final class Hashids {
     return sb.toString();
   }
 
+  /**
+   * Decodes the given hash into its numeric representation of arbitrary precision based on this instance configuration.
+   *
+   * <p>The hash is decoded through the primitive transformation first and only decoded in arbitrary-precision arithmetic if it contains numbers that
+   * don't fit into a long, see {@link #encodeBigIntegers(BigInteger...)}.
+   *
+   * @param hash the hash to be decoded
+   * @return an array of each numeric number present in the hash, empty otherwise
+   * @throws IllegalArgumentException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the hash is invalid
+   * @throws NullPointerException if the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled and the given hash is {@code null}
+   * @since 0.5.0
+   */
+  public BigInteger[] decodeBigIntegers(final String hash) {
+    if (hash == null) {
+      if (exceptionHandling) {
+        throw new NullPointerException("hash must not be null!");
+      }
+      return new BigInteger[0];
+    }
+
+    final long[] decoded = tryDecode(hash);
+    if (decoded != null) {
+      final BigInteger[] numbers = new BigInteger[decoded.length];
+      for (int idx = 0; idx < decoded.length; idx++) {
+        numbers[idx] = unsigned ? new BigInteger(Long.toUnsignedString(decoded[idx])) : BigInteger.valueOf(decoded[idx]);
+      }
+      return numbers;
+    }
+
+    // Only hashes without a routing character and a fixed width can contain numbers that don't fit into a long
+    final BigInteger[] numbers = routingKeys == 0 && fixedWidthArity == 0 && noMaxInteropNumberSize ? tryDecodeBigIntegers(hash) : null;
+    if (numbers == null) {
+      if (exceptionHandling) {
+        throw new IllegalArgumentException("invalid hash: " + hash);
+      }
+      return new BigInteger[0];
+    }
+    return numbers;
+  }
+
+  /**
+   * Decodes and verifies the given hash in arbitrary-precision arithmetic without handling errors.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash is invalid
+   * @since 0.5.0
+   */
+  private BigInteger[] tryDecodeBigIntegers(final String hash) {
+    if (exceedsLimits(hash) || (checkCharacter != null && !verifyCheck(hash))) {
+      return null;
+    }
+    final String body = checkCharacter != null ? hash.substring(0, hash.length() - 1) : hash;
+    final BigInteger[] decoded = bigIntegerCodec.decode(body);
+    if (decoded == null || decoded.length == 0 || !body.equals(bigIntegerCodec.encode(decoded))) {
+      return null;
+    }
+    return decoded;
+  }
+
   /**
    * Decodes the given valid hash into its single numeric representation based on this instance configuration.
    *
@@ -556,7 +1884,7 @@ public final class Hashids {
    */
   public Optional<Long> decodeOne(final String hash) {
     if (hash == null) {
-      if (features.contains(HashidsFeature.EXCEPTION_HANDLING)) {
+      if (exceptionHandling) {
         throw new NullPointerException("hash must not be null!");
       }
       return Optional.empty();
@@ -566,6 +1894,60 @@ public final class Hashids {
     return decoded.length == 1 ? Optional.of(decoded[0]) : Optional.empty();
   }
 
+  /**
+   * Calculates the maximum length of the hash of up to {@code arity} numbers that are not larger than {@code maxValue}.
+   *
+   * <p>The length is the maximum of the minimum hash length and the length of a hash with the lottery character, {@code arity} blocks with the amount of
+   * digits of {@code maxValue} and the separators between them. Hashes which are shorter than the minimum hash length are padded to exactly that length.
+   * Hashes of the {@link HashidsFeature#SORTABLE SORTABLE} feature consist of the digits of the numbers only. The routing character of the
+   * {@link Builder#routing(int) routing} mode and the check character of the {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature are added to
+   * the length.
+   *
+   * @param arity the maximum amount of numbers
+   * @param maxValue the maximum number
+   * @return the maximum length of a hash of the given numbers
+   * @throws IllegalArgumentException if the arity is less than one, the maximum number is invalid or the length exceeds the maximum integer value
+   * @since 0.5.0
+   */
+  public int maxEncodedLength(final int arity, final long maxValue) {
+    // The routing character precedes and the check character follows the padded hash with the routing key as additional leading number
+    final int encodedArity = routingKeys > 0 && arity > 0 ? arity + 1 : arity;
+    return maxEncodedLength(encodedArity, maxValue, minLength) + (routingKeys > 0 ? 1 : 0) + (checkCharacter != null ? 1 : 0);
+  }
+
+  /**
+   * Calculates the maximum length of a hash.
+   *
+   * @param arity the maximum amount of numbers
+   * @param maxValue the maximum number
+   * @param minLength the minimum hash length
+   * @return the maximum length of a hash
+   * @throws IllegalArgumentException if the arity or the maximum number is invalid or the length exceeds the maximum integer value
+   * @since 0.5.0
+   */
+  private int maxEncodedLength(final int arity, final long maxValue, final int minLength) {
+    if (arity < 1) {
+      throw new IllegalArgumentException("arity must be greater than or equal to one: " + arity);
+    }
+    if ((maxValue < 0 && !unsigned) || (maxValue > MAX_INTEROP_NUMBER_SIZE && !noMaxInteropNumberSize)) {
+      throw new IllegalArgumentException("maximum value must be a valid number: " + maxValue);
+    }
+    final long length;
+    if (sortable) {
+      // The digits of each number in the base of all valid characters
+      final int base = SortableCodec.base(alphabet.length + separators.length + guards.length);
+      length = (long) arity * SortableCodec.digits(base, maxValue);
+    } else {
+      // The lottery, the digits of each number and the separators between them
+      final int digits = SortableCodec.digits(alphabet.length, maxValue);
+      length = 1L + (long) arity * digits + arity - 1;
+    }
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("maximum encoded length exceeds the maximum integer value: " + length);
+    }
+    return Math.max(minLength, (int) length);
+  }
+
   /**
    * Returns the version of the public API.
    *
@@ -590,6 +1972,74 @@ public final class Hashids {
     return VERSION_INTEROP;
   }
 
+  /**
+   * Returns the names of all available {@link HashidsEngine engines}.
+   *
+   * @return the names of all available engines
+   * @since 0.5.0
+   */
+  public static Set<String> getEngineNames() {
+    return Engines.ENGINES.keySet();
+  }
+
+  /**
+   * Returns the derived configuration of this instance.
+   *
+   * @return the derived configuration of this instance
+   * @since 0.5.0
+   */
+  HashidsEngine.Configuration getConfiguration() {
+    return configuration;
+  }
+
+  /**
+   * Indicates whether the {@link Builder#routing(int) routing} mode is enabled.
+   *
+   * @return {@code true} if hashes start with a routing character, {@code false} otherwise
+   * @since 0.5.0
+   */
+  boolean isRouted() {
+    return routingKeys > 0;
+  }
+
+  /**
+   * Returns the {@link Builder#maxHashLength(int) maximum length} of hashes.
+   *
+   * @return the maximum length of hashes
+   * @since 0.5.0
+   */
+  int getMaxHashLength() {
+    return maxHashLength;
+  }
+
+  /**
+   * Returns the largest single number that can be encoded based on this instance configuration.
+   *
+   * <p>The number is limited by the {@link #MAX_INTEROP_NUMBER_SIZE maximum interoperability size}, the maximum value of the
+   * {@link Builder#fixedWidth(int, long) fixed width} and the {@link Builder#maxHashLength(int) maximum hash length}, which is only applied to hashes that
+   * consist of the lottery and the digits of the number and therefore not to the ones of the {@link HashidsFeature#SORTABLE SORTABLE} feature.
+   *
+   * @return the largest single number that can be encoded
+   * @since 0.5.0
+   */
+  long getMaxNumber() {
+    long maxNumber = noMaxInteropNumberSize ? Long.MAX_VALUE : MAX_INTEROP_NUMBER_SIZE;
+    if (fixedWidthArity > 0 && Long.compareUnsigned(fixedWidthMaxValue, maxNumber) < 0) {
+      maxNumber = fixedWidthMaxValue;
+    }
+    // Hashes that are longer than the minimum hash length consist of the lottery and the digits of the number only, preceded by the routing character,
+    // the digit of the routing key and its separator in routing mode
+    final int digits = maxHashLength - 1 - (routingKeys > 0 ? 3 : 0) - (checkCharacter != null ? 1 : 0);
+    long capacity = 1;
+    for (int idx = 0; idx < digits && !sortable; idx++) {
+      if (capacity > maxNumber / alphabet.length) {
+        return maxNumber;
+      }
+      capacity *= alphabet.length;
+    }
+    return sortable ? maxNumber : Math.min(maxNumber, capacity - 1);
+  }
+
   @Override
   public boolean equals(final Object otherObject) {
     if (null == otherObject) {
@@ -601,6 +2051,11 @@ public final class Hashids {
     final Hashids otherHashids = (Hashids) otherObject;
     return Arrays.equals(salt, otherHashids.salt)
       && Objects.equals(minLength, otherHashids.minLength)
+      && fixedWidthArity == otherHashids.fixedWidthArity
+      && fixedWidthMaxValue == otherHashids.fixedWidthMaxValue
+      && routingKeys == otherHashids.routingKeys
+      && maxHashLength == otherHashids.maxHashLength
+      && maxArity == otherHashids.maxArity
       && Arrays.equals(alphabet, otherHashids.alphabet)
       && Objects.equals(features, otherHashids.features);
   }
@@ -615,6 +2070,20 @@ public final class Hashids {
       + '}';
   }
 
+  /**
+   * Calculates the remainder of the given number interpreted as unsigned number of the {@link HashidsFeature#UNSIGNED UNSIGNED} feature.
+   *
+   * <p>Non-negative numbers take the fast path of the signed remainder.
+   *
+   * @param number the dividend which is interpreted as unsigned number
+   * @param divisor the positive divisor
+   * @return the remainder of the unsigned division
+   * @since 0.5.0
+   */
+  static long remainder(final long number, final long divisor) {
+    return number >= 0 ? number % divisor : Long.remainderUnsigned(number, divisor);
+  }
+
   /**
    * Derives a new alphabet using the given salt and lottery character.
    *
@@ -624,7 +2093,7 @@ public final class Hashids {
    * @return a new derived alphabet
    * @since 0.4.0
    */
-  private char[] deriveNewAlphabet(final char[] alphabet, final char[] salt, final char lottery) {
+  static char[] deriveNewAlphabet(final char[] alphabet, final char[] salt, final char lottery) {
     final char[] newSalt = new char[alphabet.length];
     newSalt[0] = lottery;
     int spaceLeft = newSalt.length - 1;
@@ -651,7 +2120,7 @@ public final class Hashids {
    * @return the filtered alphabet
    * @since 0.4.0
    */
-  private char[] filterSeparators(final char[] separators, final char[] alphabet) {
+  private static char[] filterSeparators(final char[] separators, final char[] alphabet) {
     final Set<Character> valid = IntStream.range(0, alphabet.length)
       .mapToObj(idx -> alphabet[idx])
       .collect(toSet());
@@ -671,7 +2140,7 @@ public final class Hashids {
    * @param salt the salt with which the alphabet is shuffled
    * @return the shuffled alphabet
    */
-  private char[] shuffle(final char[] alphabet, final char[] salt) {
+  static char[] shuffle(final char[] alphabet, final char[] salt) {
     for (int idx = alphabet.length - 1, mod = 0, idxChar = 0, idxMatch, num; salt.length > 0 && idx > 0; idx--, mod++) {
       mod %= salt.length;
       idxChar += num = salt[mod];
@@ -684,44 +2153,38 @@ public final class Hashids {
   }
 
   /**
-   * Transforms the hash into the encoded hash state using the given alphabet.
+   * Formats the given number as unsigned number if the {@link HashidsFeature#UNSIGNED UNSIGNED} feature is enabled.
    *
-   * @param number the number to be transformed into the encoded hash state
-   * @param alphabet the alphabet to be used for the transformation
-   * @param sb the string builder to prepend the transformed number
-   * @param start the start index for the given alphabet
-   * @return the given string builder with the prepended transformed number
+   * @param number the number to be formatted
+   * @return the decimal representation of the number
+   * @since 0.5.0
    */
-  private StringBuilder transform(final long number, final char[] alphabet, final StringBuilder sb, final int start) {
-    long input = number;
-    do {
-      // Prepend the matched character and trim the input
-      sb.insert(start, alphabet[(int) (input % alphabet.length)]);
-      input = input / alphabet.length;
-    } while (input > 0);
-
-    return sb;
+  private String format(final long number) {
+    return unsigned ? Long.toUnsignedString(number) : Long.toString(number);
   }
 
   /**
-   * Transforms the hash into the decoded number state using the given alphabet.
+   * Checks if the given numbers are valid to be encoded based on this instance configuration.
    *
-   * @param hash the hash to be transformed into the decoded number state
-   * @param alphabet the alphabet to be used for the transformation
-   * @return the transformed hash in the decoded number state
+   * @param numbers the numbers to be checked
+   * @param offset the index of the first number to be checked, {@code 1} to skip the leading routing key of the routing mode
+   * @return {@code true} if all numbers are valid, {@code false} otherwise
+   * @since 0.5.0
    */
-  private long transform(final char[] hash, final char[] alphabet) {
-    long number = 0;
-
-    final Map<Character, Integer> alphabetMapping = IntStream.range(0, alphabet.length)
-      .mapToObj(idx -> new Object[]{alphabet[idx], idx})
-      .collect(groupingBy(arr -> (Character) arr[0], mapping(arr -> (Integer) arr[1], reducing(null, (a, b) -> a == null ? b : a))));
-
-    for (int idx = 0; idx < hash.length; ++idx) {
-      number += alphabetMapping.get(hash[idx]) * (long) Math.pow(alphabet.length, hash.length - idx - 1);
+  private boolean isValid(final long[] numbers, final int offset) {
+    if (fixedWidthArity > 0 && numbers.length - offset > fixedWidthArity) {
+      return false;
     }
-
-    return number;
+    for (int idx = offset; idx < numbers.length; idx++) {
+      final long number = numbers[idx];
+      if ((number < 0 && !unsigned) || (number > MAX_INTEROP_NUMBER_SIZE && !noMaxInteropNumberSize)) {
+        return false;
+      }
+      if (fixedWidthArity > 0 && Long.compareUnsigned(number, fixedWidthMaxValue) > 0) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A batch decoder that validates and decodes columns of fixed-length ASCII hashes of single numbers without materializing a {@link String} per hash.
+ *
+ * <p>The hashes are read as consecutive records of exactly {@code hashLength} bytes from a byte array or a {@link ByteBuffer}, e.g. a column that has
+ * been written by the {@link HashidsBulkEncoder} with a fixed stride of the minimum hash length. The records are decoded in parallel segments and each
+ * segment processes its records in blocks: first all characters of a block are mapped to their position within the alphabet by a character code
+ * kernel, then each record is decoded from these positions through precomputed tables of the derived alphabets and verified by encoding the number
+ * again without allocating any objects.
+ *
+ * <p>On Java 17 and later the characters are mapped through 256- or 512-bit vectors of the incubating Vector API when the platform supports them and
+ * the {@code jdk.incubator.vector} module is added to the runtime via {@code --add-modules jdk.incubator.vector}, otherwise a scalar table lookup is
+ * used. Both produce identical results, the kind of the kernel can be queried via {@link #isVectorized()}.
+ *
+ * <p>Each decoded number is identical to the single number that {@link Hashids#decode(String)} returns for the hash. Invalid hashes and hashes of more
+ * than one number are decoded to {@link #INVALID} unless the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsBatchDecoder {
+
+  /**
+   * The number of invalid hashes which is never a valid number.
+   */
+  public static final long INVALID = -1L;
+
+  /**
+   * The amount of characters that are mapped at once by the character code kernel.
+   */
+  private static final int BLOCK_SIZE = 4096;
+
+  private final int hashLength;
+  private final int segmentSize;
+  private final int base;
+  private final long maxNumber;
+  private final long overflowLimit;
+  private final boolean exceptionHandling;
+  private final SingleNumberEncoder encoder;
+  private final CharCodeKernel kernel;
+
+  /**
+   * The amount of records of each block.
+   */
+  private final int blockRecords;
+
+  /**
+   * The digit value of each alphabet position indexed by the position of the lottery within the alphabet.
+   */
+  private final byte[][] digits;
+
+  private HashidsBatchDecoder(final Hashids hashids, final int hashLength, final int segmentSize, final boolean vectorized) {
+    final HashidsEngine.Configuration configuration = hashids.getConfiguration();
+    final char[] alphabet = configuration.getAlphabet();
+    this.hashLength = hashLength;
+    this.segmentSize = segmentSize;
+    this.base = alphabet.length;
+    this.maxNumber = hashids.getMaxNumber();
+    this.overflowLimit = maxNumber / base;
+    this.exceptionHandling = configuration.isEnabled(HashidsFeature.EXCEPTION_HANDLING);
+    this.encoder = new SingleNumberEncoder(configuration);
+    this.blockRecords = Math.max(1, BLOCK_SIZE / hashLength);
+
+    // Separators are invalid since hashes of a single number never contain them
+    final byte[] table = new byte[CharCodeKernel.TABLE_SIZE];
+    Arrays.fill(table, CharCodeKernel.INVALID);
+    for (int idx = 0; idx < alphabet.length; idx++) {
+      table[alphabet[idx]] = (byte) idx;
+    }
+    for (char guard : configuration.getGuards()) {
+      table[guard] = CharCodeKernel.GUARD;
+    }
+    this.kernel = CharCodeKernels.create(table, vectorized);
+
+    this.digits = new byte[encoder.lotteries()][alphabet.length];
+    for (int lotteryIdx = 0; lotteryIdx < digits.length; lotteryIdx++) {
+      final char[] lotteryAlphabet = encoder.lotteryAlphabet(lotteryIdx);
+      for (int pos = 0; pos < lotteryAlphabet.length; pos++) {
+        digits[lotteryIdx][table[lotteryAlphabet[pos]]] = (byte) pos;
+      }
+    }
+  }
+
+  /**
+   * An immutable {@link HashidsBatchDecoder} instance builder.
+   */
+  public static final class Builder {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    private final Hashids hashids;
+    private int hashLength;
+    private int segmentSize;
+    private boolean vectorized;
+
+    /**
+     * Constructs a new instance for hashes of the minimum hash length of the given instance, a segment size of 65536 hashes and a vectorized kernel if
+     * available.
+     *
+     * @param hashids the instance whose configuration is used to decode the hashes
+     * @throws IllegalArgumentException if the {@link HashidsFeature#SORTABLE SORTABLE}, {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} or
+     * {@link HashidsFeature#UNSIGNED UNSIGNED} feature or the {@link Hashids.Builder#routing(int) routing} mode is enabled or the alphabet or the
+     * guards contain non-ASCII characters
+     */
+    public Builder(final Hashids hashids) {
+      this.hashids = Objects.requireNonNull(hashids, "hashids must not be null!");
+      final HashidsEngine.Configuration configuration = hashids.getConfiguration();
+      if (configuration.isEnabled(HashidsFeature.SORTABLE)) {
+        throw new IllegalArgumentException("hashids must not enable the sortable feature!");
+      }
+      if (configuration.isEnabled(HashidsFeature.CHECK_CHARACTER)) {
+        throw new IllegalArgumentException("hashids must not enable the check character feature!");
+      }
+      if (configuration.isEnabled(HashidsFeature.UNSIGNED)) {
+        throw new IllegalArgumentException("hashids must not enable the unsigned feature!");
+      }
+      if (hashids.isRouted()) {
+        throw new IllegalArgumentException("hashids must not enable the routing mode!");
+      }
+      for (char c : configuration.getAlphabet()) {
+        if (c >= CharCodeKernel.TABLE_SIZE) {
+          throw new IllegalArgumentException("alphabet must only contain ASCII characters: " + c);
+        }
+      }
+      for (char c : configuration.getGuards()) {
+        if (c >= CharCodeKernel.TABLE_SIZE) {
+          throw new IllegalArgumentException("guards must only contain ASCII characters: " + c);
+        }
+      }
+      this.hashLength = configuration.getMinLength();
+      this.segmentSize = DEFAULT_SEGMENT_SIZE;
+      this.vectorized = true;
+    }
+
+    /**
+     * Sets the length of each hash in bytes.
+     *
+     * <p>The default value is the minimum hash length of the instance.
+     *
+     * @param hashLength the length of each hash
+     * @return a new builder instance with the given hash length
+     */
+    public Builder hashLength(final int hashLength) {
+      this.hashLength = hashLength;
+      return this;
+    }
+
+    /**
+     * Sets the amount of hashes that are decoded sequentially by a single thread.
+     *
+     * <p>The default value is 65536.
+     *
+     * @param segmentSize the amount of hashes of each segment
+     * @return a new builder instance with the given segment size
+     */
+    public Builder segmentSize(final int segmentSize) {
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    /**
+     * Sets whether the characters should be mapped through the Vector API if it is available at runtime.
+     *
+     * <p>The default value is {@code true}.
+     *
+     * @param vectorized indicates if the Vector API should be used
+     * @return a new builder instance with the given preference
+     */
+    public Builder vectorized(final boolean vectorized) {
+      this.vectorized = vectorized;
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link HashidsBatchDecoder} instance.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the hash length or the segment size is less than one or the hash length exceeds the
+     *   {@link Hashids.Builder#maxHashLength(int) maximum hash length}
+     */
+    public HashidsBatchDecoder build() {
+      if (hashLength < 1) {
+        throw new IllegalArgumentException("hash length must be greater than or equal to one: " + hashLength);
+      }
+      if (hashLength > hashids.getMaxHashLength()) {
+        throw new IllegalArgumentException("hash length must not exceed the maximum hash length: " + hashLength + " > " + hashids.getMaxHashLength());
+      }
+      if (segmentSize < 1) {
+        throw new IllegalArgumentException("segment size must be greater than or equal to one: " + segmentSize);
+      }
+      return new HashidsBatchDecoder(hashids, hashLength, segmentSize, vectorized);
+    }
+  }
+
+  /**
+   * Returns the length of each hash in bytes.
+   *
+   * @return the length of each hash
+   */
+  public int getHashLength() {
+    return hashLength;
+  }
+
+  /**
+   * Indicates whether the characters are mapped through the Vector API.
+   *
+   * @return {@code true} if the characters are mapped through the Vector API, {@code false} otherwise
+   */
+  public boolean isVectorized() {
+    return kernel.isVectorized();
+  }
+
+  /**
+   * Decodes the consecutive hashes of the given array.
+   *
+   * @param hashes the ASCII characters of the hashes
+   * @return the decoded number of each hash
+   * @throws IllegalArgumentException if the size of the array is not a multiple of the hash length or a hash is invalid and the
+   *   {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled
+   */
+  public long[] decode(final byte[] hashes) {
+    return decode(ByteBuffer.wrap(Objects.requireNonNull(hashes, "hashes must not be null!")));
+  }
+
+  /**
+   * Decodes the remaining consecutive hashes of the given buffer.
+   *
+   * <p>The position of the given buffer is not modified.
+   *
+   * @param hashes the ASCII characters of the hashes
+   * @return the decoded number of each hash
+   * @throws IllegalArgumentException if the remaining size of the buffer is not a multiple of the hash length or a hash is invalid and the
+   *   {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled
+   */
+  public long[] decode(final ByteBuffer hashes) {
+    final long[] numbers = new long[count(hashes)];
+    decode(hashes, LongBuffer.wrap(numbers), 0);
+    return numbers;
+  }
+
+  /**
+   * Decodes the remaining consecutive hashes of the given buffer into the given numbers buffer starting at its position.
+   *
+   * <p>The position of the hashes buffer is not modified while the position of the numbers buffer is advanced by the amount of decoded hashes.
+   *
+   * @param hashes the ASCII characters of the hashes
+   * @param numbers the buffer the decoded numbers are written to
+   * @return the amount of decoded hashes
+   * @throws BufferOverflowException if the remaining space of the numbers buffer is insufficient
+   * @throws IllegalArgumentException if the remaining size of the hashes buffer is not a multiple of the hash length or a hash is invalid and the
+   *   {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled
+   */
+  public int decode(final ByteBuffer hashes, final LongBuffer numbers) {
+    final int count = count(hashes);
+    if (count > numbers.remaining()) {
+      throw new BufferOverflowException();
+    }
+    decode(hashes, numbers, numbers.position());
+    numbers.position(numbers.position() + count);
+    return count;
+  }
+
+  private void decode(final ByteBuffer hashes, final LongBuffer numbers, final int numbersBase) {
+    final int count = hashes.remaining() / hashLength;
+    final int segments = (count + segmentSize - 1) / segmentSize;
+    // Heap buffers are read in place while all other buffers are copied block by block
+    final byte[] array = hashes.hasArray() ? hashes.array() : null;
+    final int arrayBase = array != null ? hashes.arrayOffset() + hashes.position() : 0;
+    IntStream.range(0, segments).parallel().forEach(segment -> {
+      final SingleNumberEncoder.Scratch scratch = encoder.newScratch();
+      final byte[] codes = new byte[blockRecords * hashLength];
+      final byte[] block = array == null ? new byte[codes.length] : null;
+      final ByteBuffer view = array == null ? hashes.duplicate() : null;
+      final int end = Math.min(count, (segment + 1) * segmentSize);
+      for (int first = segment * segmentSize; first < end; first += blockRecords) {
+        final int records = Math.min(blockRecords, end - first);
+        final byte[] source;
+        final int offset;
+        if (array != null) {
+          source = array;
+          offset = arrayBase + first * hashLength;
+        } else {
+          view.position(hashes.position() + first * hashLength);
+          view.get(block, 0, records * hashLength);
+          source = block;
+          offset = 0;
+        }
+
+        kernel.map(source, offset, records * hashLength, codes);
+        for (int record = 0; record < records; record++) {
+          final int hashOffset = offset + record * hashLength;
+          final long number = decode(source, hashOffset, codes, record * hashLength, scratch);
+          if (number == INVALID && exceptionHandling) {
+            throw new IllegalArgumentException(
+              "invalid hash at index " + (first + record) + ": " + new String(source, hashOffset, hashLength, StandardCharsets.US_ASCII));
+          }
+          numbers.put(numbersBase + first + record, number);
+        }
+      }
+    });
+  }
+
+  /**
+   * Decodes a single hash from the codes of its characters and verifies it.
+   *
+   * @param hashes the characters of the hashes
+   * @param hashOffset the index of the first character of the hash
+   * @param codes the codes of the characters of the block
+   * @param codeOffset the index of the code of the first character of the hash
+   * @param scratch the scratch space of the current thread
+   * @return the decoded number or {@link #INVALID} if the hash is invalid
+   */
+  private long decode(final byte[] hashes, final int hashOffset, final byte[] codes, final int codeOffset, final SingleNumberEncoder.Scratch scratch) {
+    // Validate the characters and find the guards
+    int firstGuardIdx = -1;
+    int secondGuardIdx = -1;
+    for (int idx = 0; idx < hashLength; idx++) {
+      final byte code = codes[codeOffset + idx];
+      if (code == CharCodeKernel.INVALID) {
+        return INVALID;
+      }
+      if (code == CharCodeKernel.GUARD) {
+        if (firstGuardIdx < 0) {
+          firstGuardIdx = idx;
+        } else if (secondGuardIdx < 0) {
+          secondGuardIdx = idx;
+        }
+      }
+    }
+
+    // Calculate the start- and end index based on the guards, a single number consists of the lottery and at least one digit
+    final int startIdx = firstGuardIdx >= 0 ? firstGuardIdx + 1 : 0;
+    final int endIdx = secondGuardIdx >= 0 ? secondGuardIdx : hashLength;
+    if (endIdx - startIdx < 2) {
+      return INVALID;
+    }
+    final int lotteryIdx = codes[codeOffset + startIdx];
+    if (lotteryIdx >= digits.length) {
+      return INVALID;
+    }
+
+    final byte[] lotteryDigits = digits[lotteryIdx];
+    long number = 0;
+    for (int idx = startIdx + 1; idx < endIdx; idx++) {
+      if (number > overflowLimit) {
+        return INVALID;
+      }
+      number = number * base + lotteryDigits[codes[codeOffset + idx]];
+      if (number < 0 || number > maxNumber) {
+        return INVALID;
+      }
+    }
+    if (number % Hashids.LOTTERY_MOD % base != lotteryIdx) {
+      return INVALID;
+    }
+
+    // Verify the hash by encoding the number again
+    if (encoder.write(number, scratch) != hashLength) {
+      return INVALID;
+    }
+    for (int idx = 0; idx < hashLength; idx++) {
+      if (scratch.hash[scratch.start + idx] != hashes[hashOffset + idx]) {
+        return INVALID;
+      }
+    }
+    return number;
+  }
+
+  /**
+   * Returns the amount of remaining hashes of the given buffer.
+   */
+  private int count(final ByteBuffer hashes) {
+    Objects.requireNonNull(hashes, "hashes must not be null!");
+    if (hashes.remaining() % hashLength != 0) {
+      throw new IllegalArgumentException(
+        "size of hashes must be a multiple of the hash length: " + hashes.remaining() + " % " + hashLength + " != 0");
+    }
+    return hashes.remaining() / hashLength;
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A bulk encoder that encodes columns of single numbers into off-heap ASCII records without materializing a {@link String} per number.
+ *
+ * <p>The numbers are read from a {@link LongBuffer}, which may be a view of a memory-mapped file region, and are encoded in parallel segments directly
+ * into a {@link ByteBuffer}. Each segment reuses its own scratch buffers so that no objects are allocated per number. The records are laid out in one of
+ * the following {@link Layout layouts}:
+ * <ul>
+ *   <li>{@link Layout#FIXED_STRIDE FIXED_STRIDE} - each record occupies exactly {@code stride} bytes, the hash is left-aligned and padded with spaces
+ *   which are never part of an alphabet</li>
+ *   <li>{@link Layout#LENGTH_PREFIXED LENGTH_PREFIXED} - each record consists of the unsigned length of the hash as a single byte followed by the
+ *   hash itself</li>
+ * </ul>
+ *
+ * <p>Each record contains the same hash as {@link Hashids#encode(long...)} for the single number. Invalid numbers, which include numbers that exceed the
+ * {@link Hashids.Builder#fixedWidth(int, long) fixed width} or whose hash would exceed the {@link Hashids.Builder#maxHashLength(int) maximum hash length},
+ * result in an empty record unless the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsBulkEncoder {
+
+  /**
+   * The byte used to pad the records of the {@link Layout#FIXED_STRIDE FIXED_STRIDE} layout.
+   */
+  public static final byte PADDING = ' ';
+
+  /**
+   * The maximum hash length of records of the {@link Layout#LENGTH_PREFIXED LENGTH_PREFIXED} layout.
+   */
+  public static final int MAX_PREFIXED_LENGTH = 0xFF;
+
+  private final char[] alphabet;
+  private final int minLength;
+  private final long maxNumber;
+  private final boolean exceptionHandling;
+  private final SingleNumberEncoder encoder;
+  private final Layout layout;
+  private final int stride;
+  private final int segmentSize;
+
+  private HashidsBulkEncoder(final Hashids hashids, final Layout layout, final int stride, final int segmentSize) {
+    final HashidsEngine.Configuration configuration = hashids.getConfiguration();
+    this.alphabet = configuration.getAlphabet();
+    this.minLength = configuration.getMinLength();
+    this.maxNumber = hashids.getMaxNumber();
+    this.exceptionHandling = configuration.isEnabled(HashidsFeature.EXCEPTION_HANDLING);
+    this.encoder = new SingleNumberEncoder(configuration);
+    this.layout = layout;
+    this.stride = stride;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * The layout of the encoded records.
+   */
+  public enum Layout {
+
+    /**
+     * Each record occupies exactly {@code stride} bytes with the hash left-aligned and padded with {@link #PADDING spaces}.
+     */
+    FIXED_STRIDE,
+
+    /**
+     * Each record consists of the unsigned length of the hash as a single byte followed by the hash itself.
+     */
+    LENGTH_PREFIXED
+  }
+
+  /**
+   * An immutable {@link HashidsBulkEncoder} instance builder.
+   */
+  public static final class Builder {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    private final Hashids hashids;
+    private Layout layout;
+    private int stride;
+    private int segmentSize;
+
+    /**
+     * Constructs a new instance for {@link Layout#LENGTH_PREFIXED length-prefixed} records and a segment size of 65536 numbers.
+     *
+     * @param hashids the instance whose configuration is used to encode the numbers
+     * @throws IllegalArgumentException if the {@link HashidsFeature#SORTABLE SORTABLE}, {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} or
+     * {@link HashidsFeature#UNSIGNED UNSIGNED} feature or the {@link Hashids.Builder#routing(int) routing} mode is enabled
+     */
+    public Builder(final Hashids hashids) {
+      this.hashids = Objects.requireNonNull(hashids, "hashids must not be null!");
+      if (hashids.getConfiguration().isEnabled(HashidsFeature.SORTABLE)) {
+        throw new IllegalArgumentException("hashids must not enable the sortable feature!");
+      }
+      if (hashids.getConfiguration().isEnabled(HashidsFeature.CHECK_CHARACTER)) {
+        throw new IllegalArgumentException("hashids must not enable the check character feature!");
+      }
+      if (hashids.getConfiguration().isEnabled(HashidsFeature.UNSIGNED)) {
+        throw new IllegalArgumentException("hashids must not enable the unsigned feature!");
+      }
+      if (hashids.isRouted()) {
+        throw new IllegalArgumentException("hashids must not enable the routing mode!");
+      }
+      this.layout = Layout.LENGTH_PREFIXED;
+      this.segmentSize = DEFAULT_SEGMENT_SIZE;
+    }
+
+    /**
+     * Sets the {@link Layout#FIXED_STRIDE fixed-stride} layout with the given stride.
+     *
+     * @param stride the size of each record in bytes
+     * @return a new builder instance with the fixed-stride layout
+     */
+    public Builder fixedStride(final int stride) {
+      this.layout = Layout.FIXED_STRIDE;
+      this.stride = stride;
+      return this;
+    }
+
+    /**
+     * Sets the {@link Layout#LENGTH_PREFIXED length-prefixed} layout.
+     *
+     * @return a new builder instance with the length-prefixed layout
+     */
+    public Builder lengthPrefixed() {
+      this.layout = Layout.LENGTH_PREFIXED;
+      this.stride = 0;
+      return this;
+    }
+
+    /**
+     * Sets the amount of numbers that are encoded sequentially by a single thread.
+     *
+     * <p>The default value is 65536.
+     *
+     * @param segmentSize the amount of numbers of each segment
+     * @return a new builder instance with the given segment size
+     */
+    public Builder segmentSize(final int segmentSize) {
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link HashidsBulkEncoder} instance.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the stride or the segment size is less than one
+     */
+    public HashidsBulkEncoder build() {
+      if (layout == Layout.FIXED_STRIDE && stride < 1) {
+        throw new IllegalArgumentException("stride must be greater than or equal to one: " + stride);
+      }
+      if (segmentSize < 1) {
+        throw new IllegalArgumentException("segment size must be greater than or equal to one: " + segmentSize);
+      }
+      return new HashidsBulkEncoder(hashids, layout, stride, segmentSize);
+    }
+  }
+
+  /**
+   * Returns the layout of the encoded records.
+   *
+   * @return the layout of the encoded records
+   */
+  public Layout getLayout() {
+    return layout;
+  }
+
+  /**
+   * Returns the length of the hash of the given number without encoding it.
+   *
+   * @param number the number
+   * @return the length of the hash of the number, {@code 0} if the number is invalid
+   */
+  public int encodedLength(final long number) {
+    if (number < 0 || number > maxNumber) {
+      return 0;
+    }
+    int digits = 1;
+    for (long value = number / alphabet.length; value > 0; value /= alphabet.length) {
+      digits++;
+    }
+    return Math.max(minLength, digits + 1);
+  }
+
+  /**
+   * Encodes the remaining numbers of the given buffer into a new direct buffer.
+   *
+   * <p>The position of the given buffer is not modified.
+   *
+   * @param numbers the numbers to be encoded
+   * @return a new direct buffer with the encoded records between position zero and its limit
+   * @throws IllegalArgumentException if a number is invalid and the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled,
+   *   a hash does not fit into its record or the records exceed the maximum buffer size
+   */
+  public ByteBuffer encode(final LongBuffer numbers) {
+    final long[] offsets = offsets(numbers);
+    final long size = offsets[offsets.length - 1];
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("records exceed the maximum buffer size: " + size);
+    }
+    final ByteBuffer output = ByteBuffer.allocateDirect((int) size);
+    encode(numbers, output, 0, offsets);
+    return output;
+  }
+
+  /**
+   * Encodes the remaining numbers of the given buffer into the given output buffer starting at its position.
+   *
+   * <p>The position of the numbers buffer is not modified while the position of the output buffer is advanced by the amount of written bytes.
+   *
+   * @param numbers the numbers to be encoded
+   * @param output the buffer the encoded records are written to
+   * @return the amount of written bytes
+   * @throws BufferOverflowException if the remaining space of the output buffer is insufficient
+   * @throws IllegalArgumentException if a number is invalid and the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled
+   *   or a hash does not fit into its record
+   */
+  public int encode(final LongBuffer numbers, final ByteBuffer output) {
+    final long[] offsets = offsets(numbers);
+    final long size = offsets[offsets.length - 1];
+    if (size > output.remaining()) {
+      throw new BufferOverflowException();
+    }
+    encode(numbers, output, output.position(), offsets);
+    output.position(output.position() + (int) size);
+    return (int) size;
+  }
+
+  /**
+   * Encodes a region of the given file that consists of consecutive numbers in the given byte order into a new direct buffer.
+   *
+   * @param channel the file channel
+   * @param position the position of the first number within the file
+   * @param count the amount of numbers to be encoded
+   * @param order the byte order of the numbers
+   * @return a new direct buffer with the encoded records between position zero and its limit
+   * @throws IOException if the region could not be mapped
+   * @throws IllegalArgumentException if a number is invalid and the {@link HashidsFeature#EXCEPTION_HANDLING EXCEPTION_HANDLING} feature is enabled,
+   *   a hash does not fit into its record or the region or the records exceed the maximum buffer size
+   */
+  public ByteBuffer encode(final FileChannel channel, final long position, final int count, final ByteOrder order) throws IOException {
+    final long regionSize = (long) count * Long.BYTES;
+    if (count < 0 || regionSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("region must be between 0 and " + Integer.MAX_VALUE + " bytes: " + regionSize);
+    }
+    final LongBuffer numbers = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize).order(order).asLongBuffer();
+    return encode(numbers);
+  }
+
+  private void encode(final LongBuffer numbers, final ByteBuffer output, final int outputBase, final long[] offsets) {
+    final int count = numbers.remaining();
+    final int base = numbers.position();
+    IntStream.range(0, offsets.length - 1).parallel().forEach(segment -> {
+      final SingleNumberEncoder.Scratch scratch = encoder.newScratch();
+      final int end = Math.min(count, (segment + 1) * segmentSize);
+      int offset = outputBase + (int) offsets[segment];
+      for (int idx = segment * segmentSize; idx < end; idx++) {
+        final long number = numbers.get(base + idx);
+        final int length;
+        if (number < 0 || number > maxNumber) {
+          if (exceptionHandling) {
+            throw new IllegalArgumentException("invalid number at index " + idx + ": " + number);
+          }
+          length = 0;
+        } else {
+          length = encoder.write(number, scratch);
+        }
+
+        if (layout == Layout.FIXED_STRIDE) {
+          if (length > stride) {
+            throw new IllegalArgumentException("hash exceeds the stride of " + stride + " bytes at index " + idx + ": " + length);
+          }
+          for (int pos = 0; pos < length; pos++) {
+            output.put(offset + pos, (byte) scratch.hash[scratch.start + pos]);
+          }
+          for (int pos = length; pos < stride; pos++) {
+            output.put(offset + pos, PADDING);
+          }
+          offset += stride;
+        } else {
+          if (length > MAX_PREFIXED_LENGTH) {
+            throw new IllegalArgumentException("hash exceeds the maximum length of " + MAX_PREFIXED_LENGTH + " at index " + idx + ": " + length);
+          }
+          output.put(offset++, (byte) length);
+          for (int pos = 0; pos < length; pos++) {
+            output.put(offset + pos, (byte) scratch.hash[scratch.start + pos]);
+          }
+          offset += length;
+        }
+      }
+    });
+  }
+
+  /**
+   * Calculates the offset of the first record of each segment relative to the first record.
+   *
+   * @param numbers the numbers to be encoded
+   * @return the offset of each segment followed by the total size of all records
+   */
+  private long[] offsets(final LongBuffer numbers) {
+    final int count = numbers.remaining();
+    final int segments = (count + segmentSize - 1) / segmentSize;
+    final long[] offsets = new long[segments + 1];
+    if (layout == Layout.FIXED_STRIDE) {
+      for (int segment = 0; segment <= segments; segment++) {
+        offsets[segment] = (long) Math.min(count, segment * segmentSize) * stride;
+      }
+      return offsets;
+    }
+
+    // The length of each hash is known without encoding it
+    final int base = numbers.position();
+    IntStream.range(0, segments).parallel().forEach(segment -> {
+      final int end = Math.min(count, (segment + 1) * segmentSize);
+      long size = 0;
+      for (int idx = segment * segmentSize; idx < end; idx++) {
+        size += 1 + encodedLength(numbers.get(base + idx));
+      }
+      offsets[segment + 1] = size;
+    });
+    for (int segment = 1; segment <= segments; segment++) {
+      offsets[segment] += offsets[segment - 1];
+    }
+    return offsets;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a specialized codec for a configuration that is fixed at build time.
+ *
+ * <p>The {@link HashidsCodecProcessor} generates a final class in the package of the annotated type whose static {@code encode} and {@code decode}
+ * methods produce the same hashes as a {@link Hashids} instance with the same salt, minimum hash length and alphabet and no enabled
+ * {@link HashidsFeature features}. The separators, the guards and the derived alphabets of the first numbers of each lottery are calculated by the
+ * processor and stored as constants, so that the generated class neither derives any alphabet when it is initialized nor depends on this library at
+ * runtime.
+ *
+ * <pre>{@code
+ * @HashidsCodec(salt = "salt and pepper", minLength = 8)
+ * interface OrderIds {
+ * }
+ *
+ * final String hash = OrderIdsHashids.encode(42L);
+ * final long[] numbers = OrderIdsHashids.decode(hash);
+ * }</pre>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface HashidsCodec {
+
+  /**
+   * The salt to be used as entropy.
+   *
+   * @return the salt, empty by default
+   */
+  String salt() default "";
+
+  /**
+   * The minimum hash length.
+   *
+   * @return the minimum hash length, {@code 0} by default
+   */
+  int minLength() default 0;
+
+  /**
+   * The alphabet to be used for the hash generation.
+   *
+   * @return the alphabet, empty for the {@link Hashids#DEFAULT_ALPHABET default alphabet}
+   */
+  String alphabet() default "";
+
+  /**
+   * The simple name of the generated class.
+   *
+   * @return the simple name, empty for the simple name of the annotated type followed by {@code Hashids}
+   */
+  String name() default "";
+}
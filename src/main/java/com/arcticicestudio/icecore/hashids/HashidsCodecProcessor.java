@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * An annotation processor that generates a specialized codec for each type annotated with {@link HashidsCodec}.
+ *
+ * <p>The processor builds a {@link Hashids} instance from the annotation at compile time and writes its separators, guards and the derived alphabets of
+ * the first {@link #ARITY} numbers of each lottery as constants into the generated class, so that the hashes of the generated class are identical to the
+ * ones of the runtime instance by construction. Invalid configurations are reported as compilation errors at the annotated type.
+ *
+ * <p>The processor is not registered as service since annotation processors are no longer discovered implicitly on the classpath as of Java 23. It
+ * must be configured explicitly via the {@code -processorpath} and {@code -processor} options of {@code javac} or the
+ * {@code annotationProcessorPaths} of the Maven compiler plugin.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsCodecProcessor extends AbstractProcessor {
+
+  /**
+   * The amount of numbers whose derived alphabets are precomputed for each lottery.
+   */
+  static final int ARITY = 4;
+
+  private static final String TEMPLATE = "HashidsCodec.template";
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(HashidsCodec.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(HashidsCodec.class)) {
+      if (!element.getKind().isClass() && !element.getKind().isInterface() || element.getKind() == ElementKind.ANNOTATION_TYPE) {
+        error(element, "only classes and interfaces can be annotated with @" + HashidsCodec.class.getSimpleName());
+        continue;
+      }
+      final TypeElement type = (TypeElement) element;
+      final HashidsCodec codec = type.getAnnotation(HashidsCodec.class);
+      final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+      final String name = codec.name().isEmpty() ? type.getSimpleName() + "Hashids" : codec.name();
+      if (!SourceVersion.isName(name)) {
+        error(type, "name of the generated class must be a valid identifier: " + name);
+        continue;
+      }
+
+      final Hashids hashids;
+      try {
+        final Hashids.Builder builder = new Hashids.Builder().salt(codec.salt()).minLength(codec.minLength());
+        hashids = (codec.alphabet().isEmpty() ? builder : builder.alphabet(codec.alphabet())).build();
+      } catch (IllegalArgumentException e) {
+        error(type, "invalid Hashids configuration: " + e.getMessage());
+        continue;
+      }
+
+      final String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+      try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+        writer.write(generate(hashids.getConfiguration(), packageName, name, type.getQualifiedName().toString()));
+      } catch (IOException e) {
+        error(type, "codec " + qualifiedName + " could not be generated: " + e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Generates the source of the codec of the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   * @param packageName the name of the package of the codec
+   * @param name the simple name of the codec
+   * @param type the qualified name of the annotated type
+   * @return the source of the codec
+   * @throws IOException if the template could not be read
+   */
+  static String generate(final HashidsEngine.Configuration configuration, final String packageName, final String name, final String type)
+    throws IOException {
+    final char[] alphabet = configuration.getAlphabet();
+    final char[] salt = configuration.getSalt();
+    final StringBuilder derived = new StringBuilder();
+    final StringBuilder padding = new StringBuilder();
+    for (int lotteryIdx = 0; lotteryIdx < alphabet.length; lotteryIdx++) {
+      final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+      final StringBuilder derivedAlphabets = new StringBuilder(ARITY * alphabet.length);
+      final StringBuilder paddingAlphabets = new StringBuilder(ARITY * alphabet.length);
+      for (int idx = 0; idx < ARITY; idx++) {
+        Hashids.deriveNewAlphabet(currentAlphabet, salt, alphabet[lotteryIdx]);
+        derivedAlphabets.append(currentAlphabet);
+        paddingAlphabets.append(Hashids.shuffle(Arrays.copyOf(currentAlphabet, alphabet.length), currentAlphabet));
+      }
+      final String separator = lotteryIdx + 1 < alphabet.length ? ",\n" : "";
+      derived.append("    \"").append(escape(derivedAlphabets)).append('"').append(separator);
+      padding.append("    \"").append(escape(paddingAlphabets)).append('"').append(separator);
+    }
+
+    final Map<String, String> values = new HashMap<>();
+    values.put("package", packageName);
+    values.put("type", type);
+    values.put("name", name);
+    values.put("minLength", String.valueOf(configuration.getMinLength()));
+    values.put("arity", String.valueOf(ARITY));
+    values.put("salt", escape(new String(salt)));
+    values.put("alphabet", escape(new String(alphabet)));
+    values.put("separators", escape(new String(configuration.getSeparators())));
+    values.put("guards", escape(new String(configuration.getGuards())));
+    values.put("derived", derived.toString());
+    values.put("padding", padding.toString());
+    values.put("maxChar", String.valueOf((int) configuration.getMaxChar()));
+
+    final String template = readTemplate();
+    final Matcher matcher = PLACEHOLDER.matcher(packageName.isEmpty() ? template.replace("package ${package};\n\n", "") : template);
+    final StringBuffer source = new StringBuffer(template.length() + derived.length() + padding.length());
+    while (matcher.find()) {
+      matcher.appendReplacement(source, Matcher.quoteReplacement(values.get(matcher.group(1))));
+    }
+    matcher.appendTail(source);
+    return source.toString();
+  }
+
+  /**
+   * Escapes the given characters for a Java string literal.
+   *
+   * @param chars the characters to be escaped
+   * @return the escaped characters
+   */
+  static String escape(final CharSequence chars) {
+    final StringBuilder escaped = new StringBuilder(chars.length());
+    for (int idx = 0; idx < chars.length(); idx++) {
+      final char c = chars.charAt(idx);
+      if (c == '"' || c == '\\') {
+        escaped.append('\\').append(c);
+      } else if (c < 0x20 || c == 0x7F) {
+        // Unicode escapes of line terminators would be translated before the literal is parsed
+        escaped.append(String.format("\\%03o", (int) c));
+      } else if (c > 0x7F) {
+        escaped.append(String.format("\\u%04x", (int) c));
+      } else {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static String readTemplate() throws IOException {
+    try (InputStream input = HashidsCodecProcessor.class.getResourceAsStream(TEMPLATE)) {
+      if (input == null) {
+        throw new IOException("template not found: " + TEMPLATE);
+      }
+      final StringBuilder template = new StringBuilder();
+      final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        template.append(line).append('\n');
+      }
+      return template.toString();
+    }
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A lazy iterator that decodes the blocks of a hash on demand.
+ *
+ * <p>With {@link Hashids.Verification#INCREMENTAL incremental} verification each block is verified before its number is returned: the block must be the
+ * canonical representation of its number within the maximum number and must be followed by the separator derived from that number. The lottery,
+ * guards and padding depend on all numbers and are verified through a full re-encoding once the iterator is exhausted for both verification modes.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class HashidsDecodeIterator implements PrimitiveIterator.OfLong {
+
+  private final Hashids hashids;
+  private final HashidsEngine.Configuration configuration;
+  private final boolean incremental;
+  private final long maxNumber;
+  private final char[] alphabet;
+  private final char[] separators;
+  private final char[] currentAlphabet;
+  private final char[] decodeSalt;
+  private final int saltLeft;
+  private final int[] positions;
+  private CharSequence hash;
+  private int startIdx;
+  private int endIdx;
+  private int blockStart;
+  private int count;
+  private long[] decoded;
+  private boolean verified;
+  private boolean failed;
+
+  /**
+   * Constructs a new reusable iterator that must be {@link #reset(CharSequence) reset} to a hash before it is used.
+   *
+   * @param hashids the instance whose configuration is used to decode hashes
+   * @param incremental indicates if each block should be verified before its number is returned
+   */
+  HashidsDecodeIterator(final Hashids hashids, final boolean incremental) {
+    this.hashids = hashids;
+    this.configuration = hashids.getConfiguration();
+    this.incremental = incremental;
+    this.maxNumber = hashids.getMaxNumber();
+    this.alphabet = configuration.getAlphabet();
+    this.separators = configuration.getSeparators();
+    this.currentAlphabet = new char[alphabet.length];
+    this.positions = new int[configuration.getMaxChar() + 1];
+    this.decoded = new long[4];
+
+    // Create the base salt, the first character is replaced by the lottery of each hash
+    final char[] salt = configuration.getSalt();
+    this.decodeSalt = new char[alphabet.length];
+    final int saltLength = salt.length >= alphabet.length ? alphabet.length - 1 : salt.length;
+    System.arraycopy(salt, 0, decodeSalt, 1, saltLength);
+    this.saltLeft = alphabet.length - saltLength - 1;
+  }
+
+  /**
+   * Creates a new iterator for the given hash.
+   *
+   * @param hashids the instance whose configuration is used to decode the hash
+   * @param hash the hash to be decoded
+   * @param incremental indicates if each block should be verified before its number is returned
+   * @return a new iterator or {@code null} if the hash contains invalid characters
+   */
+  static HashidsDecodeIterator of(final Hashids hashids, final CharSequence hash, final boolean incremental) {
+    final HashidsDecodeIterator iterator = new HashidsDecodeIterator(hashids, incremental);
+    return iterator.reset(hash) ? iterator : null;
+  }
+
+  /**
+   * Resets this iterator to the given hash and decodes and verifies it without throwing an exception for invalid hashes.
+   *
+   * <p>Except for the result no objects are allocated unless the hash passes all checks before the final verification through a re-encoding.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash is invalid
+   */
+  long[] decode(final CharSequence hash) {
+    if (!reset(hash)) {
+      return null;
+    }
+    while (advance()) {
+      decodeBlock();
+    }
+    return failed ? null : Arrays.copyOf(decoded, count);
+  }
+
+  /**
+   * Resets this iterator to the given hash.
+   *
+   * @param hash the hash to be decoded
+   * @return {@code true} if the hash only contains valid characters, {@code false} otherwise
+   */
+  boolean reset(final CharSequence hash) {
+    int firstGuardIdx = -1;
+    int secondGuardIdx = -1;
+    for (int idx = 0; idx < hash.length(); idx++) {
+      final byte charClass = configuration.classOf(hash.charAt(idx));
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        return false;
+      }
+      if (charClass == HashidsEngine.Configuration.CLASS_GUARD) {
+        if (firstGuardIdx < 0) {
+          firstGuardIdx = idx;
+        } else if (secondGuardIdx < 0) {
+          secondGuardIdx = idx;
+        }
+      }
+    }
+    this.hash = hash;
+    this.startIdx = firstGuardIdx >= 0 ? firstGuardIdx + 1 : 0;
+    this.endIdx = secondGuardIdx >= 0 ? secondGuardIdx : hash.length();
+    this.blockStart = startIdx + 1;
+    this.count = 0;
+    this.verified = false;
+    this.failed = false;
+    System.arraycopy(alphabet, 0, currentAlphabet, 0, alphabet.length);
+    if (startIdx < endIdx) {
+      decodeSalt[0] = hash.charAt(startIdx);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean hasNext() {
+    final boolean next = advance();
+    if (failed) {
+      throw new IllegalArgumentException("invalid hash: " + hash);
+    }
+    return next;
+  }
+
+  @Override
+  public long nextLong() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final long number = decodeBlock();
+    if (failed) {
+      throw new IllegalArgumentException("invalid hash: " + hash);
+    }
+    return number;
+  }
+
+  /**
+   * Advances to the next block and verifies the whole hash once all blocks have been decoded.
+   *
+   * @return {@code true} if there is another block, {@code false} if all blocks have been decoded or the hash is invalid
+   */
+  private boolean advance() {
+    while (blockStart < endIdx && configuration.classOf(hash.charAt(blockStart)) == HashidsEngine.Configuration.CLASS_SEPARATOR) {
+      // Consecutive separators are never produced by the encoding
+      if (incremental) {
+        invalid();
+        return false;
+      }
+      blockStart++;
+    }
+    if (blockStart < endIdx) {
+      return true;
+    }
+    if (!verified) {
+      verified = true;
+      // The lottery is verified before the re-encoding since it already rejects most invalid hashes
+      long lotteryId = 0;
+      for (int idx = 0; idx < count; idx++) {
+        if (decoded[idx] < 0 || decoded[idx] > maxNumber) {
+          invalid();
+          return false;
+        }
+        lotteryId += decoded[idx] % (idx + Hashids.LOTTERY_MOD);
+      }
+      if (count > 0 && hash.charAt(startIdx) != alphabet[(int) (lotteryId % alphabet.length)]) {
+        invalid();
+        return false;
+      }
+      // The re-encoding must not throw for numbers that the configuration rejects, e.g. within the text of a scanner
+      if (count > 0 && !hashids.verify(Arrays.copyOf(decoded, count), hash)) {
+        invalid();
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes the current block.
+   *
+   * @return the decoded number of the block
+   */
+  private long decodeBlock() {
+    int blockEnd = blockStart;
+    while (blockEnd < endIdx && configuration.classOf(hash.charAt(blockEnd)) != HashidsEngine.Configuration.CLASS_SEPARATOR) {
+      blockEnd++;
+    }
+
+    // Derive the alphabet of the block
+    if (saltLeft > 0) {
+      System.arraycopy(currentAlphabet, 0, decodeSalt, currentAlphabet.length - saltLeft, saltLeft);
+    }
+    Hashids.shuffle(currentAlphabet, decodeSalt);
+    for (int pos = 0; pos < currentAlphabet.length; pos++) {
+      positions[currentAlphabet[pos]] = pos;
+    }
+
+    long number = 0;
+    boolean overflow = false;
+    for (int pos = blockStart; pos < blockEnd; pos++) {
+      final int digit = positions[hash.charAt(pos)];
+      overflow |= number > (Long.MAX_VALUE - digit) / currentAlphabet.length;
+      number = number * currentAlphabet.length + digit;
+    }
+
+    if (incremental) {
+      // A leading zero digit, an overflow or a mismatching separator can never be produced by the encoding
+      final boolean leadingZero = blockEnd - blockStart > 1 && positions[hash.charAt(blockStart)] == 0;
+      final boolean separatorMismatch = blockEnd < endIdx
+        && hash.charAt(blockEnd) != separators[(int) ((number % (hash.charAt(blockStart) + count)) % separators.length)];
+      if (overflow || leadingZero || number > maxNumber || separatorMismatch) {
+        invalid();
+        return number;
+      }
+    }
+
+    if (count == decoded.length) {
+      decoded = Arrays.copyOf(decoded, count * 2);
+    }
+    decoded[count++] = number;
+    blockStart = blockEnd + 1;
+    return number;
+  }
+
+  private void invalid() {
+    failed = true;
+    verified = true;
+    blockStart = endIdx;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Service provider interface for the algorithm engines used by the {@link Hashids} public API.
+ *
+ * <p>Engines are discovered via the {@link java.util.ServiceLoader} by listing the fully qualified class name of the implementation in the
+ * {@code META-INF/services/com.arcticicestudio.icecore.hashids.HashidsEngine} provider configuration file and can be selected by their
+ * {@link #getName() name} via the {@link Hashids.Builder#engine(String) engine(String)} builder method.
+ *
+ * <p>The {@link Hashids} public API validates all parameters, handles the enabled {@link HashidsFeature features} and verifies the decoded numbers,
+ * engines only have to implement the transformation itself. All engines must produce hashes identical to the {@link ReferenceHashidsEngine reference
+ * engine}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public interface HashidsEngine {
+
+  /**
+   * Returns the unique name of this engine.
+   *
+   * @return the unique name of this engine
+   */
+  String getName();
+
+  /**
+   * Creates a new codec for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   * @return a new codec for the given configuration
+   */
+  Codec create(Configuration configuration);
+
+  /**
+   * A thread-safe codec bound to the configuration of a single {@link Hashids} instance.
+   */
+  interface Codec {
+
+    /**
+     * Encodes the given numbers.
+     *
+     * <p>The numbers have already been validated by the {@link Hashids} public API and contain at least one non-negative number.
+     *
+     * @param numbers the numbers to be encoded
+     * @return the resultant hash of the encoding of the numbers
+     */
+    String encode(long[] numbers);
+
+    /**
+     * Encodes the given range of numbers.
+     *
+     * <p>The range has already been validated by the {@link Hashids} public API and contains at least one non-negative number. The default
+     * implementation copies the range, engines should override this method to read the numbers in place.
+     *
+     * @param numbers the array with the numbers to be encoded
+     * @param offset the index of the first number of the range
+     * @param length the amount of numbers of the range
+     * @return the resultant hash of the encoding of the numbers
+     * @since 0.5.0
+     */
+    default String encode(long[] numbers, int offset, int length) {
+      return encode(offset == 0 && length == numbers.length ? numbers : Arrays.copyOfRange(numbers, offset, offset + length));
+    }
+
+    /**
+     * Encodes the given range of numbers of a buffer without an accessible array like a direct or read-only buffer.
+     *
+     * <p>The range has already been validated by the {@link Hashids} public API and contains at least one non-negative number. The numbers must be read
+     * via the absolute {@link LongBuffer#get(int)} method so that the position of the buffer is not changed. The default implementation copies the
+     * range, engines should override this method to read the numbers in place.
+     *
+     * @param numbers the buffer with the numbers to be encoded
+     * @param index the index of the first number of the range
+     * @param length the amount of numbers of the range
+     * @return the resultant hash of the encoding of the numbers
+     * @since 0.5.0
+     */
+    default String encode(LongBuffer numbers, int index, int length) {
+      final long[] values = new long[length];
+      for (int idx = 0; idx < length; idx++) {
+        values[idx] = numbers.get(index + idx);
+      }
+      return encode(values);
+    }
+
+    /**
+     * Decodes the given hash into its numbers without verifying the result by a re-encoding.
+     *
+     * @param hash the hash to be decoded
+     * @return the decoded numbers, an empty array if the hash contains no numbers or {@code null} if the hash contains invalid characters
+     */
+    long[] decode(String hash);
+  }
+
+  /**
+   * The immutable configuration of a {@link Hashids} instance with the alphabet, separators and guards already derived from the salt.
+   */
+  final class Configuration {
+
+    static final byte CLASS_INVALID = 0;
+    static final byte CLASS_ALPHABET = 1;
+    static final byte CLASS_SEPARATOR = 2;
+    static final byte CLASS_GUARD = 3;
+
+    private final char[] salt;
+    private final char[] alphabet;
+    private final char[] separators;
+    private final char[] guards;
+    private final int minLength;
+    private final EnumSet<HashidsFeature> features;
+    private final boolean precomputed;
+    private final int parallelThreshold;
+    private final ForkJoinPool parallelPool;
+
+    /**
+     * The class of each valid character indexed by the character itself.
+     */
+    private final byte[] charClasses;
+
+    Configuration(final char[] salt, final char[] alphabet, final char[] separators, final char[] guards, final int minLength,
+      final EnumSet<HashidsFeature> features, final boolean precomputed, final int parallelThreshold, final ForkJoinPool parallelPool) {
+      this.salt = salt;
+      this.alphabet = alphabet;
+      this.separators = separators;
+      this.guards = guards;
+      this.minLength = minLength;
+      this.features = features;
+      this.precomputed = precomputed;
+      this.parallelThreshold = parallelThreshold;
+      this.parallelPool = parallelPool;
+
+      int maxChar = 0;
+      for (char[] chars : new char[][]{alphabet, separators, guards}) {
+        for (char c : chars) {
+          maxChar = Math.max(maxChar, c);
+        }
+      }
+      this.charClasses = new byte[maxChar + 1];
+      for (char c : alphabet) {
+        charClasses[c] = CLASS_ALPHABET;
+      }
+      for (char c : separators) {
+        charClasses[c] = CLASS_SEPARATOR;
+      }
+      for (char c : guards) {
+        charClasses[c] = CLASS_GUARD;
+      }
+    }
+
+    /**
+     * Returns a copy of the salt.
+     *
+     * @return a copy of the salt
+     */
+    public char[] getSalt() {
+      return Arrays.copyOf(salt, salt.length);
+    }
+
+    /**
+     * Returns a copy of the shuffled alphabet without the separators and guards.
+     *
+     * @return a copy of the alphabet
+     */
+    public char[] getAlphabet() {
+      return Arrays.copyOf(alphabet, alphabet.length);
+    }
+
+    /**
+     * Returns a copy of the separators.
+     *
+     * @return a copy of the separators
+     */
+    public char[] getSeparators() {
+      return Arrays.copyOf(separators, separators.length);
+    }
+
+    /**
+     * Returns a copy of the guards.
+     *
+     * @return a copy of the guards
+     */
+    public char[] getGuards() {
+      return Arrays.copyOf(guards, guards.length);
+    }
+
+    /**
+     * Returns the minimum hash length.
+     *
+     * @return the minimum hash length
+     */
+    public int getMinLength() {
+      return minLength;
+    }
+
+    /**
+     * Checks if the given feature is enabled.
+     *
+     * @param feature the feature to check
+     * @return {@code true} if the feature is enabled, {@code false} otherwise
+     */
+    public boolean isEnabled(final HashidsFeature feature) {
+      return features.contains(feature);
+    }
+
+    /**
+     * Returns the class of the given character.
+     *
+     * @param c the character to classify
+     * @return the class of the character
+     */
+    byte classOf(final char c) {
+      return c < charClasses.length ? charClasses[c] : CLASS_INVALID;
+    }
+
+    /**
+     * Returns the highest valid character.
+     *
+     * @return the highest valid character
+     */
+    char getMaxChar() {
+      return (char) (charClasses.length - 1);
+    }
+
+    /**
+     * Checks if the instance has been created via {@link Hashids.Builder#precompute()} and engines should precompute tables for this configuration.
+     *
+     * @return {@code true} if the engine should precompute tables for this configuration, {@code false} otherwise
+     */
+    public boolean isPrecomputed() {
+      return precomputed;
+    }
+
+    /**
+     * Returns the minimum amount of numbers of a hash from which on engines may encode and decode it in parallel.
+     *
+     * @return the minimum amount of numbers for the parallel mode or {@code 0} if the parallel mode is disabled
+     * @see Hashids.Builder#parallel(int, ForkJoinPool)
+     */
+    public int getParallelThreshold() {
+      return parallelThreshold;
+    }
+
+    /**
+     * Returns the pool on which hashes are encoded and decoded in parallel.
+     *
+     * @return the pool for the parallel mode or {@code null} if the parallel mode is disabled
+     * @see Hashids.Builder#parallel(int, ForkJoinPool)
+     */
+    public ForkJoinPool getParallelPool() {
+      return parallelPool;
+    }
+  }
+}
@@ -30,6 +30,20 @@ public enum HashidsFeature {
    */
   ALLOW_HEXADECIMAL_NUMBER_PREFIX,
 
+  /**
+   * Appends a salt-keyed check character to each hash that is verified before a hash is decoded.
+   *
+   * <p>The check character is calculated with the Luhn mod N algorithm over all valid characters in a single pass and detects all single character errors
+   * and most transpositions of adjacent characters, so that most mistyped or corrupted hashes are rejected without decoding them. Hashes can also be
+   * verified without decoding them via {@link Hashids#verifyCheck(CharSequence)}. The feature can not be combined with the
+   * {@link #SORTABLE SORTABLE} feature.
+   *
+   * <p><strong>Please note that this will break the interoperability with the origin algorithm implementation!</strong>
+   *
+   * @since 0.5.0
+   */
+  CHECK_CHARACTER,
+
   /**
    * Enables the handling of exceptions instead of returning empty values when invalid parameters are passed to any public API method.
    *
@@ -43,7 +57,36 @@ public enum HashidsFeature {
    *
    * <p><strong>Please note that this will break the interoperability with the origin algorithm implementation!</strong>
    */
-  NO_MAX_INTEROP_NUMBER_SIZE;
+  NO_MAX_INTEROP_NUMBER_SIZE,
+
+  /**
+   * Enables the order-preserving encoding where the lexicographic order of hashes with the same amount of numbers matches the order of their numbers.
+   *
+   * <p>Each number is written with the same amount of digits where the digits of each position are represented by a salt-derived subset of all valid
+   * characters that is sorted by the digit values. This allows range scans and merge joins on hashes without decoding them, but <strong>reveals the order
+   * and the approximate distance of the numbers and allows to reconstruct the characters of each position from a moderate amount of hashes</strong>.
+   * The salt therefore only obfuscates the hashes against a casual inspection. The feature requires the
+   * {@link Hashids.Builder#fixedWidth(int, long) fixed-width} mode which determines the amount of digits and does not support a minimum hash length.
+   *
+   * <p><strong>Please note that this will break the interoperability with the origin algorithm implementation!</strong>
+   *
+   * @since 0.5.0
+   */
+  SORTABLE,
+
+  /**
+   * Interprets all numbers as unsigned 64-bit numbers so that negative longs represent the numbers from {@code 2^63} to {@code 2^64 - 1}.
+   *
+   * <p>The transformation uses {@link Long#divideUnsigned(long, long) unsigned division} for these numbers only, so the hashes of all other numbers are
+   * identical to the ones of instances without this feature. Decoded numbers larger than {@link Long#MAX_VALUE} are returned as negative longs which can
+   * be converted via {@link Long#toUnsignedString(long)} or {@link java.math.BigInteger}. Enabling this feature implies the
+   * {@link #NO_MAX_INTEROP_NUMBER_SIZE NO_MAX_INTEROP_NUMBER_SIZE} feature.
+   *
+   * <p><strong>Please note that this will break the interoperability with the origin algorithm implementation!</strong>
+   *
+   * @since 0.5.0
+   */
+  UNSIGNED;
 
   /**
    * Enables all features.
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * An ordered set of {@link Hashids} configurations to decode hashes during a salt rotation.
+ *
+ * <p>New hashes are always {@link #encode(long...) encoded} with the first (primary) configuration while hashes are decoded with the first configuration
+ * that accepts them. Before any configuration fully decodes a hash, all configurations that can not have produced it are pruned within a single pass over
+ * the hash characters: the hash must only consist of valid characters of the configuration, must not be shorter than its minimum hash length and must not
+ * contain guards if it is longer than the minimum hash length.
+ *
+ * <p>The configurations can be replaced atomically at runtime. Readers work on an immutable snapshot and are never blocked by concurrent updates.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsKeyRing {
+
+  /**
+   * The maximum amount of configurations of a key ring.
+   */
+  public static final int MAX_CONFIGURATIONS = Long.SIZE;
+
+  private final AtomicReference<Snapshot> snapshot;
+
+  /**
+   * Constructs a new instance with the given configurations ordered by their priority.
+   *
+   * @param configurations the configurations with the primary one first
+   * @throws IllegalArgumentException if no or more than {@link #MAX_CONFIGURATIONS} configurations are given
+   * @throws NullPointerException if any configuration is {@code null}
+   */
+  public HashidsKeyRing(final Hashids... configurations) {
+    this.snapshot = new AtomicReference<>(new Snapshot(Arrays.asList(configurations)));
+  }
+
+  /**
+   * Encodes the given numbers with the primary configuration.
+   *
+   * @param numbers the positive numbers to be encoded
+   * @return the resultant hash of the encoding of the numbers, empty otherwise
+   * @see Hashids#encode(long...)
+   */
+  public String encode(final long... numbers) {
+    return snapshot.get().configurations[0].encode(numbers);
+  }
+
+  /**
+   * Decodes the given hash with the first configuration that accepts it.
+   *
+   * @param hash the hash to be decoded
+   * @return an array of long values with each numeric number present in the hash, empty if no configuration accepts the hash
+   */
+  public long[] decode(final String hash) {
+    return match(hash).map(Match::getNumbers).orElseGet(() -> new long[0]);
+  }
+
+  /**
+   * Decodes the given hash with the first configuration that accepts it.
+   *
+   * @param hash the hash to be decoded
+   * @return the match of the accepting configuration, empty if no configuration accepts the hash
+   */
+  public Optional<Match> match(final String hash) {
+    if (hash == null || hash.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Snapshot current = snapshot.get();
+    long candidates = current.prune(hash);
+    while (candidates != 0) {
+      final int idx = Long.numberOfTrailingZeros(candidates);
+      candidates &= candidates - 1;
+      final long[] decoded = current.configurations[idx].tryDecode(hash);
+      if (decoded != null) {
+        return Optional.of(new Match(idx, current.configurations[idx], decoded));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the current configurations ordered by their priority.
+   *
+   * @return an unmodifiable list of the current configurations
+   */
+  public List<Hashids> getConfigurations() {
+    return Collections.unmodifiableList(Arrays.asList(snapshot.get().configurations));
+  }
+
+  /**
+   * Atomically replaces the configurations with the result of the given function.
+   *
+   * <p>The function may be invoked multiple times when concurrent updates collide and must therefore be free of side effects.
+   *
+   * @param update the function that computes the new configurations from the current ones
+   * @throws IllegalArgumentException if no or more than {@link #MAX_CONFIGURATIONS} configurations are computed
+   */
+  public void update(final UnaryOperator<List<Hashids>> update) {
+    Snapshot current;
+    Snapshot next;
+    do {
+      current = snapshot.get();
+      next = new Snapshot(update.apply(new ArrayList<>(Arrays.asList(current.configurations))));
+    } while (!snapshot.compareAndSet(current, next));
+  }
+
+  /**
+   * Atomically promotes the given configuration to the primary one while all other configurations are retained for decoding.
+   *
+   * @param primary the new primary configuration
+   * @throws IllegalArgumentException if more than {@link #MAX_CONFIGURATIONS} configurations would be present
+   */
+  public void rotate(final Hashids primary) {
+    Objects.requireNonNull(primary, "primary must not be null!");
+    update(configurations -> {
+      configurations.remove(primary);
+      configurations.add(0, primary);
+      return configurations;
+    });
+  }
+
+  /**
+   * A configuration that accepted a hash including the decoded numbers.
+   */
+  public static final class Match {
+
+    private final int index;
+    private final Hashids hashids;
+    private final long[] numbers;
+
+    private Match(final int index, final Hashids hashids, final long[] numbers) {
+      this.index = index;
+      this.hashids = hashids;
+      this.numbers = numbers;
+    }
+
+    /**
+     * Returns the position of the accepting configuration within the key ring at the time of the decoding.
+     *
+     * @return the position of the accepting configuration where {@code 0} is the primary one
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * Returns the accepting configuration.
+     *
+     * @return the accepting configuration
+     */
+    public Hashids getHashids() {
+      return hashids;
+    }
+
+    /**
+     * Returns a copy of the decoded numbers.
+     *
+     * @return a copy of the decoded numbers
+     */
+    public long[] getNumbers() {
+      return Arrays.copyOf(numbers, numbers.length);
+    }
+  }
+
+  /**
+   * An immutable snapshot of the configurations with the precomputed character bitmaps used for the pruning.
+   */
+  private static final class Snapshot {
+
+    private final Hashids[] configurations;
+    private final int[] minLengths;
+
+    /**
+     * The bitmap of all configurations for which a character is valid, indexed by the character itself.
+     */
+    private final long[] validMasks;
+
+    /**
+     * The bitmap of all configurations for which a character is a guard, indexed by the character itself.
+     */
+    private final long[] guardMasks;
+
+    /**
+     * The bitmap of all configurations whose hashes end with a check character which can be any valid character including guards.
+     */
+    private final long checkMask;
+    private final long allMask;
+
+    private Snapshot(final List<Hashids> configurations) {
+      if (configurations.isEmpty() || configurations.size() > MAX_CONFIGURATIONS) {
+        throw new IllegalArgumentException("amount of configurations must be between 1 and " + MAX_CONFIGURATIONS + ": " + configurations.size());
+      }
+      this.configurations = configurations.toArray(new Hashids[0]);
+      this.minLengths = new int[this.configurations.length];
+
+      int maxChar = 0;
+      for (Hashids hashids : this.configurations) {
+        maxChar = Math.max(maxChar, Objects.requireNonNull(hashids, "configurations must not contain null!").getConfiguration().getMaxChar());
+      }
+      this.validMasks = new long[maxChar + 1];
+      this.guardMasks = new long[maxChar + 1];
+      long checkMask = 0;
+      for (int idx = 0; idx < this.configurations.length; idx++) {
+        final HashidsEngine.Configuration configuration = this.configurations[idx].getConfiguration();
+        final boolean check = configuration.isEnabled(HashidsFeature.CHECK_CHARACTER);
+        if (check) {
+          checkMask |= 1L << idx;
+        }
+        // The routing character precedes and the check character follows the padded hash
+        minLengths[idx] = configuration.getMinLength() + (this.configurations[idx].isRouted() ? 1 : 0) + (check ? 1 : 0);
+        for (char c = 0; c <= configuration.getMaxChar(); c++) {
+          final byte charClass = configuration.classOf(c);
+          if (charClass != HashidsEngine.Configuration.CLASS_INVALID) {
+            validMasks[c] |= 1L << idx;
+          }
+          // Guards are regular digits of the sortable feature
+          if (charClass == HashidsEngine.Configuration.CLASS_GUARD && !configuration.isEnabled(HashidsFeature.SORTABLE)) {
+            guardMasks[c] |= 1L << idx;
+          }
+        }
+      }
+      this.checkMask = checkMask;
+      this.allMask = this.configurations.length == Long.SIZE ? -1L : (1L << this.configurations.length) - 1;
+    }
+
+    /**
+     * Prunes all configurations that can not have produced the given hash.
+     *
+     * @param hash the hash to be decoded
+     * @return the bitmap of the remaining candidate configurations
+     */
+    private long prune(final String hash) {
+      long valid = allMask;
+      long guards = 0;
+      for (int idx = 0; idx < hash.length() && valid != 0; idx++) {
+        final char c = hash.charAt(idx);
+        if (c >= validMasks.length) {
+          return 0;
+        }
+        valid &= validMasks[c];
+        guards |= idx < hash.length() - 1 ? guardMasks[c] : guardMasks[c] & ~checkMask;
+      }
+
+      long candidates = valid;
+      for (long remaining = valid; remaining != 0; remaining &= remaining - 1) {
+        final int idx = Long.numberOfTrailingZeros(remaining);
+        final boolean guarded = (guards & (1L << idx)) != 0;
+        if (hash.length() < minLengths[idx] || (guarded && hash.length() > minLengths[idx])) {
+          candidates &= ~(1L << idx);
+        }
+      }
+      return candidates;
+    }
+  }
+}
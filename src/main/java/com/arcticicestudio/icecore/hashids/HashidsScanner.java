@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A streaming scanner that finds and decodes hashes embedded in arbitrary text.
+ *
+ * <p>The text is walked exactly once while each character is classified through the character class table of the {@link Hashids} configuration.
+ * Every maximal run of valid characters, which are the characters of the alphabet, separators and guards, is a candidate that is reported to the
+ * {@link Listener} with its offset, length and decoded numbers if it is a valid hash. Hashes must therefore be delimited by characters that are not
+ * valid for the configuration. Candidates are never copied into substrings but decoded through a reusable view of the scanned text with a reusable
+ * decoder so that no objects are allocated for candidates that are rejected before their final verification. Runs that can not be valid hashes due to
+ * their length and guards are rejected before any decoding.
+ *
+ * <p>Runs that are longer than the {@link Hashids.Builder#maxHashLength(int) maximum hash length} of the configuration, or {@value #MAX_RUN_LENGTH}
+ * characters if the length of hashes is not limited, are dropped until the next invalid character without being buffered so that long runs of other
+ * alphanumeric text, e.g. Base64 encoded data, don't exhaust the memory when a {@link Reader} is scanned.
+ *
+ * <p>Bytes of a {@link ByteBuffer} are interpreted as ISO-8859-1 characters so that UTF-8 encoded text can be scanned for hashes of ASCII alphabets.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsScanner {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * The minimum length of a valid hash which consists of the lottery and at least one digit.
+   */
+  private static final int MIN_HASH_LENGTH = 2;
+
+  /**
+   * The maximum length of runs that are considered as candidates if the length of hashes is not limited by the configuration.
+   */
+  static final int MAX_RUN_LENGTH = 64 * 1024;
+
+  private final Hashids hashids;
+  private final HashidsEngine.Configuration configuration;
+  private final int minLength;
+  private final int maxLength;
+
+  /**
+   * Constructs a new instance for the given configuration.
+   *
+   * @param hashids the instance whose configuration is used to find and decode hashes
+   * @throws IllegalArgumentException if the {@link HashidsFeature#SORTABLE SORTABLE}, {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} or
+   * {@link HashidsFeature#UNSIGNED UNSIGNED} feature or the {@link Hashids.Builder#routing(int) routing} mode is enabled
+   */
+  public HashidsScanner(final Hashids hashids) {
+    this.hashids = Objects.requireNonNull(hashids, "hashids must not be null!");
+    this.configuration = hashids.getConfiguration();
+    if (configuration.isEnabled(HashidsFeature.SORTABLE)) {
+      throw new IllegalArgumentException("hashids must not enable the sortable feature!");
+    }
+    if (configuration.isEnabled(HashidsFeature.CHECK_CHARACTER)) {
+      throw new IllegalArgumentException("hashids must not enable the check character feature!");
+    }
+    if (configuration.isEnabled(HashidsFeature.UNSIGNED)) {
+      throw new IllegalArgumentException("hashids must not enable the unsigned feature!");
+    }
+    if (hashids.isRouted()) {
+      throw new IllegalArgumentException("hashids must not enable the routing mode!");
+    }
+    this.minLength = Math.max(MIN_HASH_LENGTH, configuration.getMinLength());
+    this.maxLength = hashids.getMaxHashLength() != Integer.MAX_VALUE ? hashids.getMaxHashLength() : Math.max(MAX_RUN_LENGTH, minLength);
+  }
+
+  /**
+   * A callback for each hash found by the scanner.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * Called for each valid hash in the order of their occurrence.
+     *
+     * @param offset the offset of the first character of the hash within the scanned text
+     * @param length the length of the hash
+     * @param numbers the decoded numbers of the hash
+     */
+    void onHash(long offset, int length, long[] numbers);
+  }
+
+  /**
+   * Scans the given text.
+   *
+   * @param text the text to be scanned
+   * @param listener the callback for each found hash
+   */
+  public void scan(final CharSequence text, final Listener listener) {
+    Objects.requireNonNull(text, "text must not be null!");
+    Objects.requireNonNull(listener, "listener must not be null!");
+    final HashidsDecodeIterator decoder = new HashidsDecodeIterator(hashids, true);
+    final CharWindow window = new CharWindow(text);
+    int runStart = 0;
+    boolean guarded = false;
+    for (int idx = 0; idx < text.length(); idx++) {
+      final byte charClass = configuration.classOf(text.charAt(idx));
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        if (isCandidate(idx - runStart, guarded)) {
+          decode(decoder, window.of(runStart, idx - runStart), runStart, listener);
+        }
+        runStart = idx + 1;
+        guarded = false;
+      } else {
+        guarded |= charClass == HashidsEngine.Configuration.CLASS_GUARD;
+      }
+    }
+    if (isCandidate(text.length() - runStart, guarded)) {
+      decode(decoder, window.of(runStart, text.length() - runStart), runStart, listener);
+    }
+  }
+
+  /**
+   * Scans the remaining characters of the given reader.
+   *
+   * <p>The reader is read until its end, but not closed.
+   *
+   * @param reader the reader to be scanned
+   * @param listener the callback for each found hash
+   * @throws IOException if the reader could not be read
+   */
+  public void scan(final Reader reader, final Listener listener) throws IOException {
+    Objects.requireNonNull(reader, "reader must not be null!");
+    Objects.requireNonNull(listener, "listener must not be null!");
+    final HashidsDecodeIterator decoder = new HashidsDecodeIterator(hashids, true);
+    char[] buffer = new char[BUFFER_SIZE];
+    CharWindow window = new CharWindow(CharBuffer.wrap(buffer));
+    long bufferOffset = 0;
+    int length = 0;
+    int runStart = 0;
+    int idx = 0;
+    boolean guarded = false;
+    boolean dropped = false;
+    while (true) {
+      if (idx == length) {
+        // Retain the current run and refill the buffer
+        if (runStart == 0 && length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+          window = new CharWindow(CharBuffer.wrap(buffer));
+        } else if (runStart > 0) {
+          System.arraycopy(buffer, runStart, buffer, 0, length - runStart);
+          bufferOffset += runStart;
+          length -= runStart;
+          idx -= runStart;
+          runStart = 0;
+        }
+        final int read = reader.read(buffer, length, buffer.length - length);
+        if (read < 0) {
+          break;
+        }
+        length += read;
+        continue;
+      }
+
+      final byte charClass = configuration.classOf(buffer[idx]);
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        if (!dropped && isCandidate(idx - runStart, guarded)) {
+          decode(decoder, window.of(runStart, idx - runStart), bufferOffset + runStart, listener);
+        }
+        runStart = idx + 1;
+        guarded = false;
+        dropped = false;
+      } else {
+        guarded |= charClass == HashidsEngine.Configuration.CLASS_GUARD;
+        // Runs that exceed the maximum length can not be hashes and are not retained in the buffer anymore
+        if (dropped || idx + 1 - runStart > maxLength) {
+          runStart = idx + 1;
+          dropped = true;
+        }
+      }
+      idx++;
+    }
+    if (!dropped && isCandidate(length - runStart, guarded)) {
+      decode(decoder, window.of(runStart, length - runStart), bufferOffset + runStart, listener);
+    }
+  }
+
+  /**
+   * Scans the remaining bytes of the given buffer.
+   *
+   * <p>The offsets are relative to the position of the buffer which is not modified.
+   *
+   * @param buffer the buffer to be scanned
+   * @param listener the callback for each found hash
+   */
+  public void scan(final ByteBuffer buffer, final Listener listener) {
+    Objects.requireNonNull(buffer, "buffer must not be null!");
+    Objects.requireNonNull(listener, "listener must not be null!");
+    final HashidsDecodeIterator decoder = new HashidsDecodeIterator(hashids, true);
+    final int position = buffer.position();
+    final ByteWindow window = new ByteWindow(buffer);
+    int runStart = position;
+    boolean guarded = false;
+    for (int idx = position; idx < buffer.limit(); idx++) {
+      final byte charClass = configuration.classOf((char) (buffer.get(idx) & 0xFF));
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        if (isCandidate(idx - runStart, guarded)) {
+          decode(decoder, window.of(runStart, idx - runStart), runStart - position, listener);
+        }
+        runStart = idx + 1;
+        guarded = false;
+      } else {
+        guarded |= charClass == HashidsEngine.Configuration.CLASS_GUARD;
+      }
+    }
+    if (isCandidate(buffer.limit() - runStart, guarded)) {
+      decode(decoder, window.of(runStart, buffer.limit() - runStart), runStart - position, listener);
+    }
+  }
+
+  /**
+   * Checks if a run can be a valid hash.
+   *
+   * <p>Guards are only added to hashes that are shorter than the minimum hash length which is then reached exactly through the padding. Runs that are
+   * longer than the maximum length are never candidates.
+   *
+   * @param length the length of the run
+   * @param guarded indicates if the run contains a guard
+   * @return {@code true} if the run can be a valid hash, {@code false} otherwise
+   */
+  private boolean isCandidate(final int length, final boolean guarded) {
+    return length >= minLength && length <= maxLength && !(guarded && length > minLength);
+  }
+
+  private static void decode(final HashidsDecodeIterator decoder, final CharSequence candidate, final long offset, final Listener listener) {
+    final long[] numbers = decoder.decode(candidate);
+    if (numbers != null && numbers.length > 0) {
+      listener.onHash(offset, candidate.length(), numbers);
+    }
+  }
+
+  /**
+   * A reusable view of a range of characters.
+   */
+  private static final class CharWindow implements CharSequence {
+
+    private final CharSequence text;
+    private int start;
+    private int length;
+
+    private CharWindow(final CharSequence text) {
+      this.text = text;
+    }
+
+    private CharWindow of(final int start, final int length) {
+      this.start = start;
+      this.length = length;
+      return this;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      return text.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return text.subSequence(this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+      return text.subSequence(start, start + length).toString();
+    }
+  }
+
+  /**
+   * A reusable view of a range of bytes as ISO-8859-1 characters.
+   */
+  private static final class ByteWindow implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private int start;
+    private int length;
+
+    private ByteWindow(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private ByteWindow of(final int start, final int length) {
+      this.start = start;
+      this.length = length;
+      return this;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+      final char[] chars = new char[length];
+      for (int idx = 0; idx < length; idx++) {
+        chars[idx] = charAt(idx);
+      }
+      return new String(chars);
+    }
+  }
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A sequential allocator of unique numbers and their associated hashes.
+ *
+ * <p>Threads lease blocks of consecutive numbers from a shared counter so that the counter is only contended once per {@link Builder#blockSize block}.
+ * Within a block the hash of the next number is derived incrementally from the positional representation of the previous number instead of transforming
+ * each number from scratch. Numbers of hashes that need guards or padding due to the {@link Hashids.Builder#minLength minimum hash length} are encoded
+ * via {@link Hashids#encode(long...)}.
+ *
+ * <p>Numbers are allocated up to the largest number that the {@link Hashids} instance can encode, which is limited by the
+ * {@link Hashids.Builder#fixedWidth(int, long) fixed width} and the {@link Hashids.Builder#maxHashLength(int) maximum hash length}, the last block is
+ * truncated to that number.
+ *
+ * <p>The high-water mark of all leased blocks is persisted through a pluggable {@link Store} ahead of the allocation so that a restarted sequence never
+ * hands out a number twice. Numbers of blocks that have not been exhausted before a restart are skipped.
+ *
+ * <p><strong>Instances of this class are thread-safe.</strong>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsSequence {
+
+  private final Hashids hashids;
+  private final Store store;
+  private final int blockSize;
+  private final int reservedBlocks;
+  private final long maxNumber;
+  private final AtomicLong nextBlock;
+  private final ThreadLocal<Lease> leases;
+  private final int minLength;
+  private final char[] alphabet;
+
+  /**
+   * The derived alphabet for each lottery character indexed by the position of the lottery within the alphabet.
+   */
+  private final char[][] lotteryAlphabets;
+  private volatile long reserved;
+
+  private HashidsSequence(final Hashids hashids, final Store store, final int blockSize, final int reservedBlocks) {
+    this.hashids = hashids;
+    this.store = store;
+    this.blockSize = blockSize;
+    this.reservedBlocks = reservedBlocks;
+
+    final HashidsEngine.Configuration configuration = hashids.getConfiguration();
+    this.maxNumber = hashids.getMaxNumber();
+    this.minLength = configuration.getMinLength();
+    this.alphabet = configuration.getAlphabet();
+    final char[] salt = configuration.getSalt();
+    this.lotteryAlphabets = new char[alphabet.length][];
+    for (int idx = 0; idx < alphabet.length; idx++) {
+      lotteryAlphabets[idx] = Hashids.deriveNewAlphabet(Arrays.copyOf(alphabet, alphabet.length), salt, alphabet[idx]);
+    }
+
+    try {
+      this.reserved = store.load();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("unable to load the high-water mark", e);
+    }
+    if (reserved < 0) {
+      throw new IllegalStateException("high-water mark must not be less than zero: " + reserved);
+    }
+    this.nextBlock = new AtomicLong(reserved);
+    this.leases = ThreadLocal.withInitial(Lease::new);
+  }
+
+  /**
+   * An immutable {@link HashidsSequence} instance builder.
+   */
+  public static final class Builder {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1000;
+    private static final int DEFAULT_RESERVED_BLOCKS = 64;
+
+    private final Hashids hashids;
+    private Store store;
+    private int blockSize;
+    private int reservedBlocks;
+
+    /**
+     * Constructs a new instance for the given {@link Hashids} instance that starts at zero without persisting the high-water mark.
+     *
+     * @param hashids the instance to encode the allocated numbers with
+     * @throws IllegalArgumentException if the {@link HashidsFeature#SORTABLE SORTABLE} or {@link HashidsFeature#CHECK_CHARACTER CHECK_CHARACTER} feature
+     * or the {@link Hashids.Builder#routing(int) routing} mode is enabled
+     */
+    public Builder(final Hashids hashids) {
+      this.hashids = Objects.requireNonNull(hashids, "hashids must not be null!");
+      if (hashids.getConfiguration().isEnabled(HashidsFeature.SORTABLE)) {
+        throw new IllegalArgumentException("hashids must not enable the sortable feature!");
+      }
+      if (hashids.getConfiguration().isEnabled(HashidsFeature.CHECK_CHARACTER)) {
+        throw new IllegalArgumentException("hashids must not enable the check character feature!");
+      }
+      if (hashids.isRouted()) {
+        throw new IllegalArgumentException("hashids must not enable the routing mode!");
+      }
+      this.store = new MemoryStore();
+      this.blockSize = DEFAULT_BLOCK_SIZE;
+      this.reservedBlocks = DEFAULT_RESERVED_BLOCKS;
+    }
+
+    /**
+     * Sets the amount of consecutive numbers each thread leases at once.
+     *
+     * <p>The default value is {@code 1000}.
+     *
+     * @param blockSize the amount of numbers per block
+     * @return a new builder instance with the given block size
+     */
+    public Builder blockSize(final int blockSize) {
+      this.blockSize = blockSize;
+      return this;
+    }
+
+    /**
+     * Sets the amount of blocks the persisted high-water mark is reserved ahead of the allocation.
+     *
+     * <p>The default value is {@code 64}. Higher values reduce the amount of store writes while more numbers are skipped after a restart.
+     *
+     * @param reservedBlocks the amount of blocks to reserve ahead
+     * @return a new builder instance with the given amount of reserved blocks
+     */
+    public Builder reservedBlocks(final int reservedBlocks) {
+      this.reservedBlocks = reservedBlocks;
+      return this;
+    }
+
+    /**
+     * Sets the store to persist the high-water mark.
+     *
+     * <p>By default the high-water mark is not persisted and the sequence starts at zero.
+     *
+     * @param store the store to persist the high-water mark
+     * @return a new builder instance with the given store
+     */
+    public Builder store(final Store store) {
+      this.store = store;
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link HashidsSequence} instance that continues at the high-water mark loaded from the store.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the block size or the amount of reserved blocks is less than one
+     * @throws UncheckedIOException if the high-water mark could not be loaded
+     */
+    public HashidsSequence build() {
+      if (blockSize < 1) {
+        throw new IllegalArgumentException("block size must be greater than or equal to one: " + blockSize);
+      }
+      if (reservedBlocks < 1) {
+        throw new IllegalArgumentException("reserved blocks must be greater than or equal to one: " + reservedBlocks);
+      }
+      return new HashidsSequence(hashids, Objects.requireNonNull(store, "store must not be null!"), blockSize, reservedBlocks);
+    }
+  }
+
+  /**
+   * Allocates the next number and its hash.
+   *
+   * @return the next allocated number and its hash
+   * @throws IllegalStateException if the sequence exceeded the maximum number size of the {@link Hashids} instance
+   * @throws UncheckedIOException if the high-water mark could not be persisted
+   */
+  public Entry next() {
+    final Lease lease = leases.get();
+    if (lease.next >= lease.end) {
+      lease.reset(leaseBlock());
+    } else {
+      lease.increment();
+    }
+    final long number = lease.next++;
+    return new Entry(number, lease.hash(number));
+  }
+
+  /**
+   * Returns the persisted high-water mark below which all numbers may have been allocated.
+   *
+   * @return the persisted high-water mark
+   */
+  public long getHighWaterMark() {
+    return reserved;
+  }
+
+  /**
+   * Leases the next block of numbers and persists the high-water mark if the block exceeds the reservation.
+   *
+   * @return the first number of the leased block
+   */
+  private long leaseBlock() {
+    final long start = nextBlock.getAndAdd(blockSize);
+    if (start < 0 || start > maxNumber) {
+      throw new IllegalStateException("sequence exceeded the maximum number size: " + maxNumber);
+    }
+    final long end = blockEnd(start);
+    if (end > reserved) {
+      reserve(end);
+    }
+    return start;
+  }
+
+  /**
+   * Calculates the end of the block that starts with the given number, the last block is truncated to the maximum number.
+   *
+   * @param start the first number of the block
+   * @return the end of the block exclusive
+   */
+  private long blockEnd(final long start) {
+    if (maxNumber - start >= blockSize) {
+      return start + blockSize;
+    }
+    return maxNumber == Long.MAX_VALUE ? Long.MAX_VALUE : maxNumber + 1;
+  }
+
+  private synchronized void reserve(final long end) {
+    if (end <= reserved) {
+      return;
+    }
+    final long limit = maxNumber == Long.MAX_VALUE ? Long.MAX_VALUE : maxNumber + 1;
+    final long ahead = (long) blockSize * (reservedBlocks - 1);
+    final long highWaterMark = end > limit - ahead ? limit : end + ahead;
+    try {
+      store.store(highWaterMark);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("unable to persist the high-water mark: " + highWaterMark, e);
+    }
+    reserved = highWaterMark;
+  }
+
+  /**
+   * A block of consecutive numbers leased by a single thread including the positional representation of the current number.
+   */
+  private final class Lease {
+
+    private long next;
+    private long end;
+    private int lotteryId;
+
+    /**
+     * The digits of the current number in little-endian order.
+     */
+    private final int[] digits = new int[DigitPairTable.MAX_DIGITS];
+    private int digitCount;
+    private final char[] buffer = new char[DigitPairTable.MAX_DIGITS + 1];
+
+    private void reset(final long start) {
+      next = start;
+      end = blockEnd(start);
+      lotteryId = (int) (start % Hashids.LOTTERY_MOD);
+      digitCount = 0;
+      long input = start;
+      do {
+        digits[digitCount++] = (int) (input % alphabet.length);
+        input /= alphabet.length;
+      } while (input > 0);
+    }
+
+    private void increment() {
+      if (++lotteryId == Hashids.LOTTERY_MOD) {
+        lotteryId = 0;
+      }
+      int idx = 0;
+      while (idx < digitCount && digits[idx] + 1 == alphabet.length) {
+        digits[idx++] = 0;
+      }
+      if (idx == digitCount) {
+        digits[digitCount++] = 1;
+      } else {
+        digits[idx]++;
+      }
+    }
+
+    private String hash(final long number) {
+      if (digitCount + 1 < minLength) {
+        return hashids.encode(number);
+      }
+      final int lotteryIdx = lotteryId % alphabet.length;
+      final char[] derived = lotteryAlphabets[lotteryIdx];
+      buffer[0] = alphabet[lotteryIdx];
+      for (int idx = 0; idx < digitCount; idx++) {
+        buffer[idx + 1] = derived[digits[digitCount - idx - 1]];
+      }
+      return new String(buffer, 0, digitCount + 1);
+    }
+  }
+
+  /**
+   * An allocated number and its associated hash.
+   */
+  public static final class Entry {
+
+    private final long number;
+    private final String hash;
+
+    private Entry(final long number, final String hash) {
+      this.number = number;
+      this.hash = hash;
+    }
+
+    /**
+     * Returns the allocated number.
+     *
+     * @return the allocated number
+     */
+    public long getNumber() {
+      return number;
+    }
+
+    /**
+     * Returns the hash of the allocated number.
+     *
+     * @return the hash of the allocated number
+     */
+    public String getHash() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+      if (null == otherObject) {
+        return false;
+      }
+      if (this.getClass() != otherObject.getClass()) {
+        return false;
+      }
+      final Entry otherEntry = (Entry) otherObject;
+      return number == otherEntry.number && Objects.equals(hash, otherEntry.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(number, hash);
+    }
+
+    @Override
+    public String toString() {
+      return "Entry{"
+        + "number=" + number
+        + ", hash=" + hash
+        + '}';
+    }
+  }
+
+  /**
+   * Persists the high-water mark of a {@link HashidsSequence}.
+   *
+   * <p>Implementations must be durable when {@link #store(long)} returns since the sequence continues at the loaded high-water mark after a restart.
+   */
+  public interface Store {
+
+    /**
+     * Loads the persisted high-water mark.
+     *
+     * @return the persisted high-water mark or zero if none has been persisted yet
+     * @throws IOException if the high-water mark could not be loaded
+     */
+    long load() throws IOException;
+
+    /**
+     * Persists the given high-water mark.
+     *
+     * @param highWaterMark the high-water mark to be persisted
+     * @throws IOException if the high-water mark could not be persisted
+     */
+    void store(long highWaterMark) throws IOException;
+  }
+
+  /**
+   * A {@link Store} that persists the high-water mark as decimal number in a local file.
+   *
+   * <p>The file is written to a temporary file that is forced to the disk and then replaced atomically if supported by the file system, finally the
+   * directory is forced to the disk as well so that the high-water mark never goes backwards after a power loss.
+   */
+  public static final class FileStore implements Store {
+
+    private final Path path;
+
+    /**
+     * Constructs a new instance for the given file.
+     *
+     * @param path the path of the file to persist the high-water mark in
+     */
+    public FileStore(final Path path) {
+      this.path = Objects.requireNonNull(path, "path must not be null!");
+    }
+
+    @Override
+    public long load() throws IOException {
+      if (!Files.exists(path)) {
+        return 0;
+      }
+      final String content = new String(Files.readAllBytes(path), US_ASCII).trim();
+      try {
+        return Long.parseLong(content);
+      } catch (final NumberFormatException e) {
+        throw new IOException("invalid high-water mark in " + path + ": " + content, e);
+      }
+    }
+
+    @Override
+    public void store(final long highWaterMark) throws IOException {
+      final Path parent = path.toAbsolutePath().getParent();
+      final Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+      try {
+        // The content must be on the disk before the rename can be persisted, otherwise a power loss could leave an empty file behind
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          final ByteBuffer content = ByteBuffer.wrap(Long.toString(highWaterMark).getBytes(US_ASCII));
+          while (content.hasRemaining()) {
+            channel.write(content);
+          }
+          channel.force(true);
+        }
+        try {
+          Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+          Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+      syncDirectory(parent);
+    }
+
+    /**
+     * Persists the entries of the given directory so that the rename of the file survives a power loss.
+     *
+     * <p>Directories can not be opened on all platforms, e.g. on Windows, in which case the file system is responsible to persist the rename.
+     *
+     * @param directory the directory to be persisted
+     * @throws IOException if the opened directory could not be persisted
+     */
+    private static void syncDirectory(final Path directory) throws IOException {
+      final FileChannel channel;
+      try {
+        channel = FileChannel.open(directory, StandardOpenOption.READ);
+      } catch (final IOException e) {
+        return;
+      }
+      try (FileChannel dir = channel) {
+        dir.force(true);
+      }
+    }
+  }
+
+  /**
+   * A {@link Store} that keeps the high-water mark in memory only.
+   */
+  private static final class MemoryStore implements Store {
+
+    private long highWaterMark;
+
+    @Override
+    public long load() {
+      return highWaterMark;
+    }
+
+    @Override
+    public void store(final long highWaterMark) {
+      this.highWaterMark = highWaterMark;
+    }
+  }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An offline transcoder that re-encodes newline-delimited hashes from one {@link Hashids} configuration to another.
+ *
+ * <p>The input file is memory-mapped in windows and split into chunks at line boundaries which are decoded with the source configuration and re-encoded
+ * with the target configuration in parallel. Chunks are written in their original order through a bounded pipeline so that the memory footprint only
+ * depends on the chunk size and the amount of threads, but not on the size of the input file. Lines that can not be decoded or re-encoded are copied to
+ * the reject file prefixed by their line number and a tab. Hashes are read and written as ASCII characters.
+ *
+ * <p>The transcoder can also be run from the command line, see {@link #main(String[])}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsTranscoder {
+
+  private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final Hashids source;
+  private final Hashids target;
+  private final int threads;
+  private final int chunkSize;
+
+  private HashidsTranscoder(final Hashids source, final Hashids target, final int threads, final int chunkSize) {
+    this.source = source;
+    this.target = target;
+    this.threads = threads;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * An immutable {@link HashidsTranscoder} instance builder.
+   */
+  public static final class Builder {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final Hashids source;
+    private final Hashids target;
+    private int threads;
+    private int chunkSize;
+
+    /**
+     * Constructs a new instance that uses all available processors and a chunk size of 1 MiB.
+     *
+     * @param source the configuration the input hashes have been encoded with
+     * @param target the configuration the output hashes are encoded with
+     */
+    public Builder(final Hashids source, final Hashids target) {
+      this.source = Objects.requireNonNull(source, "source must not be null!");
+      this.target = Objects.requireNonNull(target, "target must not be null!");
+      this.threads = Runtime.getRuntime().availableProcessors();
+      this.chunkSize = DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Sets the amount of threads that transcode chunks in parallel.
+     *
+     * <p>The default value is the amount of available processors.
+     *
+     * @param threads the amount of threads
+     * @return a new builder instance with the given amount of threads
+     */
+    public Builder threads(final int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Sets the approximate size of the chunks in bytes.
+     *
+     * <p>The default value is 1 MiB.
+     *
+     * @param chunkSize the approximate size of the chunks in bytes
+     * @return a new builder instance with the given chunk size
+     */
+    public Builder chunkSize(final int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Builds a new configured {@link HashidsTranscoder} instance.
+     *
+     * @return a new configured instance
+     * @throws IllegalArgumentException if the amount of threads or the chunk size is less than one or the alphabet, separators or guards of the source or
+     * target configuration contain non-ASCII characters
+     */
+    public HashidsTranscoder build() {
+      if (!isAscii(source)) {
+        throw new IllegalArgumentException("source must only contain ASCII characters!");
+      }
+      if (!isAscii(target)) {
+        throw new IllegalArgumentException("target must only contain ASCII characters!");
+      }
+      if (threads < 1) {
+        throw new IllegalArgumentException("threads must be greater than or equal to one: " + threads);
+      }
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("chunk size must be greater than or equal to one: " + chunkSize);
+      }
+      return new HashidsTranscoder(source, target, threads, chunkSize);
+    }
+
+    /**
+     * Indicates whether the alphabet, separators and guards of the given configuration only contain ASCII characters, which is the charset the lines
+     * are read and written with.
+     */
+    private static boolean isAscii(final Hashids hashids) {
+      return hashids.getConfiguration().getMaxChar() < 0x80;
+    }
+  }
+
+  /**
+   * Transcodes all hashes of the input file into the output file.
+   *
+   * @param input the file with the newline-delimited hashes to be transcoded
+   * @param output the file the transcoded hashes are written to
+   * @param rejects the file the rejected lines are written to
+   * @return the statistics of the transcoding
+   * @throws IOException if any file could not be read or written or a line exceeds the maximum size of a mapped window
+   */
+  public Result transcode(final Path input, final Path output, final Path rejects) throws IOException {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final Queue<Future<Chunk>> pending = new ArrayDeque<>();
+    final int maxPending = threads * 2;
+    final long[] totals = new long[2];
+    try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+         OutputStream out = Files.newOutputStream(output);
+         OutputStream rejected = Files.newOutputStream(rejects)) {
+      final long size = channel.size();
+      long position = 0;
+      long line = 1;
+      while (position < size) {
+        final long windowLength = Math.min(WINDOW_SIZE, size - position);
+        final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLength);
+        int windowEnd = (int) windowLength;
+        if (position + windowLength < size) {
+          windowEnd = lastLineEnd(window, 0, windowEnd);
+          if (windowEnd < 0) {
+            throw new IOException("line exceeds the maximum size of " + WINDOW_SIZE + " bytes at offset " + position);
+          }
+        }
+
+        // Split the window into chunks at line boundaries
+        int chunkStart = 0;
+        while (chunkStart < windowEnd) {
+          int chunkEnd = Math.min(windowEnd, chunkStart + chunkSize);
+          if (chunkEnd < windowEnd) {
+            final int lineEnd = nextLineEnd(window, chunkEnd, windowEnd);
+            chunkEnd = lineEnd < 0 ? windowEnd : lineEnd;
+          }
+          final ByteBuffer slice = window.duplicate();
+          slice.limit(chunkEnd).position(chunkStart);
+          final long firstLine = line;
+          line += countLines(slice.slice());
+          pending.add(executor.submit(() -> transcode(slice.slice(), firstLine)));
+          while (pending.size() >= maxPending) {
+            write(pending.remove(), out, rejected, totals);
+          }
+          chunkStart = chunkEnd;
+        }
+        position += windowEnd;
+      }
+      while (!pending.isEmpty()) {
+        write(pending.remove(), out, rejected, totals);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return new Result(totals[0], totals[1]);
+  }
+
+  /**
+   * Transcodes the hashes of a single chunk.
+   *
+   * @param chunk the chunk to be transcoded
+   * @param firstLine the line number of the first line of the chunk
+   * @return the transcoded chunk
+   */
+  private Chunk transcode(final ByteBuffer chunk, final long firstLine) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.remaining());
+    final ByteArrayOutputStream rejected = new ByteArrayOutputStream();
+    final StringBuilder hash = new StringBuilder();
+    long transcoded = 0;
+    long line = firstLine;
+    while (chunk.hasRemaining()) {
+      hash.setLength(0);
+      final int lineStart = chunk.position();
+      while (chunk.hasRemaining()) {
+        final byte b = chunk.get();
+        if (b == '\n') {
+          break;
+        }
+        hash.append((char) (b & 0xFF));
+      }
+      if (hash.length() > 0 && hash.charAt(hash.length() - 1) == '\r') {
+        hash.setLength(hash.length() - 1);
+      }
+
+      final String original = hash.toString();
+      final long[] numbers = source.tryDecode(original);
+      String encoded = "";
+      if (numbers != null && numbers.length > 0) {
+        try {
+          encoded = target.encode(numbers);
+        } catch (final IllegalArgumentException e) {
+          // The numbers exceed the limits of the target configuration
+        }
+      }
+      if (encoded.isEmpty()) {
+        // The line is copied byte by byte since it may contain bytes of any charset
+        final byte[] prefix = (line + "\t").getBytes(US_ASCII);
+        rejected.write(prefix, 0, prefix.length);
+        for (int idx = lineStart; idx < lineStart + hash.length(); idx++) {
+          rejected.write(chunk.get(idx));
+        }
+        rejected.write('\n');
+      } else {
+        final byte[] bytes = encoded.getBytes(US_ASCII);
+        out.write(bytes, 0, bytes.length);
+        out.write('\n');
+        transcoded++;
+      }
+      line++;
+    }
+    return new Chunk(out, rejected, transcoded, line - firstLine - transcoded);
+  }
+
+  private static void write(final Future<Chunk> future, final OutputStream out, final OutputStream rejected, final long[] totals) throws IOException {
+    final Chunk chunk;
+    try {
+      chunk = future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("transcoding has been interrupted", e);
+    } catch (final ExecutionException e) {
+      throw new IOException("unable to transcode chunk", e.getCause());
+    }
+    chunk.out.writeTo(out);
+    chunk.rejected.writeTo(rejected);
+    totals[0] += chunk.transcoded;
+    totals[1] += chunk.rejectedCount;
+  }
+
+  private static int lastLineEnd(final ByteBuffer buffer, final int from, final int to) {
+    for (int idx = to - 1; idx >= from; idx--) {
+      if (buffer.get(idx) == '\n') {
+        return idx + 1;
+      }
+    }
+    return -1;
+  }
+
+  private static int nextLineEnd(final ByteBuffer buffer, final int from, final int to) {
+    for (int idx = from - 1; idx < to; idx++) {
+      if (buffer.get(idx) == '\n') {
+        return idx + 1;
+      }
+    }
+    return -1;
+  }
+
+  private static long countLines(final ByteBuffer buffer) {
+    long lines = 0;
+    for (int idx = 0; idx < buffer.limit(); idx++) {
+      if (buffer.get(idx) == '\n') {
+        lines++;
+      }
+    }
+    return buffer.limit() > 0 && buffer.get(buffer.limit() - 1) != '\n' ? lines + 1 : lines;
+  }
+
+  /**
+   * Runs the transcoder from the command line.
+   *
+   * <p>Usage: {@code java -jar icecore-hashids.jar [options] <input> <output> <rejects>} with the
+   * following options:
+   * <ul>
+   *   <li>{@code --source-salt=<salt>}, {@code --source-min-length=<length>}, {@code --source-alphabet=<alphabet>} - the configuration of the input</li>
+   *   <li>{@code --target-salt=<salt>}, {@code --target-min-length=<length>}, {@code --target-alphabet=<alphabet>} - the configuration of the output</li>
+   *   <li>{@code --features=<feature>[,<feature>]} - the {@link HashidsFeature features} enabled for both configurations</li>
+   *   <li>{@code --threads=<threads>} - the amount of threads</li>
+   *   <li>{@code --chunk-size=<bytes>} - the approximate size of the chunks in bytes</li>
+   * </ul>
+   *
+   * @param args the command line arguments
+   * @throws IOException if any file could not be read or written
+   */
+  public static void main(final String[] args) throws IOException {
+    final Map<String, String> options = new HashMap<>();
+    final String[] files = new String[3];
+    int fileCount = 0;
+    for (String arg : args) {
+      if (arg.startsWith("--") && arg.indexOf('=') > 0) {
+        options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+      } else if (fileCount < files.length) {
+        files[fileCount++] = arg;
+      } else {
+        fileCount++;
+      }
+    }
+    if (fileCount != files.length) {
+      System.err.println("usage: HashidsTranscoder [--source-salt=..] [--source-min-length=..] [--source-alphabet=..] [--target-salt=..] "
+        + "[--target-min-length=..] [--target-alphabet=..] [--features=..] [--threads=..] [--chunk-size=..] <input> <output> <rejects>");
+      System.exit(2);
+      return;
+    }
+
+    final Builder builder = new Builder(configuration(options, "source"), configuration(options, "target"));
+    if (options.containsKey("threads")) {
+      builder.threads(Integer.parseInt(options.get("threads")));
+    }
+    if (options.containsKey("chunk-size")) {
+      builder.chunkSize(Integer.parseInt(options.get("chunk-size")));
+    }
+    final Result result = builder.build().transcode(Paths.get(files[0]), Paths.get(files[1]), Paths.get(files[2]));
+    System.err.println("transcoded: " + result.getTranscoded() + ", rejected: " + result.getRejected());
+  }
+
+  private static Hashids configuration(final Map<String, String> options, final String prefix) {
+    final Hashids.Builder builder = new Hashids.Builder();
+    if (options.containsKey(prefix + "-salt")) {
+      builder.salt(options.get(prefix + "-salt"));
+    }
+    if (options.containsKey(prefix + "-min-length")) {
+      builder.minLength(Integer.parseInt(options.get(prefix + "-min-length")));
+    }
+    if (options.containsKey(prefix + "-alphabet")) {
+      builder.alphabet(options.get(prefix + "-alphabet"));
+    }
+    if (options.containsKey("features")) {
+      for (String feature : options.get("features").split(",")) {
+        builder.features(HashidsFeature.valueOf(feature.trim()));
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * The statistics of a transcoding.
+   */
+  public static final class Result {
+
+    private final long transcoded;
+    private final long rejected;
+
+    private Result(final long transcoded, final long rejected) {
+      this.transcoded = transcoded;
+      this.rejected = rejected;
+    }
+
+    /**
+     * Returns the amount of transcoded lines.
+     *
+     * @return the amount of transcoded lines
+     */
+    public long getTranscoded() {
+      return transcoded;
+    }
+
+    /**
+     * Returns the amount of rejected lines.
+     *
+     * @return the amount of rejected lines
+     */
+    public long getRejected() {
+      return rejected;
+    }
+
+    @Override
+    public String toString() {
+      return "Result{"
+        + "transcoded=" + transcoded
+        + ", rejected=" + rejected
+        + '}';
+    }
+  }
+
+  private static final class Chunk {
+
+    private final ByteArrayOutputStream out;
+    private final ByteArrayOutputStream rejected;
+    private final long transcoded;
+    private final long rejectedCount;
+
+    private Chunk(final ByteArrayOutputStream out, final ByteArrayOutputStream rejected, final long transcoded, final long rejectedCount) {
+      this.out = out;
+      this.rejected = rejected;
+      this.transcoded = transcoded;
+      this.rejectedCount = rejectedCount;
+    }
+  }
+}
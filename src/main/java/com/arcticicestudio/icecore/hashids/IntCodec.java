@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * The 32-bit implementation of the Hashids algorithm for non-negative int numbers.
+ *
+ * <p>The lottery, the digits and the separators are calculated in int arithmetic only. The lottery number is kept reduced modulo the product of the
+ * alphabet and the guard length so that it never exceeds an int while the lottery and guard characters are identical to the ones of the
+ * {@link HashidsEngine engines}, which makes the hashes byte-identical to the ones of the widened long numbers.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class IntCodec {
+
+  private final HashidsEngine.Configuration configuration;
+  private final char[] alphabet;
+  private final char[] separators;
+  private final char[] salt;
+  private final char[] guards;
+  private final int minLength;
+  private final Padding padding;
+  private final DigitPairTable digitPairTable;
+
+  /**
+   * The modulus of the lottery number which is a multiple of both the alphabet and the guard length.
+   */
+  private final int lotteryModulus;
+
+  /**
+   * The largest number that can be multiplied with the alphabet length without exceeding an int.
+   */
+  private final int overflowLimit;
+
+  /**
+   * The amount of salt characters in the salt of each alphabet derivation.
+   */
+  private final int deriveSaltLength;
+
+  /**
+   * Constructs a new codec for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   */
+  IntCodec(final HashidsEngine.Configuration configuration) {
+    this.configuration = configuration;
+    this.alphabet = configuration.getAlphabet();
+    this.separators = configuration.getSeparators();
+    this.salt = configuration.getSalt();
+    this.guards = configuration.getGuards();
+    this.minLength = configuration.getMinLength();
+    this.padding = new Padding(configuration);
+    this.digitPairTable = new DigitPairTable(alphabet.length);
+    this.lotteryModulus = alphabet.length * guards.length;
+    this.overflowLimit = Integer.MAX_VALUE / alphabet.length;
+    this.deriveSaltLength = Math.min(salt.length, alphabet.length - 1);
+  }
+
+  /**
+   * Encodes the given range of non-negative numbers.
+   *
+   * @param numbers the array with the non-negative numbers to be encoded
+   * @param offset the index of the first number
+   * @param length the amount of numbers which must be greater than zero
+   * @return the resultant hash
+   */
+  String encode(final int[] numbers, final int offset, final int length) {
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+    // Determine the lottery number, the sum can not overflow before the index exceeds the amount of numbers of the longest possible hash
+    int lotteryId = 0;
+    for (int idx = 0; idx < length; idx++) {
+      lotteryId += numbers[offset + idx] % (idx + Hashids.LOTTERY_MOD);
+      if (lotteryId >= lotteryModulus) {
+        lotteryId %= lotteryModulus;
+      }
+    }
+    final char lottery = currentAlphabet[lotteryId % currentAlphabet.length];
+
+    // Encode each number
+    final StringBuilder global = new StringBuilder(length * 8 + minLength);
+    global.append(lottery);
+    final char[] deriveSalt = newDeriveSalt(lottery);
+    final char[] digits = new char[DigitPairTable.MAX_INT_DIGITS];
+    for (int idx = 0; idx < length; idx++) {
+      appendNumber(global, numbers[offset + idx], idx, length, currentAlphabet, deriveSalt, digits);
+    }
+
+    return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, currentAlphabet) : global.toString();
+  }
+
+  /**
+   * Encodes the given range of non-negative numbers of a buffer without an accessible array.
+   *
+   * <p>The numbers are read in place via the absolute {@link IntBuffer#get(int)} method, the position of the buffer is not changed.
+   *
+   * @param numbers the buffer with the non-negative numbers to be encoded
+   * @param index the index of the first number
+   * @param length the amount of numbers which must be greater than zero
+   * @return the resultant hash
+   */
+  String encode(final IntBuffer numbers, final int index, final int length) {
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+    // Determine the lottery number like for arrays
+    int lotteryId = 0;
+    for (int idx = 0; idx < length; idx++) {
+      lotteryId += numbers.get(index + idx) % (idx + Hashids.LOTTERY_MOD);
+      if (lotteryId >= lotteryModulus) {
+        lotteryId %= lotteryModulus;
+      }
+    }
+    final char lottery = currentAlphabet[lotteryId % currentAlphabet.length];
+
+    // Encode each number
+    final StringBuilder global = new StringBuilder(length * 8 + minLength);
+    global.append(lottery);
+    final char[] deriveSalt = newDeriveSalt(lottery);
+    final char[] digits = new char[DigitPairTable.MAX_INT_DIGITS];
+    for (int idx = 0; idx < length; idx++) {
+      appendNumber(global, numbers.get(index + idx), idx, length, currentAlphabet, deriveSalt, digits);
+    }
+
+    return padding.isRequired(global.length()) ? padding.pad(global, lotteryId, currentAlphabet) : global.toString();
+  }
+
+  /**
+   * Creates the salt of the derivation of the alphabet of each number.
+   *
+   * @param lottery the lottery character of the hash
+   * @return the lottery followed by the salt
+   */
+  private char[] newDeriveSalt(final char lottery) {
+    final char[] deriveSalt = new char[alphabet.length];
+    deriveSalt[0] = lottery;
+    System.arraycopy(salt, 0, deriveSalt, 1, deriveSaltLength);
+    return deriveSalt;
+  }
+
+  /**
+   * Appends the block of the number at the given index of the hash followed by its separator if it is not the last number.
+   *
+   * @param global the hash to which the block is appended
+   * @param number the non-negative number to be encoded
+   * @param idx the index of the number within the hash
+   * @param length the amount of numbers of the hash
+   * @param currentAlphabet the alphabet of the previous number which is derived for this number in place
+   * @param deriveSalt the salt of the derivation
+   * @param digits a buffer for the digits of the number
+   */
+  private void appendNumber(final StringBuilder global, final int number, final int idx, final int length, final char[] currentAlphabet,
+    final char[] deriveSalt, final char[] digits) {
+    derive(currentAlphabet, deriveSalt);
+    final int start = digitPairTable.write(number, currentAlphabet, digits);
+    global.append(digits, start, digits.length - start);
+    // Append the separator
+    if (idx + 1 < length) {
+      global.append(separators[number % (digits[start] + idx) % separators.length]);
+    }
+  }
+
+  /**
+   * Decodes the given hash without verifying it.
+   *
+   * @param hash the hash to be decoded
+   * @return the decoded numbers or {@code null} if the hash contains invalid characters or any number that does not fit into an int
+   */
+  int[] decode(final String hash) {
+    // Validate the characters and find the guards
+    int firstGuardIdx = -1;
+    int secondGuardIdx = -1;
+    for (int idx = 0; idx < hash.length(); idx++) {
+      final byte charClass = configuration.classOf(hash.charAt(idx));
+      if (charClass == HashidsEngine.Configuration.CLASS_INVALID) {
+        return null;
+      }
+      if (charClass == HashidsEngine.Configuration.CLASS_GUARD) {
+        if (firstGuardIdx < 0) {
+          firstGuardIdx = idx;
+        } else if (secondGuardIdx < 0) {
+          secondGuardIdx = idx;
+        }
+      }
+    }
+
+    // Calculate the start- and end index based on the guards
+    final int startIdx = firstGuardIdx >= 0 ? firstGuardIdx + 1 : 0;
+    final int endIdx = secondGuardIdx >= 0 ? secondGuardIdx : hash.length();
+    if (startIdx >= endIdx) {
+      return new int[0];
+    }
+
+    final char lottery = hash.charAt(startIdx);
+    final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+    final char[] deriveSalt = newDeriveSalt(lottery);
+    final int[] positions = new int[configuration.getMaxChar() + 1];
+    final int[] decoded = new int[(endIdx - startIdx) / 2 + 1];
+    int count = 0;
+    int blockStart = startIdx + 1;
+    for (int idx = startIdx + 1; idx <= endIdx; idx++) {
+      if (idx < endIdx && configuration.classOf(hash.charAt(idx)) != HashidsEngine.Configuration.CLASS_SEPARATOR) {
+        continue;
+      }
+
+      if (idx > blockStart) {
+        derive(currentAlphabet, deriveSalt);
+        for (int pos = 0; pos < currentAlphabet.length; pos++) {
+          positions[currentAlphabet[pos]] = pos;
+        }
+        int number = 0;
+        for (int pos = blockStart; pos < idx; pos++) {
+          if (number > overflowLimit) {
+            return null;
+          }
+          number = number * alphabet.length + positions[hash.charAt(pos)];
+          if (number < 0) {
+            return null;
+          }
+        }
+        decoded[count++] = number;
+      }
+      blockStart = idx + 1;
+    }
+
+    return count == decoded.length ? decoded : Arrays.copyOf(decoded, count);
+  }
+
+  /**
+   * Derives the alphabet of the next number in place like {@link Hashids#deriveNewAlphabet(char[], char[], char)} without allocating a new salt.
+   *
+   * @param currentAlphabet the alphabet of the previous number
+   * @param deriveSalt the reusable salt of the lottery
+   */
+  private void derive(final char[] currentAlphabet, final char[] deriveSalt) {
+    final int saltLeft = alphabet.length - deriveSaltLength - 1;
+    if (saltLeft > 0) {
+      System.arraycopy(currentAlphabet, 0, deriveSalt, alphabet.length - saltLeft, saltLeft);
+    }
+    Hashids.shuffle(currentAlphabet, deriveSalt);
+  }
+}
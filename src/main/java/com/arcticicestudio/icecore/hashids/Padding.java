@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * Adds the guards and the padding to hashes that are shorter than the minimum hash length.
+ *
+ * <p>The guards and the halves of each padding alphabet are added on both sides of the hash, so that the padded hash grows from its position within a
+ * buffer in both directions. All optimized encoders share this implementation while the {@link ReferenceHashidsEngine reference engine} keeps its own
+ * insert-based implementation, so that the differential tests compare both.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class Padding {
+
+  private final char[] guards;
+  private final int minLength;
+
+  /**
+   * Constructs new padding for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   */
+  Padding(final HashidsEngine.Configuration configuration) {
+    this.guards = configuration.getGuards();
+    this.minLength = configuration.getMinLength();
+  }
+
+  /**
+   * Indicates whether the given length of a hash is shorter than the minimum hash length.
+   *
+   * @param length the length of the hash
+   * @return {@code true} if the hash must be padded, {@code false} otherwise
+   */
+  boolean isRequired(final int length) {
+    return minLength > length;
+  }
+
+  /**
+   * Pads the given hash which is shorter than the minimum hash length.
+   *
+   * @param hash the hash starting with the lottery character
+   * @param lotteryId the lottery number of the hash
+   * @param alphabet the alphabet of the last number which is shuffled for each padding in place
+   * @return the padded hash with exactly the minimum hash length
+   */
+  String pad(final CharSequence hash, final long lotteryId, final char[] alphabet) {
+    final char[] buffer = new char[minLength * 2 + hash.length()];
+    for (int idx = 0; idx < hash.length(); idx++) {
+      buffer[minLength + idx] = hash.charAt(idx);
+    }
+    final int start = pad(buffer, minLength, minLength + hash.length(), lotteryId, alphabet, new char[alphabet.length], false);
+    return new String(buffer, start, minLength);
+  }
+
+  /**
+   * Pads the hash between the given indices of the given buffer.
+   *
+   * <p>The buffer must provide as many free characters before and after the hash as are missing to the minimum hash length.
+   *
+   * @param buffer the buffer with the hash starting with the lottery character
+   * @param start the index of the first character of the hash
+   * @param end the index after the last character of the hash
+   * @param lotteryId the lottery number of the hash
+   * @param alphabet the alphabet of the last number which is shuffled for each padding in place
+   * @param salt a buffer for the salt of each shuffle with the length of the alphabet
+   * @param shuffled {@code true} if the given alphabet has already been shuffled for the first padding, {@code false} otherwise
+   * @return the index of the first character of the padded hash whose length is the maximum of its length and the minimum hash length
+   */
+  int pad(final char[] buffer, final int start, final int end, final long lotteryId, final char[] alphabet, final char[] salt, final boolean shuffled) {
+    int first = start;
+    int last = end;
+
+    // Add the guards if there is any space left
+    if (minLength > last - first) {
+      final char lottery = buffer[first];
+      buffer[--first] = guards[(int) ((lotteryId + lottery) % guards.length)];
+      if (minLength > last - first) {
+        buffer[last++] = guards[(int) ((lotteryId + buffer[first + 2]) % guards.length)];
+      }
+    }
+
+    // Add the necessary padding
+    int paddingLeft = minLength - (last - first);
+    for (boolean shuffle = !shuffled; paddingLeft > 0; shuffle = true) {
+      if (shuffle) {
+        System.arraycopy(alphabet, 0, salt, 0, alphabet.length);
+        Hashids.shuffle(alphabet, salt);
+      }
+
+      final int alphabetHalfSize = alphabet.length / 2;
+      if (paddingLeft > alphabet.length) {
+        final int halfOffset = alphabet.length - alphabetHalfSize;
+        first -= halfOffset;
+        System.arraycopy(alphabet, alphabetHalfSize, buffer, first, halfOffset);
+        System.arraycopy(alphabet, 0, buffer, last, alphabetHalfSize);
+        last += alphabetHalfSize;
+        paddingLeft -= alphabet.length;
+      } else {
+        // Calculate the excess
+        final int excess = alphabet.length + last - first - minLength;
+        final int secondHalfStartOffset = alphabetHalfSize + excess / 2;
+        final int secondHalfLength = alphabet.length - secondHalfStartOffset;
+        first -= secondHalfLength;
+        System.arraycopy(alphabet, secondHalfStartOffset, buffer, first, secondHalfLength);
+        System.arraycopy(alphabet, 0, buffer, last, paddingLeft - secondHalfLength);
+        paddingLeft = 0;
+      }
+    }
+    return first;
+  }
+}
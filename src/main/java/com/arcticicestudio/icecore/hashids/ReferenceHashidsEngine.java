@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.reducing;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The straightforward reference implementation of the Hashids algorithm.
+ *
+ * <p>This engine favors clarity over performance and serves as the baseline all other {@link HashidsEngine engines} are verified against.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class ReferenceHashidsEngine implements HashidsEngine {
+
+  /**
+   * The name of the reference engine.
+   */
+  public static final String NAME = "reference";
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Codec create(final Configuration configuration) {
+    return new ReferenceCodec(configuration);
+  }
+
+  private static final class ReferenceCodec implements Codec {
+
+    private final char[] alphabet;
+    private final char[] separators;
+    private final char[] salt;
+    private final char[] guards;
+    private final int minLength;
+    private final Set<Character> separatorsSet;
+
+    private ReferenceCodec(final Configuration configuration) {
+      this.alphabet = configuration.getAlphabet();
+      this.separators = configuration.getSeparators();
+      this.salt = configuration.getSalt();
+      this.guards = configuration.getGuards();
+      this.minLength = configuration.getMinLength();
+      this.separatorsSet = IntStream.range(0, separators.length)
+        .mapToObj(idx -> separators[idx])
+        .collect(toSet());
+    }
+
+    @Override
+    public String encode(final long[] numbers) {
+      final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+      // Determine the lottery number
+      final long lotteryId = LongStream.range(0, numbers.length)
+        .reduce(0, (state, idx) -> state + Long.remainderUnsigned(numbers[(int) idx], idx + Hashids.LOTTERY_MOD));
+      final char lottery = currentAlphabet[(int) (lotteryId % currentAlphabet.length)];
+
+      // Encode each number
+      final StringBuilder global = new StringBuilder();
+      IntStream.range(0, numbers.length)
+        .forEach(idx -> {
+          Hashids.deriveNewAlphabet(currentAlphabet, salt, lottery);
+          final int initialLength = global.length();
+          transform(numbers[idx], currentAlphabet, global, initialLength);
+          // Append the separator
+          if (idx + 1 < numbers.length) {
+            long n = Long.remainderUnsigned(numbers[idx], global.charAt(initialLength) + idx);
+            global.append(separators[(int) (n % separators.length)]);
+          }
+        });
+
+      // Prepend the lottery
+      global.insert(0, lottery);
+
+      // Add the guards if there is any space left
+      if (minLength > global.length()) {
+        int guardIdx = (int) ((lotteryId + lottery) % guards.length);
+        global.insert(0, guards[guardIdx]);
+        if (minLength > global.length()) {
+          guardIdx = (int) ((lotteryId + global.charAt(2)) % guards.length);
+          global.append(guards[guardIdx]);
+        }
+      }
+
+      // Add the necessary padding
+      int paddingLeft = minLength - global.length();
+      while (paddingLeft > 0) {
+        Hashids.shuffle(currentAlphabet, Arrays.copyOf(currentAlphabet, currentAlphabet.length));
+
+        final int alphabetHalfSize = currentAlphabet.length / 2;
+        final int initialSize = global.length();
+        if (paddingLeft > currentAlphabet.length) {
+          int offset = alphabetHalfSize + (currentAlphabet.length % 2 == 0 ? 0 : 1);
+
+          global.insert(0, currentAlphabet, alphabetHalfSize, offset);
+          global.insert(offset + initialSize, currentAlphabet, 0, alphabetHalfSize);
+
+          paddingLeft -= currentAlphabet.length;
+        } else {
+          // Calculate the excess
+          final int excess = currentAlphabet.length + global.length() - minLength;
+          final int secondHalfStartOffset = alphabetHalfSize + Math.floorDiv(excess, 2);
+          final int secondHalfLength = currentAlphabet.length - secondHalfStartOffset;
+          final int firstHalfLength = paddingLeft - secondHalfLength;
+
+          global.insert(0, currentAlphabet, secondHalfStartOffset, secondHalfLength);
+          global.insert(secondHalfLength + initialSize, currentAlphabet, 0, firstHalfLength);
+
+          paddingLeft = 0;
+        }
+      }
+
+      return global.toString();
+    }
+
+    @Override
+    public long[] decode(final String hash) {
+      // Validate that the hash only consists of valid characters
+      final Set<Character> validInputChars = new HashSet<>(alphabet.length + guards.length + separators.length);
+      Stream.of(alphabet, guards, separators)
+        .forEach(chars -> IntStream.range(0, chars.length)
+          .mapToObj(idx -> chars[idx])
+          .forEach(validInputChars::add));
+      if (!IntStream.range(0, hash.length()).allMatch(idx -> validInputChars.contains(hash.charAt(idx)))) {
+        return null;
+      }
+
+      // Create a set of the guards and count the total amount
+      final Set<Character> guardsSet = IntStream.range(0, guards.length)
+        .mapToObj(idx -> guards[idx])
+        .collect(toSet());
+      final int[] guardsIdx = IntStream.range(0, hash.length())
+        .filter(idx -> guardsSet.contains(hash.charAt(idx)))
+        .toArray();
+
+      // Calculate the start- and end index based on the guards count
+      final int startIdx;
+      final int endIdx;
+      if (guardsIdx.length > 0) {
+        startIdx = guardsIdx[0] + 1;
+        endIdx = guardsIdx.length > 1 ? guardsIdx[1] : hash.length();
+      } else {
+        startIdx = 0;
+        endIdx = hash.length();
+      }
+
+      final LongStream.Builder decoded = LongStream.builder();
+      if (startIdx < endIdx) {
+        final char lottery = hash.charAt(startIdx);
+
+        // Create the initial accumulation string
+        final int length = hash.length() - guardsIdx.length - 1;
+        final StringBuilder block = new StringBuilder(length);
+
+        // Create the base salt
+        final char[] decodeSalt = new char[alphabet.length];
+        decodeSalt[0] = lottery;
+        final int saltLength = salt.length >= alphabet.length ? alphabet.length - 1 : salt.length;
+        System.arraycopy(salt, 0, decodeSalt, 1, saltLength);
+        final int saltLeft = alphabet.length - saltLength - 1;
+
+        final char[] currentAlphabet = Arrays.copyOf(alphabet, alphabet.length);
+
+        for (int i = startIdx + 1; i < endIdx; i++) {
+          if (!separatorsSet.contains(hash.charAt(i))) {
+            block.append(hash.charAt(i));
+            if (i < endIdx - 1) {
+              continue;
+            }
+          }
+
+          if (block.length() > 0) {
+            // Create the salt
+            if (saltLeft > 0) {
+              System.arraycopy(currentAlphabet, 0, decodeSalt, alphabet.length - saltLeft, saltLeft);
+            }
+
+            // Prepend the decoded value and create a new block
+            Hashids.shuffle(currentAlphabet, decodeSalt);
+            final long number = transform(block.toString().toCharArray(), currentAlphabet);
+            decoded.add(number);
+            block.setLength(0);
+          }
+        }
+      }
+
+      return decoded.build().toArray();
+    }
+
+    /**
+     * Transforms the hash into the encoded hash state using the given alphabet.
+     *
+     * @param number the number to be transformed into the encoded hash state
+     * @param alphabet the alphabet to be used for the transformation
+     * @param sb the string builder to prepend the transformed number
+     * @param start the start index for the given alphabet
+     * @return the given string builder with the prepended transformed number
+     */
+    private StringBuilder transform(final long number, final char[] alphabet, final StringBuilder sb, final int start) {
+      long input = number;
+      do {
+        // Prepend the matched character and trim the unsigned input
+        sb.insert(start, alphabet[(int) Long.remainderUnsigned(input, alphabet.length)]);
+        input = Long.divideUnsigned(input, alphabet.length);
+      } while (input != 0);
+
+      return sb;
+    }
+
+    /**
+     * Transforms the hash into the decoded number state using the given alphabet.
+     *
+     * @param hash the hash to be transformed into the decoded number state
+     * @param alphabet the alphabet to be used for the transformation
+     * @return the transformed hash in the decoded number state
+     */
+    private long transform(final char[] hash, final char[] alphabet) {
+      long number = 0;
+
+      final Map<Character, Integer> alphabetMapping = IntStream.range(0, alphabet.length)
+        .mapToObj(idx -> new Object[]{alphabet[idx], idx})
+        .collect(groupingBy(arr -> (Character) arr[0], mapping(arr -> (Integer) arr[1], reducing(null, (a, b) -> a == null ? b : a))));
+
+      for (int idx = 0; idx < hash.length; ++idx) {
+        number = number * alphabet.length + alphabetMapping.get(hash[idx]);
+      }
+
+      return number;
+    }
+  }
+}
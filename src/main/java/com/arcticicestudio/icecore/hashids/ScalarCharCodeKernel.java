@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+
+/**
+ * The scalar {@link CharCodeKernel} that looks up the code of one character after another.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class ScalarCharCodeKernel implements CharCodeKernel {
+
+  /**
+   * The code of each byte indexed by its unsigned value.
+   */
+  private final byte[] codes;
+
+  /**
+   * Constructs a new kernel for the given code table.
+   *
+   * @param table the code of each ASCII character
+   */
+  ScalarCharCodeKernel(final byte[] table) {
+    this.codes = new byte[256];
+    Arrays.fill(codes, INVALID);
+    System.arraycopy(table, 0, codes, 0, TABLE_SIZE);
+  }
+
+  @Override
+  public void map(final byte[] hashes, final int offset, final int size, final byte[] codes) {
+    for (int idx = 0; idx < size; idx++) {
+      codes[idx] = this.codes[hashes[offset + idx] & 0xFF];
+    }
+  }
+
+  @Override
+  public boolean isVectorized() {
+    return false;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+
+/**
+ * The allocation-free encoding of single numbers into reusable {@link Scratch scratch} buffers.
+ *
+ * <p>The lottery of a single number is always less than {@code 100} so that the first derived alphabet of each possible lottery is precomputed once and
+ * the hash is written without shuffling the alphabet unless it must be padded.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class SingleNumberEncoder {
+
+  private final char[] alphabet;
+  private final int minLength;
+  private final Padding padding;
+  private final DigitPairTable digitPairTable;
+
+  /**
+   * The first derived alphabet for each possible lottery indexed by the position of the lottery within the alphabet.
+   */
+  private final char[][] lotteryAlphabets;
+
+  /**
+   * The alphabet of the first padding of each possible lottery which is the shuffled first derived alphabet.
+   */
+  private final char[][] paddingAlphabets;
+
+  /**
+   * Constructs a new encoder for the given configuration.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   */
+  SingleNumberEncoder(final HashidsEngine.Configuration configuration) {
+    this.alphabet = configuration.getAlphabet();
+    this.minLength = configuration.getMinLength();
+    this.padding = new Padding(configuration);
+    this.digitPairTable = new DigitPairTable(alphabet.length);
+
+    final char[] salt = configuration.getSalt();
+    this.lotteryAlphabets = new char[Math.min(alphabet.length, Hashids.LOTTERY_MOD)][];
+    this.paddingAlphabets = new char[lotteryAlphabets.length][];
+    for (int idx = 0; idx < lotteryAlphabets.length; idx++) {
+      lotteryAlphabets[idx] = Hashids.deriveNewAlphabet(Arrays.copyOf(alphabet, alphabet.length), salt, alphabet[idx]);
+      paddingAlphabets[idx] = Arrays.copyOf(lotteryAlphabets[idx], alphabet.length);
+      Hashids.shuffle(paddingAlphabets[idx], Arrays.copyOf(lotteryAlphabets[idx], alphabet.length));
+    }
+  }
+
+  /**
+   * Returns the first derived alphabet of the given lottery.
+   *
+   * @param lotteryIdx the position of the lottery within the alphabet which must be less than {@link #lotteries()}
+   * @return the derived alphabet which must not be modified
+   */
+  char[] lotteryAlphabet(final int lotteryIdx) {
+    return lotteryAlphabets[lotteryIdx];
+  }
+
+  /**
+   * Returns the amount of possible lotteries of a single number.
+   *
+   * @return the amount of possible lotteries
+   */
+  int lotteries() {
+    return lotteryAlphabets.length;
+  }
+
+  /**
+   * Creates new reusable buffers for a single thread.
+   *
+   * @return new scratch buffers
+   */
+  Scratch newScratch() {
+    return new Scratch();
+  }
+
+  /**
+   * Encodes a single valid number into the hash buffer of the given scratch space.
+   *
+   * @param number the number to be encoded
+   * @param scratch the scratch space of the current thread
+   * @return the length of the hash starting at {@link Scratch#start}
+   */
+  int write(final long number, final Scratch scratch) {
+    final char[] hash = scratch.hash;
+    final char[] currentAlphabet = scratch.alphabet;
+    final long lotteryId = number % Hashids.LOTTERY_MOD;
+    final int lotteryIdx = (int) (lotteryId % alphabet.length);
+    final char lottery = alphabet[lotteryIdx];
+    final char[] lotteryAlphabet = lotteryAlphabets[lotteryIdx];
+
+    // The hash grows from the middle of the buffer in both directions
+    int start = minLength + 1;
+    int end = start;
+    hash[end++] = lottery;
+    final int digitStart = digitPairTable.write(number, lotteryAlphabet, scratch.digits);
+    final int digitCount = scratch.digits.length - digitStart;
+    System.arraycopy(scratch.digits, digitStart, hash, end, digitCount);
+    end += digitCount;
+
+    // Add the guards and the padding, only the alphabets of further paddings are shuffled
+    if (padding.isRequired(end - start)) {
+      System.arraycopy(paddingAlphabets[lotteryIdx], 0, currentAlphabet, 0, currentAlphabet.length);
+      start = padding.pad(hash, start, end, lotteryId, currentAlphabet, scratch.shuffleSalt, true);
+      end = start + minLength;
+    }
+
+    scratch.start = start;
+    return end - start;
+  }
+
+  /**
+   * The reusable buffers of a single thread.
+   */
+  final class Scratch {
+
+    private final char[] alphabet = new char[SingleNumberEncoder.this.alphabet.length];
+    private final char[] shuffleSalt = new char[SingleNumberEncoder.this.alphabet.length];
+    private final char[] digits = new char[DigitPairTable.MAX_DIGITS];
+    final char[] hash = new char[2 * (minLength + DigitPairTable.MAX_DIGITS + 2)];
+    int start;
+  }
+}
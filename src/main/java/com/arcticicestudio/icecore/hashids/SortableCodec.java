@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+
+/**
+ * The order-preserving codec of the {@link HashidsFeature#SORTABLE SORTABLE} feature.
+ *
+ * <p>Each number is written with a fixed amount of digits in a base of half the amount of all valid characters, most significant digit first. The digits
+ * of each position within a hash are represented by their own subset of the valid characters that is derived from the salt, but sorted so that a larger
+ * digit is always represented by a larger character. Hashes with the same amount of numbers therefore have the same length and their lexicographic order
+ * matches the order of their numbers.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class SortableCodec implements HashidsEngine.Codec {
+
+  private final int base;
+  private final int digits;
+
+  /**
+   * The sorted digit characters of each position within a hash of the maximum arity.
+   */
+  private final char[][] positions;
+
+  /**
+   * Constructs a new codec for hashes of up to {@code arity} numbers that are not larger than {@code maxValue}.
+   *
+   * @param configuration the configuration of the {@link Hashids} instance
+   * @param arity the maximum amount of numbers
+   * @param maxValue the maximum number
+   */
+  SortableCodec(final HashidsEngine.Configuration configuration, final int arity, final long maxValue) {
+    final char[] alphabet = configuration.getAlphabet();
+    final char[] separators = configuration.getSeparators();
+    final char[] guards = configuration.getGuards();
+    final char[] pool = new char[alphabet.length + separators.length + guards.length];
+    System.arraycopy(alphabet, 0, pool, 0, alphabet.length);
+    System.arraycopy(separators, 0, pool, alphabet.length, separators.length);
+    System.arraycopy(guards, 0, pool, alphabet.length + separators.length, guards.length);
+
+    this.base = base(pool.length);
+    this.digits = digits(base, maxValue);
+    this.positions = new char[arity * digits][];
+
+    // Derive a new subset for each position from the alphabet of the previous one
+    final char[] salt = configuration.getSalt();
+    final char[] current = Arrays.copyOf(pool, pool.length);
+    for (int pos = 0; pos < positions.length; pos++) {
+      Hashids.deriveNewAlphabet(current, salt, pool[pos % pool.length]);
+      positions[pos] = Arrays.copyOf(current, base);
+      Arrays.sort(positions[pos]);
+    }
+  }
+
+  @Override
+  public String encode(final long[] numbers) {
+    return encode(numbers, 0, numbers.length);
+  }
+
+  @Override
+  public String encode(final long[] numbers, final int offset, final int length) {
+    final char[] hash = new char[length * digits];
+    for (int idx = 0; idx < length; idx++) {
+      long number = numbers[offset + idx];
+      for (int pos = (idx + 1) * digits - 1; pos >= idx * digits; pos--) {
+        hash[pos] = positions[pos][(int) Long.remainderUnsigned(number, base)];
+        number = Long.divideUnsigned(number, base);
+      }
+    }
+    return new String(hash);
+  }
+
+  @Override
+  public long[] decode(final String hash) {
+    if (hash.length() % digits != 0 || hash.length() > positions.length) {
+      return null;
+    }
+
+    final long[] numbers = new long[hash.length() / digits];
+    for (int pos = 0; pos < hash.length(); pos++) {
+      final int digit = Arrays.binarySearch(positions[pos], hash.charAt(pos));
+      if (digit < 0) {
+        return null;
+      }
+      numbers[pos / digits] = numbers[pos / digits] * base + digit;
+    }
+    return numbers;
+  }
+
+  /**
+   * Calculates the base of the digits for the given amount of valid characters.
+   *
+   * <p>Only half of the characters are used for each position so that the salt can select between many different subsets.
+   *
+   * @param characters the amount of valid characters
+   * @return the base of the digits
+   */
+  static int base(final int characters) {
+    return (characters + 1) / 2;
+  }
+
+  /**
+   * Calculates the amount of digits of the given number.
+   *
+   * @param base the base of the digits
+   * @param number the number which is interpreted as unsigned number
+   * @return the amount of digits of the number
+   */
+  static int digits(final int base, final long number) {
+    int digits = 1;
+    for (long value = Long.divideUnsigned(number, base); value > 0; value /= base) {
+      digits++;
+    }
+    return digits;
+  }
+}
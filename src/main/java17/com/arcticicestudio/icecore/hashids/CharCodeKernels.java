@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+/**
+ * Creates the best available {@link CharCodeKernel} for the running Java version.
+ *
+ * <p>This is the implementation for Java 17 and later which prefers the {@link VectorCharCodeKernel vectorized kernel}. It requires the incubating
+ * {@code jdk.incubator.vector} module which is only resolved when it is added to the runtime via {@code --add-modules jdk.incubator.vector}, otherwise
+ * loading the kernel fails and the {@link ScalarCharCodeKernel scalar kernel} is used instead.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CharCodeKernels {
+
+  private CharCodeKernels() {
+  }
+
+  /**
+   * Creates a new kernel for the given code table.
+   *
+   * @param table the code of each ASCII character
+   * @param vectorized indicates if a vectorized kernel should be preferred
+   * @return a new vectorized kernel if preferred and supported, a new scalar kernel otherwise
+   */
+  static CharCodeKernel create(final byte[] table, final boolean vectorized) {
+    if (vectorized) {
+      try {
+        if (VectorCharCodeKernel.isSupported()) {
+          return new VectorCharCodeKernel(table);
+        }
+      } catch (LinkageError e) {
+        // The incubator module has not been added to the runtime
+      }
+    }
+    return new ScalarCharCodeKernel(table);
+  }
+}
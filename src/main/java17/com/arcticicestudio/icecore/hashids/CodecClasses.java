@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Defines the codec classes generated by the {@link CodecCompiler} in the package of this library.
+ *
+ * <p>This is the implementation for Java 17 and later which defines each codec as hidden class via
+ * {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...)}. Hidden classes are not discoverable by their name
+ * and are unloaded as soon as their codec is no longer reachable.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class CodecClasses {
+
+  private CodecClasses() {
+  }
+
+  /**
+   * Defines the given class as hidden class in the package of this library.
+   *
+   * @param name the binary name of the class
+   * @param classFile the class file
+   * @return the defined class
+   * @throws ReflectiveOperationException if the class can not be defined
+   */
+  static Class<?> define(final String name, final byte[] classFile) throws ReflectiveOperationException {
+    return MethodHandles.lookup().defineHiddenClass(classFile, true).lookupClass();
+  }
+}
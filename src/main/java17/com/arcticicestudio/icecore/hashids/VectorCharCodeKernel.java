@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import java.util.Arrays;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link CharCodeKernel} that maps 64 or 32 characters at once through 512- or 256-bit byte vectors.
+ *
+ * <p>The code table is split into two or four vectors of the lane count. The low bits of each character select its code from every table vector through
+ * a lane-wise shuffle while the high bits select the table vector the code is taken from, so that all characters beyond the table are mapped to
+ * {@link #INVALID}. The remaining characters of the range are mapped through a scalar table lookup.
+ *
+ * <p>The table vectors are blended in straight-line code for each shape since vectors that are carried through a loop are not kept in registers by
+ * the compiler of Java 17, which makes a generic loop over the table vectors barely faster than the scalar lookup.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+final class VectorCharCodeKernel implements CharCodeKernel {
+
+  private static final VectorSpecies<Byte> SPECIES =
+    ByteVector.SPECIES_PREFERRED.length() >= ByteVector.SPECIES_512.length() ? ByteVector.SPECIES_512 : ByteVector.SPECIES_256;
+
+  private final ByteVector[] tables;
+  private final ByteVector invalid;
+
+  /**
+   * The code of each byte indexed by its unsigned value for the remaining characters.
+   */
+  private final byte[] codes;
+
+  /**
+   * Constructs a new kernel for the given code table.
+   *
+   * @param table the code of each ASCII character
+   */
+  VectorCharCodeKernel(final byte[] table) {
+    this.tables = new ByteVector[TABLE_SIZE / SPECIES.length()];
+    for (int idx = 0; idx < tables.length; idx++) {
+      tables[idx] = ByteVector.fromArray(SPECIES, table, idx * SPECIES.length());
+    }
+    this.invalid = ByteVector.broadcast(SPECIES, INVALID);
+    this.codes = new byte[256];
+    Arrays.fill(codes, INVALID);
+    System.arraycopy(table, 0, codes, 0, TABLE_SIZE);
+  }
+
+  /**
+   * Indicates whether the preferred byte vector of the current platform has at least 256 bits.
+   *
+   * @return {@code true} if 256- or 512-bit byte vectors are supported, {@code false} otherwise
+   */
+  static boolean isSupported() {
+    return ByteVector.SPECIES_PREFERRED.length() >= ByteVector.SPECIES_256.length();
+  }
+
+  @Override
+  public void map(final byte[] hashes, final int offset, final int size, final byte[] codes) {
+    int idx = tables.length == 2 ? mapWide(hashes, offset, size, codes) : mapNarrow(hashes, offset, size, codes);
+    for (; idx < size; idx++) {
+      codes[idx] = this.codes[hashes[offset + idx] & 0xFF];
+    }
+  }
+
+  @Override
+  public boolean isVectorized() {
+    return true;
+  }
+
+  /**
+   * Maps all full vectors of the range through two table vectors of 64 lanes.
+   *
+   * @return the index of the first character that has not been mapped
+   */
+  private int mapWide(final byte[] hashes, final int offset, final int size, final byte[] codes) {
+    final int bound = SPECIES.loopBound(size);
+    int idx = 0;
+    for (; idx < bound; idx += SPECIES.length()) {
+      final ByteVector chars = ByteVector.fromArray(SPECIES, hashes, offset + idx);
+      final ByteVector low = chars.and((byte) 0x3F);
+      // The unsigned shift maps all non-ASCII bytes beyond the last table vector
+      final ByteVector high = chars.lanewise(VectorOperators.LSHR, 6);
+      invalid
+        .blend(low.selectFrom(tables[0]), high.eq((byte) 0))
+        .blend(low.selectFrom(tables[1]), high.eq((byte) 1))
+        .intoArray(codes, idx);
+    }
+    return idx;
+  }
+
+  /**
+   * Maps all full vectors of the range through four table vectors of 32 lanes.
+   *
+   * @return the index of the first character that has not been mapped
+   */
+  private int mapNarrow(final byte[] hashes, final int offset, final int size, final byte[] codes) {
+    final int bound = SPECIES.loopBound(size);
+    int idx = 0;
+    for (; idx < bound; idx += SPECIES.length()) {
+      final ByteVector chars = ByteVector.fromArray(SPECIES, hashes, offset + idx);
+      final ByteVector low = chars.and((byte) 0x1F);
+      // The unsigned shift maps all non-ASCII bytes beyond the last table vector
+      final ByteVector high = chars.lanewise(VectorOperators.LSHR, 5);
+      invalid
+        .blend(low.selectFrom(tables[0]), high.eq((byte) 0))
+        .blend(low.selectFrom(tables[1]), high.eq((byte) 1))
+        .blend(low.selectFrom(tables[2]), high.eq((byte) 2))
+        .blend(low.selectFrom(tables[3]), high.eq((byte) 3))
+        .intoArray(codes, idx);
+    }
+    return idx;
+  }
+}
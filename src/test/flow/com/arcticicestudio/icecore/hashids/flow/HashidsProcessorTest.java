@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.flow;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import com.arcticicestudio.icecore.hashids.HashidsFeature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Units tests for the {@link HashidsProcessor} class.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsProcessorTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  private final Hashids hashids = new Hashids.Builder().salt("processor").build();
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void encodeInOrder() throws InterruptedException {
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(hashids).batchSize(16).parallelism(4).executor(executor).build();
+    final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+    try (SubmissionPublisher<long[]> publisher = new SubmissionPublisher<>(executor, 64)) {
+      publisher.subscribe(processor);
+      for (long number = 0; number < 10_000; number++) {
+        publisher.submit(new long[] {number, number * 7});
+      }
+    }
+
+    assertThat(subscriber.await(), nullValue());
+    assertThat(subscriber.items.size(), equalTo(10_000));
+    for (int idx = 0; idx < 10_000; idx++) {
+      assertThat(subscriber.items.get(idx), equalTo(hashids.encode(idx, idx * 7L)));
+    }
+  }
+
+  @Test
+  public void decodeInOrder() throws InterruptedException {
+    final HashidsProcessor<String, long[]> processor = HashidsProcessor.decoder(hashids).batchSize(8).parallelism(3).executor(executor).build();
+    final CollectingSubscriber<long[]> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+    try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>(executor, 64)) {
+      publisher.subscribe(processor);
+      for (long number = 0; number < 5_000; number++) {
+        publisher.submit(number % 100 == 0 ? "()" : hashids.encode(number));
+      }
+    }
+
+    assertThat(subscriber.await(), nullValue());
+    assertThat(subscriber.items.size(), equalTo(5_000));
+    for (int idx = 0; idx < 5_000; idx++) {
+      assertThat(subscriber.items.get(idx), equalTo(idx % 100 == 0 ? new long[0] : new long[] {idx}));
+    }
+  }
+
+  @Test
+  public void boundedUpstreamDemand() throws InterruptedException {
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(hashids).batchSize(4).parallelism(2).build();
+    final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(1);
+    processor.subscribe(subscriber);
+    final RangePublisher publisher = new RangePublisher(1_000);
+    publisher.subscribe(processor);
+
+    assertThat(subscriber.await(), nullValue());
+    assertThat(subscriber.items.size(), equalTo(1_000));
+    assertThat(subscriber.items.get(999), equalTo(hashids.encode(999)));
+    assertThat(publisher.maxOutstanding <= 12, equalTo(true));
+  }
+
+  @Test
+  public void noUpstreamDemandWithoutSubscriber() {
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(hashids).build();
+    final RangePublisher publisher = new RangePublisher(10);
+    publisher.subscribe(processor);
+    assertThat(publisher.maxOutstanding, equalTo(0L));
+  }
+
+  @Test
+  public void propagateEncodingErrors() throws InterruptedException {
+    final Hashids throwing = new Hashids.Builder().features(HashidsFeature.EXCEPTION_HANDLING).build();
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(throwing).build();
+    final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+    final RangePublisher publisher = new RangePublisher(10, 5);
+    publisher.subscribe(processor);
+
+    assertThat(subscriber.await(), instanceOf(IllegalArgumentException.class));
+    assertThat(publisher.cancelled, equalTo(true));
+  }
+
+  @Test
+  public void rejectSecondSubscriber() throws InterruptedException {
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(hashids).build();
+    processor.subscribe(new CollectingSubscriber<>(1));
+    final CollectingSubscriber<String> second = new CollectingSubscriber<>(1);
+    processor.subscribe(second);
+    assertThat(second.await(), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  public void rejectNonPositiveRequests() throws InterruptedException {
+    final HashidsProcessor<long[], String> processor = HashidsProcessor.encoder(hashids).build();
+    final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(0);
+    processor.subscribe(subscriber);
+    new RangePublisher(10).subscribe(processor);
+    assertThat(subscriber.await(), instanceOf(IllegalArgumentException.class));
+  }
+
+  @Test
+  public void invalidBatchSize() {
+    thrown.expect(IllegalArgumentException.class);
+    HashidsProcessor.encoder(hashids).batchSize(0).build();
+  }
+
+  @Test
+  public void invalidParallelism() {
+    thrown.expect(IllegalArgumentException.class);
+    HashidsProcessor.encoder(hashids).parallelism(0).build();
+  }
+
+  /**
+   * A subscriber that collects all items while requesting a fixed amount of items for each received item.
+   */
+  private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final long batch;
+    private final List<T> items = new ArrayList<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private Flow.Subscription subscription;
+    private volatile Throwable error;
+
+    private CollectingSubscriber(final long batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(batch);
+    }
+
+    @Override
+    public void onNext(final T item) {
+      items.add(item);
+      if (batch != Long.MAX_VALUE) {
+        subscription.request(batch);
+      }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+
+    private Throwable await() throws InterruptedException {
+      assertThat(done.await(30, TimeUnit.SECONDS), equalTo(true));
+      return error;
+    }
+  }
+
+  /**
+   * A synchronous publisher of single numbers that tracks the maximum outstanding demand.
+   */
+  private static final class RangePublisher implements Flow.Publisher<long[]> {
+
+    private final long count;
+    private final long invalid;
+    private long next;
+    private long requested;
+    private long maxOutstanding;
+    private boolean emitting;
+    private boolean cancelled;
+
+    private RangePublisher(final long count) {
+      this(count, -1);
+    }
+
+    private RangePublisher(final long count, final long invalid) {
+      this.count = count;
+      this.invalid = invalid;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super long[]> subscriber) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {
+          requested += n;
+          maxOutstanding = Math.max(maxOutstanding, requested);
+          if (emitting) {
+            return;
+          }
+          emitting = true;
+          while (requested > 0 && next < count && !cancelled) {
+            requested--;
+            subscriber.onNext(new long[] {next == invalid ? -1 : next});
+            next++;
+          }
+          emitting = false;
+          if (next == count && !cancelled) {
+            cancelled = true;
+            subscriber.onComplete();
+          }
+        }
+
+        @Override
+        public void cancel() {
+          cancelled = true;
+        }
+      });
+    }
+  }
+}
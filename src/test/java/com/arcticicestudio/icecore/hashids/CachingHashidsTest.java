@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Units tests for the {@link CachingHashids} result cache decorator.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class CachingHashidsTest {
+
+  private final Hashids hashids = new Hashids.Builder().salt("salt").build();
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void cacheResults() {
+    final CachingHashids cache = new CachingHashids.Builder(hashids).maximumSize(100).build();
+    for (int round = 0; round < 3; round++) {
+      for (long number = 0; number < 50; number++) {
+        final String hash = cache.encode(number);
+        assertThat(hash, equalTo(hashids.encode(number)));
+        assertThat(cache.decode(hash), equalTo(new long[] {number}));
+      }
+    }
+    assertThat(cache.encode(1L, 2L), equalTo(hashids.encode(1L, 2L)));
+    assertThat(cache.getEncodeStatistics().getHitCount(), equalTo(100L));
+    assertThat(cache.getEncodeStatistics().getMissCount(), equalTo(50L));
+    assertThat(cache.getDecodeStatistics().getHitCount(), equalTo(100L));
+    assertThat(cache.getDecodeStatistics().getHitRate(), equalTo(2.0 / 3));
+  }
+
+  @Test
+  public void decodeDefensiveCopies() {
+    final CachingHashids cache = new CachingHashids.Builder(hashids).build();
+    final String hash = hashids.encode(1L, 2L, 3L);
+    cache.decode(hash)[0] = 42L;
+    cache.decode(hash)[0] = 42L;
+    assertThat(cache.decode(hash), equalTo(new long[] {1L, 2L, 3L}));
+    assertThat(cache.decodeOne(hashids.encode(7L)).get(), equalTo(7L));
+  }
+
+  @Test
+  public void invalidResultsNotCached() {
+    final CachingHashids cache = new CachingHashids.Builder(hashids).build();
+    assertThat(cache.decode("()"), equalTo(new long[0]));
+    assertThat(cache.decode("()"), equalTo(new long[0]));
+    assertThat(cache.encode(-1L), equalTo(""));
+    assertThat(cache.encode(-1L), equalTo(""));
+    assertThat(cache.getDecodeStatistics().getHitCount(), equalTo(0L));
+    assertThat(cache.getEncodeStatistics().getHitCount(), equalTo(0L));
+  }
+
+  @Test
+  public void scanResistance() {
+    final CachingHashids cache = new CachingHashids.Builder(hashids).maximumSize(64).build();
+    for (int round = 0; round < 10; round++) {
+      for (long number = 0; number < 32; number++) {
+        cache.encode(number);
+      }
+    }
+    // A scan over many cold numbers must not flush the hot numbers that are still requested
+    final long hits = cache.getEncodeStatistics().getHitCount();
+    for (long number = 1000; number < 100_000; number++) {
+      cache.encode(number);
+      cache.encode(number % 32);
+    }
+    assertThat(cache.getEncodeStatistics().getHitCount() - hits, greaterThan(90_000L));
+  }
+
+  @Test
+  public void expireAfterWrite() {
+    final AtomicLong time = new AtomicLong();
+    final CachingHashids cache = new CachingHashids.Builder(hashids)
+      .expireAfterWrite(Duration.ofSeconds(10))
+      .ticker(time::get)
+      .build();
+    cache.encode(1L);
+    time.addAndGet(Duration.ofSeconds(9).toNanos());
+    cache.encode(1L);
+    time.addAndGet(Duration.ofSeconds(1).toNanos());
+    cache.encode(1L);
+    assertThat(cache.getEncodeStatistics().getHitCount(), equalTo(1L));
+    assertThat(cache.getEncodeStatistics().getEvictionCount(), equalTo(1L));
+  }
+
+  @Test
+  public void invalidMaximumSize() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("maximum size must be greater than or equal to one: 0");
+    new CachingHashids.Builder(hashids).maximumSize(0).build();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Units tests for the {@link DigitPairTable} transformation.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class DigitPairTableTest {
+
+  private static final long[] EDGE_NUMBERS = {
+    0L, 1L, 15L, 16L, 255L, 256L, 65535L, 65536L, Integer.MAX_VALUE - 1L, Integer.MAX_VALUE, Integer.MAX_VALUE + 1L, 4294967295L, 4294967296L,
+    Hashids.MAX_INTEROP_NUMBER_SIZE, Long.MAX_VALUE - 1L, Long.MAX_VALUE
+  };
+
+  @Test
+  public void identicalOutputAcrossAlphabetSizes() {
+    final Random random = new Random(42);
+    final char[] buffer = new char[DigitPairTable.MAX_DIGITS];
+    for (int base = 16; base <= DigitPairTable.MAX_BASE; base++) {
+      final char[] alphabet = alphabet(base);
+      final DigitPairTable table = new DigitPairTable(base);
+      for (long number : EDGE_NUMBERS) {
+        assertTransform(table, alphabet, buffer, number);
+        assertTransform(table, alphabet, buffer, number / base);
+        assertTransform(table, alphabet, buffer, (long) base * base - 1L);
+        assertTransform(table, alphabet, buffer, (long) base * base);
+      }
+      for (int i = 0; i < 2000; i++) {
+        assertTransform(table, alphabet, buffer, random.nextLong() >>> 1);
+        assertTransform(table, alphabet, buffer, random.nextInt() >>> 1);
+        assertTransform(table, alphabet, buffer, random.nextInt(1 << 20));
+      }
+    }
+  }
+
+  @Test
+  public void fallbackForLargeAlphabets() {
+    final char[] buffer = new char[DigitPairTable.MAX_DIGITS];
+    final char[] alphabet = alphabet(DigitPairTable.MAX_BASE + 1);
+    final DigitPairTable table = new DigitPairTable(alphabet.length);
+    for (long number : EDGE_NUMBERS) {
+      assertTransform(table, alphabet, buffer, number);
+    }
+  }
+
+  private static void assertTransform(final DigitPairTable table, final char[] alphabet, final char[] buffer, final long number) {
+    final int start = table.write(number, alphabet, buffer);
+    assertThat("base " + alphabet.length + ", number " + number, new String(buffer, start, buffer.length - start), equalTo(expected(number, alphabet)));
+  }
+
+  private static String expected(final long number, final char[] alphabet) {
+    final StringBuilder sb = new StringBuilder();
+    long input = number;
+    do {
+      sb.insert(0, alphabet[(int) (input % alphabet.length)]);
+      input = input / alphabet.length;
+    } while (input > 0);
+    return sb.toString();
+  }
+
+  private static char[] alphabet(final int length) {
+    final char[] alphabet = new char[length];
+    for (int idx = 0; idx < length; idx++) {
+      alphabet[idx] = (char) ('!' + idx);
+    }
+    return alphabet;
+  }
+}
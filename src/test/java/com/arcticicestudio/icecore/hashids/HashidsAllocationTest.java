@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Allocation regression tests for the hot paths of the public API.
+ *
+ * <p>Each operation is warmed up before the bytes allocated by all threads are measured over many iterations through the
+ * {@link com.sun.management.ThreadMXBean} extension of the HotSpot JVM. The budgets are about one and a half times the measured allocations and include
+ * the inherent result objects, buffer-targeted operations must not allocate anything per number or character at all. The tests are skipped on JVMs
+ * without support for the allocation measurement.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsAllocationTest {
+
+  private static final int WARMUP_ITERATIONS = 50_000;
+  private static final int MEASURED_ITERATIONS = 100_000;
+
+  private static com.sun.management.ThreadMXBean threadBean;
+
+  /**
+   * Prevents the elimination of unused results.
+   */
+  private static volatile Object sink;
+
+  private final Hashids hashids = new Hashids.Builder().salt("salt").build();
+
+  @BeforeClass
+  public static void setUpThreadBean() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  /**
+   * Measures the bytes allocated by all threads per operation.
+   */
+  private static double measure(final int warmups, final int operations, final IntConsumer operation) {
+    for (int idx = 0; idx < warmups; idx++) {
+      operation.accept(idx);
+    }
+    final long before = allocatedBytes();
+    for (int idx = 0; idx < operations; idx++) {
+      operation.accept(idx);
+    }
+    return (double) (allocatedBytes() - before) / operations;
+  }
+
+  private static long allocatedBytes() {
+    long total = 0;
+    for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+      total += Math.max(0, bytes);
+    }
+    return total;
+  }
+
+  private static void assertBudget(final String operation, final double budget, final int operations, final IntConsumer consumer) {
+    assertBudget(operation, budget, measure(WARMUP_ITERATIONS, operations, consumer));
+  }
+
+  private static void assertBudget(final String operation, final double budget, final double allocated) {
+    assertTrue(operation + " allocated " + allocated + " bytes per operation, budget " + budget, allocated <= budget);
+  }
+
+  @Test
+  public void encode() {
+    assertBudget("encode(long)", 768, MEASURED_ITERATIONS, idx -> sink = hashids.encode(idx));
+    assertBudget("encode(long, long, long)", 1024, MEASURED_ITERATIONS, idx -> sink = hashids.encode(idx, 42L, idx * 7L));
+  }
+
+  @Test
+  public void encodeDirectBuffer() {
+    final long[] numbers = new long[64];
+    for (int idx = 0; idx < numbers.length; idx++) {
+      numbers[idx] = idx * 31L;
+    }
+    final LongBuffer direct = ByteBuffer.allocateDirect(Long.BYTES * numbers.length).asLongBuffer().put(numbers);
+    direct.flip();
+    final double array = measure(WARMUP_ITERATIONS / 10, MEASURED_ITERATIONS / 10, idx -> sink = hashids.encode(numbers));
+    assertBudget("encode(LongBuffer) of a direct buffer compared to its array", array + 64, MEASURED_ITERATIONS / 10,
+      idx -> sink = hashids.encode(direct));
+  }
+
+  @Test
+  public void decode() {
+    final String single = hashids.encode(1234567L);
+    final String composite = hashids.encode(1234567L, 42L, 7L);
+    assertBudget("decode(String) of a single number", 2048, MEASURED_ITERATIONS, idx -> sink = hashids.decode(single));
+    assertBudget("decode(String) of multiple numbers", 2048, MEASURED_ITERATIONS, idx -> sink = hashids.decode(composite));
+  }
+
+  @Test
+  public void hex() {
+    final String hash = hashids.encodeHex("deadbeef");
+    assertBudget("encodeHex(String)", 2560, MEASURED_ITERATIONS / 10, idx -> sink = hashids.encodeHex("deadbeef"));
+    assertBudget("decodeHex(String)", 2560, MEASURED_ITERATIONS / 10, idx -> sink = hashids.decodeHex(hash));
+  }
+
+  @Test
+  public void denseTable() {
+    final Hashids dense = new Hashids.Builder().salt("salt").dense(1024).build();
+    final String hash = dense.encode(512L);
+    assertBudget("encode(long) within the dense range", 128, MEASURED_ITERATIONS, idx -> sink = dense.encode(idx & 1023));
+    assertBudget("decode(String) within the dense range", 32, MEASURED_ITERATIONS, idx -> sink = dense.decode(hash));
+  }
+
+  @Test
+  public void bulkEncodeIntoBuffer() {
+    final HashidsBulkEncoder encoder = new HashidsBulkEncoder.Builder(hashids).fixedStride(16).segmentSize(1 << 14).build();
+    final LongBuffer numbers = LongBuffer.allocate(1 << 16);
+    for (int idx = 0; idx < numbers.capacity(); idx++) {
+      numbers.put(idx, idx * 31L);
+    }
+    final ByteBuffer records = ByteBuffer.allocateDirect(numbers.capacity() * 16);
+    final double allocated = measure(200, 50, idx -> {
+      records.clear();
+      encoder.encode(numbers, records);
+    });
+    assertBudget("encode(LongBuffer, ByteBuffer) of HashidsBulkEncoder per number", 1, allocated / numbers.capacity());
+  }
+
+  @Test
+  public void sequence() {
+    final HashidsSequence sequence = new HashidsSequence.Builder(hashids).build();
+    assertBudget("next() of HashidsSequence", 128, MEASURED_ITERATIONS, idx -> sink = sequence.next());
+  }
+
+  @Test
+  public void scanWithoutHashes() {
+    final HashidsScanner scanner = new HashidsScanner(hashids);
+    final StringBuilder text = new StringBuilder();
+    while (text.length() < 1 << 16) {
+      text.append("GET /api/products?page=2 HTTP/1.1 200 0.003 - ");
+    }
+    final double allocated = measure(200, 50, idx -> scanner.scan(text, (offset, length, numbers) -> sink = numbers));
+    assertBudget("scan(CharSequence) of HashidsScanner per character", 1, allocated / text.length());
+  }
+
+  @Test
+  public void decodeIterator() {
+    final String hash = hashids.encode(1234567L, 42L, 7L);
+    assertBudget("decodeIterator(CharSequence)", 2560, MEASURED_ITERATIONS, idx -> {
+      long sum = 0;
+      for (PrimitiveIterator.OfLong iterator = hashids.decodeIterator(hash); iterator.hasNext(); ) {
+        sum += iterator.nextLong();
+      }
+      sink = sum;
+    });
+  }
+}
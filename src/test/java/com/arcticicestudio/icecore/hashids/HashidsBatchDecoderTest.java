@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Units tests for the {@link HashidsBatchDecoder} batch decoding of fixed-length hashes.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsBatchDecoderTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  /**
+   * Creates valid hashes of random numbers followed by hashes with a random corrupted character and hashes of multiple numbers.
+   */
+  private static byte[] hashes(final Hashids hashids, final int count) {
+    final Random random = new Random(42);
+    final byte[] hashes = new byte[count * 12];
+    final char[] candidates = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890 -_ä".toCharArray();
+    for (int idx = 0; idx < count; idx++) {
+      final byte[] hash;
+      if (idx % 5 == 4) {
+        hash = hashids.encode(random.nextInt(1000), random.nextInt(1000)).getBytes(US_ASCII);
+      } else {
+        hash = hashids.encode(idx < 100 ? idx : random.nextLong() >>> (random.nextInt(30) + 23)).getBytes(US_ASCII);
+        if (idx % 5 == 3) {
+          hash[random.nextInt(hash.length)] = (byte) candidates[random.nextInt(candidates.length)];
+        }
+      }
+      System.arraycopy(hash, 0, hashes, idx * 12, 12);
+    }
+    return hashes;
+  }
+
+  private static long expected(final Hashids hashids, final byte[] hashes, final int idx) {
+    final long[] numbers = hashids.decode(new String(hashes, idx * 12, 12, US_ASCII));
+    return numbers.length == 1 ? numbers[0] : HashidsBatchDecoder.INVALID;
+  }
+
+  @Test
+  public void decode() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(12).build();
+    final byte[] hashes = hashes(hashids, 10_000);
+    for (boolean vectorized : new boolean[] {false, true}) {
+      final HashidsBatchDecoder decoder = new HashidsBatchDecoder.Builder(hashids).segmentSize(777).vectorized(vectorized).build();
+      final long[] numbers = decoder.decode(hashes);
+      assertThat(numbers.length, equalTo(10_000));
+      for (int idx = 0; idx < numbers.length; idx++) {
+        assertThat(numbers[idx], equalTo(expected(hashids, hashes, idx)));
+      }
+    }
+  }
+
+  @Test
+  public void decodeBuffers() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(12).build();
+    final byte[] hashes = hashes(hashids, 5000);
+    final long[] expected = new HashidsBatchDecoder.Builder(hashids).vectorized(false).build().decode(hashes);
+    final HashidsBatchDecoder decoder = new HashidsBatchDecoder.Builder(hashids).segmentSize(1000).build();
+
+    final ByteBuffer direct = ByteBuffer.allocateDirect(hashes.length + 5);
+    direct.position(5);
+    direct.put(hashes);
+    direct.position(5);
+    final LongBuffer numbers = LongBuffer.allocate(expected.length + 2);
+    numbers.position(2);
+    assertThat(decoder.decode(direct, numbers), equalTo(expected.length));
+    assertThat(direct.position(), equalTo(5));
+    assertThat(numbers.hasRemaining(), equalTo(false));
+    for (int idx = 0; idx < expected.length; idx++) {
+      assertThat(numbers.get(idx + 2), equalTo(expected[idx]));
+    }
+
+    final ByteBuffer slice = ByteBuffer.wrap(hashes, 24, hashes.length - 24).slice();
+    final long[] sliced = decoder.decode(slice.asReadOnlyBuffer());
+    for (int idx = 0; idx < sliced.length; idx++) {
+      assertThat(sliced[idx], equalTo(expected[idx + 2]));
+    }
+  }
+
+  @Test
+  public void decodeGuardsAndLongNumbers() {
+    for (int minLength : new int[] {0, 4, 20}) {
+      final Hashids hashids = new Hashids.Builder().salt("salt").minLength(minLength).features(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE).build();
+      final String hash = hashids.encode(Long.MAX_VALUE);
+      final HashidsBatchDecoder decoder = new HashidsBatchDecoder.Builder(hashids).hashLength(hash.length()).build();
+      assertThat(decoder.decode(hash.getBytes(US_ASCII))[0], equalTo(Long.MAX_VALUE));
+      assertThat(decoder.getHashLength(), equalTo(hash.length()));
+    }
+  }
+
+  @Test
+  public void decodeBeyondFixedWidth() {
+    final Hashids fixed = new Hashids.Builder().salt("salt").fixedWidth(1, 1000L).build();
+    final Hashids plain = new Hashids.Builder().salt("salt").minLength(fixed.encode(1000L).length()).build();
+    final String hash = plain.encode(1500L);
+    assertThat(hash.length(), equalTo(fixed.encode(1000L).length()));
+    final HashidsBatchDecoder decoder = new HashidsBatchDecoder.Builder(fixed).hashLength(hash.length()).build();
+    final long[] numbers = decoder.decode((fixed.encode(1000L) + hash).getBytes(US_ASCII));
+    assertThat(numbers[0], equalTo(1000L));
+    assertThat(numbers[1], equalTo(HashidsBatchDecoder.INVALID));
+  }
+
+  @Test
+  public void decodeInvalidWithExceptionHandling() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(8).features(HashidsFeature.EXCEPTION_HANDLING).build();
+    final byte[] hashes = (hashids.encode(1L) + hashids.encode(2L).replace(hashids.encode(2L).charAt(3), ' ')).getBytes(US_ASCII);
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("invalid hash at index 1");
+    new HashidsBatchDecoder.Builder(hashids).build().decode(hashes);
+  }
+
+  @Test
+  public void decodeIncompleteHash() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(8).build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("size of hashes must be a multiple of the hash length");
+    new HashidsBatchDecoder.Builder(hashids).build().decode(new byte[12]);
+  }
+
+  @Test
+  public void decodeInsufficientOutput() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(8).build();
+    thrown.expect(BufferOverflowException.class);
+    new HashidsBatchDecoder.Builder(hashids).build().decode(ByteBuffer.wrap(new byte[16]), LongBuffer.allocate(1));
+  }
+
+  @Test
+  public void rejectInvalidHashLength() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").maxHashLength(16).build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("hash length must not exceed the maximum hash length");
+    new HashidsBatchDecoder.Builder(hashids).hashLength(17).build();
+  }
+
+  @Test
+  public void rejectMissingHashLength() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("hash length must be greater than or equal to one");
+    new HashidsBatchDecoder.Builder(hashids).build();
+  }
+
+  @Test
+  public void rejectNonAsciiAlphabet() {
+    final Hashids hashids = new Hashids.Builder().alphabet("abcdefghijklmnopäöü").build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("alphabet must only contain ASCII characters");
+    new HashidsBatchDecoder.Builder(hashids);
+  }
+
+  @Test
+  public void rejectSortable() {
+    final Hashids hashids = new Hashids.Builder().fixedWidth(1, 1000L).features(HashidsFeature.SORTABLE).build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("hashids must not enable the sortable feature!");
+    new HashidsBatchDecoder.Builder(hashids);
+  }
+}
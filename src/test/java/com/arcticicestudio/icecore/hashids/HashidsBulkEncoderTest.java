@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Units tests for the {@link HashidsBulkEncoder} off-heap bulk encoding.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsBulkEncoderTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static long[] numbers() {
+    final Random random = new Random(42);
+    final long[] numbers = new long[10_000];
+    for (int idx = 0; idx < numbers.length; idx++) {
+      numbers[idx] = idx < 1000 ? idx : random.nextLong() >>> (random.nextInt(63) + 11);
+    }
+    return numbers;
+  }
+
+  @Test
+  public void encodeLengthPrefixed() {
+    final long[] numbers = numbers();
+    for (int minLength : new int[] {0, 8, 100}) {
+      final Hashids hashids = new Hashids.Builder().salt("salt").minLength(minLength).build();
+      final HashidsBulkEncoder encoder = new HashidsBulkEncoder.Builder(hashids).segmentSize(333).build();
+      final ByteBuffer records = encoder.encode(LongBuffer.wrap(numbers));
+      for (long number : numbers) {
+        final byte[] hash = new byte[records.get() & 0xFF];
+        records.get(hash);
+        assertThat(new String(hash, US_ASCII), equalTo(hashids.encode(number)));
+        assertThat(encoder.encodedLength(number), equalTo(hash.length));
+      }
+      assertThat(records.hasRemaining(), equalTo(false));
+    }
+  }
+
+  @Test
+  public void encodeFixedStride() {
+    final long[] numbers = numbers();
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(4).build();
+    final HashidsBulkEncoder encoder = new HashidsBulkEncoder.Builder(hashids).fixedStride(12).segmentSize(1000).build();
+    final ByteBuffer records = ByteBuffer.allocateDirect(numbers.length * 12 + 3);
+    records.position(3);
+    assertThat(encoder.encode(LongBuffer.wrap(numbers), records), equalTo(numbers.length * 12));
+    assertThat(records.hasRemaining(), equalTo(false));
+    records.position(3);
+    for (long number : numbers) {
+      final byte[] record = new byte[12];
+      records.get(record);
+      assertThat(new String(record, US_ASCII).trim(), equalTo(hashids.encode(number)));
+    }
+  }
+
+  @Test
+  public void encodeFileRegion() throws IOException {
+    final long[] numbers = numbers();
+    final Hashids hashids = new Hashids.Builder().salt("salt").build();
+    final HashidsBulkEncoder encoder = new HashidsBulkEncoder.Builder(hashids).build();
+    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      final Path file = folder.newFile().toPath();
+      final ByteBuffer column = ByteBuffer.allocate(8 + numbers.length * 8).order(order);
+      column.position(8);
+      column.asLongBuffer().put(numbers);
+      column.clear();
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        channel.write(column, 0);
+        assertThat(encoder.encode(channel, 8, numbers.length, order), equalTo(encoder.encode(LongBuffer.wrap(numbers))));
+      }
+    }
+  }
+
+  @Test
+  public void encodeInvalidNumber() {
+    final Hashids hashids = new Hashids.Builder().build();
+    final ByteBuffer records = new HashidsBulkEncoder.Builder(hashids).build().encode(LongBuffer.wrap(new long[] {-1L, 1L}));
+    assertThat(records.get(), equalTo((byte) 0));
+    assertThat(records.get() & 0xFF, equalTo(hashids.encode(1L).length()));
+  }
+
+  @Test
+  public void encodeNumbersExceedingFixedWidthAndMaximumHashLength() {
+    final Hashids[] instances = {
+      new Hashids.Builder().fixedWidth(1, 5).build(),
+      new Hashids.Builder().salt("salt").alphabet("abcdefghij1234560").maxHashLength(3).build()
+    };
+    for (Hashids hashids : instances) {
+      final HashidsBulkEncoder encoder = new HashidsBulkEncoder.Builder(hashids).build();
+      final long[] numbers = LongStream.rangeClosed(0, hashids.getMaxNumber() + 2).toArray();
+      final ByteBuffer records = encoder.encode(LongBuffer.wrap(numbers));
+      for (long number : numbers) {
+        final byte[] hash = new byte[records.get() & 0xFF];
+        records.get(hash);
+        assertThat(new String(hash, US_ASCII), equalTo(hashids.encode(number)));
+        assertThat(encoder.encodedLength(number), equalTo(hash.length));
+      }
+      assertThat(encoder.encodedLength(hashids.getMaxNumber() + 1), equalTo(0));
+    }
+  }
+
+  @Test
+  public void encodeInvalidNumberWithExceptionHandling() {
+    thrown.expect(IllegalArgumentException.class);
+    final Hashids hashids = new Hashids.Builder().features(HashidsFeature.EXCEPTION_HANDLING).build();
+    new HashidsBulkEncoder.Builder(hashids).build().encode(LongBuffer.wrap(new long[] {1L, -1L}));
+  }
+
+  @Test
+  public void encodeExceedingStride() {
+    thrown.expect(IllegalArgumentException.class);
+    final Hashids hashids = new Hashids.Builder().minLength(8).build();
+    new HashidsBulkEncoder.Builder(hashids).fixedStride(4).build().encode(LongBuffer.wrap(new long[] {1L}));
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Units tests for the {@link HashidsCodecProcessor} which verify the generated codecs against the runtime {@link Hashids} instances.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsCodecProcessorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @HashidsCodec(salt = "salt and pepper", minLength = 8)
+  interface Orders {
+  }
+
+  @HashidsCodec
+  interface Plain {
+  }
+
+  @HashidsCodec(salt = "this is my salt", minLength = 40, alphabet = "0123456789abcdef", name = "HexCodec")
+  interface Hex {
+  }
+
+  private static void verify(
+    final Hashids hashids, final LongFunction<String> encodeOne, final Function<long[], String> encode, final Function<String, long[]> decode) {
+    final Random random = new Random(42);
+    for (int idx = 0; idx < 2000; idx++) {
+      final long number = idx < 1000 ? idx : random.nextLong() >>> (random.nextInt(53) + 11);
+      final String hash = hashids.encode(number);
+      assertThat(encodeOne.apply(number), equalTo(hash));
+      assertThat(encode.apply(new long[] {number}), equalTo(hash));
+      assertThat(decode.apply(hash), equalTo(new long[] {number}));
+    }
+    for (int arity = 2; arity <= HashidsCodecProcessor.ARITY * 2 + 1; arity++) {
+      for (int idx = 0; idx < 200; idx++) {
+        final long[] numbers = random.longs(arity, 0, idx % 2 == 0 ? 1000 : Hashids.MAX_INTEROP_NUMBER_SIZE).toArray();
+        final String hash = hashids.encode(numbers);
+        assertThat(encode.apply(numbers), equalTo(hash));
+        assertThat(decode.apply(hash), equalTo(numbers));
+        // Corrupted hashes are rejected like by the runtime instance
+        final char[] corrupted = hash.toCharArray();
+        corrupted[random.nextInt(corrupted.length)] = hash.charAt(random.nextInt(hash.length()));
+        assertThat(decode.apply(new String(corrupted)), equalTo(hashids.decode(new String(corrupted))));
+      }
+    }
+    for (long[] invalid : new long[][] {{}, {-1}, {1, -1}, {Hashids.MAX_INTEROP_NUMBER_SIZE + 1}}) {
+      assertThat(encode.apply(invalid), equalTo(""));
+    }
+    for (String invalid : new String[] {"", " ", "a", "ab", "!!!", "äbc", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"}) {
+      assertThat(decode.apply(invalid), equalTo(hashids.decode(invalid)));
+    }
+  }
+
+  @Test
+  public void generateWithSaltAndMinLength() {
+    final Hashids hashids = new Hashids.Builder().salt("salt and pepper").minLength(8).build();
+    verify(hashids, OrdersHashids::encode, OrdersHashids::encode, OrdersHashids::decode);
+    assertThat(OrdersHashids.decode(null), equalTo(new long[0]));
+  }
+
+  @Test
+  public void generateWithDefaults() {
+    verify(new Hashids.Builder().build(), PlainHashids::encode, PlainHashids::encode, PlainHashids::decode);
+  }
+
+  @Test
+  public void generateWithAlphabetAndMultiplePaddings() {
+    final Hashids hashids = new Hashids.Builder().salt("this is my salt").minLength(40).alphabet("0123456789abcdef").build();
+    verify(hashids, HexCodec::encode, HexCodec::encode, HexCodec::decode);
+  }
+
+  @Test
+  public void generateWithEscapedCharacters() throws Exception {
+    final String salt = "\"quoted\" \\ back\nslash  ";
+    final String alphabet = "abcdefghijklmnopqrstuvwxyzäöüß\"\\";
+    final DiagnosticCollector<JavaFileObject> diagnostics = compile("package codec;\n"
+      + "@com.arcticicestudio.icecore.hashids.HashidsCodec(salt = \"" + HashidsCodecProcessor.escape(salt) + "\", minLength = 20, alphabet = \""
+      + HashidsCodecProcessor.escape(alphabet) + "\")\n"
+      + "interface Escaped {}\n");
+    assertThat(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+      equalTo(false));
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {folder.getRoot().toURI().toURL()}, getClass().getClassLoader())) {
+      final Class<?> codec = loader.loadClass("codec.EscapedHashids");
+      final Method encodeOne = codec.getMethod("encode", long.class);
+      final Method encode = codec.getMethod("encode", long[].class);
+      final Method decode = codec.getMethod("decode", String.class);
+      final Hashids hashids = new Hashids.Builder().salt(salt).minLength(20).alphabet(alphabet).build();
+      verify(hashids, number -> (String) invoke(encodeOne, number), numbers -> (String) invoke(encode, numbers),
+        hash -> (long[]) invoke(decode, hash));
+    }
+  }
+
+  @Test
+  public void reportInvalidConfiguration() throws Exception {
+    final DiagnosticCollector<JavaFileObject> diagnostics = compile("package codec;\n"
+      + "@com.arcticicestudio.icecore.hashids.HashidsCodec(alphabet = \"abc\")\n"
+      + "interface Invalid {}\n");
+    final Diagnostic<? extends JavaFileObject> error = diagnostics.getDiagnostics().stream()
+      .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+    assertThat(error.getMessage(null), containsString("invalid Hashids configuration: alphabet must contain at least 16 unique characters"));
+  }
+
+  private static Object invoke(final Method method, final Object argument) {
+    try {
+      return method.invoke(null, argument);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Compiles the given source of the type {@code codec.<name>} with the processor into the temporary folder.
+   */
+  private DiagnosticCollector<JavaFileObject> compile(final String source) throws Exception {
+    final String name = source.substring(source.indexOf("interface ") + 10, source.indexOf(" {}"));
+    final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///codec/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+        return source;
+      }
+    };
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    final String classpath = new File(HashidsCodec.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+      Arrays.asList("-classpath", classpath, "-d", folder.getRoot().getPath(), "-s", folder.getRoot().getPath()), null, Collections.singleton(file));
+    task.setProcessors(Collections.singleton(new HashidsCodecProcessor()));
+    task.call();
+    return diagnostics;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.IntFunction;
+import org.junit.Test;
+
+/**
+ * Worst-case complexity tests for the decoding of adversarial input.
+ *
+ * <p>Each kind of adversarial input is decoded with a small and a sixteen times larger length. Since timings are too noisy to be asserted, the cost of
+ * the decoding is measured deterministically: the characters visited by the {@link Hashids#decodeIterator(CharSequence, Hashids.Verification) lazy
+ * decoding} are counted and the bytes allocated by the decoding of both engines are measured through the {@link com.sun.management.ThreadMXBean}
+ * extension of the HotSpot JVM. The cost per character of the large input must not be more than twice the one of the small input, which only holds if
+ * the cost is linear in the length of the input. The allocation measurement is skipped on JVMs without support for it. The timings of the decoding are
+ * reported by the {@link com.arcticicestudio.icecore.hashids.load.HashidsFuzzHarness fuzz harness}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsComplexityTest {
+
+  private static final int SMALL_LENGTH = 4096;
+  private static final int LARGE_LENGTH = SMALL_LENGTH * 16;
+  private static final double MAX_COST_RATIO = 2.0;
+
+  /**
+   * The allocated bytes that are independent of the length of the input, e.g. for empty results.
+   */
+  private static final long ALLOCATION_SLACK = 1024;
+
+  private final Hashids hashids = new Hashids.Builder().salt("salt").features(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE).build();
+  private final Hashids reference = new Hashids.Builder().salt("salt").engine(ReferenceHashidsEngine.NAME).build();
+  private final HashidsEngine.Configuration configuration = hashids.getConfiguration();
+
+  @Test
+  public void separatorRuns() {
+    final char lottery = configuration.getAlphabet()[0];
+    final char separator = configuration.getSeparators()[0];
+    assertLinear(length -> lottery + repeat(separator, length - 1));
+  }
+
+  @Test
+  public void guardsOnly() {
+    assertLinear(length -> repeat(configuration.getGuards()[0], length));
+  }
+
+  @Test
+  public void repeatedLottery() {
+    assertLinear(length -> repeat(configuration.getAlphabet()[0], length));
+  }
+
+  @Test
+  public void singleCharacterBlocks() {
+    final char[] alphabet = configuration.getAlphabet();
+    final char[] separators = configuration.getSeparators();
+    assertLinear(length -> {
+      final char[] hash = new char[length];
+      for (int idx = 0; idx < length; idx++) {
+        hash[idx] = idx % 2 == 0 ? alphabet[idx % alphabet.length] : separators[idx % separators.length];
+      }
+      return new String(hash);
+    });
+  }
+
+  @Test
+  public void validHashes() {
+    assertLinear(length -> {
+      final long[] numbers = new long[length / 3];
+      Arrays.fill(numbers, 7L);
+      return hashids.encode(numbers);
+    });
+  }
+
+  /**
+   * Asserts that the cost of the decoding of the input generated for a given length is linear in the length.
+   */
+  private void assertLinear(final IntFunction<String> input) {
+    final String small = input.apply(SMALL_LENGTH);
+    final String large = input.apply(LARGE_LENGTH);
+    final int times = large.length() / small.length();
+
+    final long smallVisits = visits(small) * times;
+    assertThat("visited characters of the lazy decoding", visits(large), lessThanOrEqualTo((long) (smallVisits * MAX_COST_RATIO)));
+
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+    for (Hashids instance : new Hashids[] {hashids, reference}) {
+      final long smallBytes = allocated(threadBean, instance, small, times);
+      final long largeBytes = allocated(threadBean, instance, large, 1);
+      assertThat("allocated bytes of " + instance, largeBytes, lessThanOrEqualTo((long) (smallBytes * MAX_COST_RATIO) + ALLOCATION_SLACK));
+    }
+  }
+
+  /**
+   * Counts the characters of the given hash that are visited by the lazy decoding until the iterator is exhausted or the hash is rejected.
+   */
+  private long visits(final String hash) {
+    final CountingCharSequence counting = new CountingCharSequence(hash);
+    final PrimitiveIterator.OfLong iterator = hashids.decodeIterator(counting, Hashids.Verification.INCREMENTAL);
+    try {
+      while (iterator.hasNext()) {
+        iterator.nextLong();
+      }
+    } catch (final IllegalArgumentException e) {
+      // The hash has been rejected
+    }
+    return counting.visits;
+  }
+
+  /**
+   * Measures the bytes allocated by the current thread to decode the given hash the given amount of times.
+   */
+  private static long allocated(final com.sun.management.ThreadMXBean threadBean, final Hashids instance, final String hash, final int times) {
+    final long threadId = Thread.currentThread().getId();
+    final long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int idx = 0; idx < times; idx++) {
+      instance.decode(hash);
+    }
+    return threadBean.getThreadAllocatedBytes(threadId) - before;
+  }
+
+  private static String repeat(final char c, final int length) {
+    final char[] chars = new char[length];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+
+  /**
+   * A character sequence that counts the reads of its characters.
+   */
+  private static final class CountingCharSequence implements CharSequence {
+
+    private final String text;
+    private long visits;
+
+    private CountingCharSequence(final String text) {
+      this.text = text;
+    }
+
+    @Override
+    public int length() {
+      return text.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+      visits++;
+      return text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      visits += end - start;
+      return text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      visits += text.length();
+      return text;
+    }
+  }
+}
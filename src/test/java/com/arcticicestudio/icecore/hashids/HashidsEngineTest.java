@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Differential tests of all available {@link HashidsEngine engines} against the {@link ReferenceHashidsEngine reference engine}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsEngineTest {
+
+  private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890!#$%&()*+,-./:;<=>?@[]^_{|}~";
+  private static final int CONFIGURATIONS = 300;
+  private static final int SAMPLES = 40;
+
+  /**
+   * The features that are randomly enabled since they change the transformation or its handling of invalid input.
+   */
+  private static final HashidsFeature[] DIFFERENTIAL_FEATURES = {
+    HashidsFeature.CHECK_CHARACTER, HashidsFeature.EXCEPTION_HANDLING, HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE, HashidsFeature.UNSIGNED
+  };
+
+  /**
+   * The builder methods with which the instances of the engines under test are randomly built.
+   */
+  private static final String[] MODES = {"build", "precompute", "compile"};
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void builtInEnginesAvailable() {
+    assertThat(Hashids.getEngineNames(), hasItems(DefaultHashidsEngine.NAME, ReferenceHashidsEngine.NAME));
+  }
+
+  @Test
+  public void unknownEngine() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("unknown engine: none");
+    new Hashids.Builder()
+      .engine("none")
+      .build();
+  }
+
+  @Test
+  public void randomizedDifferentialTranscoding() {
+    final Random random = new Random(20170813L);
+    for (int configuration = 0; configuration < CONFIGURATIONS; configuration++) {
+      final EnumSet<HashidsFeature> features = randomFeatures(random);
+      final Hashids.Builder builder = randomBuilder(random, features);
+      final Hashids reference = builder.engine(ReferenceHashidsEngine.NAME).build();
+      // The modes of the builder are only enabled for the engines under test
+      final boolean parallel = random.nextBoolean();
+      if (parallel) {
+        builder.parallel(1 + random.nextInt(64));
+      }
+      for (String engine : Hashids.getEngineNames()) {
+        final int mode = random.nextInt(3);
+        builder.engine(engine);
+        final Hashids hashids = mode == 0 ? builder.build() : mode == 1 ? builder.precompute() : builder.compile();
+        final Random samples = new Random(configuration);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+          final long[] numbers = randomNumbers(samples, features);
+          final String hash = reference.encode(numbers);
+          final String message = String.format("engine %s (%s, parallel %b) with %s and input %s", engine, MODES[mode], parallel, reference,
+            Arrays.toString(numbers));
+          assertThat(message, hashids.encode(numbers), equalTo(hash));
+          assertThat(message, hashids.decode(hash), equalTo(reference.decode(hash)));
+          assertThat(message, hashids.decode(hash), equalTo(numbers));
+
+          // Corrupted hashes must be rejected or resolved identically, including the exception if the exception handling is enabled
+          final String corrupted = corrupt(samples, hash);
+          assertThat(message + " corrupted to " + corrupted, decode(hashids, corrupted), equalTo(decode(reference, corrupted)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Decodes the given hash into a comparable representation of either the numbers or the thrown exception.
+   */
+  private static String decode(final Hashids hashids, final String hash) {
+    try {
+      return Arrays.toString(hashids.decode(hash));
+    } catch (final IllegalArgumentException e) {
+      return e.toString();
+    }
+  }
+
+  private static EnumSet<HashidsFeature> randomFeatures(final Random random) {
+    final EnumSet<HashidsFeature> features = EnumSet.noneOf(HashidsFeature.class);
+    for (HashidsFeature feature : DIFFERENTIAL_FEATURES) {
+      if (random.nextBoolean()) {
+        features.add(feature);
+      }
+    }
+    return features;
+  }
+
+  private static Hashids.Builder randomBuilder(final Random random, final EnumSet<HashidsFeature> features) {
+    final List<Character> characters = new ArrayList<>();
+    for (char c : CHARACTERS.toCharArray()) {
+      characters.add(c);
+    }
+    Collections.shuffle(characters, random);
+    final StringBuilder alphabet = new StringBuilder();
+    characters.subList(0, 16 + random.nextInt(characters.size() - 16)).forEach(alphabet::append);
+
+    final StringBuilder salt = new StringBuilder();
+    for (int idx = random.nextInt(3) == 0 ? 0 : random.nextInt(100); idx > 0; idx--) {
+      salt.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+    }
+
+    return new Hashids.Builder()
+      .salt(salt.toString())
+      .alphabet(alphabet.toString())
+      .minLength(random.nextBoolean() ? 0 : random.nextInt(120))
+      .features(features.toArray(new HashidsFeature[0]));
+  }
+
+  private static long[] randomNumbers(final Random random, final EnumSet<HashidsFeature> features) {
+    final boolean unsigned = features.contains(HashidsFeature.UNSIGNED);
+    final boolean unlimited = unsigned || features.contains(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE);
+    // Hashes with more numbers than a chunk are split by the parallel mode
+    final int length = random.nextInt(SAMPLES * 8) == 0 ? DefaultHashidsEngine.CHUNK_SIZE * 2 + random.nextInt(100) : 1 + random.nextInt(random.nextBoolean() ? 3 : 40);
+    final long[] numbers = new long[length];
+    for (int idx = 0; idx < numbers.length; idx++) {
+      switch (random.nextInt(3)) {
+        case 0:
+          numbers[idx] = random.nextInt(1000);
+          break;
+        case 1:
+          numbers[idx] = random.nextInt() >>> 1;
+          break;
+        default:
+          if (unsigned) {
+            numbers[idx] = random.nextLong();
+          } else {
+            numbers[idx] = unlimited ? random.nextLong() >>> 1 : (random.nextLong() >>> 1) % (Hashids.MAX_INTEROP_NUMBER_SIZE + 1);
+          }
+      }
+    }
+    return numbers;
+  }
+
+  private static String corrupt(final Random random, final String hash) {
+    final char[] chars = hash.toCharArray();
+    switch (random.nextInt(3)) {
+      case 0:
+        final int idx = random.nextInt(chars.length);
+        chars[idx] = hash.charAt(random.nextInt(chars.length));
+        return new String(chars);
+      case 1:
+        return hash.substring(0, random.nextInt(hash.length()));
+      default:
+        return hash + hash.charAt(random.nextInt(chars.length));
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Optional;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Units tests for the {@link HashidsKeyRing} multi-configuration decoding.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsKeyRingTest {
+
+  private final Hashids salt = new Hashids.Builder().salt("salt").build();
+  private final Hashids pepper = new Hashids.Builder().salt("pepper").minLength(16).build();
+  private final Hashids symbols = new Hashids.Builder().alphabet("!#$%&'()*+,-./:;<=>?@[]^_`{|}~").build();
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void decodeWithAnyConfiguration() {
+    final HashidsKeyRing keyRing = new HashidsKeyRing(pepper, salt, symbols);
+    assertThat(keyRing.encode(123456L), equalTo(pepper.encode(123456L)));
+    for (Hashids hashids : new Hashids[] {salt, pepper, symbols}) {
+      for (long number = 0; number < 2000; number += 7) {
+        final String hash = hashids.encode(number, 3333L);
+        final Optional<HashidsKeyRing.Match> match = keyRing.match(hash);
+        assertThat(hash, match.isPresent(), equalTo(true));
+        assertThat(match.get().getNumbers(), equalTo(hashids.decode(hash)));
+      }
+    }
+    assertThat(keyRing.match(salt.encode(123456L)).get().getIndex(), equalTo(1));
+    assertThat(keyRing.match(symbols.encode(123456L)).get().getHashids(), equalTo(symbols));
+  }
+
+  @Test
+  public void decodeWithCheckCharacter() {
+    final Hashids checked = new Hashids.Builder().salt("pepper").minLength(16).features(HashidsFeature.CHECK_CHARACTER).build();
+    final HashidsKeyRing keyRing = new HashidsKeyRing(checked, salt);
+    for (long number = 0; number < 2000; number += 7) {
+      final String hash = checked.encode(number);
+      assertThat(hash, keyRing.decode(hash), equalTo(new long[] {number}));
+    }
+  }
+
+  @Test
+  public void decodeInvalidHash() {
+    final HashidsKeyRing keyRing = new HashidsKeyRing(salt, pepper);
+    assertThat(keyRing.decode("yogurt"), equalTo(new long[0]));
+    assertThat(keyRing.decode("()"), equalTo(new long[0]));
+    assertThat(keyRing.decode(""), equalTo(new long[0]));
+    assertThat(keyRing.decode(null), equalTo(new long[0]));
+    assertThat(keyRing.decode(symbols.encode(123456L)), equalTo(new long[0]));
+  }
+
+  @Test
+  public void rotateConfigurations() {
+    final HashidsKeyRing keyRing = new HashidsKeyRing(salt);
+    final String oldHash = keyRing.encode(123456L);
+    keyRing.rotate(pepper);
+    assertThat(keyRing.getConfigurations(), contains(pepper, salt));
+    assertThat(keyRing.encode(123456L), equalTo(pepper.encode(123456L)));
+    assertThat(keyRing.decode(oldHash), equalTo(new long[] {123456L}));
+
+    keyRing.update(configurations -> {
+      configurations.remove(salt);
+      return configurations;
+    });
+    assertThat(keyRing.getConfigurations(), contains(pepper));
+    assertThat(keyRing.decode(oldHash), equalTo(new long[0]));
+  }
+
+  @Test
+  public void noConfigurations() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("amount of configurations must be between 1 and 64: 0");
+    new HashidsKeyRing();
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Units tests for the {@link HashidsScanner} streaming hash scanner.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsScannerTest {
+
+  private final Hashids hashids = new Hashids.Builder().salt("salt").minLength(8).build();
+
+  private static List<String> collect(final List<String> found, final long offset, final int length, final long[] numbers) {
+    found.add(offset + ":" + length + ":" + Arrays.toString(numbers));
+    return found;
+  }
+
+  private String text(final List<String> expected) {
+    final StringBuilder text = new StringBuilder("häßlich {");
+    for (long number = 0; number < 500; number++) {
+      final String hash = hashids.encode(number, number * 7);
+      text.append(" user=");
+      expected.add(text.length() + ":" + hash.length() + ":" + Arrays.toString(new long[] {number, number * 7}));
+      text.append(hash).append(", action=delete longwordsthatarenothashes");
+    }
+    return text.append('}').toString();
+  }
+
+  @Test
+  public void scanCharSequence() {
+    final List<String> expected = new ArrayList<>();
+    final String text = text(expected);
+    final List<String> found = new ArrayList<>();
+    new HashidsScanner(hashids).scan(text, (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found, equalTo(expected));
+  }
+
+  @Test
+  public void scanReader() throws IOException {
+    final List<String> expected = new ArrayList<>();
+    final String text = text(expected);
+    final List<String> found = new ArrayList<>();
+    // Read a few characters at a time to force runs across buffer boundaries
+    final Reader reader = new StringReader(text) {
+      @Override
+      public int read(final char[] buffer, final int off, final int len) throws IOException {
+        return super.read(buffer, off, Math.min(len, 5));
+      }
+    };
+    new HashidsScanner(hashids).scan(reader, (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found, equalTo(expected));
+  }
+
+  @Test
+  public void scanReaderDropsLongRuns() throws IOException {
+    for (Hashids limited : new Hashids[] {hashids, new Hashids.Builder().salt("salt").minLength(8).maxHashLength(32).build()}) {
+      final String hash = limited.encode(42L);
+      final String tail = " " + hash + " ";
+      final int run = HashidsScanner.MAX_RUN_LENGTH * 16;
+      final int[] maxBuffer = new int[1];
+      // A long run of valid characters that is generated lazily followed by a hash
+      final Reader reader = new Reader() {
+        private int position;
+
+        @Override
+        public int read(final char[] buffer, final int off, final int len) {
+          maxBuffer[0] = Math.max(maxBuffer[0], buffer.length);
+          if (position == run + tail.length()) {
+            return -1;
+          }
+          final int count = Math.min(len, run + tail.length() - position);
+          for (int idx = 0; idx < count; idx++, position++) {
+            buffer[off + idx] = position < run ? 'a' : tail.charAt(position - run);
+          }
+          return count;
+        }
+
+        @Override
+        public void close() {
+        }
+      };
+      final List<String> found = new ArrayList<>();
+      new HashidsScanner(limited).scan(reader, (offset, length, numbers) -> collect(found, offset, length, numbers));
+      assertThat(found, equalTo(Collections.singletonList((run + 1) + ":" + hash.length() + ":[42]")));
+      assertThat(maxBuffer[0] <= HashidsScanner.MAX_RUN_LENGTH * 2, equalTo(true));
+    }
+  }
+
+  @Test
+  public void scanByteBuffer() {
+    final List<String> charOffsets = new ArrayList<>();
+    final String text = text(charOffsets);
+    final byte[] bytes = ("x" + text).getBytes(UTF_8);
+    // The two umlauts of the prefix are encoded with two bytes each
+    final List<String> expected = new ArrayList<>();
+    for (String hash : charOffsets) {
+      final int separator = hash.indexOf(':');
+      expected.add((Integer.parseInt(hash.substring(0, separator)) + 2) + hash.substring(separator));
+    }
+    final List<String> found = new ArrayList<>();
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    buffer.position(1);
+    new HashidsScanner(hashids).scan(buffer, (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found, equalTo(expected));
+    assertThat(buffer.position(), equalTo(1));
+  }
+
+  @Test
+  public void scanWithoutHashes() {
+    final List<String> found = new ArrayList<>();
+    new HashidsScanner(hashids).scan("", (offset, length, numbers) -> collect(found, offset, length, numbers));
+    new HashidsScanner(hashids).scan("no hashes in here, only some words", (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found.isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void scanBeyondMaxArityWithExceptionHandling() {
+    final Hashids limited = new Hashids.Builder().salt("salt").minLength(8).maxArity(1).features(HashidsFeature.EXCEPTION_HANDLING).build();
+    final String hash = limited.encode(7L);
+    final String text = "see " + hashids.encode(1L, 2L) + " here and " + hash + " there";
+    final List<String> found = new ArrayList<>();
+    new HashidsScanner(limited).scan(text, (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found, equalTo(Collections.singletonList(text.indexOf(hash) + ":" + hash.length() + ":[7]")));
+  }
+
+  @Test
+  public void scanBeyondFixedWidthWithExceptionHandling() {
+    final Hashids fixed = new Hashids.Builder().salt("salt").fixedWidth(1, 1000L).features(HashidsFeature.EXCEPTION_HANDLING).build();
+    final Hashids plain = new Hashids.Builder().salt("salt").minLength(fixed.encode(1000L).length()).build();
+    final String hash = fixed.encode(1000L);
+    final String text = "see " + plain.encode(999_999L) + " and " + plain.encode(1500L) + " here and " + hash + " there";
+    final List<String> found = new ArrayList<>();
+    new HashidsScanner(fixed).scan(text, (offset, length, numbers) -> collect(found, offset, length, numbers));
+    assertThat(found, equalTo(Collections.singletonList(text.indexOf(hash) + ":" + hash.length() + ":[1000]")));
+  }
+}
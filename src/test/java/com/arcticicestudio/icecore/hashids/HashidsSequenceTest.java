@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Units tests for the {@link HashidsSequence} allocator.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsSequenceTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void sequentialHashesMatchEncoding() {
+    final Hashids[] instances = {
+      new Hashids(),
+      new Hashids.Builder().salt("salt").alphabet("abcdefghij1234560").build(),
+      new Hashids.Builder().salt("salt").minLength(8).build()
+    };
+    for (Hashids hashids : instances) {
+      final HashidsSequence sequence = new HashidsSequence.Builder(hashids)
+        .blockSize(97)
+        .build();
+      for (long number = 0; number < 20000; number++) {
+        final HashidsSequence.Entry entry = sequence.next();
+        assertThat(entry.getNumber(), equalTo(number));
+        assertThat(entry.getHash(), equalTo(hashids.encode(number)));
+      }
+    }
+  }
+
+  @Test
+  public void concurrentAllocationIsUnique() throws Exception {
+    final Hashids hashids = new Hashids.Builder().salt("salt").build();
+    final HashidsSequence sequence = new HashidsSequence.Builder(hashids)
+      .blockSize(64)
+      .build();
+    final Set<Long> numbers = ConcurrentHashMap.newKeySet();
+    final Set<String> hashes = ConcurrentHashMap.newKeySet();
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int idx = 0; idx < 10000; idx++) {
+            final HashidsSequence.Entry entry = sequence.next();
+            numbers.add(entry.getNumber());
+            hashes.add(entry.getHash());
+            assertThat(hashids.decode(entry.getHash()), equalTo(new long[] {entry.getNumber()}));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(numbers.size(), equalTo(80000));
+    assertThat(hashes.size(), equalTo(80000));
+  }
+
+  @Test
+  public void restartContinuesAboveHighWaterMark() {
+    final Path file = folder.getRoot().toPath().resolve("sequence");
+    final Hashids hashids = new Hashids();
+    final HashidsSequence sequence = new HashidsSequence.Builder(hashids)
+      .blockSize(10)
+      .reservedBlocks(3)
+      .store(new HashidsSequence.FileStore(file))
+      .build();
+    long last = 0;
+    for (int idx = 0; idx < 45; idx++) {
+      last = sequence.next().getNumber();
+    }
+    assertThat(sequence.getHighWaterMark(), equalTo(60L));
+
+    final HashidsSequence restarted = new HashidsSequence.Builder(hashids)
+      .blockSize(10)
+      .store(new HashidsSequence.FileStore(file))
+      .build();
+    final HashidsSequence.Entry entry = restarted.next();
+    assertThat(entry.getNumber(), greaterThanOrEqualTo(last + 1));
+    assertThat(entry.getNumber(), equalTo(60L));
+    assertThat(entry.getHash(), equalTo(hashids.encode(60L)));
+  }
+
+  @Test
+  public void maximumNumberSizeExceeded() {
+    final HashidsSequence sequence = new HashidsSequence.Builder(new Hashids())
+      .store(new HashidsSequence.Store() {
+        @Override
+        public long load() {
+          return Hashids.MAX_INTEROP_NUMBER_SIZE;
+        }
+
+        @Override
+        public void store(final long highWaterMark) {
+        }
+      })
+      .blockSize(1)
+      .build();
+    assertThat(sequence.next().getNumber(), equalTo(Hashids.MAX_INTEROP_NUMBER_SIZE));
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("sequence exceeded the maximum number size: 9007199254740991");
+    sequence.next();
+  }
+
+  @Test
+  public void limitedByFixedWidthAndMaximumHashLength() {
+    final Hashids[] instances = {
+      new Hashids.Builder().fixedWidth(1, 5).build(),
+      new Hashids.Builder().salt("salt").alphabet("abcdefghij1234560").maxHashLength(3).build()
+    };
+    for (Hashids hashids : instances) {
+      final HashidsSequence sequence = new HashidsSequence.Builder(hashids)
+        .blockSize(4)
+        .build();
+      final long maxNumber = hashids.getMaxNumber();
+      for (long number = 0; number <= maxNumber; number++) {
+        final HashidsSequence.Entry entry = sequence.next();
+        assertThat(entry.getNumber(), equalTo(number));
+        assertThat(entry.getHash(), equalTo(hashids.encode(number)));
+        assertThat(hashids.decode(entry.getHash()), equalTo(new long[] {number}));
+      }
+      assertThat(hashids.encode(maxNumber + 1), equalTo(""));
+      try {
+        sequence.next();
+        throw new AssertionError("sequence must not exceed the maximum number: " + maxNumber);
+      } catch (IllegalStateException e) {
+        assertThat(e.getMessage(), equalTo("sequence exceeded the maximum number size: " + maxNumber));
+      }
+    }
+  }
+
+  @Test
+  public void invalidBlockSize() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("block size must be greater than or equal to one: 0");
+    new HashidsSequence.Builder(new Hashids())
+      .blockSize(0)
+      .build();
+  }
+}
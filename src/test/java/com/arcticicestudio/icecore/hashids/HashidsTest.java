@@ -17,7 +17,16 @@ import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.stream.LongStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -176,6 +185,85 @@ public class HashidsTest {
     assertThat(hashids.decodeOne("61a0425343002gd3"), equalTo(Optional.of(123456L)));
   }
 
+  @Test
+  public void transcodeWithLargeAlphabet() {
+    final StringBuilder alphabet = new StringBuilder();
+    for (char c = '!'; alphabet.length() < 300; c++) {
+      alphabet.append(c);
+    }
+    Hashids hashids = new Hashids.Builder()
+      .alphabet(alphabet.toString())
+      .build();
+    final String hash = hashids.encode(11L, 222L, 3333L, Hashids.MAX_INTEROP_NUMBER_SIZE);
+    assertThat(hashids.decode(hash), equalTo(new long[] {11L, 222L, 3333L, Hashids.MAX_INTEROP_NUMBER_SIZE}));
+  }
+
+  @Test
+  public void transcodeWithPrecomputedInstance() {
+    final Hashids.Builder[] builders = {
+      new Hashids.Builder(),
+      new Hashids.Builder().salt("salt").minLength(16),
+      new Hashids.Builder().salt("a salt that is much longer than the custom alphabet").alphabet("abcdefghij1234560"),
+      new Hashids.Builder().alphabet("!#$%&'()*+,-./:;<=>?@[]^_`{|}~").minLength(32)
+    };
+    for (Hashids.Builder builder : builders) {
+      final Hashids hashids = builder.build();
+      final Hashids precomputed = builder.precompute();
+      assertThat(precomputed, equalTo(hashids));
+      for (long number = 0; number < 500; number++) {
+        final String hash = hashids.encode(number, number * 31L, 3333L);
+        assertThat(precomputed.encode(number, number * 31L, 3333L), equalTo(hash));
+        assertThat(precomputed.encode(number), equalTo(hashids.encode(number)));
+        assertThat(precomputed.decode(hash), equalTo(new long[] {number, number * 31L, 3333L}));
+      }
+    }
+  }
+
+  @Test
+  public void transcodeWithCompiledInstance() {
+    final StringBuilder largeAlphabet = new StringBuilder("abcdefghijklmnopqrstuvwxyz");
+    for (char c = '\u0100'; c < '\u0200'; c++) {
+      largeAlphabet.append(c);
+    }
+    final Hashids.Builder[] builders = {
+      new Hashids.Builder(),
+      new Hashids.Builder().salt("salt").minLength(16),
+      new Hashids.Builder().salt("a salt that is much longer than the custom alphabet").alphabet("abcdefghij1234560"),
+      new Hashids.Builder().alphabet("!#$%&'()*+,-./:;<=>?@[]^_`{|}~").minLength(32),
+      new Hashids.Builder().salt("salt").alphabet(largeAlphabet.toString()),
+      new Hashids.Builder().salt("salt").features(HashidsFeature.UNSIGNED, HashidsFeature.CHECK_CHARACTER).engine(ReferenceHashidsEngine.NAME),
+      new Hashids.Builder().salt("salt").parallel(2)
+    };
+    for (Hashids.Builder builder : builders) {
+      final Hashids hashids = builder.build();
+      final Hashids compiled = builder.compile();
+      assertThat(compiled, equalTo(hashids));
+      for (long number = 0; number < 500; number++) {
+        final String hash = hashids.encode(number, number * 31L, 3333L);
+        assertThat(compiled.encode(number, number * 31L, 3333L), equalTo(hash));
+        assertThat(compiled.encode(number), equalTo(hashids.encode(number)));
+        assertThat(compiled.encode(LongBuffer.wrap(new long[] {number, 7L}).asReadOnlyBuffer()), equalTo(hashids.encode(number, 7L)));
+        assertThat(compiled.decode(hash), equalTo(new long[] {number, number * 31L, 3333L}));
+        assertThat(compiled.decode(hash.substring(1)), equalTo(hashids.decode(hash.substring(1))));
+      }
+    }
+  }
+
+  @Test
+  public void compileCodecClass() {
+    final HashidsEngine.Configuration configuration = new Hashids.Builder().salt("salt").minLength(8).compile().getConfiguration();
+    final HashidsEngine.Codec codec = CodecCompiler.compile(new DefaultHashidsEngine(), configuration);
+    assertThat(codec.getClass().getName().startsWith(CodecCompiler.CLASS_NAME), equalTo(true));
+    assertThat(CodecCompiler.compile(new DefaultHashidsEngine(), configuration).getClass(), not(equalTo(codec.getClass())));
+    assertThat(codec.decode(codec.encode(new long[] {1L, 2L, 3L})), equalTo(new long[] {1L, 2L, 3L}));
+    assertThat(codec.encode(new long[] {0L, 1L, 2L, 3L}, 1, 3), equalTo(codec.encode(new long[] {1L, 2L, 3L})));
+    assertThat(codec.decode("#"), equalTo(null));
+
+    final HashidsEngine.Codec fallback = CodecCompiler.compile(new ReferenceHashidsEngine(), configuration);
+    assertThat(fallback.getClass().getName().startsWith(CodecCompiler.CLASS_NAME), equalTo(false));
+    assertThat(fallback.encode(new long[] {1L, 2L, 3L}), equalTo(codec.encode(new long[] {1L, 2L, 3L})));
+  }
+
   @Test
   public void transcodeMaximumNumberSize() {
     Hashids hashids = new Hashids.Builder().build();
@@ -383,6 +471,652 @@ public class HashidsTest {
     assertThat(hashids.decodeOne("[]"), equalTo(Optional.empty()));
   }
 
+  @Test
+  public void decodeIterator() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .minLength(16)
+      .build();
+    for (Hashids.Verification verification : Hashids.Verification.values()) {
+      final PrimitiveIterator.OfLong iterator = hashids.decodeIterator("Wnj37NfvoFvAJmze", verification);
+      assertThat(iterator.nextLong(), equalTo(11L));
+      assertThat(iterator.nextLong(), equalTo(222L));
+      assertThat(iterator.nextLong(), equalTo(3333L));
+      assertThat(iterator.hasNext(), equalTo(false));
+    }
+    assertThat(hashids.decodeIterator("").hasNext(), equalTo(false));
+    assertThat(hashids.decodeIterator("()").hasNext(), equalTo(false));
+    assertThat(hashids.decodeIterator(null).hasNext(), equalTo(false));
+  }
+
+  @Test
+  public void decodeIteratorEarlyExit() {
+    final Hashids hashids = new Hashids.Builder().build();
+    final long[] numbers = LongStream.range(0, 1000).toArray();
+    final StringBuilder hash = new StringBuilder(hashids.encode(numbers));
+    // Tamper the last block which must not affect the leading numbers
+    final char last = hash.charAt(hash.length() - 1);
+    hash.setCharAt(hash.length() - 1, hash.charAt(0) != last ? hash.charAt(0) : hash.charAt(1));
+    final PrimitiveIterator.OfLong iterator = hashids.decodeIterator(hash);
+    assertThat(iterator.nextLong(), equalTo(0L));
+    assertThat(iterator.nextLong(), equalTo(1L));
+  }
+
+  @Test
+  public void decodeIteratorIncrementalVerification() {
+    final Hashids hashids = new Hashids.Builder().build();
+    // The separator between both blocks does not match the first number
+    final String hash = hashids.encode(11L, 222L);
+    final char separator = hash.charAt(hashids.encode(11L).length());
+    final String tampered = hash.replace(separator, separator == 'c' ? 'f' : 'c');
+    final PrimitiveIterator.OfLong exhaustion = hashids.decodeIterator(tampered, Hashids.Verification.EXHAUSTION);
+    assertThat(exhaustion.nextLong(), equalTo(11L));
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("invalid hash: " + tampered);
+    hashids.decodeIterator(tampered, Hashids.Verification.INCREMENTAL).nextLong();
+  }
+
+  @Test
+  public void decodeIteratorExhaustionVerification() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .build();
+    final Hashids hashidsPepper = new Hashids.Builder()
+      .salt("pepper")
+      .build();
+    final PrimitiveIterator.OfLong iterator = hashids.decodeIterator(hashidsPepper.encode(123456L), Hashids.Verification.EXHAUSTION);
+    iterator.nextLong();
+    thrown.expect(IllegalArgumentException.class);
+    iterator.hasNext();
+  }
+
+  @Test
+  public void maxEncodedLength() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .build();
+    for (int arity = 1; arity <= 4; arity++) {
+      for (long maxValue : new long[] {0L, 1L, 43L, 44L, 1936L, 123456789L, Hashids.MAX_INTEROP_NUMBER_SIZE}) {
+        final long[] numbers = new long[arity];
+        int maxLength = 0;
+        for (long number : new long[] {0L, maxValue / 2, maxValue}) {
+          Arrays.fill(numbers, number);
+          maxLength = Math.max(maxLength, hashids.encode(numbers).length());
+        }
+        assertThat(hashids.maxEncodedLength(arity, maxValue), equalTo(maxLength));
+      }
+    }
+    assertThat(new Hashids.Builder().minLength(32).build().maxEncodedLength(2, 1000L), equalTo(32));
+  }
+
+  @Test
+  public void maxEncodedLengthInvalidArity() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("arity must be greater than or equal to one: 0");
+    new Hashids().maxEncodedLength(0, 1L);
+  }
+
+  @Test
+  public void encodeFixedWidth() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .fixedWidth(2, 100_000L)
+      .build();
+    final int width = hashids.maxEncodedLength(2, 100_000L);
+    for (long number = 0; number <= 100_000L; number += 997) {
+      final String single = hashids.encode(number);
+      final String pair = hashids.encode(number, 100_000L - number);
+      assertThat(single.length(), equalTo(width));
+      assertThat(pair.length(), equalTo(width));
+      assertThat(hashids.decode(single), equalTo(new long[] {number}));
+      assertThat(hashids.decode(pair), equalTo(new long[] {number, 100_000L - number}));
+    }
+    assertThat(hashids.encode(100_001L), emptyString());
+    assertThat(hashids.encode(1L, 2L, 3L), emptyString());
+  }
+
+  @Test
+  public void decodeFixedWidthExceedingHash() {
+    final Hashids unbounded = new Hashids.Builder()
+      .salt("salt")
+      .minLength(new Hashids.Builder().salt("salt").fixedWidth(2, 100_000L).build().maxEncodedLength(2, 100_000L))
+      .build();
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .fixedWidth(2, 100_000L)
+      .build();
+    assertThat(hashids.decode(unbounded.encode(1L, 2L, 3L)), equalTo(new long[0]));
+    assertThat(hashids.decode(unbounded.encode(100_001L)), equalTo(new long[0]));
+  }
+
+  @Test
+  public void encodeFixedWidthExceedingNumberWithExceptionHandling() {
+    final Hashids hashids = new Hashids.Builder()
+      .fixedWidth(1, 1000L)
+      .features(EXCEPTION_HANDLING)
+      .build();
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("number must not exceed the maximum value of the fixed width: 1001 > 1000");
+    hashids.encode(1001L);
+  }
+
+  @Test
+  public void transcodeWithDenseTable() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .minLength(6)
+      .build();
+    final Hashids dense = new Hashids.Builder()
+      .salt("salt")
+      .minLength(6)
+      .dense(10_000)
+      .build();
+    for (long number = 0; number < 20_000; number += 3) {
+      final String hash = hashids.encode(number);
+      assertThat(dense.encode(number), equalTo(hash));
+      assertThat(dense.decode(hash), equalTo(new long[] {number}));
+    }
+    assertThat(dense.encode(1L, 2L), equalTo(hashids.encode(1L, 2L)));
+    assertThat(dense.decode(hashids.encode(1L, 2L)), equalTo(new long[] {1L, 2L}));
+    assertThat(dense.decode("()"), equalTo(new long[0]));
+    assertThat(dense.encode(-1L), emptyString());
+  }
+
+  @Test
+  public void invalidDenseSize() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("dense size must be between 0 and 16777216: -1");
+    new Hashids.Builder()
+      .dense(-1)
+      .build();
+  }
+
+  @Test
+  public void transcodeParallel() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .minLength(12)
+      .build();
+    final Hashids parallel = new Hashids.Builder()
+      .salt("salt")
+      .minLength(12)
+      .parallel(2)
+      .build();
+    final int chunk = DefaultHashidsEngine.CHUNK_SIZE;
+    for (int size : new int[] {1, 2, chunk - 1, chunk, chunk + 1, 5 * chunk + 3}) {
+      final long[] numbers = LongStream.range(0, size).map(idx -> idx * idx * 31 % 1_000_003).toArray();
+      final String hash = hashids.encode(numbers);
+      assertThat(parallel.encode(numbers), equalTo(hash));
+      assertThat(parallel.decode(hash), equalTo(numbers));
+
+      // Corrupt a block within the last chunk
+      final char[] corrupted = hash.toCharArray();
+      final int idx = corrupted.length - 3;
+      corrupted[idx] = corrupted[idx] == corrupted[idx - 1] ? corrupted[idx + 1] : corrupted[idx - 1];
+      assertThat(parallel.decode(new String(corrupted)), equalTo(hashids.decode(new String(corrupted))));
+    }
+  }
+
+  @Test
+  public void invalidParallelThreshold() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("parallel threshold must be greater than or equal to one: 0");
+    new Hashids.Builder()
+      .parallel(0)
+      .build();
+  }
+
+  @Test
+  public void encodeSortable() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .fixedWidth(2, 1_000_000L)
+      .features(HashidsFeature.SORTABLE)
+      .build();
+    final int width = hashids.maxEncodedLength(2, 1_000_000L);
+    String previous = "";
+    for (long number = 0; number <= 1_000_000L; number += 7919) {
+      final String hash = hashids.encode(number, 1_000_000L - number);
+      assertThat(hash.length(), equalTo(width));
+      assertThat(hash.compareTo(previous) > 0, equalTo(true));
+      assertThat(hashids.decode(hash), equalTo(new long[] {number, 1_000_000L - number}));
+      assertThat(hashids.decode(hashids.encode(number)), equalTo(new long[] {number}));
+      assertThat(hash.startsWith(hashids.encode(number)), equalTo(true));
+      previous = hash;
+    }
+    assertThat(hashids.encode(1_000_001L), emptyString());
+    assertThat(hashids.decode(previous.substring(1)), equalTo(new long[0]));
+    assertThat(hashids.decodeIterator(previous).nextLong(), equalTo(hashids.decode(previous)[0]));
+    assertThat(hashids.encode(42L), not(equalTo(new Hashids.Builder()
+      .salt("pepper")
+      .fixedWidth(2, 1_000_000L)
+      .features(HashidsFeature.SORTABLE)
+      .build()
+      .encode(42L))));
+  }
+
+  @Test
+  public void sortableWithoutFixedWidth() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("sortable feature requires a fixed width!");
+    new Hashids.Builder()
+      .features(HashidsFeature.SORTABLE)
+      .build();
+  }
+
+  @Test
+  public void sortableWithMinLength() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("sortable feature does not support a minimum hash length: 8");
+    new Hashids.Builder()
+      .minLength(8)
+      .fixedWidth(1, 1000L)
+      .features(HashidsFeature.SORTABLE)
+      .build();
+  }
+
+  @Test
+  public void encodeRouted() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .minLength(8)
+      .routing(16)
+      .build();
+    final Set<Character> firstChars = new HashSet<>();
+    for (long number = 0; number < 1000; number += 7) {
+      for (int routingKey = 0; routingKey < 16; routingKey++) {
+        final String hash = hashids.encodeRouted(routingKey, number, 42L);
+        assertThat(hash.length() <= hashids.maxEncodedLength(2, 1000L), equalTo(true));
+        assertThat(hashids.routingKey(hash), equalTo(routingKey));
+        assertThat(hashids.decode(hash), equalTo(new long[] {number, 42L}));
+        if (routingKey == 3) {
+          firstChars.add(hash.charAt(0));
+        }
+      }
+    }
+    assertThat(firstChars.size() > 1, equalTo(true));
+    assertThat(hashids.encode(42L), emptyString());
+    assertThat(hashids.encodeRouted(16, 42L), emptyString());
+    assertThat(hashids.encodeRouted(-1, 42L), emptyString());
+    assertThat(hashids.routingKey("a"), equalTo(-1));
+    assertThat(hashids.routingKey(null), equalTo(-1));
+    assertThat(hashids.routingKey("()"), equalTo(-1));
+
+    final String hash = hashids.encodeRouted(5, 42L);
+    assertThat(hashids.decode(hash.substring(1)), equalTo(new long[0]));
+    assertThat(hashids.decodeIterator(hash).nextLong(), equalTo(42L));
+    assertThat(hashids.decodeRouted(hash), equalTo(new long[] {5L, 42L}));
+  }
+
+  @Test
+  public void decodeRoutedRejectsChangedRoutingKey() {
+    final Hashids hashids = new Hashids.Builder()
+      .routing(16)
+      .build();
+    final String hash = hashids.encodeRouted(3, 12345L);
+    assertThat(hashids.decode(hash), equalTo(new long[] {12345L}));
+    assertThat(hashids.decodeRouted(hash), equalTo(new long[] {3L, 12345L}));
+    int changed = 0;
+    for (char c : hashids.getConfiguration().getAlphabet()) {
+      final String routed = c + hash.substring(1);
+      if (c != hash.charAt(0) && hashids.routingKey(routed) >= 0) {
+        assertThat(hashids.decode(routed), equalTo(new long[0]));
+        assertThat(hashids.decodeRouted(routed), equalTo(new long[0]));
+        changed++;
+      }
+    }
+    assertThat(changed, equalTo(15));
+    assertThat(new Hashids.Builder().build().decodeRouted(hash), equalTo(new long[0]));
+  }
+
+  @Test
+  public void decodeRoutedWithoutRouting() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("routing mode must be enabled to decode a routing key!");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .decodeRouted("a");
+  }
+
+  @Test
+  public void encodeRoutedWithoutRouting() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("routing mode must be enabled to encode a routing key!");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encodeRouted(0, 42L);
+  }
+
+  @Test
+  public void encodeWithoutRoutingKey() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("hashes of the routing mode must be encoded with a routing key!");
+    new Hashids.Builder()
+      .routing(4)
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encode(42L);
+  }
+
+  @Test
+  public void invalidRoutingKeys() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("amount of routing keys must be between 0 and 44: 45");
+    new Hashids.Builder()
+      .routing(45)
+      .build();
+  }
+
+  @Test
+  public void encodeCheckCharacter() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .features(HashidsFeature.CHECK_CHARACTER)
+      .build();
+    final Hashids unchecked = new Hashids.Builder().salt("salt").build();
+    final String alphabet = new String(unchecked.getConfiguration().getAlphabet());
+    for (long number = 0; number < 10_000; number += 37) {
+      final String hash = hashids.encode(number, 42L);
+      assertThat(hash.substring(0, hash.length() - 1), equalTo(unchecked.encode(number, 42L)));
+      assertThat(hashids.verifyCheck(hash), equalTo(true));
+      assertThat(hashids.decode(hash), equalTo(new long[] {number, 42L}));
+
+      // Every single character error is detected
+      for (int idx = 0; idx < hash.length(); idx++) {
+        final char[] typo = hash.toCharArray();
+        typo[idx] = alphabet.charAt((alphabet.indexOf(typo[idx]) + 1) % alphabet.length());
+        if (typo[idx] != hash.charAt(idx)) {
+          assertThat(hashids.verifyCheck(new String(typo)), equalTo(false));
+          assertThat(hashids.decode(new String(typo)), equalTo(new long[0]));
+        }
+      }
+    }
+    assertThat(hashids.maxEncodedLength(2, 10_000L), equalTo(unchecked.maxEncodedLength(2, 10_000L) + 1));
+    assertThat(hashids.verifyCheck("a"), equalTo(false));
+    assertThat(hashids.verifyCheck("()"), equalTo(false));
+    assertThat(hashids.verifyCheck(null), equalTo(false));
+    assertThat(unchecked.verifyCheck(unchecked.encode(42L)), equalTo(false));
+  }
+
+  @Test
+  public void encodeCheckCharacterWithRouting() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .minLength(10)
+      .routing(8)
+      .features(HashidsFeature.CHECK_CHARACTER)
+      .build();
+    final String hash = hashids.encodeRouted(3, 42L);
+    assertThat(hash.length(), equalTo(12));
+    assertThat(hashids.routingKey(hash), equalTo(3));
+    assertThat(hashids.verifyCheck(hash), equalTo(true));
+    assertThat(hashids.decode(hash), equalTo(new long[] {42L}));
+    assertThat(hashids.decodeIterator(hash).nextLong(), equalTo(42L));
+  }
+
+  @Test
+  public void sortableWithCheckCharacter() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("sortable feature does not support the check character feature!");
+    new Hashids.Builder()
+      .fixedWidth(1, 1000L)
+      .features(HashidsFeature.SORTABLE, HashidsFeature.CHECK_CHARACTER)
+      .build();
+  }
+
+  @Test
+  public void limitHashLengthAndArity() {
+    final Hashids hashids = new Hashids.Builder()
+      .salt("salt")
+      .maxHashLength(12)
+      .maxArity(3)
+      .build();
+    final Hashids unlimited = new Hashids.Builder().salt("salt").build();
+    assertThat(hashids.decode(hashids.encode(1L, 2L, 3L)), equalTo(new long[] {1L, 2L, 3L}));
+    assertThat(hashids.encode(1L, 2L, 3L, 4L), emptyString());
+    assertThat(hashids.encode(1L, 2L, Hashids.MAX_INTEROP_NUMBER_SIZE), emptyString());
+    assertThat(hashids.decode(unlimited.encode(1L, 2L, 3L, 4L)), equalTo(new long[0]));
+    assertThat(hashids.decode(unlimited.encode(1L, 2L, Hashids.MAX_INTEROP_NUMBER_SIZE)), equalTo(new long[0]));
+    assertThat(hashids.decodeIterator(unlimited.encode(1L, 2L, 3L, 4L)).hasNext(), equalTo(false));
+    assertThat(hashids, not(equalTo(unlimited)));
+  }
+
+  @Test
+  public void decodeExceedingMaxHashLength() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("length of hash must not exceed the maximum hash length: 17 > 16");
+    new Hashids.Builder()
+      .maxHashLength(16)
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .decode("aaaaaaaaaaaaaaaaa");
+  }
+
+  @Test
+  public void encodeExceedingMaxArity() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("length of numbers must not exceed the maximum arity: 3 > 2");
+    new Hashids.Builder()
+      .maxArity(2)
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encode(1L, 2L, 3L);
+  }
+
+  @Test
+  public void maxHashLengthLessThanMinLength() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("maximum hash length must not be less than the minimum hash length: 8 < 9");
+    new Hashids.Builder()
+      .minLength(8)
+      .maxHashLength(8)
+      .features(HashidsFeature.CHECK_CHARACTER)
+      .build();
+  }
+
+  @Test
+  public void invalidMaxArity() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("maximum arity must be greater than or equal to one: 0");
+    new Hashids.Builder()
+      .maxArity(0);
+  }
+
+  @Test
+  public void encodeUnsigned() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(12).features(HashidsFeature.UNSIGNED).build();
+    final Hashids signed = new Hashids.Builder().salt("salt").minLength(12).features(NO_MAX_INTEROP_NUMBER_SIZE).build();
+    final Hashids reference = new Hashids.Builder().salt("salt").minLength(12).features(HashidsFeature.UNSIGNED).engine(ReferenceHashidsEngine.NAME).build();
+    final Hashids precomputed = new Hashids.Builder().salt("salt").minLength(12).features(HashidsFeature.UNSIGNED).precompute();
+    for (long number : new long[] {-1L, Long.MIN_VALUE, Long.MIN_VALUE + 1, -42L, 0xDEADBEEFCAFEBABEL}) {
+      final String hash = hashids.encode(number, 42L, number);
+      assertThat(hashids.decode(hash), equalTo(new long[] {number, 42L, number}));
+      assertThat(reference.encode(number, 42L, number), equalTo(hash));
+      assertThat(precomputed.encode(number, 42L, number), equalTo(hash));
+      assertThat(reference.decode(hash), equalTo(new long[] {number, 42L, number}));
+      assertThat(hashids.decodeIterator(hash).nextLong(), equalTo(number));
+      assertThat(signed.decode(hash), equalTo(new long[0]));
+    }
+    for (long number = 0; number < Long.MAX_VALUE / 3; number += Long.MAX_VALUE / 1000) {
+      assertThat(hashids.encode(number), equalTo(signed.encode(number)));
+    }
+    assertThat(hashids.encodeBigIntegers(new BigInteger("18446744073709551615")), equalTo(hashids.encode(-1L)));
+    assertThat(hashids.decodeBigIntegers(hashids.encode(-1L)), equalTo(new BigInteger[] {new BigInteger("18446744073709551615")}));
+    assertThat(hashids.maxEncodedLength(1, -1L), equalTo(hashids.encode(-1L).length()));
+  }
+
+  @Test
+  public void encodeUnsignedFixedWidth() {
+    final Hashids hashids = new Hashids.Builder().fixedWidth(1, Long.MIN_VALUE).features(HashidsFeature.UNSIGNED).build();
+    assertThat(hashids.decode(hashids.encode(Long.MIN_VALUE)), equalTo(new long[] {Long.MIN_VALUE}));
+    assertThat(hashids.encode(Long.MIN_VALUE + 1), emptyString());
+    assertThat(hashids.encode(-1L), emptyString());
+  }
+
+  @Test
+  public void encodeBigIntegers() {
+    final Hashids hashids = new Hashids.Builder().salt("salt").minLength(40).features(NO_MAX_INTEROP_NUMBER_SIZE).build();
+    final BigIntegerCodec codec = new BigIntegerCodec(hashids.getConfiguration());
+    for (long number = 0; number < Long.MAX_VALUE / 3; number += Long.MAX_VALUE / 997) {
+      final BigInteger[] numbers = {BigInteger.valueOf(number), BigInteger.valueOf(number / 7), BigInteger.ZERO};
+      assertThat(codec.encode(numbers), equalTo(hashids.encode(number, number / 7, 0L)));
+      assertThat(hashids.encodeBigIntegers(numbers), equalTo(hashids.encode(number, number / 7, 0L)));
+      assertThat(codec.decode(hashids.encode(number, number / 7, 0L)), equalTo(numbers));
+    }
+
+    final BigInteger[] large = {BigInteger.ONE.shiftLeft(64), BigInteger.valueOf(42L), BigInteger.TEN.pow(100), BigInteger.ONE.shiftLeft(63)};
+    final String hash = hashids.encodeBigIntegers(large);
+    assertThat(hashids.decodeBigIntegers(hash), equalTo(large));
+    assertThat(hashids.decode(hash), equalTo(new long[0]));
+    assertThat(hashids.decodeBigIntegers(hashids.encode(1L, 2L)), equalTo(new BigInteger[] {BigInteger.ONE, BigInteger.valueOf(2L)}));
+    assertThat(hashids.decodeBigIntegers(hash.substring(1)), equalTo(new BigInteger[0]));
+    assertThat(hashids.decodeBigIntegers("()"), equalTo(new BigInteger[0]));
+
+    final Hashids checked = new Hashids.Builder().features(NO_MAX_INTEROP_NUMBER_SIZE, HashidsFeature.CHECK_CHARACTER).build();
+    assertThat(checked.decodeBigIntegers(checked.encodeBigIntegers(large)), equalTo(large));
+    assertThat(new Hashids().encodeBigIntegers(BigInteger.ONE.shiftLeft(64)), emptyString());
+    assertThat(new Hashids().decodeBigIntegers(hash), equalTo(new BigInteger[0]));
+    assertThat(new Hashids().encodeBigIntegers(BigInteger.valueOf(42L)), equalTo(new Hashids().encode(42L)));
+  }
+
+  @Test
+  public void encodeNegativeBigInteger() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("number must not be less than zero: -1");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING, HashidsFeature.UNSIGNED)
+      .build()
+      .encodeBigIntegers(BigInteger.ONE.negate());
+  }
+
+  @Test
+  public void encodeInts() {
+    final Hashids[] instances = {
+      new Hashids.Builder().salt("salt").build(),
+      new Hashids.Builder().salt("salt").minLength(40).alphabet("0123456789abcdef").build(),
+      new Hashids.Builder().salt("salt").dense(1000).features(HashidsFeature.CHECK_CHARACTER).build(),
+      new Hashids.Builder().salt("salt").fixedWidth(3, Integer.MAX_VALUE).build(),
+      new Hashids.Builder().salt("salt").fixedWidth(3, Integer.MAX_VALUE).features(HashidsFeature.SORTABLE).build()
+    };
+    for (Hashids hashids : instances) {
+      for (int number = 0; number < Integer.MAX_VALUE - Integer.MAX_VALUE / 997; number += Integer.MAX_VALUE / 997) {
+        final String hash = hashids.encode((long) number, number / 7, 0L);
+        assertThat(hashids.encode(number, number / 7, 0), equalTo(hash));
+        assertThat(hashids.decodeInts(hash), equalTo(new int[] {number, number / 7, 0}));
+      }
+      assertThat(hashids.encode(Integer.MAX_VALUE), equalTo(hashids.encode((long) Integer.MAX_VALUE)));
+      assertThat(hashids.decodeInts(hashids.encode(Integer.MAX_VALUE)), equalTo(new int[] {Integer.MAX_VALUE}));
+    }
+
+    final Hashids hashids = new Hashids.Builder().salt("salt").build();
+    final int[] page = {7, 1, 2, 3, 7};
+    assertThat(hashids.encodeInts(page, 1, 3), equalTo(hashids.encode(1L, 2L, 3L)));
+    assertThat(hashids.encodeInts(page, 0, 0), emptyString());
+    assertThat(hashids.encodeInts(page, 3, 3), emptyString());
+    assertThat(hashids.encode(-1), emptyString());
+    assertThat(new Hashids.Builder().features(HashidsFeature.UNSIGNED).build().encode(-1), equalTo(new Hashids.Builder().features(HashidsFeature.UNSIGNED)
+      .build().encode(-1L)));
+    assertThat(hashids.decodeInts(hashids.encode(Integer.MAX_VALUE + 1L)), equalTo(new int[0]));
+    assertThat(hashids.decodeInts(hashids.encode(Integer.MAX_VALUE * 94L)), equalTo(new int[0]));
+  }
+
+  @Test
+  public void encodeIntsOutOfBounds() {
+    thrown.expect(IndexOutOfBoundsException.class);
+    thrown.expectMessage("range must be within the bounds of numbers: offset 3, length 3, size 5");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encodeInts(new int[5], 3, 3);
+  }
+
+  @Test
+  public void encodeRange() {
+    final long[] page = new long[DefaultHashidsEngine.CHUNK_SIZE * 3];
+    for (int idx = 0; idx < page.length; idx++) {
+      page[idx] = idx * 31L;
+    }
+    final Hashids[] instances = {
+      new Hashids.Builder().salt("salt").minLength(30).build(),
+      new Hashids.Builder().salt("salt").parallel(DefaultHashidsEngine.CHUNK_SIZE).build(),
+      new Hashids.Builder().salt("salt").engine(ReferenceHashidsEngine.NAME).build(),
+      new Hashids.Builder().salt("salt").fixedWidth(3, 1_000_000L).features(HashidsFeature.SORTABLE).build()
+    };
+    for (Hashids hashids : instances) {
+      final String hash = hashids.encode(Arrays.copyOfRange(page, 5, 8));
+      assertThat(hashids.encode(page, 5, 3), equalTo(hash));
+      assertThat(hashids.encode(LongBuffer.wrap(page, 5, 3)), equalTo(hash));
+      final LongBuffer slice = LongBuffer.wrap(page, 3, 6).slice();
+      slice.position(2);
+      slice.limit(5);
+      assertThat(hashids.encode(slice), equalTo(hash));
+      assertThat(hashids.encode(LongBuffer.wrap(page, 5, 3).asReadOnlyBuffer()), equalTo(hash));
+      final LongBuffer direct = ByteBuffer.allocateDirect(Long.BYTES * page.length).asLongBuffer().put(page);
+      direct.position(5).limit(8);
+      assertThat(hashids.encode(direct), equalTo(hash));
+      final IntBuffer ints = ByteBuffer.allocateDirect(Integer.BYTES * page.length).asIntBuffer();
+      for (long number : page) {
+        ints.put((int) number);
+      }
+      ints.position(5).limit(8);
+      assertThat(hashids.encode(ints), equalTo(hash));
+      assertThat(hashids.encode(ints.asReadOnlyBuffer()), equalTo(hash));
+      assertThat(ints.position(), equalTo(5));
+      assertThat(hashids.encode(Arrays.stream(page, 5, 9).iterator(), 3), equalTo(hash));
+    }
+    final Hashids parallel = instances[1];
+    final int from = DefaultHashidsEngine.CHUNK_SIZE / 2;
+    final int length = DefaultHashidsEngine.CHUNK_SIZE * 2;
+    assertThat(parallel.encode(page, from, length), equalTo(new Hashids.Builder().salt("salt").build().encode(Arrays.copyOfRange(page, from, from + length))));
+    assertThat(parallel.encode(LongBuffer.wrap(page, from, length).asReadOnlyBuffer()), equalTo(parallel.encode(page, from, length)));
+
+    final Hashids hashids = new Hashids.Builder().salt("salt").build();
+    final LongBuffer direct = ByteBuffer.allocateDirect(Long.BYTES * 4).asLongBuffer().put(new long[] {1L, 2L, 3L, 4L});
+    direct.position(1);
+    assertThat(hashids.encode(direct), equalTo(hashids.encode(2L, 3L, 4L)));
+    assertThat(direct.position(), equalTo(1));
+    assertThat(hashids.encode(IntBuffer.wrap(new int[] {1, 2, 3, 4}, 1, 3)), equalTo(hashids.encode(2L, 3L, 4L)));
+    assertThat(hashids.encode(page, 0, 0), emptyString());
+    assertThat(hashids.encode(page, page.length, 1), emptyString());
+    assertThat(hashids.encode(LongStream.of(1L, 2L).iterator(), 3), emptyString());
+    assertThat(hashids.encode(LongStream.of(1L, 2L).iterator(), -1), emptyString());
+    assertThat(hashids.encode(LongStream.of(1L, 2L).iterator(), Integer.MAX_VALUE), emptyString());
+    assertThat(hashids.encode(LongStream.range(0L, 100L).iterator(), 100), equalTo(hashids.encode(LongStream.range(0L, 100L).toArray())));
+    assertThat(hashids.encode(LongStream.range(0L, 100L).iterator(), 33), equalTo(hashids.encode(LongStream.range(0L, 33L).toArray())));
+  }
+
+  @Test
+  public void encodeRangeOutOfBounds() {
+    thrown.expect(IndexOutOfBoundsException.class);
+    thrown.expectMessage("range must be within the bounds of numbers: offset -1, length 2, size 3");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encode(new long[3], -1, 2);
+  }
+
+  @Test
+  public void encodeExhaustedIterator() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("iterator must provide the amount of numbers: 2 < 3");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encode(LongStream.of(1L, 2L).iterator(), 3);
+  }
+
+  @Test
+  public void encodeExhaustedIteratorWithMaximumCount() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("iterator must provide the amount of numbers: 2 < 2147483647");
+    new Hashids.Builder()
+      .features(HashidsFeature.EXCEPTION_HANDLING)
+      .build()
+      .encode(LongStream.of(1L, 2L).iterator(), Integer.MAX_VALUE);
+  }
+
   @Test
   public void decodeInvalidSalt() {
     final Hashids hashidsSalt = new Hashids.Builder()
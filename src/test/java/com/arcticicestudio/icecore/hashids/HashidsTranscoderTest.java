@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Units tests for the {@link HashidsTranscoder} offline transcoding.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class HashidsTranscoderTest {
+
+  private final Hashids source = new Hashids.Builder().salt("salt").build();
+  private final Hashids target = new Hashids.Builder().salt("pepper").minLength(12).build();
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void transcodeInOrder() throws IOException {
+    final List<String> lines = new ArrayList<>();
+    final List<String> expected = new ArrayList<>();
+    for (long number = 0; number < 5000; number++) {
+      lines.add(source.encode(number, number * 31));
+      expected.add(target.encode(number, number * 31));
+    }
+    final Path input = folder.newFile().toPath();
+    final Path output = folder.newFile().toPath();
+    final Path rejects = folder.newFile().toPath();
+    Files.write(input, lines, US_ASCII);
+
+    final HashidsTranscoder.Result result = new HashidsTranscoder.Builder(source, target).threads(4).chunkSize(64).build()
+      .transcode(input, output, rejects);
+    assertThat(result.getTranscoded(), equalTo(5000L));
+    assertThat(result.getRejected(), equalTo(0L));
+    assertThat(Files.readAllLines(output, US_ASCII), equalTo(expected));
+    assertThat(Files.size(rejects), equalTo(0L));
+  }
+
+  @Test
+  public void transcodeWithRejects() throws IOException {
+    final Path input = folder.newFile().toPath();
+    final Path output = folder.newFile().toPath();
+    final Path rejects = folder.newFile().toPath();
+    Files.write(input, (source.encode(1L) + "\r\n()\n\n" + target.encode(2L) + "\n" + source.encode(3L)).getBytes(US_ASCII));
+
+    final HashidsTranscoder.Result result = new HashidsTranscoder.Builder(source, target).threads(2).chunkSize(1).build()
+      .transcode(input, output, rejects);
+    assertThat(result.getTranscoded(), equalTo(2L));
+    assertThat(result.getRejected(), equalTo(3L));
+    assertThat(Files.readAllLines(output, US_ASCII), contains(target.encode(1L), target.encode(3L)));
+    assertThat(Files.readAllLines(rejects, US_ASCII), contains("2\t()", "3\t", "4\t" + target.encode(2L)));
+  }
+
+  @Test
+  public void invalidThreads() {
+    thrown.expect(IllegalArgumentException.class);
+    new HashidsTranscoder.Builder(source, target).threads(0).build();
+  }
+
+  @Test
+  public void transcodeNonAsciiRejects() throws IOException {
+    final Path input = folder.newFile().toPath();
+    final Path output = folder.newFile().toPath();
+    final Path rejects = folder.newFile().toPath();
+    final byte[] invalid = "häßlich".getBytes(UTF_8);
+    final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+    lines.write(invalid);
+    lines.write('\n');
+    lines.write(source.encode(1L).getBytes(US_ASCII));
+    Files.write(input, lines.toByteArray());
+
+    final HashidsTranscoder.Result result = new HashidsTranscoder.Builder(source, target).build().transcode(input, output, rejects);
+    assertThat(result.getRejected(), equalTo(1L));
+    assertThat(Files.readAllLines(rejects, UTF_8), contains("1\thäßlich"));
+  }
+
+  @Test
+  public void nonAsciiTarget() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("target must only contain ASCII characters!");
+    new HashidsTranscoder.Builder(source, new Hashids.Builder().alphabet("abcdefghijklmnopqrstuvwxyzäöü").build()).build();
+  }
+}
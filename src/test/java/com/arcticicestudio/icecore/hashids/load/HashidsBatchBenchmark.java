@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import com.arcticicestudio.icecore.hashids.HashidsBatchDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * A micro benchmark that compares the vectorized and the scalar batch decoding of fixed-length hashes with the decoding of each hash as a
+ * {@link String}.
+ *
+ * <p>Each operation decodes a pool of hashes of random numbers in rounds of a fixed duration after a warmup of the same operation, the fastest round is
+ * reported as the average time per hash. All decoded numbers are verified to be identical for all operations before the measurement. The vectorized
+ * operation is only measured when the Vector API is available, which requires Java 17 or later and the {@code --add-modules jdk.incubator.vector}
+ * option.
+ *
+ * <p>The following options are supported in the form {@code --option=value}:
+ * <ul>
+ *   <li>{@code length} - the length of each hash, default {@code 12}</li>
+ *   <li>{@code pool} - the amount of hashes of the pool, default {@code 65536}</li>
+ *   <li>{@code segment} - the amount of hashes that are decoded by a single thread, default {@code 65536}</li>
+ *   <li>{@code warmup} - the duration of the warmup of each operation in seconds, default {@code 3}</li>
+ *   <li>{@code rounds} - the amount of measured rounds of one second of each operation, default {@code 5}</li>
+ *   <li>{@code seed} - the seed of the random numbers, default {@code 42}</li>
+ * </ul>
+ *
+ * <p>The harness is part of the test sources and can be run after {@code mvn test-compile} via
+ * {@code java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes com.arcticicestudio.icecore.hashids.load.HashidsBatchBenchmark}
+ * where the test classes precede the classes since they contain the compiled multi-release layer for Java 17 and later.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsBatchBenchmark {
+
+  private final long warmupNanos;
+  private final int rounds;
+  private final Hashids hashids;
+  private final HashidsBatchDecoder vectorDecoder;
+  private final HashidsBatchDecoder scalarDecoder;
+  private final String[] hashes;
+  private final byte[] records;
+
+  /**
+   * Prevents the elimination of unused results.
+   */
+  private long sink;
+
+  private HashidsBatchBenchmark(final Map<String, String> options) {
+    final int length = Integer.parseInt(options.getOrDefault("length", "12"));
+    final int pool = Integer.parseInt(options.getOrDefault("pool", "65536"));
+    final int segment = Integer.parseInt(options.getOrDefault("segment", "65536"));
+    this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "3")));
+    this.rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+    if (length < 2 || pool < 1) {
+      throw new IllegalArgumentException("length and pool must be greater than or equal to two and one: " + length + ", " + pool);
+    }
+
+    this.hashids = new Hashids.Builder().salt("benchmark").minLength(length).build();
+    this.vectorDecoder = new HashidsBatchDecoder.Builder(hashids).segmentSize(segment).build();
+    this.scalarDecoder = new HashidsBatchDecoder.Builder(hashids).segmentSize(segment).vectorized(false).build();
+    this.hashes = new String[pool];
+    this.records = new byte[pool * length];
+
+    // Only numbers whose hashes are not longer than the minimum length are used
+    final SplittableRandom random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "42")));
+    final long[] numbers = new long[pool];
+    for (int idx = 0; idx < pool; idx++) {
+      do {
+        numbers[idx] = random.nextLong(Hashids.MAX_INTEROP_NUMBER_SIZE) >>> random.nextInt(53);
+        hashes[idx] = hashids.encode(numbers[idx]);
+      } while (hashes[idx].length() != length);
+      System.arraycopy(hashes[idx].getBytes(StandardCharsets.US_ASCII), 0, records, idx * length, length);
+    }
+    if (!Arrays.equals(numbers, scalarDecoder.decode(records)) || !Arrays.equals(numbers, vectorDecoder.decode(records))) {
+      throw new IllegalStateException("decoded numbers of the batch decoders differ");
+    }
+  }
+
+  /**
+   * Runs the benchmark with the given options.
+   *
+   * @param args the options in the form {@code --option=value}
+   */
+  public static void main(final String[] args) {
+    final Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("options must be in the form --option=value: " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    new HashidsBatchBenchmark(options).run();
+  }
+
+  private void run() {
+    System.out.printf("%-20s %12s%n", "operation", "ns/hash");
+    if (vectorDecoder.isVectorized()) {
+      measure("batch (vector)", () -> vectorDecoder.decode(records).length);
+    } else {
+      System.out.printf("%-20s %12s%n", "batch (vector)", "n/a");
+    }
+    measure("batch (scalar)", () -> scalarDecoder.decode(records).length);
+    measure("decode", () -> {
+      int decoded = 0;
+      for (String hash : hashes) {
+        decoded += hashids.decode(hash).length;
+      }
+      return decoded;
+    });
+  }
+
+  /**
+   * Runs the given operation over the pool and reports the average time per hash of the fastest round.
+   */
+  private void measure(final String name, final IntSupplier operation) {
+    long deadline = System.nanoTime() + warmupNanos;
+    while (System.nanoTime() < deadline) {
+      sink += operation.getAsInt();
+    }
+
+    double fastest = Double.MAX_VALUE;
+    for (int round = 0; round < rounds; round++) {
+      long decoded = 0;
+      final long start = System.nanoTime();
+      deadline = start + TimeUnit.SECONDS.toNanos(1);
+      long now;
+      do {
+        sink += operation.getAsInt();
+        decoded += hashes.length;
+        now = System.nanoTime();
+      } while (now < deadline);
+      fastest = Math.min(fastest, (double) (now - start) / decoded);
+    }
+    System.out.printf("%-20s %12.1f%n", name, fastest);
+  }
+}
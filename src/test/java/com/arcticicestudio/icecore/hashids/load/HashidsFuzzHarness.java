@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import com.arcticicestudio.icecore.hashids.HashidsFeature;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * A fuzz harness that decodes families of adversarial inputs and reports the worst-case decoding cost per character of each family.
+ *
+ * <p>The families are built from the {@link Hashids#DEFAULT_ALPHABET default alphabet} and its separators, so that runs of every single character also
+ * cover inputs that consist of guards or a repeated lottery character only. Each family is decoded twice with random lengths up to the maximum length
+ * and only the second pass is measured. A worst-case cost per character that grows with the maximum length indicates a decoding time that is not linear
+ * in the length of the input.
+ *
+ * <p>Additionally an input of each family with the maximum length and one with a sixteenth of it are decoded repeatedly after a warmup, the ratio of the
+ * fastest cost per character of the long to the one of the short input is reported. The ratio stays close to one if the decoding time is linear in the
+ * length of the input and approaches sixteen if it is quadratic. The harness only reports the costs since timings are too noisy to be asserted.
+ *
+ * <p>The following options are supported in the form {@code --option=value}:
+ * <ul>
+ *   <li>{@code length} - the maximum length of the inputs which must be at least {@code 32}, default {@code 65536}</li>
+ *   <li>{@code samples} - the amount of inputs of each family, default {@code 200}</li>
+ *   <li>{@code seed} - the seed of the random inputs, default {@code 42}</li>
+ *   <li>{@code engine} - the name of the engine, default {@code default}</li>
+ * </ul>
+ *
+ * <p>The harness is part of the test sources and can be run after {@code mvn test-compile} via
+ * {@code java -cp target/classes:target/test-classes com.arcticicestudio.icecore.hashids.load.HashidsFuzzHarness --length=1000000}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsFuzzHarness {
+
+  private static final String SEPARATORS = "cfhistuCFHISTU";
+  private static final int LENGTH_RATIO = 16;
+  private static final int MEASUREMENTS = 7;
+
+  private final int length;
+  private final int samples;
+  private final long seed;
+  private final Hashids hashids;
+  private final String alphabet;
+
+  /**
+   * Prevents the elimination of unused results.
+   */
+  private int sink;
+
+  private HashidsFuzzHarness(final Map<String, String> options) {
+    this.length = Integer.parseInt(options.getOrDefault("length", "65536"));
+    this.samples = Integer.parseInt(options.getOrDefault("samples", "200"));
+    this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+    if (length < 2 * LENGTH_RATIO) {
+      throw new IllegalArgumentException("length must be greater than or equal to " + 2 * LENGTH_RATIO + ": " + length);
+    }
+    this.hashids = new Hashids.Builder()
+      .salt("fuzz")
+      .engine(options.getOrDefault("engine", "default"))
+      .features(HashidsFeature.NO_MAX_INTEROP_NUMBER_SIZE)
+      .build();
+    final StringBuilder letters = new StringBuilder();
+    for (char c : Hashids.DEFAULT_ALPHABET) {
+      if (SEPARATORS.indexOf(c) < 0) {
+        letters.append(c);
+      }
+    }
+    this.alphabet = letters.toString();
+  }
+
+  /**
+   * Runs the harness with the given options.
+   *
+   * @param args the options in the form {@code --option=value}
+   */
+  public static void main(final String[] args) {
+    final Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("options must be in the form --option=value: " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    new HashidsFuzzHarness(options).run();
+  }
+
+  private void run() {
+    System.out.printf("%-22s %14s %14s %10s %12s%n", "family", "mean (ns/char)", "worst (ns/char)", "at length", "cost ratio");
+    fuzz("separator runs", (random, size) -> alphabet.charAt(random.nextInt(alphabet.length())) + runOf(random, SEPARATORS, size - 1));
+    fuzz("single character runs", (random, size) -> repeat(Hashids.DEFAULT_ALPHABET[random.nextInt(Hashids.DEFAULT_ALPHABET.length)], size));
+    fuzz("single character blocks", (random, size) -> {
+      final char[] chars = new char[size];
+      for (int idx = 0; idx < chars.length; idx++) {
+        chars[idx] = idx % 2 == 0 ? alphabet.charAt(random.nextInt(alphabet.length())) : SEPARATORS.charAt(random.nextInt(SEPARATORS.length()));
+      }
+      return new String(chars);
+    });
+    fuzz("long blocks", (random, size) -> runOf(random, alphabet, size));
+    fuzz("random characters", (random, size) -> runOf(random, new String(Hashids.DEFAULT_ALPHABET), size));
+    fuzz("mutated hashes", (random, size) -> {
+      final long[] numbers = new long[Math.max(1, size / 8)];
+      for (int idx = 0; idx < numbers.length; idx++) {
+        numbers[idx] = random.nextLong(Long.MAX_VALUE);
+      }
+      final char[] chars = hashids.encode(numbers).toCharArray();
+      chars[random.nextInt(chars.length)] = Hashids.DEFAULT_ALPHABET[random.nextInt(Hashids.DEFAULT_ALPHABET.length)];
+      return new String(chars);
+    });
+  }
+
+  /**
+   * Decodes the inputs of a family and reports the mean and the worst cost per character of the measured pass and the ratio of the costs per character
+   * of a long and a short input.
+   */
+  private void fuzz(final String family, final BiFunction<SplittableRandom, Integer, String> generator) {
+    double totalCost = 0;
+    double worstCost = 0;
+    int worstLength = 0;
+    for (int pass = 0; pass < 2; pass++) {
+      final SplittableRandom random = new SplittableRandom(seed);
+      for (int sample = 0; sample < samples; sample++) {
+        final String input = generator.apply(random, nextLength(random));
+        final long start = System.nanoTime();
+        sink += hashids.decode(input).length;
+        final double cost = (double) (System.nanoTime() - start) / input.length();
+        if (pass == 1) {
+          totalCost += cost;
+          if (cost > worstCost) {
+            worstCost = cost;
+            worstLength = input.length();
+          }
+        }
+      }
+    }
+
+    final String shortInput = generator.apply(new SplittableRandom(seed), length / LENGTH_RATIO);
+    final String longInput = generator.apply(new SplittableRandom(seed), length);
+    measure(shortInput, LENGTH_RATIO);
+    measure(longInput, 1);
+    final double shortCost = measure(shortInput, LENGTH_RATIO) / (shortInput.length() * LENGTH_RATIO);
+    final double longCost = measure(longInput, 1) / longInput.length();
+    System.out.printf("%-22s %14.2f %14.2f %10d %12.2f%n", family, totalCost / samples, worstCost, worstLength, longCost / shortCost);
+  }
+
+  /**
+   * Measures the fastest time in nanoseconds to decode the given input the given amount of times.
+   */
+  private double measure(final String input, final int times) {
+    long fastest = Long.MAX_VALUE;
+    for (int measurement = 0; measurement < MEASUREMENTS; measurement++) {
+      final long start = System.nanoTime();
+      for (int idx = 0; idx < times; idx++) {
+        sink += hashids.decode(input).length;
+      }
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    return fastest;
+  }
+
+  private int nextLength(final SplittableRandom random) {
+    return 2 + random.nextInt(length - 1);
+  }
+
+  private static String runOf(final SplittableRandom random, final String chars, final int length) {
+    final char[] run = new char[length];
+    for (int idx = 0; idx < run.length; idx++) {
+      run[idx] = chars.charAt(random.nextInt(chars.length()));
+    }
+    return new String(run);
+  }
+
+  private static String repeat(final char c, final int length) {
+    final char[] chars = new char[length];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+}
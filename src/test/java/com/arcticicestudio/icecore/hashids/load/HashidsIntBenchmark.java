@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A JMH micro benchmark that compares the 32-bit transformation of int numbers with the transformation of the widened long numbers.
+ *
+ * <p>Each operation transforms the next numbers or hash of a pool of random numbers and reports the average time per operation. All hashes are verified
+ * to be identical for both transformations before the measurement.
+ *
+ * <p>The following parameters are supported in the form {@code -p parameter=value} in addition to all other JMH options:
+ * <ul>
+ *   <li>{@code arity} - the amount of numbers of each hash, default {@code 1}</li>
+ *   <li>{@code bound} - the exclusive upper bound of the random numbers, default {@code 2147483647}</li>
+ *   <li>{@code seed} - the seed of the random numbers, default {@code 42}</li>
+ * </ul>
+ *
+ * <p>The benchmark is part of the test sources and can be run with the test classpath after {@code mvn test-compile} via
+ * {@code java -cp <classpath> com.arcticicestudio.icecore.hashids.load.HashidsIntBenchmark -p arity=3}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashidsIntBenchmark {
+
+  private static final int POOL_SIZE = 4096;
+
+  @Param("1")
+  private int arity;
+
+  @Param("2147483647")
+  private int bound;
+
+  @Param("42")
+  private long seed;
+
+  private final Hashids hashids = new Hashids.Builder().salt("benchmark").build();
+  private final int[][] ints = new int[POOL_SIZE][];
+  private final long[][] longs = new long[POOL_SIZE][];
+  private final String[] hashes = new String[POOL_SIZE];
+  private int next;
+
+  /**
+   * Runs the benchmark with the given JMH options.
+   *
+   * @param args the JMH command line options
+   * @throws CommandLineOptionException if the options are invalid
+   * @throws RunnerException if the benchmark fails
+   */
+  public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+    new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).include(HashidsIntBenchmark.class.getName()).build()).run();
+  }
+
+  /**
+   * Fills the pool with random numbers and verifies their hashes.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (arity < 1 || bound < 1) {
+      throw new IllegalArgumentException("arity and bound must be greater than or equal to one: " + arity + ", " + bound);
+    }
+    final SplittableRandom random = new SplittableRandom(seed);
+    for (int idx = 0; idx < POOL_SIZE; idx++) {
+      ints[idx] = new int[arity];
+      longs[idx] = new long[arity];
+      for (int number = 0; number < arity; number++) {
+        ints[idx][number] = random.nextInt(bound);
+        longs[idx][number] = ints[idx][number];
+      }
+      hashes[idx] = hashids.encode(longs[idx]);
+      if (!hashes[idx].equals(hashids.encode(ints[idx]))) {
+        throw new IllegalStateException("hashes of int and long numbers differ: " + hashes[idx]);
+      }
+    }
+  }
+
+  @Benchmark
+  public String encodeLongs() {
+    return hashids.encode(longs[nextIndex()]);
+  }
+
+  @Benchmark
+  public String encodeInts() {
+    return hashids.encode(ints[nextIndex()]);
+  }
+
+  @Benchmark
+  public long[] decode() {
+    return hashids.decode(hashes[nextIndex()]);
+  }
+
+  @Benchmark
+  public int[] decodeInts() {
+    return hashids.decodeInts(hashes[nextIndex()]);
+  }
+
+  private int nextIndex() {
+    next = (next + 1) & (POOL_SIZE - 1);
+    return next;
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+import com.arcticicestudio.icecore.hashids.Hashids;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A macro load test harness that drives a realistic mix of operations at a fixed target rate over a pool of {@link Hashids} instances.
+ *
+ * <p>Each worker thread follows its own fixed schedule where the intended start time of the {@code n}-th operation is {@code n} times the interval after
+ * the start of the run. The latency of an operation is measured from its intended instead of its actual start time so that a stalled operation is also
+ * accounted for all operations that have been delayed by it, which corrects the coordinated omission of a closed-loop measurement. The service time
+ * measured from the actual start time is reported as well for comparison.
+ *
+ * <p>Workers execute every scheduled operation even when they fall behind their schedule, so the throughput is calculated over the measured wall time
+ * from the start of the measurement until the last operation has been completed and the lag behind the schedule at the end of the run is reported.
+ *
+ * <p>The following options are supported in the form {@code --option=value}:
+ * <ul>
+ *   <li>{@code rate} - the total target rate in operations per second, default {@code 100000}</li>
+ *   <li>{@code threads} - the amount of worker threads, default {@code 4}</li>
+ *   <li>{@code tenants} - the amount of instances with different salts, default {@code 16}</li>
+ *   <li>{@code warmup} - the duration of the warmup in seconds, default {@code 5}</li>
+ *   <li>{@code duration} - the duration of the measurement in seconds, default {@code 30}</li>
+ *   <li>{@code encode} - the share of single number encodings in percent, default {@code 70}</li>
+ *   <li>{@code decode} - the share of decodings in percent, default {@code 25}</li>
+ *   <li>{@code composite} - the share of encodings of composite keys with three numbers in percent, default {@code 5}</li>
+ *   <li>{@code junk} - the share of invalid hashes of all decodings in percent, default {@code 5}</li>
+ * </ul>
+ *
+ * <p>The harness is part of the test sources and can be run after {@code mvn test-compile} via
+ * {@code java -cp target/classes:target/test-classes com.arcticicestudio.icecore.hashids.load.HashidsLoadHarness --rate=200000}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class HashidsLoadHarness {
+
+  private static final int HASH_POOL_SIZE = 4096;
+  private static final String[] JUNK = {"()", "yogurt", "", "0000000000", "hello world", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"};
+
+  private final int rate;
+  private final int threads;
+  private final long warmupNanos;
+  private final long durationNanos;
+  private final int encodeShare;
+  private final int decodeShare;
+  private final int junkShare;
+  private final Hashids[] tenants;
+  private final String[][] hashes;
+
+  private HashidsLoadHarness(final Map<String, String> options) {
+    this.rate = Integer.parseInt(options.getOrDefault("rate", "100000"));
+    this.threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+    this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "5")));
+    this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "30")));
+    this.encodeShare = Integer.parseInt(options.getOrDefault("encode", "70"));
+    this.decodeShare = Integer.parseInt(options.getOrDefault("decode", "25"));
+    final int compositeShare = Integer.parseInt(options.getOrDefault("composite", "5"));
+    this.junkShare = Integer.parseInt(options.getOrDefault("junk", "5"));
+    if (encodeShare + decodeShare + compositeShare != 100) {
+      throw new IllegalArgumentException("shares of the operation mix must add up to 100: " + (encodeShare + decodeShare + compositeShare));
+    }
+    if (rate < threads) {
+      throw new IllegalArgumentException("rate must be greater than or equal to the amount of threads: " + rate);
+    }
+
+    final int tenantCount = Integer.parseInt(options.getOrDefault("tenants", "16"));
+    this.tenants = new Hashids[tenantCount];
+    this.hashes = new String[tenantCount][HASH_POOL_SIZE];
+    final SplittableRandom random = new SplittableRandom(42);
+    for (int tenant = 0; tenant < tenantCount; tenant++) {
+      tenants[tenant] = new Hashids.Builder().salt("tenant-" + tenant).minLength(tenant % 4 * 4).build();
+      for (int idx = 0; idx < HASH_POOL_SIZE; idx++) {
+        hashes[tenant][idx] = idx % 20 == 0
+          ? tenants[tenant].encode(random.nextLong(1_000_000), random.nextLong(1_000_000), random.nextLong(1_000_000))
+          : tenants[tenant].encode(random.nextLong(100_000_000));
+      }
+    }
+  }
+
+  /**
+   * Runs the harness with the given options.
+   *
+   * @param args the options in the form {@code --option=value}
+   * @throws InterruptedException if the harness has been interrupted while waiting for the workers
+   */
+  public static void main(final String[] args) throws InterruptedException {
+    final Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("options must be in the form --option=value: " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    new HashidsLoadHarness(options).run();
+  }
+
+  private void run() throws InterruptedException {
+    final Worker[] workers = new Worker[threads];
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(threads) / rate;
+    final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    for (int idx = 0; idx < threads; idx++) {
+      // Stagger the schedules of the workers evenly within a single interval
+      workers[idx] = new Worker(idx, start + intervalNanos * idx / threads, intervalNanos, done);
+      workers[idx].setName("hashids-load-" + idx);
+      workers[idx].start();
+    }
+    done.await();
+
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LatencyHistogram serviceTime = new LatencyHistogram();
+    long operations = 0;
+    long allocatedBytes = 0;
+    long invalid = 0;
+    long measurementStart = Long.MAX_VALUE;
+    long measurementEnd = Long.MIN_VALUE;
+    long lagNanos = 0;
+    for (Worker worker : workers) {
+      latency.add(worker.latency);
+      serviceTime.add(worker.serviceTime);
+      operations += worker.operations;
+      allocatedBytes += worker.allocatedBytes;
+      invalid += worker.invalid;
+      measurementStart = Math.min(measurementStart, worker.measurementStart);
+      measurementEnd = Math.max(measurementEnd, worker.lastFinish);
+      lagNanos = Math.max(lagNanos, worker.lastFinish - worker.scheduledEnd);
+    }
+
+    final double seconds = Math.max(measurementEnd - measurementStart, durationNanos) / 1e9;
+    System.out.printf("target rate:      %,d ops/s with %d threads over %d tenants%n", rate, threads, tenants.length);
+    System.out.printf("throughput:       %,.0f ops/s (%,d operations in %.2f s, %,d rejected hashes)%n", operations / seconds, operations, seconds,
+      invalid);
+    System.out.printf("schedule lag:     %,.2f ms behind the end of the schedule%n", Math.max(0, lagNanos) / 1e6);
+    if (allocatedBytes >= 0 && operations > 0) {
+      System.out.printf("allocation rate:  %,.1f MiB/s (%,.0f bytes/op)%n", allocatedBytes / seconds / (1 << 20), (double) allocatedBytes / operations);
+    }
+    System.out.printf("%-17s %12s %12s%n", "percentile (us)", "latency", "service");
+    for (double percentile : new double[] {50, 90, 99, 99.9, 99.99, 100}) {
+      System.out.printf("%-17s %12.2f %12.2f%n", percentile == 100 ? "max" : "p" + percentile,
+        latency.getValueAtPercentile(percentile) / 1e3, serviceTime.getValueAtPercentile(percentile) / 1e3);
+    }
+  }
+
+  /**
+   * A worker thread that executes operations on its own fixed schedule.
+   */
+  private final class Worker extends Thread {
+
+    private final SplittableRandom random;
+    private final long start;
+    private final long intervalNanos;
+    private final CountDownLatch done;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private long operations;
+    private long invalid;
+    private long allocatedBytes = -1;
+
+    /**
+     * The intended start time of the first measured operation.
+     */
+    private long measurementStart;
+
+    /**
+     * The intended start time of the first operation after the measurement.
+     */
+    private long scheduledEnd;
+
+    /**
+     * The time the last measured operation has been completed.
+     */
+    private long lastFinish;
+
+    /**
+     * Prevents the elimination of unused results.
+     */
+    private int sink;
+
+    private Worker(final int id, final long start, final long intervalNanos, final CountDownLatch done) {
+      this.random = new SplittableRandom(id);
+      this.start = start;
+      this.intervalNanos = intervalNanos;
+      this.done = done;
+    }
+
+    @Override
+    public void run() {
+      try {
+        measurementStart = start + warmupNanos;
+        final long end = measurementStart + durationNanos;
+        scheduledEnd = end;
+        lastFinish = measurementStart;
+        long allocatedAtStart = -1;
+        for (long operation = 0; ; operation++) {
+          final long intendedStart = start + operation * intervalNanos;
+          if (intendedStart >= end) {
+            break;
+          }
+          final boolean measured = intendedStart >= measurementStart;
+          if (measured && allocatedAtStart < 0) {
+            allocatedAtStart = allocatedBytes();
+          }
+
+          long now = System.nanoTime();
+          // Park until shortly before the intended start and spin for the remaining time since parking is too coarse for short intervals
+          while (now < intendedStart) {
+            if (intendedStart - now > TimeUnit.MILLISECONDS.toNanos(2)) {
+              LockSupport.parkNanos(intendedStart - now - TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            now = System.nanoTime();
+          }
+
+          final long actualStart = now;
+          execute();
+          final long finish = System.nanoTime();
+          if (measured) {
+            latency.record(finish - intendedStart);
+            serviceTime.record(finish - actualStart);
+            operations++;
+            lastFinish = finish;
+          }
+        }
+        if (allocatedAtStart >= 0) {
+          allocatedBytes = allocatedBytes() - allocatedAtStart;
+        }
+      } finally {
+        done.countDown();
+      }
+    }
+
+    private void execute() {
+      final int tenant = random.nextInt(tenants.length);
+      final Hashids hashids = tenants[tenant];
+      final int operation = random.nextInt(100);
+      if (operation < encodeShare) {
+        sink += hashids.encode(random.nextLong(100_000_000)).length();
+      } else if (operation < encodeShare + decodeShare) {
+        final String hash = random.nextInt(100) < junkShare
+          ? JUNK[random.nextInt(JUNK.length)]
+          : hashes[tenant][random.nextInt(HASH_POOL_SIZE)];
+        final long[] numbers = hashids.decode(hash);
+        if (numbers.length == 0) {
+          invalid++;
+        }
+        sink += numbers.length;
+      } else {
+        sink += hashids.encode(random.nextLong(1_000_000), random.nextLong(1_000_000), random.nextLong(1_000_000)).length();
+      }
+    }
+
+    private long allocatedBytes() {
+      if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(getId());
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+/**
+ * A high dynamic range histogram of latencies in nanoseconds with a constant relative precision.
+ *
+ * <p>Values below {@code 2048} are counted exactly while larger values are counted in log-linear buckets where each power of two is split into
+ * {@code 1024} sub-buckets so that every recorded value is represented with a relative error of less than {@code 0.1%} regardless of its magnitude.
+ * Values larger than the highest trackable value are clamped to it.
+ *
+ * <p><strong>Instances of this class are not thread-safe.</strong> Each thread records into its own histogram which are {@link #add(LatencyHistogram)
+ * merged} afterwards.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public final class LatencyHistogram {
+
+  /**
+   * The highest trackable value which is a little more than one hour in nanoseconds.
+   */
+  public static final long HIGHEST_TRACKABLE_VALUE = (1L << 42) - 1;
+
+  private static final int SUB_BUCKET_BITS = 11;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+  private final long[] counts;
+  private long totalCount;
+  private long maxValue;
+
+  /**
+   * Constructs a new empty histogram.
+   */
+  public LatencyHistogram() {
+    this.counts = new long[indexOf(HIGHEST_TRACKABLE_VALUE) + 1];
+  }
+
+  /**
+   * Records a single value.
+   *
+   * @param value the value in nanoseconds
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public void record(final long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("value must not be less than zero: " + value);
+    }
+    final long clamped = Math.min(value, HIGHEST_TRACKABLE_VALUE);
+    counts[indexOf(clamped)]++;
+    totalCount++;
+    maxValue = Math.max(maxValue, clamped);
+  }
+
+  /**
+   * Adds all values of the given histogram to this histogram.
+   *
+   * @param other the histogram whose values are added
+   */
+  public void add(final LatencyHistogram other) {
+    for (int idx = 0; idx < counts.length; idx++) {
+      counts[idx] += other.counts[idx];
+    }
+    totalCount += other.totalCount;
+    maxValue = Math.max(maxValue, other.maxValue);
+  }
+
+  /**
+   * Returns the amount of recorded values.
+   *
+   * @return the amount of recorded values
+   */
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * Returns the largest recorded value.
+   *
+   * @return the largest recorded value or {@code 0} if no values have been recorded
+   */
+  public long getMaxValue() {
+    return maxValue;
+  }
+
+  /**
+   * Returns the value at the given percentile.
+   *
+   * <p>The value is the highest value that is equivalent to the recorded value at the given percentile within the precision of the histogram.
+   *
+   * @param percentile the percentile between {@code 0} and {@code 100}
+   * @return the value at the given percentile or {@code 0} if no values have been recorded
+   */
+  public long getValueAtPercentile(final double percentile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+    final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * totalCount));
+    long count = 0;
+    for (int idx = 0; idx < counts.length; idx++) {
+      count += counts[idx];
+      if (count >= countAtPercentile) {
+        return Math.min(maxValue, highestEquivalentValue(idx));
+      }
+    }
+    return maxValue;
+  }
+
+  /**
+   * Returns the bucket index of the given value.
+   *
+   * @param value the non-negative value
+   * @return the bucket index of the value
+   */
+  static int indexOf(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+    return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+  }
+
+  /**
+   * Returns the highest value that is counted in the bucket with the given index.
+   *
+   * @param index the bucket index
+   * @return the highest value of the bucket
+   */
+  static long highestEquivalentValue(final int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = (index - SUB_BUCKET_HALF_COUNT) / SUB_BUCKET_HALF_COUNT;
+    final long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids.load;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+
+/**
+ * Units tests for the {@link LatencyHistogram} of the load test harness.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketsCoverAllValues() {
+    int previous = -1;
+    for (long value = 0; value < 1 << 20; value++) {
+      final int index = LatencyHistogram.indexOf(value);
+      assertThat(index - previous, lessThanOrEqualTo(1));
+      assertThat(value <= LatencyHistogram.highestEquivalentValue(index), equalTo(true));
+      previous = index;
+    }
+    for (long value = 2048; value < LatencyHistogram.HIGHEST_TRACKABLE_VALUE; value = value * 3 + 1) {
+      final long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+      assertThat((double) (highest - value) / value <= 0.001, equalTo(true));
+    }
+  }
+
+  @Test
+  public void percentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 10_000; value++) {
+      histogram.record(value * 1000);
+    }
+    assertThat(histogram.getTotalCount(), equalTo(10_000L));
+    assertThat(histogram.getMaxValue(), equalTo(10_000_000L));
+    assertThat(Math.abs(histogram.getValueAtPercentile(50) - 5_000_000L) <= 5_000L, equalTo(true));
+    assertThat(Math.abs(histogram.getValueAtPercentile(99.9) - 9_990_000L) <= 10_000L, equalTo(true));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(10_000_000L));
+  }
+
+  @Test
+  public void addHistograms() {
+    final LatencyHistogram first = new LatencyHistogram();
+    final LatencyHistogram second = new LatencyHistogram();
+    first.record(10);
+    second.record(20);
+    second.record(Long.MAX_VALUE);
+    first.add(second);
+    assertThat(first.getTotalCount(), equalTo(3L));
+    assertThat(first.getValueAtPercentile(50), equalTo(20L));
+    assertThat(first.getMaxValue(), equalTo(LatencyHistogram.HIGHEST_TRACKABLE_VALUE));
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016-present Arctic Ice Studio <development@arcticicestudio.com>
+ * Copyright (c) 2016-present Sven Greb <code@svengreb.de>
+ *
+ * Project:    IceCore Hashids
+ * Repository: https://github.com/arcticicestudio/icecore-hashids
+ * License:    MIT
+ */
+
+package com.arcticicestudio.icecore.hashids;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Units tests for the {@link VectorCharCodeKernel} class.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.5.0
+ */
+public class VectorCharCodeKernelTest {
+
+  private static byte[] table() {
+    final byte[] table = new byte[CharCodeKernel.TABLE_SIZE];
+    Arrays.fill(table, CharCodeKernel.INVALID);
+    final char[] alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890".toCharArray();
+    for (int idx = 0; idx < alphabet.length; idx++) {
+      table[alphabet[idx]] = (byte) idx;
+    }
+    table['!'] = CharCodeKernel.GUARD;
+    return table;
+  }
+
+  @Test
+  public void mapLikeScalarKernel() {
+    assumeTrue(VectorCharCodeKernel.isSupported());
+    final CharCodeKernel vector = CharCodeKernels.create(table(), true);
+    final CharCodeKernel scalar = CharCodeKernels.create(table(), false);
+    assertThat(vector.isVectorized(), equalTo(true));
+    assertThat(scalar.isVectorized(), equalTo(false));
+
+    final byte[] hashes = new byte[1000];
+    new Random(42).nextBytes(hashes);
+    for (int offset : new int[] {0, 1, 7}) {
+      for (int size : new int[] {0, 13, 64, 129, 993}) {
+        final byte[] expected = new byte[size];
+        final byte[] actual = new byte[size];
+        scalar.map(hashes, offset, size, expected);
+        vector.map(hashes, offset, size, actual);
+        assertThat(actual, equalTo(expected));
+      }
+    }
+  }
+}